@@ -0,0 +1,30 @@
+package com.ecommerce.gateway.bff;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Composite endpoints answered by the gateway itself. Annotated controllers are matched before
+ * the routes, so this path is not forwarded to the order service.
+ */
+@RestController
+@RequestMapping("/api/orders")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "http://localhost:3000")
+public class OrderDetailsController {
+
+    private final OrderDetailsService orderDetailsService;
+
+    @GetMapping("/{orderId}/details")
+    public Mono<ResponseEntity<OrderDetailsResponse>> getOrderDetails(@PathVariable String orderId) {
+        log.debug("REST request to get order details for order: {}", orderId);
+        // Orders are per-user data, as in the order service
+        return orderDetailsService.getOrderDetails(orderId)
+                .map(details -> ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(details));
+    }
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.gateway.bff;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * An order with its payments and notifications. The parts are passed through as the services
+ * return them, so the gateway does not need their DTOs.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderDetailsResponse {
+
+    private JsonNode order;
+
+    // Null when the payment service did not answer in time
+    private JsonNode payments;
+
+    // Null when the notification service did not answer in time
+    private JsonNode notifications;
+
+    // Parts left out, e.g. "payments"
+    private List<String> unavailable;
+
+    @JsonIgnore
+    public boolean isComplete() {
+        return unavailable == null || unavailable.isEmpty();
+    }
+}
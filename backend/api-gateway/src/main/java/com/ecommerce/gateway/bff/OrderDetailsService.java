@@ -0,0 +1,149 @@
+package com.ecommerce.gateway.bff;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Builds the order confirmation view from the order, payment and notification services.
+ * <p>
+ * The three calls are made at the same time, each with its own timeout, so the response takes
+ * as long as the slowest of them rather than their sum. The order itself is required. Payments
+ * and notifications that fail or time out are left out and named in
+ * {@link OrderDetailsResponse#getUnavailable()}. Complete results are cached for a few seconds;
+ * partial ones are not, so the next request tries the slow service again.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderDetailsService {
+
+    private final WebClient.Builder webClientBuilder;
+
+    @Value("${gateway.services.order-uri}")
+    private String orderUri;
+
+    @Value("${gateway.services.payment-uri}")
+    private String paymentUri;
+
+    @Value("${gateway.services.notification-uri}")
+    private String notificationUri;
+
+    @Value("${gateway.order-details.order-timeout:2s}")
+    private Duration orderTimeout;
+
+    @Value("${gateway.order-details.payments-timeout:500ms}")
+    private Duration paymentsTimeout;
+
+    @Value("${gateway.order-details.notifications-timeout:500ms}")
+    private Duration notificationsTimeout;
+
+    @Value("${gateway.order-details.cache.time-to-live:3s}")
+    private Duration cacheTimeToLive;
+
+    @Value("${gateway.order-details.cache.maximum-size:10000}")
+    private long cacheMaximumSize;
+
+    private WebClient webClient;
+    private Cache<String, OrderDetailsResponse> cache;
+
+    @PostConstruct
+    public void init() {
+        webClient = webClientBuilder.build();
+        cache = Caffeine.newBuilder()
+                .expireAfterWrite(cacheTimeToLive)
+                .maximumSize(cacheMaximumSize)
+                .build();
+    }
+
+    /**
+     * Get an order with its payments and notifications
+     *
+     * @param orderId the order ID
+     * @return the order details, with unavailable parts left out
+     */
+    public Mono<OrderDetailsResponse> getOrderDetails(String orderId) {
+        OrderDetailsResponse cached = cache.getIfPresent(orderId);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+
+        Mono<JsonNode> order = fetch(orderUri, "/api/orders/{orderId}", orderId, orderTimeout)
+                .onErrorMap(e -> orderError(orderId, e));
+        Mono<Optional<JsonNode>> payments = optional("payments",
+                fetch(paymentUri, "/api/payments/order/{orderId}", orderId, paymentsTimeout), orderId);
+        Mono<Optional<JsonNode>> notifications = optional("notifications",
+                fetch(notificationUri, "/api/notifications/order/{orderId}", orderId, notificationsTimeout), orderId);
+
+        // zip subscribes to all three at once, and cancels the others if the order fails
+        return Mono.zip(order, payments, notifications)
+                .map(parts -> {
+                    List<String> unavailable = new ArrayList<>(2);
+                    if (parts.getT2().isEmpty()) {
+                        unavailable.add("payments");
+                    }
+                    if (parts.getT3().isEmpty()) {
+                        unavailable.add("notifications");
+                    }
+                    OrderDetailsResponse details = OrderDetailsResponse.builder()
+                            .order(parts.getT1())
+                            .payments(parts.getT2().orElse(null))
+                            .notifications(parts.getT3().orElse(null))
+                            .unavailable(unavailable)
+                            .build();
+                    if (details.isComplete()) {
+                        cache.put(orderId, details);
+                    }
+                    return details;
+                });
+    }
+
+    private Mono<JsonNode> fetch(String baseUri, String path, String orderId, Duration timeout) {
+        return webClient.get()
+                .uri(baseUri + path, orderId)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(timeout);
+    }
+
+    private Mono<Optional<JsonNode>> optional(String part, Mono<JsonNode> call, String orderId) {
+        return call
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .onErrorResume(e -> {
+                    log.warn("Order {} details returned without {}: {}", orderId, part, describe(e));
+                    return Mono.just(Optional.empty());
+                });
+    }
+
+    private Throwable orderError(String orderId, Throwable e) {
+        if (e instanceof WebClientResponseException.NotFound) {
+            return new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found: " + orderId);
+        }
+        log.warn("Order {} details unavailable: {}", orderId, describe(e));
+        if (e instanceof TimeoutException) {
+            return new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Order service did not answer in time");
+        }
+        return new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Order service unavailable");
+    }
+
+    private static String describe(Throwable e) {
+        return e instanceof TimeoutException ? "timed out" : e.getMessage();
+    }
+}
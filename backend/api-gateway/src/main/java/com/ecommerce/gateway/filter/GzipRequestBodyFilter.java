@@ -0,0 +1,102 @@
+package com.ecommerce.gateway.filter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Inflates {@code Content-Encoding: gzip} request bodies before they are routed, so clients can
+ * compress large bodies without each service having to decode them. Bodies that inflate to more
+ * than {@code gateway.request-decompression.max-size} are rejected with 413.
+ */
+@Component
+@Slf4j
+public class GzipRequestBodyFilter implements GlobalFilter, Ordered {
+
+    private static final String GZIP = "gzip";
+
+    @Value("${gateway.request-decompression.max-size:1MB}")
+    private DataSize maxSize;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String encoding = request.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+        if (encoding == null || !GZIP.equalsIgnoreCase(encoding.trim())) {
+            return chain.filter(exchange);
+        }
+
+        int maxBytes = (int) maxSize.toBytes();
+        return DataBufferUtils.join(request.getBody(), maxBytes)
+                .onErrorMap(DataBufferLimitException.class, e -> tooLarge())
+                .map(this::inflate)
+                .defaultIfEmpty(new byte[0])
+                .flatMap(body -> chain.filter(exchange.mutate().request(decompressed(exchange, body)).build()));
+    }
+
+    @Override
+    public int getOrder() {
+        // Before any filter that reads the body
+        return Ordered.HIGHEST_PRECEDENCE + 100;
+    }
+
+    private byte[] inflate(DataBuffer compressed) {
+        int maxBytes = (int) maxSize.toBytes();
+        try (InputStream in = new GZIPInputStream(compressed.asInputStream(true))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] chunk = new byte[8192];
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                if (out.size() + read > maxBytes) {
+                    throw tooLarge();
+                }
+                out.write(chunk, 0, read);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            log.debug("Rejected request with an invalid gzip body: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Request body is not valid gzip");
+        }
+    }
+
+    private ServerHttpRequest decompressed(ServerWebExchange exchange, byte[] body) {
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    headers.remove(HttpHeaders.CONTENT_ENCODING);
+                    headers.remove(HttpHeaders.TRANSFER_ENCODING);
+                    headers.setContentLength(body.length);
+                })
+                .build();
+        return new ServerHttpRequestDecorator(request) {
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return Flux.defer(() -> Flux.just(exchange.getResponse().bufferFactory().wrap(body)));
+            }
+        };
+    }
+
+    private ResponseStatusException tooLarge() {
+        return new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                "Request body exceeds " + maxSize.toKilobytes() + " KB once decompressed");
+    }
+}
@@ -5,4 +5,7 @@ public class KafkaTopics {
     public static final String INVENTORY_UPDATES_TOPIC = "inventory-updates";
     public static final String PAYMENT_EVENTS_TOPIC = "payment-events";
     public static final String NOTIFICATIONS_TOPIC = "notifications";
+    public static final String LOW_STOCK_ALERTS_TOPIC = "low-stock-alerts";
+    public static final String STOCK_RESERVATIONS_TOPIC = "stock-reservations";
+    public static final String STOCK_RESERVATION_RESULTS_TOPIC = "stock-reservation-results";
 }
\ No newline at end of file
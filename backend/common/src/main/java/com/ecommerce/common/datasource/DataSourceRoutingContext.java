@@ -0,0 +1,52 @@
+package com.ecommerce.common.datasource;
+
+/**
+ * Per-thread routing state for {@link ReadWriteDataSource}, scoped to one HTTP request by
+ * {@link ReadYourWritesFilter}. Outside a request, e.g. on Kafka listener and scheduler
+ * threads, nothing is kept between transactions.
+ */
+public final class DataSourceRoutingContext {
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+    private static final ThreadLocal<Object> REPLICA = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> IN_REQUEST = new ThreadLocal<>();
+
+    private DataSourceRoutingContext() {
+    }
+
+    /**
+     * Send all reads on this thread to the primary, e.g. because the client wrote recently
+     */
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED_TO_PRIMARY.get() != null;
+    }
+
+    /**
+     * Start the request scope on this thread; {@link #clear()} ends it
+     */
+    public static void beginRequest() {
+        IN_REQUEST.set(Boolean.TRUE);
+    }
+
+    static boolean isInRequest() {
+        return IN_REQUEST.get() != null;
+    }
+
+    static Object getReplica() {
+        return REPLICA.get();
+    }
+
+    static void setReplica(Object replica) {
+        REPLICA.set(replica);
+    }
+
+    public static void clear() {
+        PINNED_TO_PRIMARY.remove();
+        REPLICA.remove();
+        IN_REQUEST.remove();
+    }
+}
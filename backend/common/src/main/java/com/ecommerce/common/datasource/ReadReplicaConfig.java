@@ -0,0 +1,77 @@
+package com.ecommerce.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routes read-only transactions to streaming replicas when {@code datasource.replicas.enabled}
+ * is set, replacing the auto-configured pool with a {@link ReadWriteDataSource}. Every pool uses
+ * the {@code spring.datasource} credentials and all {@code spring.datasource.hikari} settings, as
+ * the auto-configured pool would, including driver properties such as
+ * {@code data-source-properties.reWriteBatchedInserts}; replica pools take their size from
+ * {@code datasource.replicas.maximum-pool-size}. Import it from the service's configuration.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @Primary
+    public ReadWriteDataSource dataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            @Value("${spring.application.name:app}") String applicationName,
+            @Value("${datasource.replicas.urls}") List<String> replicaUrls,
+            @Value("${datasource.replicas.maximum-pool-size:10}") int replicaPoolSize,
+            @Value("${datasource.replicas.max-lag:5s}") Duration maxLag,
+            @Value("${datasource.replicas.check-interval-ms:2000}") long checkIntervalMillis) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = createPool(properties, binder, properties.determineUrl(),
+                applicationName + "-primary");
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = createPool(properties, binder, replicaUrls.get(i).trim(),
+                    applicationName + "-replica-" + i);
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replicas.add(replica);
+        }
+        return new ReadWriteDataSource(primary, replicas, maxLag.toMillis(), checkIntervalMillis);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${datasource.read-your-writes.window:5s}") Duration window) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(window));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    private static HikariDataSource createPool(DataSourceProperties properties, Binder binder, String url,
+                                               String poolName) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        // What @ConfigurationProperties("spring.datasource.hikari") does for the auto-configured pool
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(poolName);
+        return dataSource;
+    }
+}
@@ -0,0 +1,185 @@
+package com.ecommerce.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections for {@code @Transactional(readOnly = true)} work to a streaming replica and
+ * everything else to the primary.
+ * <p>
+ * Connections are fetched lazily, on the first statement, because the transaction manager asks
+ * for a connection before the read-only flag of the transaction is visible. Replicas are
+ * checked periodically and only used while they are reachable and replaying within
+ * {@code maxLagMillis} of the primary; otherwise reads fall back to the primary. Reads on a
+ * thread pinned by {@link DataSourceRoutingContext#pinToPrimary()} always use the primary, and a
+ * request keeps to the replica it first used so that its queries see one consistent snapshot.
+ * Transactions outside a request, e.g. on Kafka listener threads, are spread over the replicas.
+ */
+@Slf4j
+public class ReadWriteDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    // Zero when the replica has replayed everything it received, so an idle primary does not look like lag
+    private static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+            + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+    private static final int CHECK_TIMEOUT_SECONDS = 2;
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+    private final long checkIntervalMillis;
+
+    private ScheduledExecutorService scheduler;
+
+    public ReadWriteDataSource(HikariDataSource primary, List<HikariDataSource> replicas, long maxLagMillis,
+                               long checkIntervalMillis) {
+        super(new Router(primary, replicas.stream().map(Replica::new).toList()));
+        // Set up front so that the proxy does not open a connection to find them out
+        setDefaultAutoCommit(true);
+        setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        this.primary = primary;
+        this.replicas = ((Router) obtainTargetDataSource()).replicas;
+        this.maxLagMillis = maxLagMillis;
+        this.checkIntervalMillis = checkIntervalMillis;
+    }
+
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Replicas start out unavailable, so check them straight away
+        scheduler.scheduleWithFixedDelay(this::checkReplicas, 0, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        replicas.forEach(replica -> replica.dataSource.close());
+        primary.close();
+    }
+
+    void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean available;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(CHECK_TIMEOUT_SECONDS);
+                try (ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                    resultSet.next();
+                    replica.lagMillis = resultSet.getLong(1);
+                }
+                available = replica.lagMillis <= maxLagMillis;
+                if (!available && replica.available) {
+                    log.warn("Replica {} is {} ms behind the primary; reading from the primary instead",
+                            replica.name, replica.lagMillis);
+                }
+            } catch (SQLException | RuntimeException e) {
+                available = false;
+                if (replica.available) {
+                    log.warn("Replica {} is unreachable; reading from the primary instead: {}",
+                            replica.name, e.getMessage());
+                }
+            }
+            if (available && !replica.available) {
+                log.info("Replica {} is available for reads, {} ms behind the primary", replica.name, replica.lagMillis);
+            }
+            replica.available = available;
+        }
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final HikariDataSource dataSource;
+        private volatile boolean available;
+        private volatile long lagMillis;
+
+        Replica(HikariDataSource dataSource) {
+            this.name = dataSource.getJdbcUrl();
+            this.dataSource = dataSource;
+        }
+    }
+
+    /**
+     * Picks the target when the lazy proxy first needs a physical connection.
+     */
+    private static final class Router extends AbstractDataSource {
+        private final HikariDataSource primary;
+        private final List<Replica> replicas;
+        private final AtomicInteger next = new AtomicInteger();
+
+        Router(HikariDataSource primary, List<Replica> replicas) {
+            this.primary = primary;
+            this.replicas = replicas;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return route().getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return route().getConnection(username, password);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            // Pool monitoring (e.g. the Kafka backpressure signal) looks at the primary pool
+            if (iface.isInstance(this)) {
+                return (T) this;
+            }
+            return primary.unwrap(iface);
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) throws SQLException {
+            return iface.isInstance(this) || primary.isWrapperFor(iface);
+        }
+
+        private HikariDataSource route() {
+            if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                    || DataSourceRoutingContext.isPinnedToPrimary()) {
+                return primary;
+            }
+            Object current = DataSourceRoutingContext.getReplica();
+            if (current instanceof Replica && ((Replica) current).available) {
+                return ((Replica) current).dataSource;
+            }
+            int size = replicas.size();
+            if (size == 0) {
+                return primary;
+            }
+            int start = Math.floorMod(next.getAndIncrement(), size);
+            for (int i = 0; i < size; i++) {
+                Replica replica = replicas.get((start + i) % size);
+                if (replica.available) {
+                    // Only a request clears the binding when it ends; other threads would keep it for good
+                    if (DataSourceRoutingContext.isInRequest()) {
+                        DataSourceRoutingContext.setReplica(replica);
+                    }
+                    return replica.dataSource;
+                }
+            }
+            return primary;
+        }
+    }
+}
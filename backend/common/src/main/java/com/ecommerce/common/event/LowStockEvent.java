@@ -0,0 +1,41 @@
+package com.ecommerce.common.event;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LowStockEvent {
+    @NotBlank
+    private String productId;
+    
+    private String productName;
+    
+    private String category;
+    
+    @NotNull
+    private Integer stockQuantity;
+    
+    @NotNull
+    private Integer threshold;
+    
+    @NotNull
+    private StockLevel previousLevel;
+    
+    @NotNull
+    private StockLevel level;
+    
+    @NotNull
+    private LocalDateTime timestamp;
+
+    public enum StockLevel {
+        OK,
+        LOW,
+        OUT_OF_STOCK
+    }
+}
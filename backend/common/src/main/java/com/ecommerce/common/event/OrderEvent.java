@@ -1,13 +1,13 @@
 package com.ecommerce.common.event;
 
 import com.ecommerce.common.model.OrderItem;
+import com.ecommerce.common.money.Money;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.*;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -27,7 +27,7 @@ public class OrderEvent {
     
     @NotNull
     @Positive
-    private BigDecimal totalAmount;
+    private Money totalAmount;
     
     @NotBlank
     private String paymentMethod;
@@ -0,0 +1,44 @@
+package com.ecommerce.common.event;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reserve or release stock of one product for an order. Published on stock-reservations keyed by
+ * product ID, so all commands for a product are applied in order by a single consumer.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationCommand {
+    @NotBlank
+    private String orderId;
+    
+    @NotBlank
+    private String productId;
+    
+    @NotNull
+    @Positive
+    private Integer quantity;
+    
+    @NotNull
+    private Action action;
+    
+    // Number of products in the order, so that its results can be counted in
+    @NotNull
+    @Positive
+    private Integer productCount;
+    
+    @NotNull
+    private LocalDateTime timestamp;
+
+    public enum Action {
+        RESERVE,
+        RELEASE
+    }
+}
@@ -0,0 +1,40 @@
+package com.ecommerce.common.event;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of a {@link StockReservationCommand}. Published on stock-reservation-results keyed by
+ * order ID, so all results for an order reach the same consumer.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationResult {
+    @NotBlank
+    private String orderId;
+    
+    @NotBlank
+    private String productId;
+    
+    @NotNull
+    private Integer quantity;
+    
+    @NotNull
+    private StockReservationCommand.Action action;
+    
+    private boolean success;
+    
+    // Why the command was rejected
+    private String reason;
+    
+    @NotNull
+    private Integer productCount;
+    
+    @NotNull
+    private LocalDateTime timestamp;
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.common.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * {@code Idempotency-Key} support for services with write endpoints that clients retry.
+ * Import it from the service's web configuration and route the endpoints through
+ * {@link IdempotencyService#execute}.
+ */
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyRepository idempotencyRepository(JdbcTemplate jdbcTemplate) {
+        return new IdempotencyRepository(jdbcTemplate);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public IdempotencyService idempotencyService(
+            IdempotencyRepository idempotencyRepository,
+            ObjectMapper objectMapper,
+            @Value("${idempotency.ttl:24h}") Duration ttl,
+            @Value("${idempotency.local.ttl:10m}") Duration localTtl,
+            @Value("${idempotency.local.maximum-size:10000}") int localMaximumSize,
+            @Value("${idempotency.in-progress-timeout:30s}") Duration inProgressTimeout,
+            @Value("${idempotency.cleanup-interval-ms:300000}") long cleanupIntervalMillis) {
+        return new IdempotencyService(idempotencyRepository, objectMapper, ttl, localTtl, localMaximumSize,
+                inProgressTimeout, cleanupIntervalMillis, Clock.systemUTC());
+    }
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.common.idempotency;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when a request carrying an {@code Idempotency-Key} cannot be executed or replayed:
+ * the key is malformed, was first used with a different request body, or the original request
+ * is still being processed by another replica.
+ */
+public class IdempotencyKeyException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    public IdempotencyKeyException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,129 @@
+package com.ecommerce.common.idempotency;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Durable record of idempotency keys, shared by every replica of every service using the
+ * {@code idempotency_keys} table. Keys are stored with a scope prefix so services sharing a
+ * database do not collide.
+ * <p>
+ * A row that is not completed is a claim: the request is being executed by some replica. A
+ * completed row holds the response to replay, or no response if it could not be stored.
+ */
+public class IdempotencyRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdempotencyRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void createSchema() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS idempotency_keys ("
+                + "idempotency_key VARCHAR(320) PRIMARY KEY, "
+                + "fingerprint VARCHAR(64) NOT NULL, "
+                + "response_body TEXT, "
+                + "completed BOOLEAN NOT NULL DEFAULT FALSE, "
+                + "created_at TIMESTAMP NOT NULL, "
+                + "expires_at TIMESTAMP NOT NULL)");
+        // Tables created before the column was added
+        jdbcTemplate.execute("ALTER TABLE idempotency_keys ADD COLUMN IF NOT EXISTS completed BOOLEAN NOT NULL DEFAULT FALSE");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires_at "
+                + "ON idempotency_keys (expires_at)");
+    }
+
+    /**
+     * Claim a key for execution
+     *
+     * @param key the scoped key
+     * @param fingerprint hash of the request body
+     * @param now the claim time
+     * @param expiresAt when the key may be forgotten
+     * @return true if this call created the claim, false if the key already exists
+     */
+    public boolean claim(String key, String fingerprint, Instant now, Instant expiresAt) {
+        try {
+            return jdbcTemplate.update("INSERT INTO idempotency_keys (idempotency_key, fingerprint, created_at, expires_at) "
+                            + "VALUES (?, ?, ?, ?) ON CONFLICT (idempotency_key) DO NOTHING",
+                    key, fingerprint, Timestamp.from(now), Timestamp.from(expiresAt)) == 1;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Take over a claim whose owner has not completed it in time, e.g. because it crashed
+     *
+     * @param key the scoped key
+     * @param fingerprint hash of the request body
+     * @param claimedBefore only claims made before this time are taken over
+     * @param now the new claim time
+     * @return true if the claim now belongs to the caller
+     */
+    public boolean takeOver(String key, String fingerprint, Instant claimedBefore, Instant now) {
+        return jdbcTemplate.update("UPDATE idempotency_keys SET created_at = ? "
+                        + "WHERE idempotency_key = ? AND fingerprint = ? AND response_body IS NULL AND NOT completed "
+                        + "AND created_at < ?",
+                Timestamp.from(now), key, fingerprint, Timestamp.from(claimedBefore)) == 1;
+    }
+
+    public Optional<StoredKey> find(String key, Instant now) {
+        List<StoredKey> rows = jdbcTemplate.query("SELECT fingerprint, response_body, completed, created_at "
+                        + "FROM idempotency_keys WHERE idempotency_key = ? AND expires_at > ?",
+                (rs, rowNum) -> new StoredKey(rs.getString(1), rs.getString(2), rs.getBoolean(3),
+                        rs.getTimestamp(4).toInstant()),
+                key, Timestamp.from(now));
+        return rows.stream().findFirst();
+    }
+
+    public void complete(String key, String responseBody) {
+        jdbcTemplate.update("UPDATE idempotency_keys SET response_body = ?, completed = TRUE WHERE idempotency_key = ?",
+                responseBody, key);
+    }
+
+    /**
+     * Mark a key as executed when its response cannot be stored, so that retries are refused
+     * until the key expires instead of taking the claim over and executing again
+     *
+     * @param key the scoped key
+     */
+    public void completeWithoutResponse(String key) {
+        jdbcTemplate.update("UPDATE idempotency_keys SET completed = TRUE WHERE idempotency_key = ?", key);
+    }
+
+    /**
+     * Drop an unfinished claim so the request can be retried with the same key
+     *
+     * @param key the scoped key
+     */
+    public void release(String key) {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key = ? AND response_body IS NULL "
+                + "AND NOT completed", key);
+    }
+
+    public int deleteExpired(Instant now) {
+        return jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at <= ?", Timestamp.from(now));
+    }
+
+    /**
+     * A key as stored; {@code responseBody} is null while the request is in progress, and when
+     * it was completed without a response
+     */
+    public record StoredKey(String fingerprint, String responseBody, boolean completed, Instant claimedAt) {
+
+        public boolean isCompleted() {
+            // Rows completed before the completed column was added only have a response
+            return completed || responseBody != null;
+        }
+
+        public boolean isReplayable() {
+            return responseBody != null;
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.ecommerce.common.idempotency;
+
+import com.ecommerce.common.idempotency.IdempotencyRepository.StoredKey;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Executes a write request at most once per {@code Idempotency-Key} and replays the stored
+ * response for retries.
+ * <p>
+ * Keys are checked in an in-memory map first, where concurrent duplicates on this replica wait
+ * on the first execution instead of running again. Keys are then claimed in the
+ * {@code idempotency_keys} table so duplicates arriving at other replicas see the claim, and the
+ * serialised response is stored there for the configured TTL. Only successful responses are
+ * stored: when the request fails, the claim is released and the key can be retried. Once the
+ * request has succeeded the key is completed, and if its response cannot be serialised or
+ * stored, retries are answered 409 until the key expires.
+ */
+@Slf4j
+public class IdempotencyService {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRepository repository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration localTtl;
+    private final int localMaximumSize;
+    private final Duration inProgressTimeout;
+    private final long cleanupIntervalMillis;
+    private final Clock clock;
+
+    private final Map<String, LocalEntry> localEntries = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+
+    public IdempotencyService(IdempotencyRepository repository, ObjectMapper objectMapper, Duration ttl,
+                              Duration localTtl, int localMaximumSize, Duration inProgressTimeout,
+                              long cleanupIntervalMillis, Clock clock) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.localTtl = localTtl;
+        this.localMaximumSize = localMaximumSize;
+        this.inProgressTimeout = inProgressTimeout;
+        this.cleanupIntervalMillis = cleanupIntervalMillis;
+        this.clock = clock;
+    }
+
+    public void start() {
+        repository.createSchema();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "idempotency-cleanup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::cleanup, cleanupIntervalMillis, cleanupIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Execute a request once per idempotency key
+     *
+     * @param scope namespace for the key, e.g. the resource being created
+     * @param key the client's idempotency key, or null to execute without deduplication
+     * @param request the request body, used to detect a key reused for a different request
+     * @param responseType the response body type, used to read back stored responses
+     * @param status the status of a successful response
+     * @param action executes the request
+     * @return the response, marked with {@value #REPLAYED_HEADER} when it is a stored one
+     */
+    public <T> ResponseEntity<T> execute(String scope, String key, Object request, Class<T> responseType,
+                                         HttpStatus status, Supplier<T> action) {
+        if (key == null) {
+            return ResponseEntity.status(status).body(action.get());
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IdempotencyKeyException(HttpStatus.BAD_REQUEST,
+                    IDEMPOTENCY_KEY_HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String scopedKey = scope + ":" + key;
+        String fingerprint = fingerprint(request);
+        LocalEntry entry = new LocalEntry(fingerprint);
+
+        while (true) {
+            LocalEntry existing = localEntries.putIfAbsent(scopedKey, entry);
+            if (existing == null) {
+                break;
+            }
+            if (existing.isExpired(clock.millis())) {
+                if (localEntries.replace(scopedKey, existing, entry)) {
+                    break;
+                }
+                continue;
+            }
+            checkFingerprint(existing.fingerprint, fingerprint, key);
+            return replay(awaitResponse(existing, key), responseType, status);
+        }
+
+        return executeOnce(scopedKey, key, entry, responseType, status, action);
+    }
+
+    private <T> ResponseEntity<T> executeOnce(String scopedKey, String key, LocalEntry entry, Class<T> responseType,
+                                              HttpStatus status, Supplier<T> action) {
+        boolean claimed = false;
+        T response;
+        try {
+            Optional<String> stored = claimOrFindStored(scopedKey, key, entry.fingerprint);
+            if (stored.isPresent()) {
+                completeLocal(scopedKey, entry, stored.get());
+                return replay(stored.get(), responseType, status);
+            }
+            claimed = true;
+            response = action.get();
+        } catch (RuntimeException e) {
+            if (claimed) {
+                releaseQuietly(scopedKey);
+            }
+            fail(scopedKey, entry, e);
+            throw e;
+        }
+
+        String responseBody;
+        try {
+            responseBody = objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            // The request has been executed, so only this caller gets the response
+            log.warn("Failed to serialise response for idempotency key {}: {}", scopedKey, e.getMessage());
+            fail(scopedKey, entry, notReplayable(key));
+            completeWithoutResponse(scopedKey);
+            return ResponseEntity.status(status).body(response);
+        }
+        completeLocal(scopedKey, entry, responseBody);
+        store(scopedKey, responseBody);
+        return ResponseEntity.status(status).body(response);
+    }
+
+    private void fail(String scopedKey, LocalEntry entry, RuntimeException e) {
+        localEntries.remove(scopedKey, entry);
+        entry.response.completeExceptionally(e);
+    }
+
+    private void store(String scopedKey, String responseBody) {
+        try {
+            repository.complete(scopedKey, responseBody);
+        } catch (RuntimeException e) {
+            log.warn("Failed to store response for idempotency key {}: {}", scopedKey, e.getMessage());
+            completeWithoutResponse(scopedKey);
+        }
+    }
+
+    // Other replicas then answer 409 until the key expires, rather than executing the request again
+    private void completeWithoutResponse(String scopedKey) {
+        try {
+            repository.completeWithoutResponse(scopedKey);
+        } catch (RuntimeException e) {
+            // The claim is left as it is, and can be taken over once the in-progress timeout passes
+            log.error("Failed to complete idempotency key {}; a retry may execute the request again: {}",
+                    scopedKey, e.getMessage());
+        }
+    }
+
+    private static IdempotencyKeyException notReplayable(String key) {
+        return new IdempotencyKeyException(HttpStatus.CONFLICT,
+                "Request with " + IDEMPOTENCY_KEY_HEADER + " " + key + " was processed but cannot be replayed");
+    }
+
+    /**
+     * @return empty when the key is now claimed by this call, or the stored response to replay
+     */
+    private Optional<String> claimOrFindStored(String scopedKey, String key, String fingerprint) {
+        Instant now = clock.instant();
+        if (repository.claim(scopedKey, fingerprint, now, now.plus(ttl))) {
+            return Optional.empty();
+        }
+
+        StoredKey stored = repository.find(scopedKey, now).orElse(null);
+        if (stored == null) {
+            // Expired between the insert and the read; the cleanup job will remove it
+            throw new IdempotencyKeyException(HttpStatus.CONFLICT,
+                    "Request with " + IDEMPOTENCY_KEY_HEADER + " " + key + " is expiring, retry shortly");
+        }
+        checkFingerprint(stored.fingerprint(), fingerprint, key);
+        if (stored.isCompleted()) {
+            if (!stored.isReplayable()) {
+                throw notReplayable(key);
+            }
+            return Optional.of(stored.responseBody());
+        }
+        if (repository.takeOver(scopedKey, fingerprint, now.minus(inProgressTimeout), now)) {
+            log.warn("Took over abandoned claim for idempotency key {}", scopedKey);
+            return Optional.empty();
+        }
+        throw new IdempotencyKeyException(HttpStatus.CONFLICT,
+                "Request with " + IDEMPOTENCY_KEY_HEADER + " " + key + " is still being processed");
+    }
+
+    private void completeLocal(String scopedKey, LocalEntry entry, String responseBody) {
+        entry.expiresAtMillis = clock.millis() + localTtl.toMillis();
+        entry.response.complete(responseBody);
+        if (localEntries.size() > localMaximumSize) {
+            // The table still answers replays; only in-flight coalescing needs the local entry
+            localEntries.remove(scopedKey, entry);
+        }
+    }
+
+    private String awaitResponse(LocalEntry entry, String key) {
+        try {
+            return entry.response.get(inProgressTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyException(HttpStatus.CONFLICT,
+                    "Request with " + IDEMPOTENCY_KEY_HEADER + " " + key + " is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for idempotency key " + key, e);
+        }
+    }
+
+    private <T> ResponseEntity<T> replay(String responseBody, Class<T> responseType, HttpStatus status) {
+        try {
+            return ResponseEntity.status(status)
+                    .header(REPLAYED_HEADER, "true")
+                    .body(objectMapper.readValue(responseBody, responseType));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored response cannot be read as " + responseType.getSimpleName(), e);
+        }
+    }
+
+    private void checkFingerprint(String storedFingerprint, String fingerprint, String key) {
+        if (!storedFingerprint.equals(fingerprint)) {
+            throw new IdempotencyKeyException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    IDEMPOTENCY_KEY_HEADER + " " + key + " was already used for a different request");
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] json = request != null ? objectMapper.writeValueAsBytes(request) : new byte[0];
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not fingerprint request", e);
+        }
+    }
+
+    private void releaseQuietly(String scopedKey) {
+        try {
+            repository.release(scopedKey);
+        } catch (RuntimeException e) {
+            // The claim is taken over once the in-progress timeout passes
+            log.warn("Failed to release idempotency key {}: {}", scopedKey, e.getMessage());
+        }
+    }
+
+    void cleanup() {
+        long now = clock.millis();
+        localEntries.entrySet().removeIf(entry -> entry.getValue().isExpired(now));
+        try {
+            int deleted = repository.deleteExpired(clock.instant());
+            if (deleted > 0) {
+                log.debug("Deleted {} expired idempotency keys", deleted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to delete expired idempotency keys: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * A key seen by this replica. The response future completes with the serialised response,
+     * or exceptionally with the failure that waiting duplicates should also see.
+     */
+    private static final class LocalEntry {
+        private final String fingerprint;
+        private final CompletableFuture<String> response = new CompletableFuture<>();
+        private volatile long expiresAtMillis = Long.MAX_VALUE;
+
+        LocalEntry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        boolean isExpired(long nowMillis) {
+            return nowMillis >= expiresAtMillis;
+        }
+    }
+}
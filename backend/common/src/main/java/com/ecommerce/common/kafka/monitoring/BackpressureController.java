@@ -0,0 +1,143 @@
+package com.ecommerce.common.kafka.monitoring;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pauses all Kafka listener containers while any downstream {@link SaturationSignal} is at or
+ * above the high watermark, and resumes them once every signal has dropped to the low watermark.
+ * The gap between the two watermarks keeps containers from flapping between states.
+ * <p>
+ * Only containers paused by this controller are resumed by it; containers paused elsewhere
+ * are left alone. Exempt listeners, which do not load the saturated resources, are never paused.
+ */
+@Slf4j
+public class BackpressureController {
+
+    private final KafkaListenerEndpointRegistry registry;
+    private final List<SaturationSignal> signals;
+    private final double highWatermark;
+    private final double lowWatermark;
+    private final long intervalMillis;
+    private final Set<String> exemptListeners;
+
+    private final Set<String> pausedByController = ConcurrentHashMap.newKeySet();
+    private volatile Map<String, Double> lastReadings = Map.of();
+
+    private ScheduledExecutorService scheduler;
+
+    public BackpressureController(KafkaListenerEndpointRegistry registry, List<SaturationSignal> signals,
+                                  double highWatermark, double lowWatermark, long intervalMillis,
+                                  Set<String> exemptListeners) {
+        if (lowWatermark > highWatermark) {
+            throw new IllegalArgumentException("Low watermark must not exceed high watermark");
+        }
+        this.registry = registry;
+        this.signals = signals;
+        this.highWatermark = highWatermark;
+        this.lowWatermark = lowWatermark;
+        this.intervalMillis = intervalMillis;
+        this.exemptListeners = Set.copyOf(exemptListeners);
+    }
+
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kafka-backpressure");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::evaluate, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Get the latest signal readings and the listeners currently paused by backpressure
+     *
+     * @return the backpressure status
+     */
+    public BackpressureStatus getStatus() {
+        Map<String, Double> readings = lastReadings;
+        String saturatedSignal = null;
+        double saturation = 0.0;
+        for (Map.Entry<String, Double> reading : readings.entrySet()) {
+            if (reading.getValue() > saturation) {
+                saturation = reading.getValue();
+                saturatedSignal = reading.getKey();
+            }
+        }
+        return BackpressureStatus.builder()
+                .saturation(saturation)
+                .saturatedSignal(saturatedSignal)
+                .signals(readings)
+                .pausedListeners(Set.copyOf(pausedByController))
+                .highWatermark(highWatermark)
+                .lowWatermark(lowWatermark)
+                .build();
+    }
+
+    void evaluate() {
+        Map<String, Double> readings = new LinkedHashMap<>();
+        double saturation = 0.0;
+        String saturatedSignal = null;
+        for (SaturationSignal signal : signals) {
+            double value;
+            try {
+                value = signal.getSaturation();
+            } catch (RuntimeException e) {
+                log.warn("Saturation signal {} failed: {}", signal.getName(), e.getMessage());
+                continue;
+            }
+            readings.put(signal.getName(), value);
+            if (value > saturation) {
+                saturation = value;
+                saturatedSignal = signal.getName();
+            }
+        }
+        lastReadings = readings;
+
+        if (saturation >= highWatermark) {
+            pauseAll(saturatedSignal, saturation);
+        } else if (saturation <= lowWatermark && !pausedByController.isEmpty()) {
+            resumeAll(saturation);
+        }
+    }
+
+    private void pauseAll(String signal, double saturation) {
+        for (MessageListenerContainer container : registry.getListenerContainers()) {
+            if (container.isPauseRequested() || exemptListeners.contains(container.getListenerId())) {
+                continue;
+            }
+            container.pause();
+            pausedByController.add(container.getListenerId());
+            log.warn("Paused listener {} due to backpressure from {} at {}",
+                    container.getListenerId(), signal, String.format("%.2f", saturation));
+        }
+    }
+
+    private void resumeAll(double saturation) {
+        for (String listenerId : pausedByController) {
+            MessageListenerContainer container = registry.getListenerContainer(listenerId);
+            if (container != null) {
+                container.resume();
+                log.info("Resumed listener {} after backpressure dropped to {}",
+                        listenerId, String.format("%.2f", saturation));
+            }
+            pausedByController.remove(listenerId);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.common.kafka.monitoring;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.Set;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackpressureStatus {
+    private double saturation;
+    private String saturatedSignal;
+    private Map<String, Double> signals;
+    private Set<String> pausedListeners;
+    private double highWatermark;
+    private double lowWatermark;
+}
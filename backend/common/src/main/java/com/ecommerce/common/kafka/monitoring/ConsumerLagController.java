@@ -0,0 +1,41 @@
+package com.ecommerce.common.kafka.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/monitoring")
+@RequiredArgsConstructor
+public class ConsumerLagController {
+
+    private final ConsumerLagMonitor consumerLagMonitor;
+    private final ObjectProvider<BackpressureController> backpressureController;
+
+    @GetMapping("/consumer-lag")
+    public ResponseEntity<List<ListenerLag>> getConsumerLag() {
+        return ResponseEntity.ok(consumerLagMonitor.getSnapshot());
+    }
+
+    @GetMapping("/consumer-lag/{listenerId}")
+    public ResponseEntity<ListenerLag> getConsumerLag(@PathVariable String listenerId) {
+        return consumerLagMonitor.getLag(listenerId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/backpressure")
+    public ResponseEntity<BackpressureStatus> getBackpressureStatus() {
+        BackpressureController controller = backpressureController.getIfAvailable();
+        if (controller == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(controller.getStatus());
+    }
+}
@@ -0,0 +1,253 @@
+package com.ecommerce.common.kafka.monitoring;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically samples committed and end offsets for every registered {@code @KafkaListener}
+ * and derives per-partition lag, a smoothed processing rate and a time-to-drain estimate.
+ * <p>
+ * Lag is computed group-wide from the broker, so every replica reports the same figure and it
+ * can be used directly as an autoscaling metric. Partitions without a committed offset are left
+ * out: their lag is unknown, and listeners that never commit (such as per-replica groups reading
+ * from the latest offset) would otherwise report the whole topic as lag.
+ */
+@Slf4j
+public class ConsumerLagMonitor {
+
+    private static final double RATE_SMOOTHING = 0.3;
+    private static final long ADMIN_TIMEOUT_SECONDS = 5;
+
+    private final KafkaListenerEndpointRegistry registry;
+    private final KafkaAdmin kafkaAdmin;
+    private final long intervalMillis;
+
+    private final Map<String, RateTracker> rateTrackers = new ConcurrentHashMap<>();
+    private volatile List<ListenerLag> snapshot = List.of();
+
+    private AdminClient adminClient;
+    private ScheduledExecutorService scheduler;
+
+    public ConsumerLagMonitor(KafkaListenerEndpointRegistry registry, KafkaAdmin kafkaAdmin, long intervalMillis) {
+        this.registry = registry;
+        this.kafkaAdmin = kafkaAdmin;
+        this.intervalMillis = intervalMillis;
+    }
+
+    public void start() {
+        adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties());
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kafka-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::sample, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (adminClient != null) {
+            adminClient.close(Duration.ofSeconds(ADMIN_TIMEOUT_SECONDS));
+        }
+    }
+
+    /**
+     * Get the most recent lag sample for all listeners
+     *
+     * @return list of lag per listener
+     */
+    public List<ListenerLag> getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Get the most recent lag sample for one listener
+     *
+     * @param listenerId the listener ID
+     * @return the lag if the listener has been sampled
+     */
+    public Optional<ListenerLag> getLag(String listenerId) {
+        return snapshot.stream()
+                .filter(lag -> lag.getListenerId().equals(listenerId))
+                .findFirst();
+    }
+
+    void sample() {
+        try {
+            long now = System.nanoTime();
+            Map<String, Map<TopicPartition, OffsetAndMetadata>> committedByGroup = new HashMap<>();
+            Map<MessageListenerContainer, Set<TopicPartition>> partitionsByContainer = new HashMap<>();
+            Set<TopicPartition> allPartitions = new HashSet<>();
+
+            for (MessageListenerContainer container : registry.getListenerContainers()) {
+                String groupId = container.getGroupId();
+                if (groupId == null) {
+                    continue;
+                }
+                Map<TopicPartition, OffsetAndMetadata> committed =
+                        committedByGroup.computeIfAbsent(groupId, this::fetchCommittedOffsets);
+                Set<TopicPartition> partitions = partitionsFor(container, committed.keySet());
+                partitionsByContainer.put(container, partitions);
+                allPartitions.addAll(partitions);
+            }
+
+            Map<TopicPartition, Long> endOffsets = fetchEndOffsets(allPartitions);
+
+            List<ListenerLag> result = new ArrayList<>();
+            for (Map.Entry<MessageListenerContainer, Set<TopicPartition>> entry : partitionsByContainer.entrySet()) {
+                MessageListenerContainer container = entry.getKey();
+                result.add(buildListenerLag(container, entry.getValue(),
+                        committedByGroup.get(container.getGroupId()), endOffsets, now));
+            }
+            snapshot = List.copyOf(result);
+        } catch (Exception e) {
+            log.warn("Failed to sample Kafka consumer lag: {}", e.getMessage());
+        }
+    }
+
+    ListenerLag buildListenerLag(MessageListenerContainer container, Set<TopicPartition> partitions,
+                                         Map<TopicPartition, OffsetAndMetadata> committed,
+                                         Map<TopicPartition, Long> endOffsets, long now) {
+        List<PartitionLag> partitionLags = new ArrayList<>(partitions.size());
+        long totalLag = 0;
+        double totalRate = 0;
+
+        for (TopicPartition tp : partitions) {
+            OffsetAndMetadata offset = committed.get(tp);
+            if (offset == null) {
+                continue;
+            }
+            long committedOffset = offset.offset();
+            long endOffset = endOffsets.getOrDefault(tp, committedOffset);
+            long lag = Math.max(0, endOffset - committedOffset);
+
+            RateTracker tracker = rateTrackers.computeIfAbsent(
+                    container.getGroupId() + "/" + tp, key -> new RateTracker());
+            double rate = tracker.update(committedOffset, now);
+
+            totalLag += lag;
+            totalRate += rate;
+            partitionLags.add(PartitionLag.builder()
+                    .topic(tp.topic())
+                    .partition(tp.partition())
+                    .committedOffset(committedOffset)
+                    .endOffset(endOffset)
+                    .lag(lag)
+                    .recordsPerSecond(rate)
+                    .build());
+        }
+
+        double secondsToDrain;
+        if (totalLag == 0) {
+            secondsToDrain = 0;
+        } else if (totalRate <= 0) {
+            secondsToDrain = -1;
+        } else {
+            secondsToDrain = totalLag / totalRate;
+        }
+
+        return ListenerLag.builder()
+                .listenerId(container.getListenerId())
+                .groupId(container.getGroupId())
+                .totalLag(totalLag)
+                .recordsPerSecond(totalRate)
+                .secondsToDrain(secondsToDrain)
+                .paused(container.isPauseRequested())
+                .sampledAt(Instant.now())
+                .partitions(partitionLags)
+                .build();
+    }
+
+    private Set<TopicPartition> partitionsFor(MessageListenerContainer container, Set<TopicPartition> committed) {
+        Set<TopicPartition> partitions = new HashSet<>();
+        Collection<TopicPartition> assigned = container.getAssignedPartitions();
+        if (assigned != null) {
+            partitions.addAll(assigned);
+        }
+
+        String[] topics = container.getContainerProperties().getTopics();
+        if (topics != null) {
+            Set<String> topicNames = new HashSet<>(Arrays.asList(topics));
+            for (TopicPartition tp : committed) {
+                if (topicNames.contains(tp.topic())) {
+                    partitions.add(tp);
+                }
+            }
+        }
+        return partitions;
+    }
+
+    private Map<TopicPartition, OffsetAndMetadata> fetchCommittedOffsets(String groupId) {
+        try {
+            Map<TopicPartition, OffsetAndMetadata> offsets = adminClient.listConsumerGroupOffsets(groupId)
+                    .partitionsToOffsetAndMetadata()
+                    .get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return offsets != null ? offsets : Map.of();
+        } catch (Exception e) {
+            log.warn("Failed to fetch committed offsets for group {}: {}", groupId, e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private Map<TopicPartition, Long> fetchEndOffsets(Set<TopicPartition> partitions) throws Exception {
+        if (partitions.isEmpty()) {
+            return Map.of();
+        }
+        Map<TopicPartition, OffsetSpec> request = new HashMap<>();
+        for (TopicPartition tp : partitions) {
+            request.put(tp, OffsetSpec.latest());
+        }
+        Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> offsets = adminClient.listOffsets(request)
+                .all()
+                .get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        Map<TopicPartition, Long> endOffsets = new HashMap<>();
+        offsets.forEach((tp, info) -> endOffsets.put(tp, info.offset()));
+        return endOffsets;
+    }
+
+    /**
+     * Exponentially smoothed commit rate for one partition. Only touched by the sampling thread.
+     */
+    private static final class RateTracker {
+        private long lastOffset = -1;
+        private long lastNanos;
+        private double rate;
+
+        double update(long offset, long nanos) {
+            if (lastOffset >= 0 && nanos > lastNanos) {
+                double seconds = (nanos - lastNanos) / 1_000_000_000.0;
+                double instantRate = Math.max(0, offset - lastOffset) / seconds;
+                rate = RATE_SMOOTHING * instantRate + (1 - RATE_SMOOTHING) * rate;
+            }
+            lastOffset = offset;
+            lastNanos = nanos;
+            return rate;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.ecommerce.common.kafka.monitoring;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Reports demand on the Hikari connection pool: active connections plus threads queuing for one,
+ * relative to the pool size and capped at 1.0. Readings are exponentially smoothed so a single
+ * thread briefly waiting does not pause consumers on its own; only sustained queuing does.
+ * <p>
+ * Meant to be read by one thread at a fixed interval, as {@link BackpressureController} does.
+ */
+public class HikariSaturationSignal implements SaturationSignal {
+
+    private static final double SMOOTHING = 0.3;
+
+    private final HikariDataSource dataSource;
+    private double saturation;
+
+    public HikariSaturationSignal(DataSource dataSource) {
+        try {
+            this.dataSource = dataSource.unwrap(HikariDataSource.class);
+        } catch (SQLException e) {
+            throw new IllegalArgumentException("DataSource is not backed by a Hikari pool", e);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "jdbc-pool";
+    }
+
+    @Override
+    public synchronized double getSaturation() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return 0.0;
+        }
+        double demand = (double) (pool.getActiveConnections() + pool.getThreadsAwaitingConnection())
+                / dataSource.getMaximumPoolSize();
+        saturation = SMOOTHING * Math.min(1.0, demand) + (1 - SMOOTHING) * saturation;
+        return saturation;
+    }
+}
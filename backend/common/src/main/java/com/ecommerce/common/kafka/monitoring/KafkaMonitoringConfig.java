@@ -0,0 +1,49 @@
+package com.ecommerce.common.kafka.monitoring;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaAdmin;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Consumer lag monitoring and backpressure for services with {@code @KafkaListener}s.
+ * Import it from the service's Kafka configuration; any {@link SaturationSignal} beans the
+ * service declares are picked up in addition to the JDBC pool signal.
+ */
+@Configuration
+@Import(ConsumerLagController.class)
+public class KafkaMonitoringConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ConsumerLagMonitor consumerLagMonitor(
+            KafkaListenerEndpointRegistry registry,
+            KafkaAdmin kafkaAdmin,
+            @Value("${kafka.monitoring.lag-interval-ms:10000}") long intervalMillis) {
+        return new ConsumerLagMonitor(registry, kafkaAdmin, intervalMillis);
+    }
+
+    @Bean
+    public SaturationSignal jdbcPoolSaturationSignal(DataSource dataSource) {
+        return new HikariSaturationSignal(dataSource);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(name = "kafka.backpressure.enabled", havingValue = "true")
+    public BackpressureController backpressureController(
+            KafkaListenerEndpointRegistry registry,
+            List<SaturationSignal> signals,
+            @Value("${kafka.backpressure.high-watermark:0.9}") double highWatermark,
+            @Value("${kafka.backpressure.low-watermark:0.7}") double lowWatermark,
+            @Value("${kafka.backpressure.check-interval-ms:1000}") long intervalMillis,
+            @Value("${kafka.backpressure.exempt-listeners:}") Set<String> exemptListeners) {
+        return new BackpressureController(registry, signals, highWatermark, lowWatermark, intervalMillis,
+                exemptListeners);
+    }
+}
@@ -0,0 +1,28 @@
+package com.ecommerce.common.kafka.monitoring;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ListenerLag {
+    private String listenerId;
+    private String groupId;
+    private long totalLag;
+    private double recordsPerSecond;
+    /**
+     * Estimated seconds until the current lag is consumed at the observed rate,
+     * 0 when there is no lag and -1 when the listener is not making progress
+     */
+    private double secondsToDrain;
+    private boolean paused;
+    private Instant sampledAt;
+    private List<PartitionLag> partitions;
+}
@@ -0,0 +1,19 @@
+package com.ecommerce.common.kafka.monitoring;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PartitionLag {
+    private String topic;
+    private int partition;
+    private long committedOffset;
+    private long endOffset;
+    private long lag;
+    private double recordsPerSecond;
+}
@@ -0,0 +1,34 @@
+package com.ecommerce.common.kafka.monitoring;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * A downstream resource whose utilisation should throttle Kafka consumption,
+ * such as the JDBC connection pool or an outbound email queue.
+ */
+public interface SaturationSignal {
+
+    /**
+     * Name shown in the backpressure status
+     */
+    String getName();
+
+    /**
+     * Current utilisation between 0.0 (idle) and 1.0 (exhausted)
+     */
+    double getSaturation();
+
+    static SaturationSignal of(String name, DoubleSupplier saturation) {
+        return new SaturationSignal() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public double getSaturation() {
+                return saturation.getAsDouble();
+            }
+        };
+    }
+}
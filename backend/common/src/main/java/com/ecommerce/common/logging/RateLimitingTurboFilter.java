@@ -0,0 +1,116 @@
+package com.ecommerce.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps how often each log statement (identified by its format string) may fire per second.
+ * Turbo filters run before the event is created and before the message is formatted, so a
+ * suppressed call costs a map lookup and a CAS.
+ * <p>
+ * Only events at or below {@code maxLevel} (INFO by default) from loggers under one of
+ * {@code loggerPrefixes} are limited; warnings and errors always pass. When a statement's
+ * window rolls over, the number of events suppressed in it is reported once.
+ * <pre>
+ * &lt;turboFilter class="com.ecommerce.common.logging.RateLimitingTurboFilter"&gt;
+ *     &lt;loggerPrefixes&gt;com.ecommerce&lt;/loggerPrefixes&gt;
+ *     &lt;maxPerSecond&gt;20&lt;/maxPerSecond&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ */
+public class RateLimitingTurboFilter extends TurboFilter {
+
+    private static final int MAX_TRACKED_STATEMENTS = 10_000;
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final Map<String, AtomicLong> windows = new ConcurrentHashMap<>();
+    private final org.slf4j.Logger summaryLogger = LoggerFactory.getLogger(RateLimitingTurboFilter.class);
+    // nanoTime may be negative, so seconds are counted from here to keep them positive
+    private final long startNanos;
+
+    private String[] prefixes = {"com.ecommerce"};
+    private int maxPerSecond = 20;
+    private Level maxLevel = Level.INFO;
+
+    public RateLimitingTurboFilter() {
+        this(System.nanoTime());
+    }
+
+    RateLimitingTurboFilter(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    public void setLoggerPrefixes(String loggerPrefixes) {
+        this.prefixes = loggerPrefixes.trim().split("\\s*,\\s*");
+    }
+
+    public void setMaxPerSecond(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    public void setMaxLevel(String maxLevel) {
+        this.maxLevel = Level.toLevel(maxLevel, Level.INFO);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!isStarted() || format == null || level == null || level.toInt() > maxLevel.toInt()
+                || !logger.isEnabledFor(level) || logger.getName().equals(summaryLogger.getName())
+                || !matchesPrefix(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+
+        AtomicLong window = windows.get(format);
+        if (window == null) {
+            if (windows.size() >= MAX_TRACKED_STATEMENTS) {
+                return FilterReply.NEUTRAL;
+            }
+            window = windows.computeIfAbsent(format, key -> new AtomicLong());
+        }
+        return tryAcquire(window, format, System.nanoTime()) ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    // The window packs the current second in the high bits and the event count in the low bits
+    boolean tryAcquire(AtomicLong window, String format, long nowNanos) {
+        long second = TimeUnit.NANOSECONDS.toSeconds(nowNanos - startNanos);
+        while (true) {
+            long state = window.get();
+            long stateSecond = state >>> COUNT_BITS;
+            long count = state & COUNT_MASK;
+
+            if (stateSecond != second) {
+                if (window.compareAndSet(state, (second << COUNT_BITS) | 1)) {
+                    if (count > maxPerSecond) {
+                        summaryLogger.info("Suppressed {} log events like \"{}\"", count - maxPerSecond, format);
+                    }
+                    return true;
+                }
+            } else if (count < COUNT_MASK) {
+                if (window.compareAndSet(state, state + 1)) {
+                    return count < maxPerSecond;
+                }
+            } else {
+                return false;
+            }
+        }
+    }
+
+    private boolean matchesPrefix(String loggerName) {
+        for (String prefix : prefixes) {
+            if (loggerName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
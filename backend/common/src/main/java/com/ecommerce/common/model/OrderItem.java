@@ -1,5 +1,6 @@
 package com.ecommerce.common.model;
 
+import com.ecommerce.common.money.Money;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -8,8 +9,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
-
 @Data
 @Builder
 @NoArgsConstructor
@@ -23,7 +22,7 @@ public class OrderItem {
     
     @NotNull
     @Positive
-    private BigDecimal price;
+    private Money price;
     
     @NotNull
     @Positive
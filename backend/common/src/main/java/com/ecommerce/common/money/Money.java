@@ -0,0 +1,347 @@
+package com.ecommerce.common.money;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+/**
+ * An amount of money held as a count of minor units (e.g. cents) and a currency.
+ * <p>
+ * Arithmetic is done on the {@code long} with overflow checks, so adding up a basket costs one
+ * small object per result instead of the {@code BigInteger}-backed intermediates of
+ * {@link BigDecimal}, and formatting appends digits straight into a {@link StringBuilder}.
+ * <p>
+ * In JSON an amount is a plain decimal number, e.g. {@code 10.99}, exactly as the
+ * {@code BigDecimal} fields it replaces were written, and either numbers or numeric strings are
+ * read. Neither JSON nor the {@code numeric} columns (see {@link MoneyConverter}) carry a
+ * currency, so amounts read from them are in {@link #DEFAULT_CURRENCY}. Values with more
+ * decimal places than the currency has are rounded half up, as the columns did.
+ */
+@JsonSerialize(using = Money.Serializer.class)
+@JsonDeserialize(using = Money.Deserializer.class)
+public final class Money implements Comparable<Money>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final Currency DEFAULT_CURRENCY = Currency.getInstance("USD");
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+            1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L,
+            100_000_000_000_000L, 1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L,
+            1_000_000_000_000_000_000L
+    };
+    // Digits the fast parsing path accepts before falling back to BigDecimal, safely within a long
+    private static final int MAX_FAST_DIGITS = 18;
+
+    private static final Money ZERO = new Money(0, DEFAULT_CURRENCY);
+
+    private final long minorUnits;
+    private final Currency currency;
+
+    private Money(long minorUnits, Currency currency) {
+        this.minorUnits = minorUnits;
+        this.currency = currency;
+    }
+
+    /**
+     * Get an amount from its count of minor units
+     *
+     * @param minorUnits the amount in minor units, e.g. 1099 for 10.99
+     * @param currency the currency
+     * @return the amount
+     */
+    public static Money ofMinor(long minorUnits, Currency currency) {
+        if (currency != DEFAULT_CURRENCY) {
+            // Rejects currencies without a minor unit
+            scaleOf(currency);
+        }
+        return minorUnits == 0 && currency == DEFAULT_CURRENCY ? ZERO : new Money(minorUnits, currency);
+    }
+
+    /**
+     * Get an amount in the default currency from its count of minor units
+     *
+     * @param minorUnits the amount in minor units, e.g. 1099 for 10.99
+     * @return the amount
+     */
+    public static Money ofMinor(long minorUnits) {
+        return ofMinor(minorUnits, DEFAULT_CURRENCY);
+    }
+
+    /**
+     * Get an amount from a decimal value
+     *
+     * @param amount the amount in major units
+     * @param currency the currency
+     * @return the amount, rounded half up to the currency's decimal places
+     * @throws ArithmeticException if the amount does not fit in a long of minor units
+     */
+    public static Money of(BigDecimal amount, Currency currency) {
+        return ofMinor(amount.setScale(scaleOf(currency), RoundingMode.HALF_UP).unscaledValue().longValueExact(),
+                currency);
+    }
+
+    /**
+     * Get an amount in the default currency from a decimal value
+     *
+     * @param amount the amount in major units
+     * @return the amount, rounded half up to the currency's decimal places
+     * @throws ArithmeticException if the amount does not fit in a long of minor units
+     */
+    public static Money of(BigDecimal amount) {
+        return of(amount, DEFAULT_CURRENCY);
+    }
+
+    /**
+     * Get an amount in the default currency from its decimal text, e.g. {@code "10.99"}
+     *
+     * @param text the amount in major units
+     * @return the amount, rounded half up to the currency's decimal places
+     * @throws NumberFormatException if the text is not a decimal number
+     * @throws ArithmeticException if the amount does not fit in a long of minor units
+     */
+    public static Money parse(CharSequence text) {
+        return parse(text, DEFAULT_CURRENCY);
+    }
+
+    /**
+     * Get an amount from its decimal text, e.g. {@code "10.99"}
+     *
+     * @param text the amount in major units
+     * @param currency the currency
+     * @return the amount, rounded half up to the currency's decimal places
+     * @throws NumberFormatException if the text is not a decimal number
+     * @throws ArithmeticException if the amount does not fit in a long of minor units
+     */
+    public static Money parse(CharSequence text, Currency currency) {
+        int scale = scaleOf(currency);
+        int length = text.length();
+        int pos = 0;
+        boolean negative = false;
+        if (length > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+')) {
+            negative = text.charAt(0) == '-';
+            pos++;
+        }
+
+        // Plain decimals with no more places than the currency are parsed without allocating;
+        // exponents, extra places and very long values go through BigDecimal
+        long value = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; pos < length; pos++) {
+            char c = text.charAt(pos);
+            if (c >= '0' && c <= '9') {
+                if (++digits > MAX_FAST_DIGITS || (fractionDigits >= 0 && ++fractionDigits > scale)) {
+                    return of(new BigDecimal(text.toString()), currency);
+                }
+                value = value * 10 + (c - '0');
+            } else if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                return of(new BigDecimal(text.toString()), currency);
+            }
+        }
+        if (digits == 0) {
+            throw new NumberFormatException("Not a decimal amount: \"" + text + "\"");
+        }
+        long minorUnits = Math.multiplyExact(value, POWERS_OF_TEN[scale - Math.max(fractionDigits, 0)]);
+        return ofMinor(negative ? -minorUnits : minorUnits, currency);
+    }
+
+    /**
+     * Get zero in the default currency
+     */
+    public static Money zero() {
+        return ZERO;
+    }
+
+    /**
+     * Get zero in a currency
+     *
+     * @param currency the currency
+     * @return zero
+     */
+    public static Money zero(Currency currency) {
+        return ofMinor(0, currency);
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    /**
+     * Add an amount in the same currency
+     *
+     * @param other the amount to add
+     * @return the sum
+     * @throws ArithmeticException if the sum overflows
+     */
+    public Money plus(Money other) {
+        checkCurrency(other);
+        if (other.minorUnits == 0) {
+            return this;
+        }
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    /**
+     * Subtract an amount in the same currency
+     *
+     * @param other the amount to subtract
+     * @return the difference
+     * @throws ArithmeticException if the difference overflows
+     */
+    public Money minus(Money other) {
+        checkCurrency(other);
+        if (other.minorUnits == 0) {
+            return this;
+        }
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    /**
+     * Multiply by a quantity, e.g. to get a line total from a unit price
+     *
+     * @param quantity the quantity
+     * @return the product
+     * @throws ArithmeticException if the product overflows
+     */
+    public Money times(long quantity) {
+        if (quantity == 1) {
+            return this;
+        }
+        return new Money(Math.multiplyExact(minorUnits, quantity), currency);
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    /**
+     * Get the amount as a decimal in major units, for code that still works in BigDecimal
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, scaleOf(currency));
+    }
+
+    /**
+     * Append the amount in major units, e.g. {@code 10.99}, without a currency symbol
+     *
+     * @param out the builder to append to
+     * @return the builder
+     */
+    public StringBuilder appendTo(StringBuilder out) {
+        int scale = scaleOf(currency);
+        if (minorUnits < 0) {
+            out.append('-');
+        }
+        // Math.abs(Long.MIN_VALUE) is negative, so split before taking the magnitude
+        long major = Math.abs(minorUnits / POWERS_OF_TEN[scale]);
+        long minor = Math.abs(minorUnits % POWERS_OF_TEN[scale]);
+        out.append(major);
+        if (scale > 0) {
+            out.append('.');
+            for (int i = scale - 1; i > 0 && minor < POWERS_OF_TEN[i]; i--) {
+                out.append('0');
+            }
+            out.append(minor);
+        }
+        return out;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        checkCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Money)) {
+            return false;
+        }
+        Money other = (Money) o;
+        return minorUnits == other.minorUnits && currency.equals(other.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(minorUnits) + currency.hashCode();
+    }
+
+    /**
+     * Get the amount in major units, e.g. {@code 10.99}, as written to JSON
+     */
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder(24)).toString();
+    }
+
+    private void checkCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + other.currency);
+        }
+    }
+
+    private static int scaleOf(Currency currency) {
+        int scale = currency.getDefaultFractionDigits();
+        if (scale < 0) {
+            throw new IllegalArgumentException("Currency " + currency + " has no minor unit");
+        }
+        return scale;
+    }
+
+    static final class Serializer extends JsonSerializer<Money> {
+        @Override
+        public void serialize(Money value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            if (gen.canWriteFormattedNumbers()) {
+                // Text formats take the digits as they are
+                gen.writeNumber(value.toString());
+            } else {
+                gen.writeNumber(value.toBigDecimal());
+            }
+        }
+    }
+
+    static final class Deserializer extends JsonDeserializer<Money> {
+        @Override
+        public Money deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonToken token = p.currentToken();
+            if (token != JsonToken.VALUE_NUMBER_FLOAT && token != JsonToken.VALUE_NUMBER_INT
+                    && token != JsonToken.VALUE_STRING) {
+                return (Money) ctxt.handleUnexpectedToken(Money.class, p);
+            }
+            String text = p.getText().trim();
+            try {
+                return Money.parse(text);
+            } catch (NumberFormatException | ArithmeticException e) {
+                throw InvalidFormatException.from(p, "Not a valid amount: " + e.getMessage(), text, Money.class);
+            }
+        }
+    }
+}
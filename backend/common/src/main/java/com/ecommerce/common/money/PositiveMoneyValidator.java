@@ -0,0 +1,18 @@
+package com.ecommerce.common.money;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Lets {@code @Positive} be used on {@link Money} fields as it was on their {@code BigDecimal}
+ * predecessors. Registered with Hibernate Validator through
+ * {@code META-INF/services/jakarta.validation.ConstraintValidator}.
+ */
+public class PositiveMoneyValidator implements ConstraintValidator<Positive, Money> {
+
+    @Override
+    public boolean isValid(Money value, ConstraintValidatorContext context) {
+        return value == null || value.isPositive();
+    }
+}
@@ -0,0 +1,32 @@
+package com.ecommerce.common.tracing;
+
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Span export shared by all services. Spring Boot builds the OpenTelemetry tracer and
+ * W3C propagation, and passes every {@link SpanExporter} bean to its batch span processor, so
+ * the file exporter here runs alongside the OTLP exporter when
+ * {@code management.otlp.tracing.endpoint} is set.
+ * <p>
+ * HTTP server spans come from Spring MVC, JDBC spans from datasource-micrometer, and
+ * Kafka producer/consumer spans from the observation-enabled templates and listener
+ * containers in each service's {@code KafkaConfig}.
+ */
+@Configuration
+public class TracingConfig {
+
+    // The tracer provider shuts exporters down, so no destroy method here
+    @Bean(destroyMethod = "")
+    @ConditionalOnProperty(name = "tracing.file.enabled", havingValue = "true")
+    public SpanExporter jsonFileSpanExporter(
+            @Value("${tracing.file.path:logs/traces-${spring.application.name}.jsonl}") String path) throws IOException {
+        return new JsonFileSpanExporter(Path.of(path));
+    }
+}
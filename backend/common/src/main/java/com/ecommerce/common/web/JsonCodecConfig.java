@@ -0,0 +1,47 @@
+package com.ecommerce.common.web;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Serialisation settings shared by the HTTP services: appends Smile
+ * ({@code application/x-jackson-smile}) and CBOR ({@code application/cbor}) converters for
+ * internal callers that ask for them in {@code Accept}. They go after the JSON converter so that
+ * clients accepting any type still get JSON.
+ * <p>
+ * Import it from the service's web configuration.
+ */
+@Configuration
+public class JsonCodecConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    @Value("${http.codecs.binary-formats.enabled:true}")
+    private boolean binaryFormatsEnabled;
+
+    public JsonCodecConfig(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        if (!binaryFormatsEnabled) {
+            return;
+        }
+        // The builder is a prototype bean carrying the spring.jackson.* settings and all modules
+        converters.add(new MappingJackson2SmileHttpMessageConverter(
+                objectMapperBuilder.getObject().factory(new SmileFactory()).build()));
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                objectMapperBuilder.getObject().factory(new CBORFactory()).build()));
+    }
+}
@@ -0,0 +1,90 @@
+package com.ecommerce.common.web;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Validators for a conditional GET, read from a version-only query so that an unchanged
+ * resource can be answered with 304 without loading, mapping or serialising it.
+ * <p>
+ * Constructors are used directly from JPQL constructor expressions, e.g.
+ * {@code SELECT new com.ecommerce.common.web.ResourceVersion(p.version, p.updatedAt) ...}.
+ */
+public final class ResourceVersion {
+
+    private final String eTag;
+    private final long lastModified;
+
+    /**
+     * Validators for a single entity, or for a collection of unversioned entities
+     *
+     * @param revision the entity version, the member count of an unversioned collection,
+     *                 or null if the entity is not versioned
+     * @param updatedAt the last update time
+     */
+    public ResourceVersion(Long revision, LocalDateTime updatedAt) {
+        this(revision != null ? Long.toString(revision, 36) : "t", updatedAt);
+    }
+
+    /**
+     * Validators for a collection, which changes whenever a member is added, removed or updated
+     *
+     * @param count the number of members
+     * @param revisionSum the sum of the member versions
+     * @param lastUpdated the latest member update time
+     */
+    public ResourceVersion(Long count, Long revisionSum, LocalDateTime lastUpdated) {
+        this(Long.toString(count != null ? count : 0, 36) + "." + Long.toString(revisionSum != null ? revisionSum : 0, 36),
+                lastUpdated);
+    }
+
+    private ResourceVersion(String prefix, LocalDateTime updatedAt) {
+        long micros = toEpochMicros(updatedAt);
+        this.eTag = "\"" + prefix + "-" + Long.toString(micros, 36) + "\"";
+        this.lastModified = micros >= 0 ? micros / 1000 : -1;
+    }
+
+    private ResourceVersion(String eTag, long lastModified) {
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Validators that also change with state the version does not track, such as stock held
+     * outside the table
+     *
+     * @param qualifier identifies that state, without quotes
+     * @return the qualified validators
+     */
+    public ResourceVersion withQualifier(String qualifier) {
+        return new ResourceVersion(eTag.substring(0, eTag.length() - 1) + "." + qualifier + "\"", lastModified);
+    }
+
+    /**
+     * Get the strong entity tag, including the surrounding quotes
+     */
+    public String getETag() {
+        return eTag;
+    }
+
+    /**
+     * Get the last modification time in epoch milliseconds, or -1 if unknown
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    private static long toEpochMicros(LocalDateTime time) {
+        if (time == null) {
+            return -1;
+        }
+        Instant instant = time.atZone(ZoneId.systemDefault()).toInstant();
+        return instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1000;
+    }
+
+    @Override
+    public String toString() {
+        return eTag;
+    }
+}
@@ -0,0 +1,218 @@
+package com.ecommerce.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routes real transactions through {@link ReadWriteDataSource} to one embedded PostgreSQL, where
+ * the primary and each replica are separate databases, so {@code current_database()} tells
+ * which one a query went to.
+ */
+class ReadReplicaRoutingTest {
+
+    private static final String PRIMARY = "postgres";
+    private static final String REPLICA_A = "replica_a";
+    private static final String REPLICA_B = "replica_b";
+
+    private static EmbeddedPostgres postgres;
+
+    private ReadWriteDataSource dataSource;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeAll
+    static void startPostgres() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE " + REPLICA_A);
+            statement.execute("CREATE DATABASE " + REPLICA_B);
+        }
+    }
+
+    @AfterAll
+    static void stopPostgres() throws Exception {
+        postgres.close();
+    }
+
+    @AfterEach
+    void tearDown() {
+        DataSourceRoutingContext.clear();
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+
+    @Test
+    void readOnlyTransaction_WhenReplicaAvailable_ShouldReadFromReplica() {
+        // Arrange
+        givenDataSource(0, pool(REPLICA_A));
+
+        // Act & Assert
+        assertEquals(REPLICA_A, readOnly.execute(status -> currentDatabase()));
+        assertEquals(PRIMARY, readWrite.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void readOnlyTransaction_WhenReplicaLagging_ShouldFallBackToPrimary() {
+        // Arrange - any lag is too much
+        givenDataSource(-1, pool(REPLICA_A));
+
+        // Act & Assert
+        assertEquals(PRIMARY, readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void readOnlyTransaction_WhenReplicaUnreachable_ShouldFallBackToPrimary() {
+        // Arrange
+        HikariDataSource unreachable = new HikariDataSource();
+        unreachable.setJdbcUrl("jdbc:postgresql://localhost:1/" + REPLICA_A);
+        unreachable.setConnectionTimeout(250);
+        givenDataSource(0, unreachable, pool(REPLICA_B));
+
+        // Act
+        List<String> databases = List.of(readOnly.execute(status -> currentDatabase()),
+                readOnly.execute(status -> currentDatabase()));
+
+        // Assert
+        assertEquals(List.of(REPLICA_B, REPLICA_B), databases);
+    }
+
+    @Test
+    void readOnlyTransaction_WhenPinnedToPrimary_ShouldReadFromPrimary() {
+        // Arrange
+        givenDataSource(0, pool(REPLICA_A));
+        DataSourceRoutingContext.pinToPrimary();
+
+        // Act & Assert
+        assertEquals(PRIMARY, readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void readOnlyTransactions_OutsideRequest_ShouldNotKeepReplica() {
+        // Arrange - e.g. a Kafka listener thread
+        givenDataSource(0, pool(REPLICA_A), pool(REPLICA_B));
+
+        // Act
+        List<String> databases = List.of(readOnly.execute(status -> currentDatabase()),
+                readOnly.execute(status -> currentDatabase()));
+
+        // Assert
+        assertNotEquals(databases.get(0), databases.get(1));
+        assertNull(DataSourceRoutingContext.getReplica());
+    }
+
+    @Test
+    void filter_ShouldKeepRequestOnOneReplicaAndClearItAfterwards() throws Exception {
+        // Arrange
+        givenDataSource(0, pool(REPLICA_A), pool(REPLICA_B));
+        List<String> databases = new ArrayList<>();
+
+        // Act
+        filter(new MockHttpServletRequest("GET", "/api/products"), new MockHttpServletResponse(), (request, response) -> {
+            databases.add(readOnly.execute(status -> currentDatabase()));
+            databases.add(readOnly.execute(status -> currentDatabase()));
+        });
+
+        // Assert
+        assertNotEquals(PRIMARY, databases.get(0));
+        assertEquals(databases.get(0), databases.get(1));
+        assertNull(DataSourceRoutingContext.getReplica());
+        assertFalse(DataSourceRoutingContext.isInRequest());
+    }
+
+    @Test
+    void filter_WhenWriteRequest_ShouldReadFromPrimaryAndSetCookie() throws Exception {
+        // Arrange
+        givenDataSource(0, pool(REPLICA_A));
+        List<String> databases = new ArrayList<>();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter(new MockHttpServletRequest("POST", "/api/orders"), response,
+                (req, res) -> databases.add(readOnly.execute(status -> currentDatabase())));
+
+        // Assert
+        assertEquals(List.of(PRIMARY), databases);
+        Cookie cookie = response.getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        assertNotNull(cookie);
+        assertTrue(Long.parseLong(cookie.getValue()) > System.currentTimeMillis());
+        assertFalse(DataSourceRoutingContext.isPinnedToPrimary());
+    }
+
+    @Test
+    void filter_WhenWithinWriteWindow_ShouldReadFromPrimary() throws Exception {
+        // Arrange
+        givenDataSource(0, pool(REPLICA_A));
+        List<String> databases = new ArrayList<>();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, Long.toString(System.currentTimeMillis() + 5000)));
+
+        // Act
+        filter(request, new MockHttpServletResponse(),
+                (req, res) -> databases.add(readOnly.execute(status -> currentDatabase())));
+
+        // Assert
+        assertEquals(List.of(PRIMARY), databases);
+    }
+
+    @Test
+    void filter_WhenWriteWindowExpired_ShouldReadFromReplica() throws Exception {
+        // Arrange
+        givenDataSource(0, pool(REPLICA_A));
+        List<String> databases = new ArrayList<>();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, Long.toString(System.currentTimeMillis() - 1)));
+
+        // Act
+        filter(request, new MockHttpServletResponse(),
+                (req, res) -> databases.add(readOnly.execute(status -> currentDatabase())));
+
+        // Assert
+        assertEquals(List.of(REPLICA_A), databases);
+    }
+
+    private void givenDataSource(long maxLagMillis, HikariDataSource... replicas) {
+        dataSource = new ReadWriteDataSource(pool(PRIMARY), List.of(replicas), maxLagMillis, 60000);
+        dataSource.checkReplicas();
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private String currentDatabase() {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT current_database()", String.class);
+    }
+
+    private static void filter(MockHttpServletRequest request, MockHttpServletResponse response, FilterChain chain)
+            throws Exception {
+        new ReadYourWritesFilter(Duration.ofSeconds(5)).doFilter(request, response, chain);
+    }
+
+    private static HikariDataSource pool(String database) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(postgres.getJdbcUrl("postgres", database));
+        pool.setMaximumPoolSize(2);
+        return pool;
+    }
+}
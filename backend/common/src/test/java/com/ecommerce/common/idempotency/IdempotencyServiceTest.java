@@ -0,0 +1,251 @@
+package com.ecommerce.common.idempotency;
+
+import com.ecommerce.common.idempotency.IdempotencyRepository.StoredKey;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T12:00:00Z");
+    private static final String SCOPED_KEY = "orders:key-1";
+
+    @Mock
+    private IdempotencyRepository repository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger executions = new AtomicInteger();
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(repository, objectMapper, Duration.ofHours(24),
+                Duration.ofMinutes(5), 1000, Duration.ofSeconds(30), 60000, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void execute_WhenLocalDuplicateInFlight_ShouldWaitForFirstExecution() throws Exception {
+        // Arrange
+        when(repository.claim(eq(SCOPED_KEY), anyString(), eq(NOW), any())).thenReturn(true);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<ResponseEntity<Map>> first = callers.submit(() -> execute("request", () -> {
+            started.countDown();
+            await(release);
+            return Map.of("orderId", "order-" + executions.incrementAndGet());
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act
+        Future<ResponseEntity<Map>> duplicate = callers.submit(() -> execute("request", this::createOrder));
+        release.countDown();
+
+        // Assert
+        ResponseEntity<Map> original = first.get(5, TimeUnit.SECONDS);
+        ResponseEntity<Map> replayed = duplicate.get(5, TimeUnit.SECONDS);
+        assertEquals(1, executions.get());
+        assertEquals(original.getBody(), replayed.getBody());
+        assertNull(original.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals("true", replayed.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        verify(repository, times(1)).claim(anyString(), anyString(), any(), any());
+        verify(repository).complete(SCOPED_KEY, "{\"orderId\":\"order-1\"}");
+    }
+
+    @Test
+    void execute_WhenKeyReusedLocallyForDifferentRequest_ShouldReject() {
+        // Arrange
+        when(repository.claim(eq(SCOPED_KEY), anyString(), eq(NOW), any())).thenReturn(true);
+        execute("request", this::createOrder);
+
+        // Act & Assert
+        IdempotencyKeyException exception = assertThrows(IdempotencyKeyException.class,
+                () -> execute("other request", this::createOrder));
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, exception.getStatus());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void execute_WhenKeyStoredForDifferentRequest_ShouldReject() throws Exception {
+        // Arrange - the key was used on another replica
+        when(repository.claim(eq(SCOPED_KEY), anyString(), eq(NOW), any())).thenReturn(false);
+        when(repository.find(SCOPED_KEY, NOW)).thenReturn(Optional.of(
+                new StoredKey(fingerprint("other request"), "{\"orderId\":\"order-9\"}", true, NOW)));
+
+        // Act & Assert
+        IdempotencyKeyException exception = assertThrows(IdempotencyKeyException.class,
+                () -> execute("request", this::createOrder));
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, exception.getStatus());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void execute_WhenKeyCompletedOnAnotherReplica_ShouldReplayStoredResponse() throws Exception {
+        // Arrange
+        when(repository.claim(eq(SCOPED_KEY), anyString(), eq(NOW), any())).thenReturn(false);
+        when(repository.find(SCOPED_KEY, NOW)).thenReturn(Optional.of(
+                new StoredKey(fingerprint("request"), "{\"orderId\":\"order-9\"}", true, NOW)));
+
+        // Act
+        ResponseEntity<Map> response = execute("request", this::createOrder);
+
+        // Assert
+        assertEquals(Map.of("orderId", "order-9"), response.getBody());
+        assertEquals("true", response.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void execute_WhenClaimAbandoned_ShouldTakeItOverAndExecute() throws Exception {
+        // Arrange
+        String fingerprint = fingerprint("request");
+        when(repository.claim(eq(SCOPED_KEY), anyString(), eq(NOW), any())).thenReturn(false);
+        when(repository.find(SCOPED_KEY, NOW)).thenReturn(Optional.of(
+                new StoredKey(fingerprint, null, false, NOW.minus(Duration.ofMinutes(5)))));
+        when(repository.takeOver(SCOPED_KEY, fingerprint, NOW.minus(Duration.ofSeconds(30)), NOW)).thenReturn(true);
+
+        // Act
+        ResponseEntity<Map> response = execute("request", this::createOrder);
+
+        // Assert
+        assertEquals(Map.of("orderId", "order-1"), response.getBody());
+        verify(repository).complete(SCOPED_KEY, "{\"orderId\":\"order-1\"}");
+    }
+
+    @Test
+    void execute_WhenClaimStillInProgress_ShouldReturnConflict() throws Exception {
+        // Arrange
+        String fingerprint = fingerprint("request");
+        when(repository.claim(eq(SCOPED_KEY), anyString(), eq(NOW), any())).thenReturn(false);
+        when(repository.find(SCOPED_KEY, NOW)).thenReturn(Optional.of(new StoredKey(fingerprint, null, false, NOW)));
+        when(repository.takeOver(eq(SCOPED_KEY), eq(fingerprint), any(), eq(NOW))).thenReturn(false);
+
+        // Act & Assert
+        IdempotencyKeyException exception = assertThrows(IdempotencyKeyException.class,
+                () -> execute("request", this::createOrder));
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void execute_WhenActionFails_ShouldReleaseClaimForRetry() {
+        // Arrange
+        when(repository.claim(eq(SCOPED_KEY), anyString(), eq(NOW), any())).thenReturn(true);
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> execute("request", () -> {
+            throw new IllegalStateException("Inventory unavailable");
+        }));
+        ResponseEntity<Map> retried = execute("request", this::createOrder);
+
+        // Assert
+        verify(repository).release(SCOPED_KEY);
+        assertEquals(Map.of("orderId", "order-1"), retried.getBody());
+        assertNull(retried.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+    }
+
+    @Test
+    void execute_WhenResponseCannotBeSerialised_ShouldKeepClaim() {
+        // Arrange
+        when(repository.claim(eq(SCOPED_KEY), anyString(), eq(NOW), any())).thenReturn(true);
+        Object unserialisable = new Object();
+
+        // Act
+        ResponseEntity<Object> response = idempotencyService.execute("orders", "key-1", "request", Object.class,
+                HttpStatus.CREATED, () -> unserialisable);
+
+        // Assert
+        assertSame(unserialisable, response.getBody());
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        verify(repository, never()).release(anyString());
+        verify(repository, never()).complete(anyString(), anyString());
+        verify(repository).completeWithoutResponse(SCOPED_KEY);
+    }
+
+    @Test
+    void execute_WhenResponseCannotBeStored_ShouldCompleteKeyWithoutResponse() {
+        // Arrange
+        when(repository.claim(eq(SCOPED_KEY), anyString(), eq(NOW), any())).thenReturn(true);
+        doThrow(new IllegalStateException("Connection reset")).when(repository).complete(eq(SCOPED_KEY), anyString());
+
+        // Act
+        ResponseEntity<Map> response = execute("request", this::createOrder);
+
+        // Assert
+        assertEquals(Map.of("orderId", "order-1"), response.getBody());
+        verify(repository).completeWithoutResponse(SCOPED_KEY);
+        verify(repository, never()).release(anyString());
+    }
+
+    @Test
+    void execute_WhenKeyCompletedWithoutResponse_ShouldReturnConflictWithoutTakingOver() throws Exception {
+        // Arrange - long past the in-progress timeout, but still within the TTL
+        when(repository.claim(eq(SCOPED_KEY), anyString(), eq(NOW), any())).thenReturn(false);
+        when(repository.find(SCOPED_KEY, NOW)).thenReturn(Optional.of(
+                new StoredKey(fingerprint("request"), null, true, NOW.minus(Duration.ofHours(1)))));
+
+        // Act & Assert
+        IdempotencyKeyException exception = assertThrows(IdempotencyKeyException.class,
+                () -> execute("request", this::createOrder));
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        assertEquals(0, executions.get());
+        verify(repository, never()).takeOver(anyString(), anyString(), any(), any());
+    }
+
+    @SuppressWarnings("rawtypes")
+    private ResponseEntity<Map> execute(String request, Supplier<Map> action) {
+        return idempotencyService.execute("orders", "key-1", request, Map.class, HttpStatus.CREATED, action);
+    }
+
+    private Map<String, String> createOrder() {
+        return Map.of("orderId", "order-" + executions.incrementAndGet());
+    }
+
+    private String fingerprint(String request) throws Exception {
+        byte[] json = objectMapper.writeValueAsBytes(request);
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.ecommerce.common.kafka.monitoring;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BackpressureControllerTest {
+
+    @Mock
+    private KafkaListenerEndpointRegistry registry;
+
+    @Mock
+    private MessageListenerContainer orders;
+
+    @Mock
+    private MessageListenerContainer cacheInvalidation;
+
+    private double saturation;
+    private BackpressureController controller;
+
+    @BeforeEach
+    void setUp() {
+        givenContainer(orders, "orders");
+        givenContainer(cacheInvalidation, "cacheInvalidation");
+        when(registry.getListenerContainers()).thenReturn(List.of(orders, cacheInvalidation));
+
+        controller = new BackpressureController(registry, List.of(SaturationSignal.of("jdbc-pool", () -> saturation)),
+                0.9, 0.7, 1000, Set.of("cacheInvalidation"));
+    }
+
+    @Test
+    void evaluate_WhenSaturationReachesHighWatermark_ShouldPauseNonExemptListeners() {
+        // Arrange
+        saturation = 0.9;
+
+        // Act
+        controller.evaluate();
+
+        // Assert
+        verify(orders).pause();
+        verify(cacheInvalidation, never()).pause();
+        assertEquals(Set.of("orders"), controller.getStatus().getPausedListeners());
+        assertEquals("jdbc-pool", controller.getStatus().getSaturatedSignal());
+    }
+
+    @Test
+    void evaluate_WhenSaturationBetweenWatermarks_ShouldKeepListenersPaused() {
+        // Arrange
+        saturation = 0.95;
+        controller.evaluate();
+
+        // Act
+        saturation = 0.8;
+        controller.evaluate();
+
+        // Assert
+        verify(orders, never()).resume();
+        assertEquals(Set.of("orders"), controller.getStatus().getPausedListeners());
+    }
+
+    @Test
+    void evaluate_WhenSaturationBetweenWatermarksWithoutPause_ShouldNotPause() {
+        // Arrange
+        saturation = 0.8;
+
+        // Act
+        controller.evaluate();
+
+        // Assert
+        verify(orders, never()).pause();
+        assertTrue(controller.getStatus().getPausedListeners().isEmpty());
+    }
+
+    @Test
+    void evaluate_WhenSaturationDropsToLowWatermark_ShouldResumePausedListeners() {
+        // Arrange
+        saturation = 0.95;
+        controller.evaluate();
+
+        // Act
+        saturation = 0.7;
+        controller.evaluate();
+
+        // Assert
+        verify(orders).resume();
+        verify(cacheInvalidation, never()).resume();
+        assertTrue(controller.getStatus().getPausedListeners().isEmpty());
+    }
+
+    @Test
+    void evaluate_WhenListenerPausedElsewhere_ShouldLeaveItPaused() {
+        // Arrange
+        when(orders.isPauseRequested()).thenReturn(true);
+        saturation = 0.95;
+        controller.evaluate();
+
+        // Act
+        saturation = 0.1;
+        controller.evaluate();
+
+        // Assert
+        verify(orders, never()).pause();
+        verify(orders, never()).resume();
+    }
+
+    @Test
+    void evaluate_WhenSignalFails_ShouldIgnoreIt() {
+        // Arrange
+        controller = new BackpressureController(registry, List.of(
+                SaturationSignal.of("broken", () -> {
+                    throw new IllegalStateException("Pool closed");
+                }),
+                SaturationSignal.of("jdbc-pool", () -> 0.5)),
+                0.9, 0.7, 1000, Set.of());
+
+        // Act
+        controller.evaluate();
+
+        // Assert
+        assertEquals(0.5, controller.getStatus().getSaturation());
+        verify(orders, never()).pause();
+    }
+
+    private void givenContainer(MessageListenerContainer container, String listenerId) {
+        when(container.getListenerId()).thenReturn(listenerId);
+        when(registry.getListenerContainer(listenerId)).thenReturn(container);
+    }
+}
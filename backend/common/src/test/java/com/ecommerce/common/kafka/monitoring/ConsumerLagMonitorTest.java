@@ -0,0 +1,103 @@
+package com.ecommerce.common.kafka.monitoring;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ConsumerLagMonitorTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final TopicPartition partition0 = new TopicPartition("order-events", 0);
+    private final TopicPartition partition1 = new TopicPartition("order-events", 1);
+
+    @Mock
+    private KafkaListenerEndpointRegistry registry;
+
+    @Mock
+    private KafkaAdmin kafkaAdmin;
+
+    @Mock
+    private MessageListenerContainer container;
+
+    private ConsumerLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        when(container.getListenerId()).thenReturn("orderEvents");
+        when(container.getGroupId()).thenReturn("payment-service-group");
+        monitor = new ConsumerLagMonitor(registry, kafkaAdmin, 10000);
+    }
+
+    @Test
+    void buildListenerLag_ShouldSumLagOverPartitions() {
+        // Act
+        ListenerLag lag = monitor.buildListenerLag(container, Set.of(partition0, partition1),
+                Map.of(partition0, new OffsetAndMetadata(100), partition1, new OffsetAndMetadata(40)),
+                Map.of(partition0, 150L, partition1, 40L), 0);
+
+        // Assert
+        assertEquals(50, lag.getTotalLag());
+        assertEquals(2, lag.getPartitions().size());
+        // No rate yet after a single sample
+        assertEquals(-1, lag.getSecondsToDrain());
+    }
+
+    @Test
+    void buildListenerLag_WhenPartitionHasNoCommittedOffset_ShouldLeaveItOut() {
+        // Act
+        ListenerLag lag = monitor.buildListenerLag(container, Set.of(partition0, partition1),
+                Map.of(partition0, new OffsetAndMetadata(100)),
+                Map.of(partition0, 100L, partition1, 1_000_000L), 0);
+
+        // Assert
+        assertEquals(0, lag.getTotalLag());
+        assertEquals(0, lag.getSecondsToDrain());
+        assertEquals(1, lag.getPartitions().size());
+        assertEquals(0, lag.getPartitions().get(0).getPartition());
+    }
+
+    @Test
+    void buildListenerLag_ShouldEstimateDrainTimeFromSmoothedRate() {
+        // Arrange
+        monitor.buildListenerLag(container, Set.of(partition0), Map.of(partition0, new OffsetAndMetadata(100)),
+                Map.of(partition0, 400L), 0);
+
+        // Act - 100 records committed in one second, smoothed from a rate of 0
+        ListenerLag lag = monitor.buildListenerLag(container, Set.of(partition0),
+                Map.of(partition0, new OffsetAndMetadata(200)), Map.of(partition0, 500L), SECOND);
+
+        // Assert
+        assertEquals(300, lag.getTotalLag());
+        assertEquals(30.0, lag.getRecordsPerSecond(), 1e-9);
+        assertEquals(10.0, lag.getSecondsToDrain(), 1e-9);
+    }
+
+    @Test
+    void buildListenerLag_WhenEndOffsetUnknown_ShouldReportNoLag() {
+        // Act
+        ListenerLag lag = monitor.buildListenerLag(container, Set.of(partition0),
+                Map.of(partition0, new OffsetAndMetadata(100)), Map.of(), 0);
+
+        // Assert
+        assertEquals(0, lag.getTotalLag());
+        assertEquals(100, lag.getPartitions().get(0).getEndOffset());
+    }
+}
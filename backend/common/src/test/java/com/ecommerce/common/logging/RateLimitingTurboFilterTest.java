@@ -0,0 +1,66 @@
+package com.ecommerce.common.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitingTurboFilterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final String FORMAT = "Processed order {}";
+
+    @Test
+    void tryAcquire_ShouldAllowMaxPerSecondThenDenyUntilNextSecond() {
+        // Arrange
+        RateLimitingTurboFilter filter = filter(0);
+        AtomicLong window = new AtomicLong();
+
+        // Act & Assert
+        assertEquals(20, acquireAll(filter, window, 0, 25));
+        assertTrue(filter.tryAcquire(window, FORMAT, SECOND));
+    }
+
+    @Test
+    void tryAcquire_WhenNanoTimeNegative_ShouldStillRollWindowEachSecond() {
+        // Arrange - nanoTime has an arbitrary origin and may be negative
+        long start = -5 * SECOND - 123;
+        RateLimitingTurboFilter filter = filter(start);
+        AtomicLong window = new AtomicLong();
+
+        // Act & Assert
+        assertEquals(20, acquireAll(filter, window, start, 25));
+        assertEquals(20, acquireAll(filter, window, start + SECOND, 25));
+        assertEquals(20, acquireAll(filter, window, start + 2 * SECOND, 25));
+    }
+
+    @Test
+    void tryAcquire_WhenNanoTimeWrapsAround_ShouldStillRollWindowEachSecond() {
+        // Arrange
+        long start = Long.MAX_VALUE - SECOND / 2;
+        RateLimitingTurboFilter filter = filter(start);
+        AtomicLong window = new AtomicLong();
+
+        // Act & Assert
+        assertEquals(20, acquireAll(filter, window, start, 25));
+        assertEquals(20, acquireAll(filter, window, start + SECOND, 25));
+    }
+
+    private static RateLimitingTurboFilter filter(long startNanos) {
+        RateLimitingTurboFilter filter = new RateLimitingTurboFilter(startNanos);
+        filter.setMaxPerSecond(20);
+        return filter;
+    }
+
+    private static int acquireAll(RateLimitingTurboFilter filter, AtomicLong window, long nowNanos, int attempts) {
+        int acquired = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (filter.tryAcquire(window, FORMAT, nowNanos)) {
+                acquired++;
+            }
+        }
+        return acquired;
+    }
+}
@@ -0,0 +1,46 @@
+package com.ecommerce.common.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyConverterTest {
+
+    private final MoneyConverter converter = new MoneyConverter();
+
+    @Test
+    void convertToDatabaseColumn_ShouldWriteAmountAtCurrencyScale() {
+        assertEquals(new BigDecimal("10.90"), converter.convertToDatabaseColumn(Money.ofMinor(1090)));
+        assertEquals(new BigDecimal("-0.05"), converter.convertToDatabaseColumn(Money.ofMinor(-5)));
+        assertEquals(new BigDecimal("0.00"), converter.convertToDatabaseColumn(Money.zero()));
+    }
+
+    @Test
+    void convertToEntityAttribute_ShouldReadAnyColumnScale() {
+        assertEquals(Money.ofMinor(1090), converter.convertToEntityAttribute(new BigDecimal("10.9")));
+        assertEquals(Money.ofMinor(1000), converter.convertToEntityAttribute(new BigDecimal("10")));
+        assertEquals(Money.ofMinor(1100), converter.convertToEntityAttribute(new BigDecimal("10.995")));
+    }
+
+    @Test
+    void convert_ShouldRoundTripAmounts() {
+        for (long minorUnits : new long[]{0, 1, -1, 1099, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            Money money = Money.ofMinor(minorUnits);
+            assertEquals(money, converter.convertToEntityAttribute(converter.convertToDatabaseColumn(money)));
+        }
+    }
+
+    @Test
+    void convert_WhenNull_ShouldReturnNull() {
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+
+    @Test
+    void convertToEntityAttribute_WhenAmountOverflows_ShouldThrowArithmeticException() {
+        assertThrows(ArithmeticException.class,
+                () -> converter.convertToEntityAttribute(new BigDecimal("92233720368547758.08")));
+    }
+}
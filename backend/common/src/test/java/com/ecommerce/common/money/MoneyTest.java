@@ -0,0 +1,169 @@
+package com.ecommerce.common.money;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    private static final Currency YEN = Currency.getInstance("JPY");
+    private static final Currency DINAR = Currency.getInstance("BHD");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void parse_ShouldReadPlainDecimals() {
+        assertEquals(1099, Money.parse("10.99").getMinorUnits());
+        assertEquals(1000, Money.parse("10").getMinorUnits());
+        assertEquals(1090, Money.parse("+10.9").getMinorUnits());
+        assertEquals(0, Money.parse("0.00").getMinorUnits());
+    }
+
+    @Test
+    void parse_WhenIntegerOrFractionPartMissing_ShouldReadAmount() {
+        assertEquals(50, Money.parse(".5").getMinorUnits());
+        assertEquals(500, Money.parse("5.").getMinorUnits());
+    }
+
+    @Test
+    void parse_WhenNegative_ShouldKeepSign() {
+        assertEquals(-50, Money.parse("-0.50").getMinorUnits());
+        assertEquals(-1, Money.parse("-0.01").getMinorUnits());
+        assertEquals(-1, Money.parse("-0.01").signum());
+    }
+
+    @Test
+    void parse_WhenMorePlacesThanCurrency_ShouldRoundHalfUp() {
+        assertEquals(1100, Money.parse("10.995").getMinorUnits());
+        assertEquals(1099, Money.parse("10.994").getMinorUnits());
+        assertEquals(-1100, Money.parse("-10.995").getMinorUnits());
+        assertEquals(11, Money.parse("10.5", YEN).getMinorUnits());
+    }
+
+    @Test
+    void parse_WhenExponent_ShouldReadAmount() {
+        assertEquals(150_000, Money.parse("1.5e3").getMinorUnits());
+        assertEquals(150_000, Money.parse("1.5E+3").getMinorUnits());
+        assertEquals(1, Money.parse("1e-2").getMinorUnits());
+        assertEquals(1, Money.parse("5e-3").getMinorUnits());
+    }
+
+    @Test
+    void parse_WhenCurrencyHasOtherScale_ShouldCountItsMinorUnits() {
+        assertEquals(1099, Money.parse("1099", YEN).getMinorUnits());
+        assertEquals(10_995, Money.parse("10.995", DINAR).getMinorUnits());
+        assertEquals(10_500, Money.parse("10.5", DINAR).getMinorUnits());
+    }
+
+    @Test
+    void parse_WhenLongerThanFastPath_ShouldFallBackToBigDecimal() {
+        assertEquals(Long.MAX_VALUE, Money.parse("92233720368547758.07").getMinorUnits());
+        assertEquals(Long.MIN_VALUE, Money.parse("-92233720368547758.08").getMinorUnits());
+        assertEquals(100, Money.parse("0000000000000000000001.00").getMinorUnits());
+    }
+
+    @Test
+    void parse_WhenAmountOverflows_ShouldThrowArithmeticException() {
+        // Fits the fast path's digits, but not once scaled to minor units
+        assertThrows(ArithmeticException.class, () -> Money.parse("92233720368547759"));
+        assertThrows(ArithmeticException.class, () -> Money.parse("-92233720368547759"));
+        assertThrows(ArithmeticException.class, () -> Money.parse("92233720368547758.08"));
+        assertThrows(ArithmeticException.class, () -> Money.parse("1e30"));
+    }
+
+    @Test
+    void parse_WhenNotADecimal_ShouldThrowNumberFormatException() {
+        for (String text : List.of("", "-", "+", ".", "-.", "1.2.3", "10,99", "abc", "1e", "--1", " 1")) {
+            assertThrows(NumberFormatException.class, () -> Money.parse(text), text);
+        }
+    }
+
+    @Test
+    void appendTo_ShouldZeroPadMinorUnits() {
+        assertEquals("0.05", Money.ofMinor(5).toString());
+        assertEquals("0.50", Money.ofMinor(50).toString());
+        assertEquals("10.00", Money.ofMinor(1000).toString());
+        assertEquals("0.00", Money.zero().toString());
+        assertEquals("1.005", Money.ofMinor(1005, DINAR).toString());
+        assertEquals("1099", Money.ofMinor(1099, YEN).toString());
+    }
+
+    @Test
+    void appendTo_WhenNegative_ShouldSignMajorAndMinorUnits() {
+        assertEquals("-0.05", Money.ofMinor(-5).toString());
+        assertEquals("-0.50", Money.ofMinor(-50).toString());
+        assertEquals("-10.99", Money.ofMinor(-1099).toString());
+        assertEquals("-92233720368547758.08", Money.ofMinor(Long.MIN_VALUE).toString());
+    }
+
+    @Test
+    void appendTo_ShouldAppendToExistingText() {
+        StringBuilder out = new StringBuilder("$");
+
+        Money.ofMinor(-7).appendTo(out).append(" due");
+
+        assertEquals("$-0.07 due", out.toString());
+    }
+
+    @Test
+    void toString_ShouldParseBackToSameAmount() {
+        for (long minorUnits : new long[]{0, 1, -1, 99, -99, 100, 123_456_789, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            Money money = Money.ofMinor(minorUnits);
+            assertEquals(money, Money.parse(money.toString()), money.toString());
+        }
+    }
+
+    @Test
+    void json_ShouldWriteAmountAsPlainNumber() throws Exception {
+        assertEquals("10.90", objectMapper.writeValueAsString(Money.ofMinor(1090)));
+        assertEquals("-0.05", objectMapper.writeValueAsString(Money.ofMinor(-5)));
+        assertEquals("{\"price\":0.00}", objectMapper.writeValueAsString(Map.of("price", Money.zero())));
+    }
+
+    @Test
+    void json_ShouldReadNumbersAndNumericStrings() throws Exception {
+        assertEquals(Money.ofMinor(1099), objectMapper.readValue("10.99", Money.class));
+        assertEquals(Money.ofMinor(1000), objectMapper.readValue("10", Money.class));
+        assertEquals(Money.ofMinor(1099), objectMapper.readValue("\"10.99\"", Money.class));
+        assertEquals(Money.ofMinor(-50), objectMapper.readValue("\" -0.50 \"", Money.class));
+        assertEquals(Money.ofMinor(1100), objectMapper.readValue("10.995", Money.class));
+        assertEquals(Money.ofMinor(150_000), objectMapper.readValue("1.5e3", Money.class));
+    }
+
+    @Test
+    void json_ShouldRoundTripAmounts() throws Exception {
+        for (long minorUnits : new long[]{0, 5, -5, 1099, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            Money money = Money.ofMinor(minorUnits);
+            assertEquals(money, objectMapper.readValue(objectMapper.writeValueAsString(money), Money.class));
+            assertEquals(money, objectMapper.readValue("\"" + money + "\"", Money.class));
+        }
+    }
+
+    @Test
+    void json_WhenNotAnAmount_ShouldThrowInvalidFormatException() {
+        assertThrows(InvalidFormatException.class, () -> objectMapper.readValue("\"ten\"", Money.class));
+        assertThrows(InvalidFormatException.class, () -> objectMapper.readValue("1e30", Money.class));
+        assertThrows(MismatchedInputException.class, () -> objectMapper.readValue("true", Money.class));
+        assertThrows(MismatchedInputException.class, () -> objectMapper.readValue("{}", Money.class));
+    }
+
+    @Test
+    void of_ShouldRoundBigDecimalHalfUp() {
+        assertEquals(Money.ofMinor(1100), Money.of(new BigDecimal("10.995")));
+        assertEquals(Money.ofMinor(-1100), Money.of(new BigDecimal("-10.995")));
+        assertEquals(new BigDecimal("10.99"), Money.ofMinor(1099).toBigDecimal());
+    }
+
+    @Test
+    void ofMinor_WhenCurrencyHasNoMinorUnit_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> Money.ofMinor(1, Currency.getInstance("XAU")));
+    }
+}
@@ -0,0 +1,63 @@
+package com.ecommerce.inventoryservice.alert;
+
+import com.ecommerce.common.event.LowStockEvent.StockLevel;
+import com.ecommerce.inventoryservice.dto.LowStockProduct;
+import com.ecommerce.inventoryservice.model.Product;
+import com.ecommerce.inventoryservice.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Fills the {@link LowStockRegistry} once the application is ready. Products created before
+ * stock levels existed are given their level first, without raising alerts for them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LowStockLoader {
+
+    private final ProductRepository productRepository;
+    private final LowStockPolicy lowStockPolicy;
+    private final LowStockRegistry lowStockRegistry;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            initializeStockLevels();
+            List<Product> products = productRepository.findByStockLevelIn(
+                    List.of(StockLevel.LOW, StockLevel.OUT_OF_STOCK));
+            for (Product product : products) {
+                lowStockRegistry.update(LowStockProduct.builder()
+                        .productId(product.getId())
+                        .category(product.getCategory())
+                        .stockQuantity(product.getStockQuantity())
+                        .threshold(lowStockPolicy.thresholdOf(product.getLowStockThreshold()))
+                        .level(product.getStockLevel())
+                        .updatedAt(product.getUpdatedAt())
+                        .build(), product.getVersion() != null ? product.getVersion() : -1);
+            }
+            log.info("Loaded {} low-stock products", products.size());
+        } catch (Exception e) {
+            log.warn("Failed to load low-stock products: {}", e.getMessage());
+        }
+    }
+
+    private void initializeStockLevels() {
+        for (Product product : productRepository.findByStockLevelIsNull()) {
+            product.setStockLevel(lowStockPolicy.evaluate(null, product.getStockQuantity(),
+                    product.getLowStockThreshold()));
+            try {
+                productRepository.save(product);
+            } catch (ObjectOptimisticLockingFailureException e) {
+                // Another replica or a stock change got there first, and that also sets the level
+                log.debug("Stock level of product {} was set concurrently", product.getId());
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.ecommerce.inventoryservice.alert;
+
+import com.ecommerce.common.event.LowStockEvent.StockLevel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides a product's stock level from its stock quantity and previous level.
+ * <p>
+ * A product becomes {@code LOW} when its stock falls below its threshold (the product's own,
+ * or the default) and {@code OUT_OF_STOCK} at zero. Going back up requires clearing the
+ * threshold by the recovery margin, so a product hovering around its threshold does not
+ * alternate between levels on every sale and restock.
+ */
+@Component
+public class LowStockPolicy {
+
+    private final int defaultThreshold;
+    private final int recoveryMargin;
+
+    public LowStockPolicy(@Value("${inventory.low-stock.default-threshold:10}") int defaultThreshold,
+                          @Value("${inventory.low-stock.recovery-margin:5}") int recoveryMargin) {
+        this.defaultThreshold = defaultThreshold;
+        this.recoveryMargin = recoveryMargin;
+    }
+
+    public int getDefaultThreshold() {
+        return defaultThreshold;
+    }
+
+    /**
+     * Get the threshold that applies to a product
+     *
+     * @param productThreshold the product's own threshold, or null
+     * @return the effective threshold
+     */
+    public int thresholdOf(Integer productThreshold) {
+        return productThreshold != null ? productThreshold : defaultThreshold;
+    }
+
+    /**
+     * Get the stock level after a stock change
+     *
+     * @param current the level before the change, or null if never evaluated
+     * @param stockQuantity the stock after the change
+     * @param productThreshold the product's own threshold, or null for the default
+     * @return the new level
+     */
+    public StockLevel evaluate(StockLevel current, int stockQuantity, Integer productThreshold) {
+        int threshold = thresholdOf(productThreshold);
+        if (stockQuantity <= 0) {
+            return StockLevel.OUT_OF_STOCK;
+        }
+        StockLevel level = current != null ? current : StockLevel.OK;
+        switch (level) {
+            case OUT_OF_STOCK:
+                if (stockQuantity < Math.min(recoveryMargin, threshold)) {
+                    return StockLevel.OUT_OF_STOCK;
+                }
+                // Restocked enough to leave out-of-stock; now apply the LOW exit rule
+            case LOW:
+                return stockQuantity >= threshold + recoveryMargin ? StockLevel.OK : StockLevel.LOW;
+            default:
+                return stockQuantity < threshold ? StockLevel.LOW : StockLevel.OK;
+        }
+    }
+}
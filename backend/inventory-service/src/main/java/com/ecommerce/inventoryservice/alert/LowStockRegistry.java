@@ -0,0 +1,68 @@
+package com.ecommerce.inventoryservice.alert;
+
+import com.ecommerce.common.event.LowStockEvent.StockLevel;
+import com.ecommerce.inventoryservice.dto.LowStockProduct;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The products currently at {@code LOW} or {@code OUT_OF_STOCK}, held in memory on every
+ * replica. It is loaded once at startup and then follows the stock level carried on
+ * inventory-updates. The last seen version of every product is kept, including products at
+ * {@code OK}, so that an older event can never bring back a level that has since cleared.
+ */
+@Component
+public class LowStockRegistry {
+
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+    private final Map<String, LowStockProduct> lowStock = new ConcurrentHashMap<>();
+
+    /**
+     * Record the stock level of a product, unless a newer one has already been recorded
+     *
+     * @param product the product's stock state
+     * @param version the entity version the state was taken at
+     */
+    public void update(LowStockProduct product, long version) {
+        versions.compute(product.getProductId(), (id, current) -> {
+            if (current != null && current >= version) {
+                return current;
+            }
+            if (product.getLevel() == StockLevel.OK) {
+                lowStock.remove(id);
+            } else {
+                lowStock.put(id, product);
+            }
+            return version;
+        });
+    }
+
+    /**
+     * Forget a deleted product
+     *
+     * @param productId the product ID
+     */
+    public void remove(String productId) {
+        versions.compute(productId, (id, current) -> {
+            lowStock.remove(id);
+            return Long.MAX_VALUE;
+        });
+    }
+
+    /**
+     * Get the products that are low or out of stock, lowest stock first
+     *
+     * @return the low-stock products
+     */
+    public List<LowStockProduct> getLowStockProducts() {
+        List<LowStockProduct> products = new ArrayList<>(lowStock.values());
+        products.sort(Comparator.comparing(LowStockProduct::getStockQuantity)
+                .thenComparing(LowStockProduct::getProductId));
+        return products;
+    }
+}
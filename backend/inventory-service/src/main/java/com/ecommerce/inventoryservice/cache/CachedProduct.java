@@ -0,0 +1,69 @@
+package com.ecommerce.inventoryservice.cache;
+
+import com.ecommerce.inventoryservice.dto.ProductResponse;
+
+import java.time.LocalDateTime;
+
+/**
+ * A cached product read together with the entity version it was taken at, so that updates
+ * arriving out of order can be recognised and ignored.
+ */
+public final class CachedProduct {
+
+    /** Version of entities that were loaded without one; any versioned update supersedes it */
+    public static final long UNKNOWN_VERSION = -1;
+
+    private final ProductResponse product;
+    private final long version;
+
+    public CachedProduct(ProductResponse product, Long version) {
+        this.product = product;
+        this.version = version != null ? version : UNKNOWN_VERSION;
+    }
+
+    public String getId() {
+        return product.getId();
+    }
+
+    public ProductResponse getProduct() {
+        return product;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Get a copy with a stock change applied, or this instance if the change is not newer
+     *
+     * @param stockQuantity the new stock quantity
+     * @param newVersion the entity version after the change
+     * @param updatedAt the update time of the change
+     * @return the patched product
+     */
+    public CachedProduct withStock(int stockQuantity, long newVersion, LocalDateTime updatedAt) {
+        if (newVersion <= version) {
+            return this;
+        }
+        ProductResponse patched = ProductResponse.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .stockQuantity(stockQuantity)
+                .category(product.getCategory())
+                .lowStockThreshold(product.getLowStockThreshold())
+                .createdAt(product.getCreatedAt())
+                .updatedAt(updatedAt != null ? updatedAt : product.getUpdatedAt())
+                .inStock(stockQuantity > 0)
+                .build();
+        return new CachedProduct(patched, newVersion);
+    }
+
+    /**
+     * Pick whichever of two reads of the same product is newer, preferring the second on a tie
+     */
+    static CachedProduct newer(CachedProduct current, CachedProduct candidate) {
+        return candidate.version >= current.version ? candidate : current;
+    }
+}
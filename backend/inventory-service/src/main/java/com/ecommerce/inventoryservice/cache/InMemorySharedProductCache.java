@@ -0,0 +1,48 @@
+package com.ecommerce.inventoryservice.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-local stand-in for a networked shared tier such as Redis, with the same
+ * version-guarded put and time-to-live semantics. It lets the two-tier read path run
+ * without extra infrastructure; on a single replica it adds nothing over the near cache.
+ */
+public class InMemorySharedProductCache implements SharedProductCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final long timeToLiveNanos;
+
+    public InMemorySharedProductCache(Duration timeToLive) {
+        this.timeToLiveNanos = timeToLive.toNanos();
+    }
+
+    @Override
+    public CachedProduct get(String productId) {
+        Entry entry = entries.get(productId);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.expiresAt > 0) {
+            entries.remove(productId, entry);
+            return null;
+        }
+        return entry.product;
+    }
+
+    @Override
+    public void put(CachedProduct product) {
+        Entry candidate = new Entry(product, System.nanoTime() + timeToLiveNanos);
+        entries.merge(product.getId(), candidate,
+                (current, next) -> CachedProduct.newer(current.product, next.product) == next.product ? next : current);
+    }
+
+    @Override
+    public void evict(String productId) {
+        entries.remove(productId);
+    }
+
+    private record Entry(CachedProduct product, long expiresAt) {
+    }
+}
@@ -0,0 +1,304 @@
+package com.ecommerce.inventoryservice.cache;
+
+import com.ecommerce.inventoryservice.dto.ProductResponse;
+import com.ecommerce.inventoryservice.exception.ProductNotFoundException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Policy;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Two-tier cache for single-product reads: a bounded near cache in this replica, backed by an
+ * optional {@link SharedProductCache}, backed by the database.
+ * <p>
+ * Every replica applies the stock changes broadcast on inventory-updates to its near cache,
+ * so entries stay current without waiting for expiry. Changes carry the entity version and
+ * only newer ones are applied, which makes redelivered or reordered events harmless. The
+ * time-to-live only bounds staleness when update events are not being received at all.
+ * <p>
+ * Concurrent misses for the same product share one load, including its not-found outcome, so a
+ * burst of requests for a product that is not cached costs one database round trip. Entries in
+ * the last {@code staleWhileRevalidate} of their life are still served, while a single
+ * background load replaces them, so hot products never expire under their readers.
+ */
+@Slf4j
+public class ProductCache implements MeterBinder {
+
+    private static final int REFRESH_QUEUE_CAPACITY = 1000;
+
+    private final Cache<String, CachedProduct> near;
+    private final SharedProductCache shared;
+    private final long refreshAfterNanos;
+    private final ExecutorService refreshExecutor;
+    private final SingleFlight<String, CachedProduct> loads = new SingleFlight<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder batchLoads = new LongAdder();
+
+    /**
+     * @param maximumSize the maximum number of products in the near cache
+     * @param expireAfterWrite how long a near cache entry lives without being refreshed
+     * @param shared the shared tier, or null to go straight to the database on a near miss
+     */
+    public ProductCache(long maximumSize, Duration expireAfterWrite, SharedProductCache shared) {
+        this(maximumSize, expireAfterWrite, Duration.ZERO, shared, 0);
+    }
+
+    /**
+     * @param maximumSize the maximum number of products in the near cache
+     * @param expireAfterWrite how long a near cache entry lives without being refreshed
+     * @param staleWhileRevalidate how long before expiry a read triggers a background reload
+     * @param shared the shared tier, or null to go straight to the database on a near miss
+     * @param refreshThreads threads for background reloads, or 0 to disable them
+     */
+    public ProductCache(long maximumSize, Duration expireAfterWrite, Duration staleWhileRevalidate,
+                        SharedProductCache shared, int refreshThreads) {
+        this.near = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+        this.shared = shared;
+        if (refreshThreads > 0 && !staleWhileRevalidate.isZero()) {
+            this.refreshAfterNanos = expireAfterWrite.minus(staleWhileRevalidate).toNanos();
+            // Refreshes that do not fit in the queue are skipped; the entry is still served until it expires
+            this.refreshExecutor = new ThreadPoolExecutor(refreshThreads, refreshThreads, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(REFRESH_QUEUE_CAPACITY), runnable -> {
+                        Thread thread = new Thread(runnable, "product-cache-refresh");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        } else {
+            this.refreshAfterNanos = Long.MAX_VALUE;
+            this.refreshExecutor = null;
+        }
+    }
+
+    public void close() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Get a product, loading it through the shared tier and then the loader on a miss.
+     * Concurrent misses for the same product share one load.
+     *
+     * @param productId the product ID
+     * @param loader loads the product from the database, throwing if it does not exist
+     * @return the product
+     */
+    public ProductResponse get(String productId, Function<String, CachedProduct> loader) {
+        CachedProduct cached = near.getIfPresent(productId);
+        if (cached != null) {
+            if (isStale(productId)) {
+                staleHits.increment();
+                refresh(productId, loader);
+            } else {
+                hits.increment();
+            }
+            return cached.getProduct();
+        }
+        misses.increment();
+        // Loading inside the near cache's compute makes stock changes that arrive meanwhile wait
+        // for the load and then apply on top of it, instead of being lost
+        return loads.execute(productId, () -> near.get(productId, id -> load(id, loader))).getProduct();
+    }
+
+    /**
+     * Get several products, loading those missing from both tiers with one call to the loader.
+     * Products loaded this way are not added to the cache.
+     *
+     * @param productIds the product IDs
+     * @param loader loads products from the database, omitting those that do not exist
+     * @return the products found, keyed by ID in the order requested
+     */
+    public Map<String, ProductResponse> getAll(Collection<String> productIds,
+                                               Function<Collection<String>, Map<String, CachedProduct>> loader) {
+        Map<String, ProductResponse> result = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String productId : productIds) {
+            CachedProduct cached = near.getIfPresent(productId);
+            if (cached != null) {
+                hits.increment();
+                result.put(productId, cached.getProduct());
+            } else {
+                misses.increment();
+                result.put(productId, null);
+                missing.add(productId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        Map<String, CachedProduct> loaded = new HashMap<>();
+        if (shared != null) {
+            for (String productId : missing) {
+                CachedProduct cached = shared.get(productId);
+                if (cached != null) {
+                    loaded.put(productId, cached);
+                }
+            }
+            missing.removeAll(loaded.keySet());
+        }
+        if (!missing.isEmpty()) {
+            batchLoads.increment();
+            // Bulk reads are not cached: unlike a single load, they do not hold the entry while
+            // reading, so a product deleted meanwhile could be cached again after its eviction
+            loaded.putAll(loader.apply(missing));
+        }
+
+        loaded.forEach((productId, product) -> result.put(productId, product.getProduct()));
+        result.values().removeIf(Objects::isNull);
+        return result;
+    }
+
+    /**
+     * Get a product only if this replica has it cached
+     *
+     * @param productId the product ID
+     * @return the cached product if present
+     */
+    public Optional<CachedProduct> peek(String productId) {
+        return Optional.ofNullable(near.getIfPresent(productId));
+    }
+
+    /**
+     * Store a product just written by this replica in both tiers
+     *
+     * @param product the product as committed
+     */
+    public void put(CachedProduct product) {
+        near.asMap().merge(product.getId(), product, CachedProduct::newer);
+        if (shared != null) {
+            shared.put(product);
+        }
+    }
+
+    /**
+     * Patch the near cache entry of a product whose stock changed, if it is cached and the
+     * change is newer than the cached read
+     *
+     * @param productId the product ID
+     * @param stockQuantity the new stock quantity
+     * @param version the entity version after the change
+     * @param updatedAt the update time of the change
+     */
+    public void applyStockChange(String productId, int stockQuantity, long version, LocalDateTime updatedAt) {
+        near.asMap().computeIfPresent(productId, (id, cached) -> cached.withStock(stockQuantity, version, updatedAt));
+    }
+
+    /**
+     * Drop a product from the near cache only, after another replica changed it
+     *
+     * @param productId the product ID
+     */
+    public void evictLocal(String productId) {
+        near.invalidate(productId);
+    }
+
+    /**
+     * Drop a product from both tiers, after this replica changed or deleted it
+     *
+     * @param productId the product ID
+     */
+    public void evict(String productId) {
+        near.invalidate(productId);
+        if (shared != null) {
+            shared.evict(productId);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("product.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("product.cache.requests", staleHits, LongAdder::sum)
+                .tag("result", "stale").register(registry);
+        FunctionCounter.builder("product.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss").register(registry);
+        FunctionCounter.builder("product.cache.loads", loads, SingleFlight::getExecutedCount)
+                .tag("result", "executed")
+                .description("Loads from the shared tier or database, including background refreshes")
+                .register(registry);
+        FunctionCounter.builder("product.cache.loads", loads, SingleFlight::getCoalescedCount)
+                .tag("result", "coalesced")
+                .description("Misses that waited for a load already in flight instead of starting one")
+                .register(registry);
+        FunctionCounter.builder("product.cache.loads", batchLoads, LongAdder::sum)
+                .tag("result", "batch")
+                .description("Single queries loading all the misses of a multi-product read")
+                .register(registry);
+        Gauge.builder("product.cache.loads.in-flight", loads, SingleFlight::getInFlightCount)
+                .register(registry);
+        Gauge.builder("product.cache.size", near, Cache::estimatedSize)
+                .register(registry);
+    }
+
+    private boolean isStale(String productId) {
+        if (refreshAfterNanos == Long.MAX_VALUE) {
+            return false;
+        }
+        Optional<Policy.FixedExpiration<String, CachedProduct>> expiration = near.policy().expireAfterWrite();
+        if (expiration.isEmpty()) {
+            return false;
+        }
+        OptionalLong age = expiration.get().ageOf(productId, TimeUnit.NANOSECONDS);
+        return age.isPresent() && age.getAsLong() >= refreshAfterNanos;
+    }
+
+    private void refresh(String productId, Function<String, CachedProduct> loader) {
+        loads.executeAsync(productId, () -> {
+            try {
+                CachedProduct fresh = load(productId, loader);
+                // Only replace an entry that is still there; a concurrent delete must not be undone
+                near.asMap().computeIfPresent(productId, (id, current) -> CachedProduct.newer(current, fresh));
+                return fresh;
+            } catch (ProductNotFoundException e) {
+                near.invalidate(productId);
+                throw e;
+            } catch (RuntimeException e) {
+                log.debug("Background refresh of product {} failed: {}", productId, e.getMessage());
+                throw e;
+            }
+        }, refreshExecutor);
+    }
+
+    private CachedProduct load(String productId, Function<String, CachedProduct> loader) {
+        if (shared != null) {
+            CachedProduct cached = shared.get(productId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        CachedProduct loaded = loader.apply(productId);
+        if (shared != null) {
+            shared.put(loaded);
+        }
+        return loaded;
+    }
+}
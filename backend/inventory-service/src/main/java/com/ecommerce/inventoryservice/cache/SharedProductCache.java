@@ -0,0 +1,31 @@
+package com.ecommerce.inventoryservice.cache;
+
+/**
+ * Second cache tier shared by all inventory-service replicas, consulted on a near cache miss
+ * before going to the database. Only the replica that changed a product writes it here; the
+ * others learn about the change from inventory-updates and just drop their near entry.
+ */
+public interface SharedProductCache {
+
+    /**
+     * Get a product from the shared tier
+     *
+     * @param productId the product ID
+     * @return the cached product, or null on a miss
+     */
+    CachedProduct get(String productId);
+
+    /**
+     * Store a product unless the shared tier already holds a newer version of it
+     *
+     * @param product the product to store
+     */
+    void put(CachedProduct product);
+
+    /**
+     * Remove a product from the shared tier
+     *
+     * @param productId the product ID
+     */
+    void evict(String productId);
+}
@@ -0,0 +1,106 @@
+package com.ecommerce.inventoryservice.cache;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the load and every caller
+ * arriving while it is in flight waits for, and shares, its result or exception. Nothing is
+ * retained once the load finishes; caching the result is up to the caller.
+ *
+ * @param <K> the key type
+ * @param <V> the loaded value type
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Load a value, or wait for the load already in flight for the key
+     *
+     * @param key the key
+     * @param loader loads the value; only run if no load for the key is in flight
+     * @return the loaded value
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return join(existing);
+        }
+        executed.increment();
+        run(key, flight, loader);
+        return join(flight);
+    }
+
+    /**
+     * Start a load on the executor unless one is already in flight for the key. Callers of
+     * {@link #execute} arriving meanwhile wait for this load.
+     *
+     * @param key the key
+     * @param loader loads the value
+     * @param executor runs the load
+     * @return true if a load was started
+     */
+    public boolean executeAsync(K key, Supplier<V> loader, Executor executor) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, flight) != null) {
+            return false;
+        }
+        try {
+            executor.execute(() -> run(key, flight, loader));
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            return false;
+        }
+        executed.increment();
+        return true;
+    }
+
+    public long getExecutedCount() {
+        return executed.sum();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private void run(K key, CompletableFuture<V> flight, Supplier<V> loader) {
+        try {
+            flight.complete(loader.get());
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private V join(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            // Rethrow the loader's own exception, e.g. a not-found, to every waiting caller
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
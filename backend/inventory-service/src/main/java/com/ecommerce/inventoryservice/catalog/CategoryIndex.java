@@ -0,0 +1,287 @@
+package com.ecommerce.inventoryservice.catalog;
+
+import com.ecommerce.inventoryservice.dto.CategoryFacet;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Supplier;
+
+/**
+ * In-memory per-category aggregates: product IDs, product and in-stock counts and price range.
+ * <p>
+ * Writes (product changes, inventory update events and rebuilds) are serialised on this
+ * object and republish the facet of each category they touch; reads never lock. Changes
+ * carry the entity version and older ones are ignored, and deletions leave a tombstone until
+ * the next rebuild, so the index converges regardless of the order in which events and
+ * rebuilds interleave.
+ */
+@Component
+public class CategoryIndex {
+
+    private final Map<String, Entry> products = new HashMap<>();
+    private final Map<String, CategoryState> categories = new HashMap<>();
+    private final Map<String, Tombstone> tombstones = new HashMap<>();
+
+    private final NavigableMap<String, CategoryFacet> facets = new ConcurrentSkipListMap<>();
+    private final Map<String, Set<String>> productIds = new ConcurrentSkipListMap<>();
+
+    private final Object loadLock = new Object();
+    private volatile boolean loaded;
+
+    /**
+     * Whether the index has been built from the database at least once
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Build the index if it has not been built yet
+     *
+     * @param loader reads all products from the database
+     */
+    public void ensureLoaded(Supplier<List<IndexedProduct>> loader) {
+        if (!loaded) {
+            synchronized (loadLock) {
+                if (!loaded) {
+                    rebuild(loader);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reconcile the index with the database. Changes applied while the products are being
+     * read are kept if they are newer than what was read.
+     *
+     * @param loader reads all products from the database
+     */
+    public void rebuild(Supplier<List<IndexedProduct>> loader) {
+        long started = System.nanoTime();
+        List<IndexedProduct> snapshot = loader.get();
+
+        synchronized (this) {
+            Set<String> seen = new HashSet<>();
+            for (IndexedProduct product : snapshot) {
+                seen.add(product.getId());
+                apply(product);
+            }
+
+            Iterator<Entry> entries = products.values().iterator();
+            while (entries.hasNext()) {
+                Entry entry = entries.next();
+                // Gone from the database, unless it was added after the read began
+                if (!seen.contains(entry.product.getId()) && entry.appliedAt - started < 0) {
+                    entries.remove();
+                    removeContribution(entry.product);
+                }
+            }
+            tombstones.values().removeIf(tombstone -> tombstone.recordedAt - started < 0);
+        }
+        loaded = true;
+    }
+
+    /**
+     * Add or update a product, unless the index already holds a newer version of it
+     *
+     * @param product the product as committed
+     */
+    public synchronized void apply(IndexedProduct product) {
+        Tombstone tombstone = tombstones.get(product.getId());
+        if (tombstone != null && isNotNewer(product.getVersion(), tombstone.version)) {
+            return;
+        }
+        Entry existing = products.get(product.getId());
+        if (existing != null && isNotNewer(product.getVersion(), existing.product.getVersion())) {
+            return;
+        }
+
+        products.put(product.getId(), new Entry(product, System.nanoTime()));
+        if (existing != null && Objects.equals(existing.product.getCategory(), product.getCategory())) {
+            replaceContribution(existing.product, product);
+        } else {
+            addContribution(product);
+            if (existing != null) {
+                removeContribution(existing.product);
+            }
+        }
+    }
+
+    /**
+     * Change the stock of a product held outside the table, leaving its version as it is. The
+     * next versioned change replaces it.
+     *
+     * @param productId the product ID
+     * @param stockQuantity the current stock
+     */
+    public synchronized void applyStock(String productId, int stockQuantity) {
+        Entry existing = products.get(productId);
+        if (existing == null || existing.product.getStockQuantity() == stockQuantity) {
+            return;
+        }
+        IndexedProduct previous = existing.product;
+        IndexedProduct product = new IndexedProduct(productId, previous.getCategory(), previous.getPrice(),
+                stockQuantity, previous.getVersion());
+        products.put(productId, new Entry(product, existing.appliedAt));
+        replaceContribution(previous, product);
+    }
+
+    /**
+     * Remove a deleted product
+     *
+     * @param productId the product ID
+     * @param version the version the product had when it was deleted, or -1 if unknown
+     */
+    public synchronized void remove(String productId, long version) {
+        tombstones.put(productId, new Tombstone(version, System.nanoTime()));
+        Entry existing = products.remove(productId);
+        if (existing != null) {
+            removeContribution(existing.product);
+        }
+    }
+
+    /**
+     * Get the facets of all categories, ordered by category name
+     *
+     * @return the category facets
+     */
+    public List<CategoryFacet> getFacets() {
+        return new ArrayList<>(facets.values());
+    }
+
+    /**
+     * Get the facet of one category
+     *
+     * @param category the category
+     * @return the facet, if the category has any products
+     */
+    public Optional<CategoryFacet> getFacet(String category) {
+        return Optional.ofNullable(facets.get(category));
+    }
+
+    /**
+     * Get the IDs of the products in a category, in ID order
+     *
+     * @param category the category
+     * @return the product IDs
+     */
+    public List<String> getProductIds(String category) {
+        Set<String> ids = productIds.get(category);
+        return ids != null ? new ArrayList<>(ids) : List.of();
+    }
+
+    private void addContribution(IndexedProduct product) {
+        if (product.getCategory() == null) {
+            return;
+        }
+        CategoryState state = categories.computeIfAbsent(product.getCategory(), CategoryState::new);
+        state.add(product);
+        productIds.put(state.category, state.ids);
+        facets.put(state.category, state.toFacet());
+    }
+
+    // Same category: the product stays listed throughout, only the counts and prices change
+    private void replaceContribution(IndexedProduct previous, IndexedProduct product) {
+        CategoryState state = categories.get(product.getCategory());
+        if (state == null) {
+            return;
+        }
+        state.subtractAggregates(previous);
+        state.addAggregates(product);
+        facets.put(state.category, state.toFacet());
+    }
+
+    private void removeContribution(IndexedProduct product) {
+        if (product.getCategory() == null) {
+            return;
+        }
+        CategoryState state = categories.get(product.getCategory());
+        if (state == null) {
+            return;
+        }
+        state.remove(product);
+        if (state.productCount == 0) {
+            categories.remove(state.category);
+            productIds.remove(state.category);
+            facets.remove(state.category);
+        } else {
+            facets.put(state.category, state.toFacet());
+        }
+    }
+
+    // A version of -1 comes from a source that does not know it, and is always taken as newer
+    private static boolean isNotNewer(long version, long current) {
+        return version >= 0 && version <= current;
+    }
+
+    private record Entry(IndexedProduct product, long appliedAt) {
+    }
+
+    private record Tombstone(long version, long recordedAt) {
+    }
+
+    private static final class CategoryState {
+        private final String category;
+        private final Set<String> ids = new ConcurrentSkipListSet<>();
+        private final TreeMap<BigDecimal, Integer> prices = new TreeMap<>();
+        private int productCount;
+        private int inStockCount;
+
+        CategoryState(String category) {
+            this.category = category;
+        }
+
+        void add(IndexedProduct product) {
+            ids.add(product.getId());
+            addAggregates(product);
+        }
+
+        void remove(IndexedProduct product) {
+            ids.remove(product.getId());
+            subtractAggregates(product);
+        }
+
+        void addAggregates(IndexedProduct product) {
+            productCount++;
+            if (product.isInStock()) {
+                inStockCount++;
+            }
+            if (product.getPrice() != null) {
+                prices.merge(product.getPrice(), 1, Integer::sum);
+            }
+        }
+
+        void subtractAggregates(IndexedProduct product) {
+            productCount--;
+            if (product.isInStock()) {
+                inStockCount--;
+            }
+            if (product.getPrice() != null) {
+                prices.computeIfPresent(product.getPrice(), (price, count) -> count > 1 ? count - 1 : null);
+            }
+        }
+
+        CategoryFacet toFacet() {
+            return CategoryFacet.builder()
+                    .category(category)
+                    .productCount(productCount)
+                    .inStockCount(inStockCount)
+                    .minPrice(prices.isEmpty() ? null : prices.firstKey())
+                    .maxPrice(prices.isEmpty() ? null : prices.lastKey())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.ecommerce.inventoryservice.catalog;
+
+import com.ecommerce.inventoryservice.engine.InventoryEngine;
+import com.ecommerce.inventoryservice.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the {@link CategoryIndex} once the application is ready (after sample data has been
+ * loaded) and reconciles it with the database periodically. Between rebuilds the index is kept
+ * current from product changes on this replica and from inventory-updates.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryIndexLoader {
+
+    private final CategoryIndex categoryIndex;
+    private final ProductRepository productRepository;
+    private final InventoryEngine inventoryEngine;
+
+    @Value("${catalog.index.rebuild-interval-ms:600000}")
+    private long rebuildIntervalMillis;
+
+    private ScheduledExecutorService scheduler;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "category-index-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::rebuild, 0, rebuildIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    void rebuild() {
+        try {
+            long start = System.nanoTime();
+            categoryIndex.rebuild(() -> inventoryEngine.withStock(productRepository.findIndexedProducts()));
+            log.info("Rebuilt category index with {} categories in {} ms", categoryIndex.getFacets().size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (Exception e) {
+            log.warn("Failed to rebuild category index: {}", e.getMessage());
+        }
+    }
+}
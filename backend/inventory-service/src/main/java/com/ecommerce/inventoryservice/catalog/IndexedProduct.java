@@ -0,0 +1,48 @@
+package com.ecommerce.inventoryservice.catalog;
+
+import java.math.BigDecimal;
+
+/**
+ * The fields of a product that the category index aggregates. The constructor is used from a
+ * JPQL constructor expression when the index is loaded.
+ */
+public final class IndexedProduct {
+
+    private final String id;
+    private final String category;
+    private final BigDecimal price;
+    private final int stockQuantity;
+    private final long version;
+
+    public IndexedProduct(String id, String category, BigDecimal price, Integer stockQuantity, Long version) {
+        this.id = id;
+        this.category = category;
+        this.price = price;
+        this.stockQuantity = stockQuantity != null ? stockQuantity : 0;
+        this.version = version != null ? version : -1;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public int getStockQuantity() {
+        return stockQuantity;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isInStock() {
+        return stockQuantity > 0;
+    }
+}
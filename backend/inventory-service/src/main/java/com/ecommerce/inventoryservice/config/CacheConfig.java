@@ -1,5 +1,11 @@
 package com.ecommerce.inventoryservice.config;
 
+import com.ecommerce.inventoryservice.cache.InMemorySharedProductCache;
+import com.ecommerce.inventoryservice.cache.ProductCache;
+import com.ecommerce.inventoryservice.cache.SharedProductCache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.concurrent.ConcurrentMapCache;
@@ -7,6 +13,7 @@ import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
 import java.util.Arrays;
 
 /**
@@ -27,4 +34,22 @@ public class CacheConfig {
         ));
         return cacheManager;
     }
+
+    @Bean(destroyMethod = "close")
+    public ProductCache productCache(
+            @Value("${product.cache.near.maximum-size:10000}") long maximumSize,
+            @Value("${product.cache.near.expire-after-write:5m}") Duration expireAfterWrite,
+            @Value("${product.cache.near.stale-while-revalidate:30s}") Duration staleWhileRevalidate,
+            @Value("${product.cache.near.refresh-threads:2}") int refreshThreads,
+            ObjectProvider<SharedProductCache> sharedProductCache) {
+        return new ProductCache(maximumSize, expireAfterWrite, staleWhileRevalidate,
+                sharedProductCache.getIfAvailable(), refreshThreads);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "product.cache.shared.enabled", havingValue = "true")
+    public SharedProductCache sharedProductCache(
+            @Value("${product.cache.shared.time-to-live:10m}") Duration timeToLive) {
+        return new InMemorySharedProductCache(timeToLive);
+    }
 }
@@ -1,5 +1,6 @@
 package com.ecommerce.inventoryservice.config;
 
+import com.ecommerce.common.id.TimeOrderedId;
 import com.ecommerce.inventoryservice.model.Product;
 import com.ecommerce.inventoryservice.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
@@ -11,7 +12,6 @@ import org.springframework.context.annotation.Configuration;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.UUID;
 
 @Configuration
 @RequiredArgsConstructor
@@ -30,7 +30,7 @@ public class DataInitializer {
                 
                 List<Product> sampleProducts = List.of(
                     Product.builder()
-                        .id(UUID.randomUUID().toString())
+                        .id(TimeOrderedId.newId())
                         .name("Smartphone X")
                         .description("Latest smartphone with advanced camera and long battery life")
                         .price(new BigDecimal("899.99"))
@@ -41,7 +41,7 @@ public class DataInitializer {
                         .build(),
                         
                     Product.builder()
-                        .id(UUID.randomUUID().toString())
+                        .id(TimeOrderedId.newId())
                         .name("Laptop Pro")
                         .description("High-performance laptop for professional use")
                         .price(new BigDecimal("1299.99"))
@@ -52,7 +52,7 @@ public class DataInitializer {
                         .build(),
                         
                     Product.builder()
-                        .id(UUID.randomUUID().toString())
+                        .id(TimeOrderedId.newId())
                         .name("Wireless Headphones")
                         .description("Premium noise-canceling wireless headphones")
                         .price(new BigDecimal("199.99"))
@@ -63,7 +63,7 @@ public class DataInitializer {
                         .build(),
                         
                     Product.builder()
-                        .id(UUID.randomUUID().toString())
+                        .id(TimeOrderedId.newId())
                         .name("Smart Watch")
                         .description("Fitness tracker and smartwatch with heart rate monitor")
                         .price(new BigDecimal("249.99"))
@@ -74,7 +74,7 @@ public class DataInitializer {
                         .build(),
                         
                     Product.builder()
-                        .id(UUID.randomUUID().toString())
+                        .id(TimeOrderedId.newId())
                         .name("Bluetooth Speaker")
                         .description("Portable waterproof Bluetooth speaker")
                         .price(new BigDecimal("79.99"))
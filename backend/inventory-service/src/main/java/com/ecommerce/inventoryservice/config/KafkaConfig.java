@@ -1,7 +1,10 @@
 package com.ecommerce.inventoryservice.config;
 
 import com.ecommerce.common.config.KafkaTopics;
+import com.ecommerce.common.datasource.ReadReplicaConfig;
 import com.ecommerce.common.event.OrderEvent;
+import com.ecommerce.common.kafka.monitoring.KafkaMonitoringConfig;
+import com.ecommerce.common.tracing.TracingConfig;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
@@ -10,16 +13,20 @@ import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 @Configuration
+@Import({KafkaMonitoringConfig.class, TracingConfig.class, ReadReplicaConfig.class})
 public class KafkaConfig {
 
     @Value("${spring.kafka.bootstrap-servers}")
@@ -28,6 +35,12 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
+    @Value("${inventory.reservations.partitions:3}")
+    private int reservationPartitions;
+
+    @Value("${inventory.reservations.consumer-concurrency:3}")
+    private int reservationConcurrency;
+
     @Bean
     public NewTopic inventoryUpdatesTopic() {
         return TopicBuilder.name(KafkaTopics.INVENTORY_UPDATES_TOPIC)
@@ -36,6 +49,31 @@ public class KafkaConfig {
                 .build();
     }
 
+    @Bean
+    public NewTopic lowStockAlertsTopic() {
+        return TopicBuilder.name(KafkaTopics.LOW_STOCK_ALERTS_TOPIC)
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
+
+    // Stock reservations: commands keyed by product ID, results keyed by order ID
+    @Bean
+    public NewTopic stockReservationsTopic() {
+        return TopicBuilder.name(KafkaTopics.STOCK_RESERVATIONS_TOPIC)
+                .partitions(reservationPartitions)
+                .replicas(1)
+                .build();
+    }
+
+    @Bean
+    public NewTopic stockReservationResultsTopic() {
+        return TopicBuilder.name(KafkaTopics.STOCK_RESERVATION_RESULTS_TOPIC)
+                .partitions(reservationPartitions)
+                .replicas(1)
+                .build();
+    }
+
     // Producer configuration
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
@@ -48,7 +86,10 @@ public class KafkaConfig {
 
     @Bean
     public KafkaTemplate<String, Object> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+        KafkaTemplate<String, Object> template = new KafkaTemplate<>(producerFactory());
+        // Propagates the trace context to consumers through record headers
+        template.setObservationEnabled(true);
+        return template;
     }
 
     // Consumer configuration
@@ -67,6 +108,52 @@ public class KafkaConfig {
     public ConcurrentKafkaListenerContainerFactory<String, OrderEvent> orderEventListenerContainerFactory() {
         ConcurrentKafkaListenerContainerFactory<String, OrderEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(orderEventConsumerFactory());
+        factory.getContainerProperties().setObservationEnabled(true);
+        return factory;
+    }
+
+    // Stock reservation commands and results; a partition, and so a product, has one consumer thread in the group
+    @Bean
+    public ConsumerFactory<String, Object> reservationConsumerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+        configProps.put(JsonDeserializer.TRUSTED_PACKAGES, "com.ecommerce.common.event");
+        return new DefaultKafkaConsumerFactory<>(configProps);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> reservationListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(reservationConsumerFactory());
+        factory.setConcurrency(reservationConcurrency);
+        factory.getContainerProperties().setObservationEnabled(true);
+        return factory;
+    }
+
+    // Product cache invalidation: every replica reads every inventory update
+    @Bean
+    public ConsumerFactory<String, Map<String, Object>> productCacheConsumerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ConsumerConfig.GROUP_ID_CONFIG, groupId + "-cache-" + UUID.randomUUID());
+        // A fresh replica starts with an empty cache, so there is nothing to catch up on
+        configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+        configProps.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
+        return new DefaultKafkaConsumerFactory<>(configProps);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Map<String, Object>> productCacheListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, Map<String, Object>> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(productCacheConsumerFactory());
+        // Offsets are never committed, so the per-replica group leaves nothing behind on the broker
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
         return factory;
     }
 }
\ No newline at end of file
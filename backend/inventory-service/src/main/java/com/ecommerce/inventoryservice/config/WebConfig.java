@@ -1,10 +1,13 @@
 package com.ecommerce.inventoryservice.config;
 
+import com.ecommerce.common.web.JsonCodecConfig;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 // Using dedicated CorsFilter instead of this configuration
 @Configuration
+@Import(JsonCodecConfig.class)
 public class WebConfig implements WebMvcConfigurer {
     // CORS configuration moved to CorsFilter
 }
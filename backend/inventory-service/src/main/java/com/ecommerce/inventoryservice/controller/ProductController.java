@@ -1,20 +1,33 @@
 package com.ecommerce.inventoryservice.controller;
 
+import com.ecommerce.common.web.ResourceVersion;
+import com.ecommerce.inventoryservice.dto.CategoryFacet;
+import com.ecommerce.inventoryservice.dto.LowStockProduct;
+import com.ecommerce.inventoryservice.dto.ProductBatchRequest;
+import com.ecommerce.inventoryservice.dto.ProductBatchResponse;
 import com.ecommerce.inventoryservice.dto.ProductRequest;
 import com.ecommerce.inventoryservice.dto.ProductResponse;
+import com.ecommerce.inventoryservice.dto.StockAvailabilityRequest;
+import com.ecommerce.inventoryservice.dto.StockAvailabilityResponse;
 import com.ecommerce.inventoryservice.dto.StockUpdateRequest;
 import com.ecommerce.inventoryservice.service.ProductService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/products")
+@Profile("!reactive")
 @RequiredArgsConstructor
 @Slf4j
 @CrossOrigin(origins = "*")
@@ -22,37 +35,80 @@ public class ProductController {
 
     private final ProductService productService;
 
+    @Value("${http.cache.products.max-age-seconds:5}")
+    private long productMaxAgeSeconds;
+
     @PostMapping
     public ResponseEntity<ProductResponse> createProduct(@Valid @RequestBody ProductRequest productRequest) {
-        log.info("REST request to create a product: {}", productRequest.getName());
+        log.debug("REST request to create a product: {}", productRequest.getName());
         ProductResponse response = productService.createProduct(productRequest);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
     @GetMapping("/{productId}")
-    public ResponseEntity<ProductResponse> getProductById(@PathVariable String productId) {
-        log.info("REST request to get product by ID: {}", productId);
+    public ResponseEntity<ProductResponse> getProductById(@PathVariable String productId, WebRequest request) {
+        log.debug("REST request to get product by ID: {}", productId);
+        if (isNotModified(request, productService.getProductVersion(productId))) {
+            return null;
+        }
         ProductResponse response = productService.getProductById(productId);
+        return ResponseEntity.ok().cacheControl(productCacheControl()).body(response);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<ProductBatchResponse> getProductsByIds(@Valid @RequestBody ProductBatchRequest batchRequest) {
+        log.debug("REST request to get {} products by ID", batchRequest.getProductIds().size());
+        ProductBatchResponse response = productService.getProductsByIds(batchRequest.getProductIds());
         return ResponseEntity.ok(response);
     }
 
     @GetMapping
-    public ResponseEntity<List<ProductResponse>> getAllProducts() {
-        log.info("REST request to get all products");
+    public ResponseEntity<List<ProductResponse>> getAllProducts(WebRequest request) {
+        log.debug("REST request to get all products");
+        if (isNotModified(request, productService.getCatalogVersion())) {
+            return null;
+        }
         List<ProductResponse> responses = productService.getAllProducts();
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok().cacheControl(productCacheControl()).body(responses);
     }
 
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<ProductResponse>> getProductsByCategory(@PathVariable String category) {
-        log.info("REST request to get products by category: {}", category);
+    public ResponseEntity<List<ProductResponse>> getProductsByCategory(@PathVariable String category, WebRequest request) {
+        log.debug("REST request to get products by category: {}", category);
+        if (isNotModified(request, productService.getCategoryVersion(category))) {
+            return null;
+        }
         List<ProductResponse> responses = productService.getProductsByCategory(category);
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok().cacheControl(productCacheControl()).body(responses);
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<List<CategoryFacet>> getCategoryFacets() {
+        log.debug("REST request to get category facets");
+        return ResponseEntity.ok().cacheControl(productCacheControl()).body(productService.getCategoryFacets());
+    }
+
+    @GetMapping("/facets/{category}")
+    public ResponseEntity<CategoryFacet> getCategoryFacet(@PathVariable String category) {
+        log.debug("REST request to get facet of category: {}", category);
+        return ResponseEntity.ok().cacheControl(productCacheControl()).body(productService.getCategoryFacet(category));
+    }
+
+    @GetMapping("/category/{category}/ids")
+    public ResponseEntity<List<String>> getProductIdsByCategory(@PathVariable String category) {
+        log.debug("REST request to get product IDs by category: {}", category);
+        return ResponseEntity.ok().cacheControl(productCacheControl()).body(productService.getProductIdsByCategory(category));
+    }
+
+    @GetMapping("/low-stock")
+    public ResponseEntity<List<LowStockProduct>> getLowStockProducts() {
+        log.debug("REST request to get low-stock products");
+        return ResponseEntity.ok(productService.getLowStockProducts());
     }
 
     @GetMapping("/search")
     public ResponseEntity<List<ProductResponse>> searchProducts(@RequestParam String keyword) {
-        log.info("REST request to search products with keyword: {}", keyword);
+        log.debug("REST request to search products with keyword: {}", keyword);
         List<ProductResponse> responses = productService.searchProducts(keyword);
         return ResponseEntity.ok(responses);
     }
@@ -61,14 +117,14 @@ public class ProductController {
     public ResponseEntity<ProductResponse> updateProduct(
             @PathVariable String productId,
             @Valid @RequestBody ProductRequest productRequest) {
-        log.info("REST request to update product with ID: {}", productId);
+        log.debug("REST request to update product with ID: {}", productId);
         ProductResponse response = productService.updateProduct(productId, productRequest);
         return ResponseEntity.ok(response);
     }
 
     @DeleteMapping("/{productId}")
     public ResponseEntity<Void> deleteProduct(@PathVariable String productId) {
-        log.info("REST request to delete product with ID: {}", productId);
+        log.debug("REST request to delete product with ID: {}", productId);
         productService.deleteProduct(productId);
         return ResponseEntity.noContent().build();
     }
@@ -77,7 +133,7 @@ public class ProductController {
     public ResponseEntity<ProductResponse> increaseStock(
             @PathVariable String productId,
             @Valid @RequestBody StockUpdateRequest stockUpdateRequest) {
-        log.info("REST request to increase stock for product ID: {}", productId);
+        log.debug("REST request to increase stock for product ID: {}", productId);
         
         // Ensure productId in path and request body match
         if (!productId.equals(stockUpdateRequest.getProductId())) {
@@ -92,7 +148,7 @@ public class ProductController {
     public ResponseEntity<ProductResponse> decreaseStock(
             @PathVariable String productId,
             @Valid @RequestBody StockUpdateRequest stockUpdateRequest) {
-        log.info("REST request to decrease stock for product ID: {}", productId);
+        log.debug("REST request to decrease stock for product ID: {}", productId);
         
         // Ensure productId in path and request body match
         if (!productId.equals(stockUpdateRequest.getProductId())) {
@@ -107,8 +163,29 @@ public class ProductController {
     public ResponseEntity<Boolean> isInStock(
             @PathVariable String productId,
             @RequestParam(defaultValue = "1") int quantity) {
-        log.info("REST request to check if product ID: {} is in stock with quantity: {}", productId, quantity);
+        log.debug("REST request to check if product ID: {} is in stock with quantity: {}", productId, quantity);
         boolean inStock = productService.isInStock(productId, quantity);
         return ResponseEntity.ok(inStock);
     }
+
+    @PostMapping("/batch/in-stock")
+    public ResponseEntity<StockAvailabilityResponse> checkStock(
+            @Valid @RequestBody StockAvailabilityRequest availabilityRequest) {
+        log.debug("REST request to check stock of {} items", availabilityRequest.getItems().size());
+        StockAvailabilityResponse response = productService.checkStock(availabilityRequest.getItems());
+        return ResponseEntity.ok(response);
+    }
+
+    // Sets ETag/Last-Modified on the response, and a 304 status when the client copy is current
+    private boolean isNotModified(WebRequest request, ResourceVersion version) {
+        if (request.checkNotModified(version.getETag(), version.getLastModified())) {
+            log.debug("Product resource not modified: {}", version);
+            return true;
+        }
+        return false;
+    }
+
+    private CacheControl productCacheControl() {
+        return CacheControl.maxAge(productMaxAgeSeconds, TimeUnit.SECONDS).mustRevalidate();
+    }
 }
\ No newline at end of file
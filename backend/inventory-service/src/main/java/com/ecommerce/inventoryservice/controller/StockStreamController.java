@@ -0,0 +1,43 @@
+package com.ecommerce.inventoryservice.controller;
+
+import com.ecommerce.inventoryservice.stream.StockStreamBroadcaster;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+/**
+ * Server-Sent Events stream of stock changes, replacing repeated polling of the product list.
+ * <p>
+ * Each {@code stock} event carries a JSON array with the latest state of every followed product
+ * that changed since the previous event. A {@code resync} event means changes were dropped
+ * because the client fell behind, and it should reload the products it shows. Clients should
+ * open the stream before loading products so that no change falls between the two.
+ */
+@RestController
+@RequestMapping("/api/products/stock")
+@Profile("!reactive")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class StockStreamController {
+
+    private final StockStreamBroadcaster broadcaster;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamStockChanges(
+            @RequestParam(required = false, defaultValue = "") Set<String> productIds,
+            @RequestParam(required = false, defaultValue = "") Set<String> categories) {
+        log.debug("REST request to stream stock changes for {} products and {} categories",
+                productIds.size(), categories.size());
+        return broadcaster.subscribe(productIds, categories)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+}
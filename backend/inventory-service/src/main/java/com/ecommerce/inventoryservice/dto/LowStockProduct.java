@@ -0,0 +1,22 @@
+package com.ecommerce.inventoryservice.dto;
+
+import com.ecommerce.common.event.LowStockEvent.StockLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LowStockProduct {
+    private String productId;
+    private String category;
+    private Integer stockQuantity;
+    private Integer threshold;
+    private StockLevel level;
+    private LocalDateTime updatedAt;
+}
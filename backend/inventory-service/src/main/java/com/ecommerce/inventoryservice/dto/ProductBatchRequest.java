@@ -0,0 +1,24 @@
+package com.ecommerce.inventoryservice.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchRequest {
+
+    public static final int MAX_PRODUCTS = 100;
+
+    @NotEmpty(message = "At least one product ID is required")
+    @Size(max = MAX_PRODUCTS, message = "At most " + MAX_PRODUCTS + " product IDs can be requested at once")
+    private List<@NotBlank(message = "Product ID is required") String> productIds;
+}
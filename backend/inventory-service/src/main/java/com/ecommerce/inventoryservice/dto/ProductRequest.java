@@ -31,4 +31,7 @@ public class ProductRequest {
     private Integer stockQuantity;
     
     private String category;
+    
+    @PositiveOrZero(message = "Low stock threshold must be zero or positive")
+    private Integer lowStockThreshold;
 }
\ No newline at end of file
@@ -9,7 +9,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class ProductResponse {
@@ -19,6 +19,7 @@ public class ProductResponse {
     private BigDecimal price;
     private Integer stockQuantity;
     private String category;
+    private Integer lowStockThreshold;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private boolean inStock;
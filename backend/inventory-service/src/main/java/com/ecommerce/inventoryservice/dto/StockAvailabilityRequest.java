@@ -0,0 +1,23 @@
+package com.ecommerce.inventoryservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAvailabilityRequest {
+
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = ProductBatchRequest.MAX_PRODUCTS,
+            message = "At most " + ProductBatchRequest.MAX_PRODUCTS + " items can be checked at once")
+    private List<@Valid StockUpdateRequest> items;
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.inventoryservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAvailabilityResponse {
+    // True only if every product exists and has the requested quantity
+    private boolean allInStock;
+    // Keyed by product ID, in request order; false for products that were not found
+    private Map<String, Boolean> inStock;
+    private List<String> notFound;
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.inventoryservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockChange {
+    private String productId;
+    private String category;
+    private Integer stockQuantity;
+    private boolean inStock;
+    private boolean deleted;
+    private LocalDateTime updatedAt;
+}
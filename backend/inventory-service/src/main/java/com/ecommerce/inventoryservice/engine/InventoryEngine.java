@@ -0,0 +1,525 @@
+package com.ecommerce.inventoryservice.engine;
+
+import com.ecommerce.inventoryservice.catalog.IndexedProduct;
+import com.ecommerce.inventoryservice.exception.InsufficientStockException;
+import com.ecommerce.inventoryservice.exception.ProductNotFoundException;
+import com.ecommerce.inventoryservice.repository.ProductRepository;
+import com.ecommerce.inventoryservice.service.ProductService;
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.InsufficientCapacityException;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.TimeoutException;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.util.Util;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Holds the authoritative stock of every product in memory and changes it on a single thread,
+ * so reservations need neither row locks nor a database round trip.
+ * <p>
+ * Commands are published to a Disruptor ring buffer and applied in order by its single event
+ * processor thread, which takes them in batches: it applies every command the ring has ready (up
+ * to {@code max-batch-size}), appends the resulting stock to the {@link StockJournal}, commits
+ * the journal once for the whole batch and only then answers the callers. A snapshot thread
+ * periodically writes the stock of the products changed since the last snapshot to the
+ * products table (which also publishes the usual inventory updates and low-stock alerts) and
+ * deletes the journal segments the snapshot covers. On start, stock is loaded from the table
+ * and the remaining journal is replayed over it, which restores every acknowledged change.
+ * <p>
+ * Only one instance may run with the engine enabled, and while it is, all stock changes must
+ * go through it. The table lags the engine by up to a snapshot interval, so product reads
+ * take their stock from {@link #getStock} and their entity tags from {@link #getStockRevision}.
+ * If the journal cannot be written, the engine stops accepting commands.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryEngine {
+
+    private static final long SUBMIT_TIMEOUT_MILLIS = 5000;
+    private static final long FULL_RING_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final ProductRepository productRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectProvider<ProductService> productServiceProvider;
+
+    @Value("${inventory.engine.enabled:false}")
+    private boolean enabled;
+
+    @Value("${inventory.engine.journal.dir:data/inventory-journal}")
+    private String journalDir;
+
+    @Value("${inventory.engine.journal.fsync:true}")
+    private boolean fsync;
+
+    @Value("${inventory.engine.ring-size:65536}")
+    private int ringSize;
+
+    @Value("${inventory.engine.max-batch-size:1024}")
+    private int maxBatchSize;
+
+    @Value("${inventory.engine.snapshot-interval-ms:1000}")
+    private long snapshotIntervalMillis;
+
+    // Changed by the processor thread only, read by any thread
+    private final Map<String, Integer> stock = new ConcurrentHashMap<>();
+    // Products changed since the last snapshot; a failed snapshot puts its products back
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch stopSignal = new CountDownLatch(1);
+    // Counts stock changes; written by the processor thread only
+    private volatile long revision;
+    private long startedAt;
+
+    private StockJournal journal;
+    private Disruptor<Slot> disruptor;
+    private RingBuffer<Slot> ringBuffer;
+    private BatchHandler handler;
+    private Thread snapshotter;
+    private volatile boolean running;
+    private volatile boolean failed;
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        journal = new StockJournal(Paths.get(journalDir), fsync);
+        startedAt = System.currentTimeMillis();
+
+        // Explicitly read-write, so the stock is read from the primary rather than a lagging replica
+        List<IndexedProduct> products = new TransactionTemplate(transactionManager)
+                .execute(status -> productRepository.findIndexedProducts());
+        Set<String> productIds = new HashSet<>();
+        for (IndexedProduct product : products) {
+            stock.put(product.getId(), product.getStockQuantity());
+            productIds.add(product.getId());
+        }
+        long replayed = journal.replay((productId, quantity) -> {
+            if (quantity == StockJournal.REMOVED) {
+                stock.remove(productId);
+            } else {
+                stock.put(productId, quantity);
+            }
+            dirty.add(productId);
+        });
+        // The table decides which products exist
+        stock.keySet().retainAll(productIds);
+        journal.roll();
+
+        // The processor blocks while the ring is empty rather than spinning on a core
+        disruptor = new Disruptor<>(Slot::new, Util.ceilingNextPowerOfTwo(ringSize), runnable -> {
+            Thread thread = new Thread(runnable, "inventory-engine");
+            thread.setDaemon(true);
+            return thread;
+        }, ProducerType.MULTI, new BlockingWaitStrategy());
+        handler = new BatchHandler();
+        disruptor.handleEventsWith(handler);
+        ringBuffer = disruptor.start();
+        running = true;
+        snapshotter = new Thread(this::runSnapshots, "inventory-engine-snapshot");
+        snapshotter.setDaemon(true);
+        snapshotter.start();
+        log.info("Inventory engine started with {} products after replaying {} journal record(s)",
+                stock.size(), replayed);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get the current stock of a product
+     *
+     * @param productId the product ID
+     * @return the stock, or null if the product is unknown
+     */
+    public Integer getStock(String productId) {
+        return stock.get(productId);
+    }
+
+    /**
+     * Get a tag that changes whenever any product's stock changes, for the entity tags of
+     * product collections. It includes the start time, as the count restarts with the engine.
+     *
+     * @return the stock revision
+     */
+    public String getStockRevision() {
+        return Long.toString(startedAt, 36) + "." + Long.toString(revision, 36);
+    }
+
+    /**
+     * Replace the stock of products read from the table with the stock held here
+     *
+     * @param products the products as read from the table
+     * @return the products with their current stock, or the same list if the engine is not enabled
+     */
+    public List<IndexedProduct> withStock(List<IndexedProduct> products) {
+        if (!enabled) {
+            return products;
+        }
+        List<IndexedProduct> current = new ArrayList<>(products.size());
+        for (IndexedProduct product : products) {
+            Integer quantity = stock.get(product.getId());
+            current.add(quantity == null || quantity == product.getStockQuantity() ? product
+                    : new IndexedProduct(product.getId(), product.getCategory(), product.getPrice(),
+                            quantity, product.getVersion()));
+        }
+        return current;
+    }
+
+    /**
+     * Reserve stock of several products, all or nothing
+     *
+     * @param orderId the order reserving the stock
+     * @param quantities quantity per product ID
+     * @return true once the reservation is journaled, false if a product is unknown or short of stock
+     */
+    public boolean reserve(String orderId, Map<String, Integer> quantities) {
+        return (Boolean) submit(new Command(Kind.RESERVE, orderId, quantities));
+    }
+
+    /**
+     * Add to or take from a product's stock
+     *
+     * @param productId the product ID
+     * @param delta the change in stock
+     * @param orderId the order causing the change, or null
+     * @return the new stock, once journaled
+     * @throws ProductNotFoundException if the product is unknown
+     * @throws InsufficientStockException if the stock would fall below zero
+     */
+    public int adjust(String productId, int delta, String orderId) {
+        return (Integer) submit(new Command(Kind.ADJUST, orderId, Map.of(productId, delta)));
+    }
+
+    /**
+     * Set a product's stock, adding the product if it is new
+     *
+     * @param productId the product ID
+     * @param quantity the stock
+     */
+    public void set(String productId, int quantity) {
+        submit(new Command(Kind.SET, null, Map.of(productId, quantity)));
+    }
+
+    /**
+     * Forget a deleted product
+     *
+     * @param productId the product ID
+     */
+    public void remove(String productId) {
+        submit(new Command(Kind.REMOVE, null, Map.of(productId, StockJournal.REMOVED)));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!enabled || stopSignal.getCount() == 0) {
+            return;
+        }
+        running = false;
+        stopSignal.countDown();
+        try {
+            snapshotter.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        boolean drained = true;
+        try {
+            // Processes what was published before running was cleared, then stops the processor
+            disruptor.shutdown(10, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            drained = false;
+            disruptor.halt();
+        }
+        // Commands published as the processor stopped are refused rather than left waiting
+        for (long sequence = disruptor.getSequenceValueFor(handler) + 1; sequence <= ringBuffer.getCursor(); sequence++) {
+            Slot slot = ringBuffer.get(sequence);
+            if (slot.command != null) {
+                slot.command.result.completeExceptionally(new IllegalStateException("Inventory engine stopped"));
+                slot.command = null;
+            }
+        }
+
+        try {
+            if (!failed && drained) {
+                // The processor has stopped, so the snapshot can be taken on this thread
+                writeSnapshot(takeSnapshot());
+            }
+            journal.close();
+        } catch (IOException | RuntimeException e) {
+            log.error("Final inventory snapshot failed; the journal will be replayed on the next start", e);
+        }
+    }
+
+    private Object submit(Command command) {
+        if (!enabled) {
+            throw new IllegalStateException("Inventory engine is not enabled");
+        }
+        if (!running) {
+            throw new IllegalStateException("Inventory engine is not accepting commands");
+        }
+        long sequence = claimSlot();
+        ringBuffer.get(sequence).command = command;
+        ringBuffer.publish(sequence);
+        try {
+            return command.result.join();
+        } catch (CompletionException e) {
+            // Rethrow the command's own failure, e.g. InsufficientStockException, to the handlers
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    // Waits up to SUBMIT_TIMEOUT_MILLIS for room on the ring, without blocking the processor
+    private long claimSlot() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SUBMIT_TIMEOUT_MILLIS);
+        while (true) {
+            try {
+                return ringBuffer.tryNext();
+            } catch (InsufficientCapacityException e) {
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("Inventory engine ring is full");
+                }
+                LockSupport.parkNanos(FULL_RING_PARK_NANOS);
+            }
+        }
+    }
+
+    private void apply(Command command) {
+        Map<String, Integer> after = new LinkedHashMap<>();
+        switch (command.kind) {
+            case RESERVE:
+                for (Map.Entry<String, Integer> entry : command.quantities.entrySet()) {
+                    Integer available = stock.get(entry.getKey());
+                    if (available == null || available < entry.getValue()) {
+                        command.outcome = Boolean.FALSE;
+                        return;
+                    }
+                }
+                for (Map.Entry<String, Integer> entry : command.quantities.entrySet()) {
+                    after.put(entry.getKey(), stock.get(entry.getKey()) - entry.getValue());
+                }
+                command.outcome = Boolean.TRUE;
+                break;
+            case ADJUST:
+                Map.Entry<String, Integer> change = command.quantities.entrySet().iterator().next();
+                Integer current = stock.get(change.getKey());
+                if (current == null) {
+                    command.failure = new ProductNotFoundException("Product not found with ID: " + change.getKey());
+                    return;
+                }
+                long updated = (long) current + change.getValue();
+                if (updated < 0 || updated > Integer.MAX_VALUE) {
+                    command.failure = new InsufficientStockException("Insufficient stock for product: " + change.getKey());
+                    return;
+                }
+                after.put(change.getKey(), (int) updated);
+                command.outcome = (int) updated;
+                break;
+            default:
+                // SET and REMOVE carry the resulting quantity
+                after.putAll(command.quantities);
+        }
+
+        for (Map.Entry<String, Integer> entry : after.entrySet()) {
+            if (entry.getValue() == StockJournal.REMOVED) {
+                stock.remove(entry.getKey());
+            } else {
+                stock.put(entry.getKey(), entry.getValue());
+            }
+            dirty.add(entry.getKey());
+        }
+        revision++;
+        try {
+            journal.append(command.orderId, after);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Commit the journal, then answer the callers
+    private void acknowledge(List<Command> applied) throws IOException {
+        journal.commit();
+        for (Command command : applied) {
+            command.complete();
+        }
+        applied.clear();
+    }
+
+    // The journal no longer matches memory, so nothing more can be acknowledged
+    private void fail(Exception e, List<Command> applied) {
+        failed = true;
+        running = false;
+        log.error("Inventory journal write failed; the inventory engine has stopped and must be restarted", e);
+        for (Command command : applied) {
+            // Commands already answered are left as they are
+            command.result.completeExceptionally(new IllegalStateException("Inventory journal write failed", e));
+        }
+        applied.clear();
+    }
+
+    private Snapshot takeSnapshot() throws IOException {
+        Path segment = journal.roll();
+        Map<String, Integer> values = new LinkedHashMap<>();
+        for (String productId : new ArrayList<>(dirty)) {
+            dirty.remove(productId);
+            Integer quantity = stock.get(productId);
+            values.put(productId, quantity != null ? quantity : StockJournal.REMOVED);
+        }
+        return new Snapshot(values, segment);
+    }
+
+    private void runSnapshots() {
+        while (true) {
+            try {
+                if (stopSignal.await(snapshotIntervalMillis, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                snapshot();
+            } catch (IllegalStateException e) {
+                // Stopping or failed
+                return;
+            }
+        }
+    }
+
+    /**
+     * Write the products changed since the last snapshot to the table, and delete the journal
+     * segments that are then no longer needed. Runs on the snapshot thread.
+     */
+    void snapshot() {
+        if (!dirty.isEmpty()) {
+            writeSnapshot((Snapshot) submit(new Command(Kind.SNAPSHOT, null, Map.of())));
+        }
+    }
+
+    private void writeSnapshot(Snapshot snapshot) {
+        try {
+            if (!snapshot.stock.isEmpty()) {
+                productServiceProvider.getObject().applyStockSnapshot(snapshot.stock);
+            }
+            int deleted = journal.deleteSegmentsBefore(snapshot.segment);
+            log.debug("Inventory snapshot saved {} product(s), deleted {} journal segment(s)",
+                    snapshot.stock.size(), deleted);
+        } catch (Exception e) {
+            // The journal segments are kept, and the products are written with the next snapshot
+            log.warn("Inventory snapshot of {} product(s) failed: {}", snapshot.stock.size(), e.getMessage());
+            dirty.addAll(snapshot.stock.keySet());
+        }
+    }
+
+    /**
+     * Applies the commands on the ring one at a time and acknowledges them a batch at a time:
+     * at the end of what the ring had ready, or after max-batch-size commands.
+     */
+    private final class BatchHandler implements EventHandler<Slot> {
+
+        private final List<Command> applied = new ArrayList<>();
+
+        @Override
+        public void onEvent(Slot slot, long sequence, boolean endOfBatch) {
+            Command command = slot.command;
+            slot.command = null;
+            if (failed) {
+                command.result.completeExceptionally(new IllegalStateException("Inventory journal write failed"));
+                return;
+            }
+            try {
+                if (command.kind == Kind.SNAPSHOT) {
+                    // Answer what came before first, so the snapshot covers only journaled changes
+                    acknowledge(applied);
+                    command.outcome = takeSnapshot();
+                } else {
+                    apply(command);
+                }
+                applied.add(command);
+                if (endOfBatch || applied.size() >= maxBatchSize) {
+                    acknowledge(applied);
+                }
+            } catch (IOException | RuntimeException e) {
+                applied.add(command);
+                fail(e, applied);
+            }
+        }
+    }
+
+    // A ring entry, reused for every command published to its sequence
+    private static final class Slot {
+        private Command command;
+    }
+
+    private enum Kind {
+        RESERVE,
+        ADJUST,
+        SET,
+        REMOVE,
+        SNAPSHOT
+    }
+
+    private static final class Command {
+        private final Kind kind;
+        private final String orderId;
+        private final Map<String, Integer> quantities;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private Object outcome;
+        private RuntimeException failure;
+
+        Command(Kind kind, String orderId, Map<String, Integer> quantities) {
+            this.kind = kind;
+            this.orderId = orderId;
+            this.quantities = quantities;
+        }
+
+        void complete() {
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(outcome);
+            }
+        }
+    }
+
+    private static final class Snapshot {
+        private final Map<String, Integer> stock;
+        private final Path segment;
+
+        Snapshot(Map<String, Integer> stock, Path segment) {
+            this.stock = stock;
+            this.segment = segment;
+        }
+    }
+}
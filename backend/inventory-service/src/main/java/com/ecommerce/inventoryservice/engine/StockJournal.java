@@ -0,0 +1,222 @@
+package com.ecommerce.inventoryservice.engine;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of the stock changes made by the {@link InventoryEngine}, kept as numbered
+ * segment files in one directory.
+ * <p>
+ * A record holds the stock of each product a command changed as it was after the command, not
+ * the change itself, so replaying records that the database already reflects is harmless. On
+ * disk a record is its body length and CRC32, then the body: sequence number, order ID (empty
+ * if none), entry count, and per entry the product ID and its quantity ({@link #REMOVED} for a
+ * removed product). A record torn by a crash fails its checksum and ends the replay of its
+ * segment; it was never acknowledged.
+ * <p>
+ * Not thread-safe: records are appended by the engine's processor thread only.
+ */
+@Slf4j
+public class StockJournal implements Closeable {
+
+    /** Quantity recorded for a product that was removed */
+    public static final int REMOVED = -1;
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_BYTES = 8;
+
+    private final Path directory;
+    private final boolean fsync;
+    private final ByteArrayOutputStream batch = new ByteArrayOutputStream(64 * 1024);
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+    private final DataOutputStream bodyOut = new DataOutputStream(body);
+    private final CRC32 crc = new CRC32();
+
+    private FileChannel channel;
+    private Path segment;
+    private long segmentIndex;
+    private long nextSequence = 1;
+    private boolean segmentEmpty = true;
+
+    /**
+     * @param directory where the segments are kept; created if missing
+     * @param fsync whether {@link #commit()} forces the segment to disk
+     */
+    public StockJournal(Path directory, boolean fsync) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.fsync = fsync;
+    }
+
+    /**
+     * Read every record of every segment, oldest first. Call before the first {@link #roll()}.
+     *
+     * @param apply receives each product ID and its recorded quantity
+     * @return the number of records replayed
+     */
+    public long replay(ObjIntConsumer<String> apply) throws IOException {
+        long records = 0;
+        for (Path path : segments()) {
+            segmentIndex = Math.max(segmentIndex, indexOf(path));
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(path)));
+            while (in.available() >= HEADER_BYTES) {
+                int length = in.readInt();
+                int checksum = in.readInt();
+                if (length < 0 || in.available() < length) {
+                    log.warn("Ignoring torn record at the end of {}", path.getFileName());
+                    break;
+                }
+                byte[] record = new byte[length];
+                in.readFully(record);
+                crc.reset();
+                crc.update(record);
+                if ((int) crc.getValue() != checksum) {
+                    log.warn("Ignoring record with a bad checksum at the end of {}", path.getFileName());
+                    break;
+                }
+
+                DataInputStream recordIn = new DataInputStream(new ByteArrayInputStream(record));
+                nextSequence = recordIn.readLong() + 1;
+                recordIn.readUTF();
+                int entries = recordIn.readUnsignedShort();
+                for (int i = 0; i < entries; i++) {
+                    String productId = recordIn.readUTF();
+                    apply.accept(productId, recordIn.readInt());
+                }
+                records++;
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Buffer a record; it is written by the next {@link #commit()}
+     *
+     * @param orderId the order that caused the change, or null
+     * @param stock the products' quantities after the change
+     * @return the record's sequence number
+     */
+    public long append(String orderId, Map<String, Integer> stock) throws IOException {
+        if (stock.size() > 0xFFFF) {
+            throw new IllegalArgumentException("Too many products in one record: " + stock.size());
+        }
+        long sequence = nextSequence++;
+        body.reset();
+        bodyOut.writeLong(sequence);
+        bodyOut.writeUTF(orderId != null ? orderId : "");
+        bodyOut.writeShort(stock.size());
+        for (Map.Entry<String, Integer> entry : stock.entrySet()) {
+            bodyOut.writeUTF(entry.getKey());
+            bodyOut.writeInt(entry.getValue());
+        }
+        bodyOut.flush();
+
+        crc.reset();
+        crc.update(body.toByteArray());
+        DataOutputStream batchOut = new DataOutputStream(batch);
+        batchOut.writeInt(body.size());
+        batchOut.writeInt((int) crc.getValue());
+        body.writeTo(batchOut);
+        batchOut.flush();
+        return sequence;
+    }
+
+    /**
+     * Write the buffered records, and force them to disk if fsync is on. Records are durable,
+     * and may be acknowledged, once this returns.
+     */
+    public void commit() throws IOException {
+        if (batch.size() == 0) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(batch.toByteArray());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        batch.reset();
+        segmentEmpty = false;
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Commit, then continue in a new segment. Records in earlier segments can be deleted once
+     * the state they lead to has been saved elsewhere.
+     *
+     * @return the segment now being written
+     */
+    public Path roll() throws IOException {
+        commit();
+        if (channel != null && segmentEmpty) {
+            return segment;
+        }
+        if (channel != null) {
+            channel.close();
+        }
+        segment = directory.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, ++segmentIndex, SEGMENT_SUFFIX));
+        channel = FileChannel.open(segment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segmentEmpty = true;
+        return segment;
+    }
+
+    /**
+     * Delete the segments that come before the given one
+     *
+     * @param segment a segment returned by {@link #roll()}
+     * @return the number of segments deleted
+     */
+    public int deleteSegmentsBefore(Path segment) throws IOException {
+        long index = indexOf(segment);
+        int deleted = 0;
+        for (Path path : segments()) {
+            if (indexOf(path) < index) {
+                Files.deleteIfExists(path);
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            commit();
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            // Zero-padded, so name order is segment order
+            return files
+                    .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static long indexOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
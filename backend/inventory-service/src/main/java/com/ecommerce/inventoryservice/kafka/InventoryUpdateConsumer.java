@@ -0,0 +1,124 @@
+package com.ecommerce.inventoryservice.kafka;
+
+import com.ecommerce.common.config.KafkaTopics;
+import com.ecommerce.common.event.LowStockEvent.StockLevel;
+import com.ecommerce.inventoryservice.alert.LowStockRegistry;
+import com.ecommerce.inventoryservice.cache.ProductCache;
+import com.ecommerce.inventoryservice.catalog.CategoryIndex;
+import com.ecommerce.inventoryservice.catalog.IndexedProduct;
+import com.ecommerce.inventoryservice.dto.LowStockProduct;
+import com.ecommerce.inventoryservice.dto.StockChange;
+import com.ecommerce.inventoryservice.stream.StockStreamBroadcaster;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Applies product changes made on any replica to this replica's in-memory views: the near
+ * product cache, the category index, the low-stock registry and the stock stream subscribers.
+ * <p>
+ * The listener uses a consumer group unique to this replica (see
+ * {@code productCacheListenerContainerFactory}) so that every replica sees every update,
+ * rather than the updates being shared out between replicas as with a common group.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryUpdateConsumer {
+
+    public static final String LISTENER_ID = "productCacheInvalidation";
+
+    private final ProductCache productCache;
+    private final CategoryIndex categoryIndex;
+    private final LowStockRegistry lowStockRegistry;
+    private final StockStreamBroadcaster stockStreamBroadcaster;
+
+    @KafkaListener(
+            id = LISTENER_ID,
+            idIsGroup = false,
+            topics = KafkaTopics.INVENTORY_UPDATES_TOPIC,
+            containerFactory = "productCacheListenerContainerFactory"
+    )
+    public void consumeInventoryUpdate(Map<String, Object> update) {
+        Object productId = update.get(InventoryUpdates.PRODUCT_ID);
+        if (productId == null) {
+            return;
+        }
+
+        String id = productId.toString();
+        Object change = update.get(InventoryUpdates.CHANGE);
+        Integer stockQuantity = asInteger(update.get(InventoryUpdates.STOCK_QUANTITY));
+        // Engine stock changes have no version, so the cache and registry catch up with the
+        // snapshot that writes them; the index takes the stock in place, and product reads on
+        // the engine's replica overlay it
+        Long version = asLong(update.get(InventoryUpdates.VERSION));
+        String category = asString(update.get(InventoryUpdates.CATEGORY));
+        LocalDateTime updatedAt = parseTime(update.get(InventoryUpdates.UPDATED_AT));
+        boolean deleted = InventoryUpdates.Change.DELETED.name().equals(change);
+
+        if (InventoryUpdates.Change.STOCK.name().equals(change) && stockQuantity != null && version != null) {
+            productCache.applyStockChange(id, stockQuantity, version, updatedAt);
+        } else if (!InventoryUpdates.Change.ENGINE_STOCK.name().equals(change)) {
+            // Product edits, deletions and events from older publishers cannot be patched in place
+            productCache.evictLocal(id);
+        }
+
+        String stockLevel = asString(update.get(InventoryUpdates.STOCK_LEVEL));
+        if (deleted) {
+            lowStockRegistry.remove(id);
+        } else if (stockLevel != null && stockQuantity != null && version != null) {
+            lowStockRegistry.update(LowStockProduct.builder()
+                    .productId(id)
+                    .category(category)
+                    .stockQuantity(stockQuantity)
+                    .threshold(asInteger(update.get(InventoryUpdates.LOW_STOCK_THRESHOLD)))
+                    .level(StockLevel.valueOf(stockLevel))
+                    .updatedAt(updatedAt)
+                    .build(), version);
+        }
+
+        if (deleted) {
+            categoryIndex.remove(id, version != null ? version : -1);
+        } else if (InventoryUpdates.Change.ENGINE_STOCK.name().equals(change) && stockQuantity != null) {
+            categoryIndex.applyStock(id, stockQuantity);
+        } else if (stockQuantity != null && version != null && category != null) {
+            String price = asString(update.get(InventoryUpdates.PRICE));
+            categoryIndex.apply(new IndexedProduct(id, category,
+                    price != null ? new BigDecimal(price) : null, stockQuantity, version));
+        }
+
+        if (stockQuantity != null || deleted) {
+            int stock = deleted ? 0 : stockQuantity;
+            stockStreamBroadcaster.publish(StockChange.builder()
+                    .productId(id)
+                    .category(category)
+                    .stockQuantity(stock)
+                    .inStock(stock > 0)
+                    .deleted(deleted)
+                    .updatedAt(updatedAt)
+                    .build());
+        }
+        log.debug("Applied inventory update for product: {}", id);
+    }
+
+    private static Integer asInteger(Object value) {
+        return value instanceof Number ? ((Number) value).intValue() : null;
+    }
+
+    private static Long asLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : null;
+    }
+
+    private static String asString(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private static LocalDateTime parseTime(Object value) {
+        return value != null ? LocalDateTime.parse(value.toString()) : null;
+    }
+}
@@ -0,0 +1,43 @@
+package com.ecommerce.inventoryservice.kafka;
+
+/**
+ * Field names of the events published on inventory-updates, keyed by product ID.
+ * <p>
+ * Every event carries {@link #PRODUCT_ID}, {@link #CATEGORY}, {@link #CHANGE}, {@link #VERSION}
+ * and {@link #TIMESTAMP}. Stock and product changes also carry {@link #STOCK_QUANTITY},
+ * {@link #PRICE} (as a string), {@link #UPDATED_AT}, {@link #STOCK_LEVEL} and the effective
+ * {@link #LOW_STOCK_THRESHOLD} as committed; stock changes caused by an order carry
+ * {@link #ORDER_ID}. Stock changes made in the inventory engine carry only
+ * {@link #STOCK_QUANTITY} and {@link #ORDER_ID} besides, and no {@link #VERSION}.
+ */
+public final class InventoryUpdates {
+
+    public static final String PRODUCT_ID = "productId";
+    public static final String CATEGORY = "category";
+    public static final String CHANGE = "change";
+    public static final String STOCK_QUANTITY = "stockQuantity";
+    public static final String PRICE = "price";
+    public static final String VERSION = "version";
+    public static final String UPDATED_AT = "updatedAt";
+    public static final String STOCK_LEVEL = "stockLevel";
+    public static final String LOW_STOCK_THRESHOLD = "lowStockThreshold";
+    public static final String ORDER_ID = "orderId";
+    public static final String TIMESTAMP = "timestamp";
+
+    /**
+     * What changed about the product
+     */
+    public enum Change {
+        /** Only the stock quantity changed */
+        STOCK,
+        /** Any product field may have changed */
+        PRODUCT,
+        /** The product was deleted */
+        DELETED,
+        /** Only the stock quantity changed, in the inventory engine; not yet written to the table */
+        ENGINE_STOCK
+    }
+
+    private InventoryUpdates() {
+    }
+}
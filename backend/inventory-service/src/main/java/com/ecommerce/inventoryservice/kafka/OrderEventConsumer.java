@@ -2,9 +2,11 @@ package com.ecommerce.inventoryservice.kafka;
 
 import com.ecommerce.common.config.KafkaTopics;
 import com.ecommerce.common.event.OrderEvent;
+import com.ecommerce.common.event.StockReservationCommand;
 import com.ecommerce.inventoryservice.service.ProductService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
@@ -14,6 +16,11 @@ import org.springframework.stereotype.Component;
 public class OrderEventConsumer {
 
     private final ProductService productService;
+    private final ReservationCommandPublisher reservationCommandPublisher;
+
+    // When set, stock changes are re-keyed by product and applied by ReservationCommandConsumer
+    @Value("${inventory.reservations.enabled:false}")
+    private boolean reservationsEnabled;
 
     @KafkaListener(
             topics = KafkaTopics.ORDERS_TOPIC,
@@ -33,12 +40,18 @@ public class OrderEventConsumer {
                 handleOrderCancelled(orderEvent);
                 break;
             default:
-                log.info("No inventory action needed for order status: {}", orderEvent.getStatus());
+                log.debug("No inventory action needed for order status: {}", orderEvent.getStatus());
         }
     }
     
     private void handleOrderCreated(OrderEvent orderEvent) {
-        log.info("Processing inventory update for new order: {}", orderEvent.getOrderId());
+        log.debug("Processing inventory update for new order: {}", orderEvent.getOrderId());
+        
+        if (reservationsEnabled) {
+            reservationCommandPublisher.publish(orderEvent.getOrderId(), orderEvent.getItems(),
+                    StockReservationCommand.Action.RESERVE);
+            return;
+        }
         
         boolean stockUpdated = productService.processOrderStockChanges(orderEvent.getOrderId(), orderEvent.getItems());
         
@@ -52,7 +65,13 @@ public class OrderEventConsumer {
     }
     
     private void handleOrderCancelled(OrderEvent orderEvent) {
-        log.info("Restoring inventory for cancelled order: {}", orderEvent.getOrderId());
+        log.debug("Restoring inventory for cancelled order: {}", orderEvent.getOrderId());
+        
+        if (reservationsEnabled) {
+            reservationCommandPublisher.publish(orderEvent.getOrderId(), orderEvent.getItems(),
+                    StockReservationCommand.Action.RELEASE);
+            return;
+        }
         
         // For each item in the cancelled order, restore the stock
         orderEvent.getItems().forEach(item -> {
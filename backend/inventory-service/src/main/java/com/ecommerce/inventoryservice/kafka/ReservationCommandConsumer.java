@@ -0,0 +1,101 @@
+package com.ecommerce.inventoryservice.kafka;
+
+import com.ecommerce.common.config.KafkaTopics;
+import com.ecommerce.common.event.StockReservationCommand;
+import com.ecommerce.common.event.StockReservationResult;
+import com.ecommerce.inventoryservice.repository.AppliedReservationRepository;
+import com.ecommerce.inventoryservice.service.ProductService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies stock reservation commands. Commands are keyed by product ID and each partition is
+ * consumed by one thread in the group, so this is the only writer of a product's reservations
+ * and reads the product without a row lock.
+ * <p>
+ * The result is sent after the stock change commits, so a failed send, a crash or a rebalance
+ * before the offset commit redelivers a command that was already applied. Applied commands are
+ * recorded with their stock change (see {@link ProductService#applyReservation}) and kept for
+ * {@code inventory.reservations.applied-retention}, which must exceed any redelivery delay and
+ * the time within which an order can be cancelled, since a release needs its reservation's record.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationCommandConsumer {
+
+    private final ProductService productService;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final AppliedReservationRepository appliedReservationRepository;
+
+    @Value("${inventory.reservations.enabled:false}")
+    private boolean enabled;
+
+    @Value("${inventory.reservations.applied-retention:7d}")
+    private Duration appliedRetention;
+
+    @Value("${inventory.reservations.applied-cleanup-interval-ms:3600000}")
+    private long cleanupIntervalMillis;
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "applied-reservations-cleanup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::deleteExpiredRecords, cleanupIntervalMillis, cleanupIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @KafkaListener(
+            topics = KafkaTopics.STOCK_RESERVATIONS_TOPIC,
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "reservationListenerContainerFactory",
+            autoStartup = "${inventory.reservations.enabled:false}"
+    )
+    public void consumeReservationCommand(StockReservationCommand command) {
+        StockReservationResult result = productService.applyReservation(command);
+        if (!result.isSuccess()) {
+            log.warn("Could not {} {} of product ID: {} for order: {}: {}", command.getAction(),
+                    command.getQuantity(), command.getProductId(), command.getOrderId(), result.getReason());
+        }
+        // Wait, so that the command's offset is only committed once its result is on the topic
+        kafkaTemplate.send(KafkaTopics.STOCK_RESERVATION_RESULTS_TOPIC, command.getOrderId(), result).join();
+    }
+
+    private void deleteExpiredRecords() {
+        try {
+            int deleted = appliedReservationRepository.deleteAppliedBefore(LocalDateTime.now().minus(appliedRetention));
+            if (deleted > 0) {
+                log.debug("Deleted {} expired applied reservation records", deleted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to delete expired applied reservation records: {}", e.getMessage());
+        }
+    }
+}
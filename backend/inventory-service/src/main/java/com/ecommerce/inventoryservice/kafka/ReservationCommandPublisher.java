@@ -0,0 +1,71 @@
+package com.ecommerce.inventoryservice.kafka;
+
+import com.ecommerce.common.config.KafkaTopics;
+import com.ecommerce.common.event.StockReservationCommand;
+import com.ecommerce.common.model.OrderItem;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Splits an order into one {@link StockReservationCommand} per product, keyed by product ID.
+ * Orders arrive keyed by order ID, so two instances can hold orders for the same product at the
+ * same time; once re-keyed, every command for a product lands on the same partition and is
+ * applied by the one consumer thread that owns it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationCommandPublisher {
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    /**
+     * Publish commands for an order's items, combining items for the same product
+     *
+     * @param orderId the order ID
+     * @param items the order items
+     * @param action whether to reserve or release the stock
+     */
+    public void publish(String orderId, List<OrderItem> items, StockReservationCommand.Action action) {
+        Map<String, Integer> productQuantities = new LinkedHashMap<>();
+        for (OrderItem item : items) {
+            productQuantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        publish(orderId, productQuantities, action);
+    }
+
+    /**
+     * Publish one command per product
+     *
+     * @param orderId the order ID
+     * @param productQuantities quantity per product ID
+     * @param action whether to reserve or release the stock
+     */
+    public void publish(String orderId, Map<String, Integer> productQuantities, StockReservationCommand.Action action) {
+        LocalDateTime now = LocalDateTime.now();
+        CompletableFuture<?>[] sends = new CompletableFuture<?>[productQuantities.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : productQuantities.entrySet()) {
+            StockReservationCommand command = StockReservationCommand.builder()
+                    .orderId(orderId)
+                    .productId(entry.getKey())
+                    .quantity(entry.getValue())
+                    .action(action)
+                    .productCount(productQuantities.size())
+                    .timestamp(now)
+                    .build();
+            sends[i++] = kafkaTemplate.send(KafkaTopics.STOCK_RESERVATIONS_TOPIC, entry.getKey(), command);
+        }
+        // Wait, so that the caller's offset is only committed once every command is on the topic
+        CompletableFuture.allOf(sends).join();
+        log.debug("Published {} {} command(s) for order: {}", sends.length, action, orderId);
+    }
+}
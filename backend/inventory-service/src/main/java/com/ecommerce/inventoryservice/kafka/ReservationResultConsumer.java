@@ -0,0 +1,125 @@
+package com.ecommerce.inventoryservice.kafka;
+
+import com.ecommerce.common.config.KafkaTopics;
+import com.ecommerce.common.event.StockReservationCommand;
+import com.ecommerce.common.event.StockReservationResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Puts the per-product reservation results of an order back together. Once every product has
+ * answered, the order either has all its stock, or the products that were reserved are released
+ * again so a partly reserved order does not hold stock.
+ * <p>
+ * Results are keyed by order ID, so an order's results are counted in by one thread. They are
+ * held in memory: an order whose results are split by a rebalance or a restart does not complete,
+ * and is dropped with a warning after {@code inventory.reservations.assembly-timeout-ms}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationResultConsumer {
+
+    public static final String LISTENER_ID = "stockReservationResults";
+
+    private static final long SWEEP_INTERVAL_MILLIS = 1000;
+
+    private final ReservationCommandPublisher reservationCommandPublisher;
+
+    @Value("${inventory.reservations.assembly-timeout-ms:60000}")
+    private long assemblyTimeoutMillis;
+
+    private final Map<String, PendingOrder> pending = new ConcurrentHashMap<>();
+    private volatile long lastSweepMillis = System.currentTimeMillis();
+
+    @KafkaListener(
+            id = LISTENER_ID,
+            idIsGroup = false,
+            topics = KafkaTopics.STOCK_RESERVATION_RESULTS_TOPIC,
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "reservationListenerContainerFactory",
+            autoStartup = "${inventory.reservations.enabled:false}"
+    )
+    public void consumeReservationResult(StockReservationResult result) {
+        if (result.getAction() == StockReservationCommand.Action.RELEASE) {
+            if (!result.isSuccess()) {
+                log.error("Failed to release {} of product ID: {} for order: {}: {}", result.getQuantity(),
+                        result.getProductId(), result.getOrderId(), result.getReason());
+            }
+            return;
+        }
+
+        PendingOrder order = pending.computeIfAbsent(result.getOrderId(),
+                orderId -> new PendingOrder(result.getProductCount()));
+        // Keyed by product, so a redelivered result is not counted twice
+        order.results.put(result.getProductId(), result);
+        if (order.results.size() >= order.productCount) {
+            pending.remove(result.getOrderId());
+            complete(result.getOrderId(), order);
+        }
+        expireStale();
+    }
+
+    /**
+     * Number of orders still waiting for results
+     */
+    public int getPendingOrderCount() {
+        return pending.size();
+    }
+
+    private void complete(String orderId, PendingOrder order) {
+        Map<String, Integer> reserved = new LinkedHashMap<>();
+        StockReservationResult firstFailure = null;
+        for (StockReservationResult result : order.results.values()) {
+            if (result.isSuccess()) {
+                reserved.put(result.getProductId(), result.getQuantity());
+            } else if (firstFailure == null) {
+                firstFailure = result;
+            }
+        }
+
+        if (firstFailure == null) {
+            log.info("Successfully updated inventory for order: {}", orderId);
+            return;
+        }
+        if (!reserved.isEmpty()) {
+            reservationCommandPublisher.publish(orderId, reserved, StockReservationCommand.Action.RELEASE);
+        }
+        log.error("Failed to update inventory for order: {} (product ID: {}: {}), released {} reserved product(s)",
+                orderId, firstFailure.getProductId(), firstFailure.getReason(), reserved.size());
+    }
+
+    private void expireStale() {
+        long now = System.currentTimeMillis();
+        if (now - lastSweepMillis < SWEEP_INTERVAL_MILLIS) {
+            return;
+        }
+        lastSweepMillis = now;
+        pending.entrySet().removeIf(entry -> {
+            if (now - entry.getValue().startedAtMillis < assemblyTimeoutMillis) {
+                return false;
+            }
+            log.warn("Gave up waiting for stock reservation results of order: {} ({} of {} received)",
+                    entry.getKey(), entry.getValue().results.size(), entry.getValue().productCount);
+            return true;
+        });
+    }
+
+    private static final class PendingOrder {
+        private final int productCount;
+        private final long startedAtMillis = System.currentTimeMillis();
+        private final Map<String, StockReservationResult> results = new HashMap<>();
+
+        PendingOrder(int productCount) {
+            this.productCount = productCount;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.ecommerce.inventoryservice.model;
+
+import com.ecommerce.common.event.StockReservationCommand;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A stock reservation command that has been applied, saved in the same transaction as its stock
+ * change. A redelivered command finds it and is answered with the saved outcome instead of
+ * moving the stock a second time. A release is only applied if a successful reservation of the
+ * same order and product is recorded.
+ */
+@Entity
+@Table(name = "applied_reservations", indexes = {
+        @Index(name = "idx_applied_reservations_applied_at", columnList = "applied_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppliedReservation {
+    // Order ID, product ID and action; see idOf
+    @Id
+    private String id;
+    
+    private boolean success;
+    
+    private String reason;
+    
+    private LocalDateTime appliedAt;
+    
+    public static String idOf(StockReservationCommand command) {
+        return idOf(command.getOrderId(), command.getProductId(), command.getAction());
+    }
+    
+    public static String idOf(String orderId, String productId, StockReservationCommand.Action action) {
+        return orderId + ":" + productId + ":" + action;
+    }
+}
@@ -1,5 +1,6 @@
 package com.ecommerce.inventoryservice.model;
 
+import com.ecommerce.common.event.LowStockEvent.StockLevel;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -30,6 +31,12 @@ public class Product {
     
     private String category;
     
+    // Overrides inventory.low-stock.default-threshold when set
+    private Integer lowStockThreshold;
+    
+    @Enumerated(EnumType.STRING)
+    private StockLevel stockLevel;
+    
     private LocalDateTime createdAt;
     
     private LocalDateTime updatedAt;
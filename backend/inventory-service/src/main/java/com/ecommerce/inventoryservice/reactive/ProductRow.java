@@ -0,0 +1,42 @@
+package com.ecommerce.inventoryservice.reactive;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only R2DBC view of the {@code products} table owned by the JPA {@code Product} entity.
+ */
+@Table("products")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductRow {
+    @Id
+    private String id;
+
+    private String name;
+
+    private String description;
+
+    private BigDecimal price;
+
+    private Integer stockQuantity;
+
+    private String category;
+
+    private Integer lowStockThreshold;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    private Long version;
+}
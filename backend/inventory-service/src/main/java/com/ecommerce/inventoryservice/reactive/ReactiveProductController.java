@@ -0,0 +1,46 @@
+package com.ecommerce.inventoryservice.reactive;
+
+import com.ecommerce.inventoryservice.dto.ProductResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux variant of the product read endpoints. List endpoints stream their results as a JSON
+ * array, or as newline-delimited JSON when the client asks for {@code application/x-ndjson}.
+ */
+@RestController
+@RequestMapping("/api/products")
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveProductController {
+
+    private final ReactiveProductService productService;
+
+    @GetMapping("/{productId}")
+    public Mono<ProductResponse> getProductById(@PathVariable String productId) {
+        return productService.getProductById(productId);
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<ProductResponse> getAllProducts() {
+        return productService.getAllProducts();
+    }
+
+    @GetMapping(value = "/category/{category}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<ProductResponse> getProductsByCategory(@PathVariable String category) {
+        return productService.getProductsByCategory(category);
+    }
+
+    @GetMapping(value = "/search", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<ProductResponse> searchProducts(@RequestParam String keyword) {
+        return productService.searchProducts(keyword);
+    }
+}
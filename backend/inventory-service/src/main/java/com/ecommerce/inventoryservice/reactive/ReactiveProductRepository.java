@@ -0,0 +1,21 @@
+package com.ecommerce.inventoryservice.reactive;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReactiveProductRepository extends ReactiveCrudRepository<ProductRow, String> {
+
+    /**
+     * Find products by category
+     */
+    Flux<ProductRow> findByCategory(String category);
+
+    /**
+     * Search products by name or description containing the given keyword
+     */
+    @Query("SELECT * FROM products WHERE LOWER(name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    Flux<ProductRow> searchByKeyword(String keyword);
+}
@@ -0,0 +1,56 @@
+package com.ecommerce.inventoryservice.reactive;
+
+import com.ecommerce.inventoryservice.dto.ProductResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking catalogue reads used by the reactive profile. Unlike the JPA path, lookups by ID
+ * take no row lock since they never lead to an update.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveProductService {
+
+    private final ReactiveProductRepository productRepository;
+
+    public Mono<ProductResponse> getProductById(String productId) {
+        return productRepository.findById(productId)
+                .map(this::mapToProductResponse)
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "Product not found with ID: " + productId)));
+    }
+
+    public Flux<ProductResponse> getAllProducts() {
+        return productRepository.findAll().map(this::mapToProductResponse);
+    }
+
+    public Flux<ProductResponse> getProductsByCategory(String category) {
+        return productRepository.findByCategory(category).map(this::mapToProductResponse);
+    }
+
+    public Flux<ProductResponse> searchProducts(String keyword) {
+        return productRepository.searchByKeyword(keyword).map(this::mapToProductResponse);
+    }
+
+    private ProductResponse mapToProductResponse(ProductRow product) {
+        return ProductResponse.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .stockQuantity(product.getStockQuantity())
+                .category(product.getCategory())
+                .lowStockThreshold(product.getLowStockThreshold())
+                .createdAt(product.getCreatedAt())
+                .updatedAt(product.getUpdatedAt())
+                .inStock(product.getStockQuantity() != null && product.getStockQuantity() > 0)
+                .build();
+    }
+}
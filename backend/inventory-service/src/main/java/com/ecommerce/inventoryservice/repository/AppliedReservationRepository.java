@@ -0,0 +1,25 @@
+package com.ecommerce.inventoryservice.repository;
+
+import com.ecommerce.inventoryservice.model.AppliedReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface AppliedReservationRepository extends JpaRepository<AppliedReservation, String> {
+    
+    /**
+     * Delete the records of commands applied before the cutoff, which can no longer be redelivered
+     * 
+     * @param cutoff the oldest application time to keep
+     * @return the number of records deleted
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM AppliedReservation a WHERE a.appliedAt < :cutoff")
+    int deleteAppliedBefore(LocalDateTime cutoff);
+}
@@ -1,5 +1,8 @@
 package com.ecommerce.inventoryservice.repository;
 
+import com.ecommerce.common.event.LowStockEvent.StockLevel;
+import com.ecommerce.common.web.ResourceVersion;
+import com.ecommerce.inventoryservice.catalog.IndexedProduct;
 import com.ecommerce.inventoryservice.model.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
@@ -7,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +23,14 @@ public interface ProductRepository extends JpaRepository<Product, String> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     Optional<Product> findById(String id);
     
+    /**
+     * Find a product by ID without locking it, for the single writer that owns the product's
+     * reservations (see ReservationCommandConsumer). Writes through other paths are still
+     * caught by the version check.
+     */
+    @Query("SELECT p FROM Product p WHERE p.id = :id")
+    Optional<Product> findUnlockedById(String id);
+    
     /**
      * Find products by category
      */
@@ -29,9 +41,43 @@ public interface ProductRepository extends JpaRepository<Product, String> {
      */
     List<Product> findByStockQuantityLessThan(Integer quantity);
     
+    /**
+     * Find products at any of the given stock levels
+     */
+    List<Product> findByStockLevelIn(Collection<StockLevel> levels);
+    
+    /**
+     * Find products whose stock level has never been evaluated
+     */
+    List<Product> findByStockLevelIsNull();
+    
     /**
      * Search products by name or description containing the given keyword
      */
     @Query("SELECT p FROM Product p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(p.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     List<Product> searchByKeyword(String keyword);
+    
+    /**
+     * Read only the version and update time of a product, without locking it
+     */
+    @Query("SELECT new com.ecommerce.common.web.ResourceVersion(p.version, p.updatedAt) FROM Product p WHERE p.id = :id")
+    Optional<ResourceVersion> findVersionById(String id);
+    
+    /**
+     * Aggregate version of all products, changing whenever a product is added, removed or updated
+     */
+    @Query("SELECT new com.ecommerce.common.web.ResourceVersion(COUNT(p), SUM(p.version), MAX(p.updatedAt)) FROM Product p")
+    ResourceVersion findCatalogVersion();
+    
+    /**
+     * Aggregate version of the products in a category
+     */
+    @Query("SELECT new com.ecommerce.common.web.ResourceVersion(COUNT(p), SUM(p.version), MAX(p.updatedAt)) FROM Product p WHERE p.category = :category")
+    ResourceVersion findCategoryVersion(String category);
+    
+    /**
+     * Read only the fields aggregated by the category index, for all products
+     */
+    @Query("SELECT new com.ecommerce.inventoryservice.catalog.IndexedProduct(p.id, p.category, p.price, p.stockQuantity, p.version) FROM Product p")
+    List<IndexedProduct> findIndexedProducts();
 }
\ No newline at end of file
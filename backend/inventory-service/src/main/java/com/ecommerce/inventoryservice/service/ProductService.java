@@ -1,10 +1,18 @@
 package com.ecommerce.inventoryservice.service;
 
+import com.ecommerce.common.event.StockReservationCommand;
+import com.ecommerce.common.event.StockReservationResult;
+import com.ecommerce.common.web.ResourceVersion;
+import com.ecommerce.inventoryservice.dto.CategoryFacet;
+import com.ecommerce.inventoryservice.dto.LowStockProduct;
+import com.ecommerce.inventoryservice.dto.ProductBatchResponse;
 import com.ecommerce.inventoryservice.dto.ProductRequest;
 import com.ecommerce.inventoryservice.dto.ProductResponse;
+import com.ecommerce.inventoryservice.dto.StockAvailabilityResponse;
 import com.ecommerce.inventoryservice.dto.StockUpdateRequest;
 
 import java.util.List;
+import java.util.Map;
 
 public interface ProductService {
     
@@ -24,6 +32,14 @@ public interface ProductService {
      */
     ProductResponse getProductById(String productId);
     
+    /**
+     * Get several products by ID, from the cache where possible and otherwise with one query
+     * 
+     * @param productIds the product IDs
+     * @return the products found keyed by ID, and the IDs that were not found
+     */
+    ProductBatchResponse getProductsByIds(List<String> productIds);
+    
     /**
      * Get all products
      * 
@@ -47,6 +63,60 @@ public interface ProductService {
      */
     List<ProductResponse> searchProducts(String keyword);
     
+    /**
+     * Get the conditional-request validators of a product without loading it. They include
+     * the product's stock in the inventory engine, if it is enabled.
+     * 
+     * @param productId the product ID
+     * @return the product version
+     */
+    ResourceVersion getProductVersion(String productId);
+    
+    /**
+     * Get the conditional-request validators of the full product list
+     * 
+     * @return the catalogue version
+     */
+    ResourceVersion getCatalogVersion();
+    
+    /**
+     * Get the conditional-request validators of the products in a category
+     * 
+     * @param category the category
+     * @return the category version
+     */
+    ResourceVersion getCategoryVersion(String category);
+    
+    /**
+     * Get product counts, in-stock counts and price ranges of all categories, from memory
+     * 
+     * @return the facets ordered by category
+     */
+    List<CategoryFacet> getCategoryFacets();
+    
+    /**
+     * Get product count, in-stock count and price range of a category, from memory
+     * 
+     * @param category the category
+     * @return the facet, with zero counts if the category has no products
+     */
+    CategoryFacet getCategoryFacet(String category);
+    
+    /**
+     * Get the IDs of the products in a category, from memory
+     * 
+     * @param category the category
+     * @return the product IDs
+     */
+    List<String> getProductIdsByCategory(String category);
+    
+    /**
+     * Get the products that are currently low or out of stock, from memory
+     * 
+     * @return the low-stock products, lowest stock first
+     */
+    List<LowStockProduct> getLowStockProducts();
+    
     /**
      * Update a product
      * 
@@ -88,6 +158,14 @@ public interface ProductService {
      */
     boolean isInStock(String productId, int quantity);
     
+    /**
+     * Check if several products are in stock, with one query
+     * 
+     * @param items the product IDs and quantities to check; quantities of repeated IDs are added up
+     * @return whether each product, and all of them together, are in stock
+     */
+    StockAvailabilityResponse checkStock(List<StockUpdateRequest> items);
+    
     /**
      * Process order stock changes (called by Kafka consumer when order events are received)
      * 
@@ -96,4 +174,24 @@ public interface ProductService {
      * @return true if stock was successfully updated for all items
      */
     boolean processOrderStockChanges(String orderId, List<com.ecommerce.common.model.OrderItem> items);
-}
\ No newline at end of file
+    
+    /**
+     * Reserve or release one product's stock for an order (called by the single consumer that
+     * owns the product's reservation commands). A command that was applied before, e.g. one
+     * redelivered after a rebalance, is answered with its recorded outcome and not applied again.
+     * A release without a recorded successful reservation of the product for the order succeeds
+     * without changing the stock.
+     * 
+     * @param command the reservation command
+     * @return the outcome, unsuccessful if the product is unknown or has too little stock
+     */
+    StockReservationResult applyReservation(StockReservationCommand command);
+    
+    /**
+     * Write stock held by the inventory engine to the products table, publishing the usual
+     * inventory updates and low-stock alerts for the products whose stock changed
+     * 
+     * @param stock quantity per product ID; products recorded as removed are skipped
+     */
+    void applyStockSnapshot(Map<String, Integer> stock);
+}
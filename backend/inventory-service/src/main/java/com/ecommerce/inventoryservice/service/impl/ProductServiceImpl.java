@@ -1,13 +1,34 @@
 package com.ecommerce.inventoryservice.service.impl;
 
 import com.ecommerce.common.config.KafkaTopics;
+import com.ecommerce.common.event.LowStockEvent;
+import com.ecommerce.common.event.LowStockEvent.StockLevel;
+import com.ecommerce.common.event.StockReservationCommand;
+import com.ecommerce.common.event.StockReservationResult;
+import com.ecommerce.common.id.TimeOrderedId;
 import com.ecommerce.common.model.OrderItem;
+import com.ecommerce.common.web.ResourceVersion;
+import com.ecommerce.inventoryservice.alert.LowStockPolicy;
+import com.ecommerce.inventoryservice.alert.LowStockRegistry;
+import com.ecommerce.inventoryservice.cache.CachedProduct;
+import com.ecommerce.inventoryservice.cache.ProductCache;
+import com.ecommerce.inventoryservice.catalog.CategoryIndex;
+import com.ecommerce.inventoryservice.catalog.IndexedProduct;
+import com.ecommerce.inventoryservice.dto.CategoryFacet;
+import com.ecommerce.inventoryservice.dto.LowStockProduct;
+import com.ecommerce.inventoryservice.dto.ProductBatchResponse;
 import com.ecommerce.inventoryservice.dto.ProductRequest;
 import com.ecommerce.inventoryservice.dto.ProductResponse;
+import com.ecommerce.inventoryservice.dto.StockAvailabilityResponse;
 import com.ecommerce.inventoryservice.dto.StockUpdateRequest;
+import com.ecommerce.inventoryservice.engine.InventoryEngine;
+import com.ecommerce.inventoryservice.engine.StockJournal;
 import com.ecommerce.inventoryservice.exception.InsufficientStockException;
 import com.ecommerce.inventoryservice.exception.ProductNotFoundException;
+import com.ecommerce.inventoryservice.kafka.InventoryUpdates;
+import com.ecommerce.inventoryservice.model.AppliedReservation;
 import com.ecommerce.inventoryservice.model.Product;
+import com.ecommerce.inventoryservice.repository.AppliedReservationRepository;
 import com.ecommerce.inventoryservice.repository.ProductRepository;
 import com.ecommerce.inventoryservice.service.ProductService;
 import lombok.RequiredArgsConstructor;
@@ -15,11 +36,17 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,74 +56,168 @@ public class ProductServiceImpl implements ProductService {
 
     private final ProductRepository productRepository;
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ProductCache productCache;
+    private final CategoryIndex categoryIndex;
+    private final LowStockPolicy lowStockPolicy;
+    private final LowStockRegistry lowStockRegistry;
+    private final InventoryEngine inventoryEngine;
+    private final AppliedReservationRepository appliedReservationRepository;
 
     @Override
     @Transactional
     public ProductResponse createProduct(ProductRequest productRequest) {
-        log.info("Creating product: {}", productRequest.getName());
+        log.debug("Creating product: {}", productRequest.getName());
         
         Product product = Product.builder()
-                .id(UUID.randomUUID().toString())
+                .id(TimeOrderedId.newId())
                 .name(productRequest.getName())
                 .description(productRequest.getDescription())
                 .price(productRequest.getPrice())
                 .stockQuantity(productRequest.getStockQuantity())
                 .category(productRequest.getCategory())
+                .lowStockThreshold(productRequest.getLowStockThreshold())
                 .build();
+        updateStockLevel(product);
         
         Product savedProduct = productRepository.save(product);
         log.info("Product created with ID: {}", savedProduct.getId());
         
+        publishInventoryUpdate(savedProduct, InventoryUpdates.Change.PRODUCT, null);
+        if (inventoryEngine.isEnabled()) {
+            afterCommit(() -> inventoryEngine.set(savedProduct.getId(), savedProduct.getStockQuantity()));
+        }
+        
         return mapToProductResponse(savedProduct);
     }
 
     @Override
     public ProductResponse getProductById(String productId) {
-        log.info("Getting product with ID: {}", productId);
+        log.debug("Getting product with ID: {}", productId);
         
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + productId));
+        return withEngineStock(productCache.get(productId, id -> productRepository.findById(id)
+                .map(this::toCachedProduct)
+                .orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + id))));
+    }
+
+    @Override
+    public ProductBatchResponse getProductsByIds(List<String> productIds) {
+        log.debug("Getting {} products by ID", productIds.size());
+        
+        // findAllById is a plain IN query, without the lock taken by findById
+        Map<String, ProductResponse> found = new LinkedHashMap<>(productCache.getAll(new LinkedHashSet<>(productIds),
+                missing -> productRepository.findAllById(missing).stream()
+                        .collect(Collectors.toMap(Product::getId, this::toCachedProduct))));
+        found.replaceAll((productId, response) -> withEngineStock(response));
+        
+        List<String> notFound = productIds.stream()
+                .distinct()
+                .filter(productId -> !found.containsKey(productId))
+                .collect(Collectors.toList());
         
-        return mapToProductResponse(product);
+        return ProductBatchResponse.builder()
+                .products(found)
+                .notFound(notFound)
+                .build();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProductResponse> getAllProducts() {
-        log.info("Getting all products");
+        log.debug("Getting all products");
         
         List<Product> products = productRepository.findAll();
         
         return products.stream()
                 .map(this::mapToProductResponse)
+                .map(this::withEngineStock)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProductResponse> getProductsByCategory(String category) {
-        log.info("Getting products in category: {}", category);
+        log.debug("Getting products in category: {}", category);
         
         List<Product> products = productRepository.findByCategory(category);
         
         return products.stream()
                 .map(this::mapToProductResponse)
+                .map(this::withEngineStock)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProductResponse> searchProducts(String keyword) {
-        log.info("Searching products with keyword: {}", keyword);
+        log.debug("Searching products with keyword: {}", keyword);
         
         List<Product> products = productRepository.searchByKeyword(keyword);
         
         return products.stream()
                 .map(this::mapToProductResponse)
+                .map(this::withEngineStock)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public ResourceVersion getProductVersion(String productId) {
+        // The near cache is kept current by inventory-updates, so it can answer for the database
+        Optional<CachedProduct> cached = productCache.peek(productId)
+                .filter(product -> product.getVersion() != CachedProduct.UNKNOWN_VERSION);
+        ResourceVersion version = cached.isPresent()
+                ? new ResourceVersion(cached.get().getVersion(), cached.get().getProduct().getUpdatedAt())
+                : productRepository.findVersionById(productId)
+                        .orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + productId));
+        if (inventoryEngine.isEnabled()) {
+            // Engine stock changes leave the version alone until the next snapshot
+            Integer stock = inventoryEngine.getStock(productId);
+            if (stock != null) {
+                version = version.withQualifier(Integer.toString(stock, 36));
+            }
+        }
+        return version;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getCatalogVersion() {
+        return withEngineRevision(productRepository.findCatalogVersion());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getCategoryVersion(String category) {
+        return withEngineRevision(productRepository.findCategoryVersion(category));
+    }
+
+    @Override
+    public List<CategoryFacet> getCategoryFacets() {
+        categoryIndex.ensureLoaded(this::loadIndexedProducts);
+        return categoryIndex.getFacets();
+    }
+
+    @Override
+    public CategoryFacet getCategoryFacet(String category) {
+        categoryIndex.ensureLoaded(this::loadIndexedProducts);
+        return categoryIndex.getFacet(category)
+                .orElseGet(() -> CategoryFacet.builder().category(category).build());
+    }
+
+    @Override
+    public List<String> getProductIdsByCategory(String category) {
+        categoryIndex.ensureLoaded(this::loadIndexedProducts);
+        return categoryIndex.getProductIds(category);
+    }
+
+    @Override
+    public List<LowStockProduct> getLowStockProducts() {
+        return lowStockRegistry.getLowStockProducts();
+    }
+
     @Override
     @Transactional
     public ProductResponse updateProduct(String productId, ProductRequest productRequest) {
-        log.info("Updating product with ID: {}", productId);
+        log.debug("Updating product with ID: {}", productId);
         
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + productId));
@@ -106,43 +227,70 @@ public class ProductServiceImpl implements ProductService {
         product.setPrice(productRequest.getPrice());
         product.setStockQuantity(productRequest.getStockQuantity());
         product.setCategory(productRequest.getCategory());
+        product.setLowStockThreshold(productRequest.getLowStockThreshold());
+        updateStockLevel(product);
         
         Product updatedProduct = productRepository.save(product);
         log.info("Product updated: {}", updatedProduct.getId());
         
+        publishInventoryUpdate(updatedProduct, InventoryUpdates.Change.PRODUCT, null);
+        if (inventoryEngine.isEnabled()) {
+            afterCommit(() -> inventoryEngine.set(productId, updatedProduct.getStockQuantity()));
+        }
+        
         return mapToProductResponse(updatedProduct);
     }
 
     @Override
     @Transactional
     public void deleteProduct(String productId) {
-        log.info("Deleting product with ID: {}", productId);
+        log.debug("Deleting product with ID: {}", productId);
         
-        if (!productRepository.existsById(productId)) {
-            throw new ProductNotFoundException("Product not found with ID: " + productId);
-        }
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + productId));
         
-        productRepository.deleteById(productId);
+        productRepository.delete(product);
         log.info("Product deleted: {}", productId);
+        
+        afterCommit(() -> {
+            if (inventoryEngine.isEnabled()) {
+                inventoryEngine.remove(productId);
+            }
+            productCache.evict(productId);
+            long version = product.getVersion() != null ? product.getVersion() : -1;
+            categoryIndex.remove(productId, version);
+            Map<String, Object> update = new HashMap<>();
+            update.put(InventoryUpdates.PRODUCT_ID, productId);
+            update.put(InventoryUpdates.CATEGORY, product.getCategory());
+            update.put(InventoryUpdates.VERSION, version);
+            update.put(InventoryUpdates.CHANGE, InventoryUpdates.Change.DELETED.name());
+            update.put(InventoryUpdates.TIMESTAMP, System.currentTimeMillis());
+            kafkaTemplate.send(KafkaTopics.INVENTORY_UPDATES_TOPIC, productId, update);
+        });
     }
 
     @Override
     @Transactional
     public ProductResponse increaseStock(StockUpdateRequest stockUpdateRequest) {
-        log.info("Increasing stock for product ID: {} by {}", 
+        log.debug("Increasing stock for product ID: {} by {}", 
                 stockUpdateRequest.getProductId(), stockUpdateRequest.getQuantity());
         
+        if (inventoryEngine.isEnabled()) {
+            return adjustInEngine(stockUpdateRequest.getProductId(), stockUpdateRequest.getQuantity());
+        }
+        
         Product product = productRepository.findById(stockUpdateRequest.getProductId())
                 .orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + stockUpdateRequest.getProductId()));
         
         product.increaseStock(stockUpdateRequest.getQuantity());
+        updateStockLevel(product);
         
         Product updatedProduct = productRepository.save(product);
         log.info("Stock increased for product: {}, new stock: {}", 
                 updatedProduct.getId(), updatedProduct.getStockQuantity());
         
         // Publish inventory update event
-        publishInventoryUpdate(updatedProduct.getId(), updatedProduct.getStockQuantity());
+        publishInventoryUpdate(updatedProduct, InventoryUpdates.Change.STOCK, null);
         
         return mapToProductResponse(updatedProduct);
     }
@@ -150,9 +298,13 @@ public class ProductServiceImpl implements ProductService {
     @Override
     @Transactional
     public ProductResponse decreaseStock(StockUpdateRequest stockUpdateRequest) {
-        log.info("Decreasing stock for product ID: {} by {}", 
+        log.debug("Decreasing stock for product ID: {} by {}", 
                 stockUpdateRequest.getProductId(), stockUpdateRequest.getQuantity());
         
+        if (inventoryEngine.isEnabled()) {
+            return adjustInEngine(stockUpdateRequest.getProductId(), -stockUpdateRequest.getQuantity());
+        }
+        
         Product product = productRepository.findById(stockUpdateRequest.getProductId())
                 .orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + stockUpdateRequest.getProductId()));
         
@@ -161,30 +313,73 @@ public class ProductServiceImpl implements ProductService {
         }
         
         product.reduceStock(stockUpdateRequest.getQuantity());
+        updateStockLevel(product);
         
         Product updatedProduct = productRepository.save(product);
         log.info("Stock decreased for product: {}, new stock: {}", 
                 updatedProduct.getId(), updatedProduct.getStockQuantity());
         
         // Publish inventory update event
-        publishInventoryUpdate(updatedProduct.getId(), updatedProduct.getStockQuantity());
+        publishInventoryUpdate(updatedProduct, InventoryUpdates.Change.STOCK, null);
         
         return mapToProductResponse(updatedProduct);
     }
 
     @Override
     public boolean isInStock(String productId, int quantity) {
-        log.info("Checking if product ID: {} is in stock with quantity: {}", productId, quantity);
+        log.debug("Checking if product ID: {} is in stock with quantity: {}", productId, quantity);
+        
+        if (inventoryEngine.isEnabled()) {
+            Integer stock = inventoryEngine.getStock(productId);
+            return stock != null && stock >= quantity;
+        }
         
         return productRepository.findById(productId)
                 .map(product -> product.getStockQuantity() >= quantity)
                 .orElse(false);
     }
 
+    @Override
+    public StockAvailabilityResponse checkStock(List<StockUpdateRequest> items) {
+        log.debug("Checking stock of {} items", items.size());
+        
+        Map<String, Integer> requested = new LinkedHashMap<>();
+        items.forEach(item -> requested.merge(item.getProductId(), item.getQuantity(), Integer::sum));
+        
+        Map<String, Integer> stock = new HashMap<>();
+        if (inventoryEngine.isEnabled()) {
+            requested.keySet().forEach(productId -> {
+                Integer available = inventoryEngine.getStock(productId);
+                if (available != null) {
+                    stock.put(productId, available);
+                }
+            });
+        } else {
+            productRepository.findAllById(requested.keySet())
+                    .forEach(product -> stock.put(product.getId(), product.getStockQuantity()));
+        }
+        
+        Map<String, Boolean> inStock = new LinkedHashMap<>();
+        List<String> notFound = new ArrayList<>();
+        requested.forEach((productId, quantity) -> {
+            Integer available = stock.get(productId);
+            if (available == null) {
+                notFound.add(productId);
+            }
+            inStock.put(productId, available != null && available >= quantity);
+        });
+        
+        return StockAvailabilityResponse.builder()
+                .allInStock(!inStock.containsValue(false))
+                .inStock(inStock)
+                .notFound(notFound)
+                .build();
+    }
+
     @Override
     @Transactional
     public boolean processOrderStockChanges(String orderId, List<OrderItem> items) {
-        log.info("Processing order stock changes for order: {}", orderId);
+        log.debug("Processing order stock changes for order: {}", orderId);
         
         Map<String, Integer> productQuantities = new HashMap<>();
         
@@ -193,6 +388,17 @@ public class ProductServiceImpl implements ProductService {
             productQuantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
         }
         
+        if (inventoryEngine.isEnabled()) {
+            // All or nothing, checked and applied in one step on the engine thread
+            if (!inventoryEngine.reserve(orderId, productQuantities)) {
+                log.warn("Insufficient stock for order: {}", orderId);
+                return false;
+            }
+            productQuantities.keySet().forEach(productId -> publishEngineStockUpdate(productId, null, orderId));
+            log.info("Successfully processed stock changes for order: {}", orderId);
+            return true;
+        }
+        
         // Check if all products have sufficient stock
         for (Map.Entry<String, Integer> entry : productQuantities.entrySet()) {
             if (!isInStock(entry.getKey(), entry.getValue())) {
@@ -208,10 +414,11 @@ public class ProductServiceImpl implements ProductService {
                         .orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + entry.getKey()));
                 
                 product.reduceStock(entry.getValue());
+                updateStockLevel(product);
                 productRepository.save(product);
                 
                 // Publish inventory update
-                publishInventoryUpdate(product.getId(), product.getStockQuantity());
+                publishInventoryUpdate(product, InventoryUpdates.Change.STOCK, orderId);
                 
             } catch (Exception e) {
                 log.error("Failed to update stock for product ID: {} in order: {}", entry.getKey(), orderId, e);
@@ -222,28 +429,310 @@ public class ProductServiceImpl implements ProductService {
         log.info("Successfully processed stock changes for order: {}", orderId);
         return true;
     }
+
+    @Override
+    @Transactional
+    public StockReservationResult applyReservation(StockReservationCommand command) {
+        log.debug("Applying {} of {} for product ID: {} in order: {}", command.getAction(),
+                command.getQuantity(), command.getProductId(), command.getOrderId());
+        
+        // A command redelivered after its stock change committed gets the recorded outcome again
+        String appliedId = AppliedReservation.idOf(command);
+        Optional<AppliedReservation> applied = appliedReservationRepository.findById(appliedId);
+        if (applied.isPresent()) {
+            log.info("Reservation command already applied, answering with its recorded outcome: {}", appliedId);
+            return reservationResult(command, applied.get().isSuccess(), applied.get().getReason());
+        }
+        
+        StockReservationResult result;
+        if (command.getAction() == StockReservationCommand.Action.RELEASE && !wasReserved(command)) {
+            // e.g. a cancelled order whose reservation of this product was rejected: nothing to give back
+            log.info("No reservation to release for product ID: {} in order: {}", command.getProductId(),
+                    command.getOrderId());
+            result = reservationResult(command, true, null);
+        } else if (inventoryEngine.isEnabled()) {
+            result = applyReservationInEngine(command);
+        } else {
+            result = applyReservationToTable(command);
+        }
+        appliedReservationRepository.save(AppliedReservation.builder()
+                .id(appliedId)
+                .success(result.isSuccess())
+                .reason(result.getReason())
+                .appliedAt(LocalDateTime.now())
+                .build());
+        return result;
+    }
     
-    private void publishInventoryUpdate(String productId, int newStockQuantity) {
-        Map<String, Object> update = new HashMap<>();
-        update.put("productId", productId);
-        update.put("stockQuantity", newStockQuantity);
-        update.put("timestamp", System.currentTimeMillis());
+    private boolean wasReserved(StockReservationCommand command) {
+        String reserveId = AppliedReservation.idOf(command.getOrderId(), command.getProductId(),
+                StockReservationCommand.Action.RESERVE);
+        return appliedReservationRepository.findById(reserveId)
+                .map(AppliedReservation::isSuccess)
+                .orElse(false);
+    }
+    
+    private StockReservationResult applyReservationToTable(StockReservationCommand command) {
+        // No row lock: this consumer is the only one applying reservations to the product
+        Optional<Product> found = productRepository.findUnlockedById(command.getProductId());
+        if (found.isEmpty()) {
+            return reservationResult(command, false, "Product not found");
+        }
+        
+        Product product = found.get();
+        if (command.getAction() == StockReservationCommand.Action.RESERVE) {
+            if (product.getStockQuantity() < command.getQuantity()) {
+                return reservationResult(command, false, "Insufficient stock");
+            }
+            product.reduceStock(command.getQuantity());
+        } else {
+            product.increaseStock(command.getQuantity());
+        }
+        updateStockLevel(product);
+        productRepository.save(product);
+        publishInventoryUpdate(product, InventoryUpdates.Change.STOCK, command.getOrderId());
+        
+        return reservationResult(command, true, null);
+    }
+    
+    // The engine journals the change outside the transaction, so a command is only recognised
+    // as applied once the record commits
+    private StockReservationResult applyReservationInEngine(StockReservationCommand command) {
+        if (inventoryEngine.getStock(command.getProductId()) == null) {
+            return reservationResult(command, false, "Product not found");
+        }
+        try {
+            if (command.getAction() == StockReservationCommand.Action.RESERVE) {
+                if (!inventoryEngine.reserve(command.getOrderId(), Map.of(command.getProductId(), command.getQuantity()))) {
+                    return reservationResult(command, false, "Insufficient stock");
+                }
+            } else {
+                inventoryEngine.adjust(command.getProductId(), command.getQuantity(), command.getOrderId());
+            }
+        } catch (ProductNotFoundException e) {
+            // Deleted since the check above
+            return reservationResult(command, false, "Product not found");
+        }
+        publishEngineStockUpdate(command.getProductId(), null, command.getOrderId());
+        
+        return reservationResult(command, true, null);
+    }
+    
+    private StockReservationResult reservationResult(StockReservationCommand command, boolean success, String reason) {
+        return StockReservationResult.builder()
+                .orderId(command.getOrderId())
+                .productId(command.getProductId())
+                .quantity(command.getQuantity())
+                .action(command.getAction())
+                .success(success)
+                .reason(reason)
+                .productCount(command.getProductCount())
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+    
+    @Override
+    @Transactional
+    public void applyStockSnapshot(Map<String, Integer> stock) {
+        List<String> productIds = stock.entrySet().stream()
+                .filter(entry -> entry.getValue() != StockJournal.REMOVED)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        
+        int changed = 0;
+        for (Product product : productRepository.findAllById(productIds)) {
+            int quantity = stock.get(product.getId());
+            if (product.getStockQuantity() == quantity) {
+                continue;
+            }
+            product.setStockQuantity(quantity);
+            updateStockLevel(product);
+            productRepository.save(product);
+            publishInventoryUpdate(product, InventoryUpdates.Change.STOCK, null);
+            changed++;
+        }
+        log.debug("Saved inventory snapshot, {} of {} product(s) changed", changed, stock.size());
+    }
+    
+    /**
+     * Change a product's stock in the inventory engine. The row is not touched; the next
+     * snapshot writes the new stock.
+     */
+    private ProductResponse adjustInEngine(String productId, int delta) {
+        Product product = productRepository.findUnlockedById(productId)
+                .orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + productId));
+        
+        int stock = inventoryEngine.adjust(productId, delta, null);
+        log.info("Stock changed in the inventory engine for product: {}, new stock: {}", productId, stock);
+        publishEngineStockUpdate(productId, product.getCategory(), null);
         
+        return mapToProductResponse(product, stock);
+    }
+    
+    /**
+     * Publish a stock change made in the inventory engine. It carries no version, as the row is
+     * only written by the next snapshot, so it only reaches the stock stream subscribers.
+     */
+    private void publishEngineStockUpdate(String productId, String category, String orderId) {
+        Integer stock = inventoryEngine.getStock(productId);
+        if (stock == null) {
+            return;
+        }
+        if (category == null) {
+            category = productCache.peek(productId)
+                    .map(cached -> cached.getProduct().getCategory())
+                    .orElse(null);
+        }
+        
+        Map<String, Object> update = new HashMap<>();
+        update.put(InventoryUpdates.PRODUCT_ID, productId);
+        update.put(InventoryUpdates.CATEGORY, category);
+        update.put(InventoryUpdates.CHANGE, InventoryUpdates.Change.ENGINE_STOCK.name());
+        update.put(InventoryUpdates.STOCK_QUANTITY, stock);
+        update.put(InventoryUpdates.TIMESTAMP, System.currentTimeMillis());
+        if (orderId != null) {
+            update.put(InventoryUpdates.ORDER_ID, orderId);
+        }
         kafkaTemplate.send(KafkaTopics.INVENTORY_UPDATES_TOPIC, productId, update);
-        log.info("Published inventory update for product: {}, new stock: {}", productId, newStockQuantity);
+    }
+    
+    /**
+     * Publish a product change once the surrounding transaction has committed. Publishing
+     * earlier would let other replicas reload and cache the row before the change is visible.
+     */
+    private void publishInventoryUpdate(Product product, InventoryUpdates.Change change, String orderId) {
+        afterCommit(() -> {
+            // Version and update time are only final after the flush
+            productCache.put(toCachedProduct(product));
+            categoryIndex.apply(toIndexedProduct(product));
+            
+            Map<String, Object> update = new HashMap<>();
+            update.put(InventoryUpdates.PRODUCT_ID, product.getId());
+            update.put(InventoryUpdates.CATEGORY, product.getCategory());
+            update.put(InventoryUpdates.CHANGE, change.name());
+            update.put(InventoryUpdates.STOCK_QUANTITY, product.getStockQuantity());
+            if (product.getPrice() != null) {
+                // As a string, so the price does not pass through a double on the way
+                update.put(InventoryUpdates.PRICE, product.getPrice().toPlainString());
+            }
+            if (product.getVersion() != null) {
+                update.put(InventoryUpdates.VERSION, product.getVersion());
+            }
+            if (product.getUpdatedAt() != null) {
+                update.put(InventoryUpdates.UPDATED_AT, product.getUpdatedAt().toString());
+            }
+            if (product.getStockLevel() != null) {
+                update.put(InventoryUpdates.STOCK_LEVEL, product.getStockLevel().name());
+                update.put(InventoryUpdates.LOW_STOCK_THRESHOLD, lowStockPolicy.thresholdOf(product.getLowStockThreshold()));
+            }
+            update.put(InventoryUpdates.TIMESTAMP, System.currentTimeMillis());
+            if (orderId != null) {
+                // Lets downstream consumers correlate the stock change with the order that caused it
+                update.put(InventoryUpdates.ORDER_ID, orderId);
+            }
+            
+            kafkaTemplate.send(KafkaTopics.INVENTORY_UPDATES_TOPIC, product.getId(), update);
+            log.debug("Published inventory update for product: {}, new stock: {}",
+                    product.getId(), product.getStockQuantity());
+        });
+    }
+    
+    /**
+     * Move the product to the stock level its current stock calls for, and raise an alert on
+     * low-stock-alerts once committed if the level changed. Called with the row locked, so
+     * each product's level changes are evaluated one at a time.
+     */
+    private void updateStockLevel(Product product) {
+        StockLevel previous = product.getStockLevel() != null ? product.getStockLevel() : StockLevel.OK;
+        StockLevel level = lowStockPolicy.evaluate(previous, product.getStockQuantity(), product.getLowStockThreshold());
+        product.setStockLevel(level);
+        if (level == previous) {
+            return;
+        }
+        
+        LowStockEvent event = LowStockEvent.builder()
+                .productId(product.getId())
+                .productName(product.getName())
+                .category(product.getCategory())
+                .stockQuantity(product.getStockQuantity())
+                .threshold(lowStockPolicy.thresholdOf(product.getLowStockThreshold()))
+                .previousLevel(previous)
+                .level(level)
+                .timestamp(LocalDateTime.now())
+                .build();
+        afterCommit(() -> {
+            kafkaTemplate.send(KafkaTopics.LOW_STOCK_ALERTS_TOPIC, product.getId(), event);
+            log.info("Stock level of product {} changed from {} to {}, stock: {}",
+                    product.getId(), previous, level, product.getStockQuantity());
+        });
+    }
+    
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    /**
+     * Give a response the stock held by the inventory engine, which the table and the near
+     * cache lag by up to a snapshot interval. Cached responses are shared, so they are copied.
+     */
+    private ProductResponse withEngineStock(ProductResponse response) {
+        if (!inventoryEngine.isEnabled()) {
+            return response;
+        }
+        Integer stock = inventoryEngine.getStock(response.getId());
+        if (stock == null || stock.equals(response.getStockQuantity())) {
+            return response;
+        }
+        return response.toBuilder()
+                .stockQuantity(stock)
+                .inStock(stock > 0)
+                .build();
+    }
+    
+    // Any engine stock change may change a collection, so its tag follows every change
+    private ResourceVersion withEngineRevision(ResourceVersion version) {
+        return inventoryEngine.isEnabled() ? version.withQualifier(inventoryEngine.getStockRevision()) : version;
+    }
+    
+    private List<IndexedProduct> loadIndexedProducts() {
+        return inventoryEngine.withStock(productRepository.findIndexedProducts());
+    }
+    
+    private CachedProduct toCachedProduct(Product product) {
+        return new CachedProduct(mapToProductResponse(product), product.getVersion());
+    }
+    
+    private IndexedProduct toIndexedProduct(Product product) {
+        Integer stock = inventoryEngine.isEnabled() ? inventoryEngine.getStock(product.getId()) : null;
+        return new IndexedProduct(product.getId(), product.getCategory(), product.getPrice(),
+                stock != null ? stock : product.getStockQuantity(), product.getVersion());
     }
     
     private ProductResponse mapToProductResponse(Product product) {
+        return mapToProductResponse(product, product.getStockQuantity());
+    }
+    
+    private ProductResponse mapToProductResponse(Product product, int stockQuantity) {
         return ProductResponse.builder()
                 .id(product.getId())
                 .name(product.getName())
                 .description(product.getDescription())
                 .price(product.getPrice())
-                .stockQuantity(product.getStockQuantity())
+                .stockQuantity(stockQuantity)
                 .category(product.getCategory())
+                .lowStockThreshold(product.getLowStockThreshold())
                 .createdAt(product.getCreatedAt())
                 .updatedAt(product.getUpdatedAt())
-                .inStock(product.getStockQuantity() > 0)
+                .inStock(stockQuantity > 0)
                 .build();
     }
 }
\ No newline at end of file
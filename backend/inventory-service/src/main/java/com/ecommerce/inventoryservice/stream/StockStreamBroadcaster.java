@@ -0,0 +1,193 @@
+package com.ecommerce.inventoryservice.stream;
+
+import com.ecommerce.inventoryservice.dto.StockChange;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans stock changes out to Server-Sent Event subscribers.
+ * <p>
+ * Changes are routed to matching subscriptions through product and category indexes and
+ * coalesced there (see {@link StockSubscription}). A flusher sends whatever each subscription
+ * has pending every {@code stock.stream.flush-interval-ms}; the writes themselves run on a
+ * small sender pool, so a slow client only delays itself.
+ */
+@Component
+@Slf4j
+public class StockStreamBroadcaster {
+
+    @Value("${stock.stream.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${stock.stream.max-pending-per-client:256}")
+    private int maxPendingPerClient;
+
+    @Value("${stock.stream.flush-interval-ms:250}")
+    private long flushIntervalMillis;
+
+    @Value("${stock.stream.heartbeat-interval-ms:15000}")
+    private long heartbeatIntervalMillis;
+
+    @Value("${stock.stream.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Value("${stock.stream.sender-threads:4}")
+    private int senderThreads;
+
+    private final Set<StockSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final Set<StockSubscription> unfiltered = ConcurrentHashMap.newKeySet();
+    private final Map<String, Set<StockSubscription>> byProduct = new ConcurrentHashMap<>();
+    private final Map<String, Set<StockSubscription>> byCategory = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService flusher;
+    private ExecutorService senders;
+
+    @PostConstruct
+    public void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stock-stream-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger senderCount = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "stock-stream-sender-" + senderCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        flusher.shutdownNow();
+        senders.shutdownNow();
+        subscriptions.forEach(subscription -> subscription.getEmitter().complete());
+    }
+
+    /**
+     * Open a stream of stock changes. With no product IDs and no categories every change is
+     * delivered; otherwise changes to any of the products or in any of the categories are.
+     *
+     * @param productIds the products to follow
+     * @param categories the categories to follow
+     * @return the emitter to return from the handler, or empty if the subscriber limit is reached
+     */
+    public Optional<SseEmitter> subscribe(Set<String> productIds, Set<String> categories) {
+        if (subscriptions.size() >= maxSubscribers) {
+            return Optional.empty();
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        StockSubscription subscription = new StockSubscription(emitter, Set.copyOf(productIds),
+                Set.copyOf(categories), maxPendingPerClient);
+        emitter.onCompletion(() -> remove(subscription));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> remove(subscription));
+
+        subscriptions.add(subscription);
+        if (subscription.isUnfiltered()) {
+            unfiltered.add(subscription);
+        }
+        subscription.getProductIds().forEach(id -> addToIndex(byProduct, id, subscription));
+        subscription.getCategories().forEach(category -> addToIndex(byCategory, category, subscription));
+        return Optional.of(emitter);
+    }
+
+    /**
+     * Queue a stock change for every subscription that follows it
+     *
+     * @param change the stock change
+     */
+    public void publish(StockChange change) {
+        unfiltered.forEach(subscription -> subscription.offer(change));
+        offerAll(byProduct.get(change.getProductId()), change);
+        if (change.getCategory() != null) {
+            // A subscription matching both product and category just replaces its pending change
+            offerAll(byCategory.get(change.getCategory()), change);
+        }
+    }
+
+    /**
+     * Get the number of open streams
+     *
+     * @return the subscriber count
+     */
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    void flush() {
+        long heartbeatDue = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(heartbeatIntervalMillis);
+        for (StockSubscription subscription : subscriptions) {
+            boolean due = subscription.hasPending() || subscription.getLastSentNanos() - heartbeatDue < 0;
+            if (due && subscription.tryStartSending()) {
+                try {
+                    senders.execute(() -> send(subscription));
+                } catch (RejectedExecutionException e) {
+                    subscription.finishSending();
+                }
+            }
+        }
+    }
+
+    private void send(StockSubscription subscription) {
+        try {
+            subscription.getEmitter().send(subscription.drain());
+        } catch (Exception e) {
+            // The client went away; the container completes the emitter
+            log.debug("Dropping stock stream subscriber: {}", e.getMessage());
+            remove(subscription);
+        } finally {
+            subscription.finishSending();
+        }
+    }
+
+    private void remove(StockSubscription subscription) {
+        if (!subscriptions.remove(subscription)) {
+            return;
+        }
+        unfiltered.remove(subscription);
+        subscription.getProductIds().forEach(id -> removeFromIndex(byProduct, id, subscription));
+        subscription.getCategories().forEach(category -> removeFromIndex(byCategory, category, subscription));
+    }
+
+    private static void offerAll(Set<StockSubscription> targets, StockChange change) {
+        if (targets != null) {
+            targets.forEach(subscription -> subscription.offer(change));
+        }
+    }
+
+    // Index updates go through compute so that adding and removing the last member cannot interleave
+    private static void addToIndex(Map<String, Set<StockSubscription>> index, String key,
+                                   StockSubscription subscription) {
+        index.compute(key, (k, members) -> {
+            Set<StockSubscription> updated = members != null ? members : ConcurrentHashMap.newKeySet();
+            updated.add(subscription);
+            return updated;
+        });
+    }
+
+    private static void removeFromIndex(Map<String, Set<StockSubscription>> index, String key,
+                                        StockSubscription subscription) {
+        index.computeIfPresent(key, (k, members) -> {
+            members.remove(subscription);
+            return members.isEmpty() ? null : members;
+        });
+    }
+}
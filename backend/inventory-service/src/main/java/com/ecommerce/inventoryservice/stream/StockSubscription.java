@@ -0,0 +1,112 @@
+package com.ecommerce.inventoryservice.stream;
+
+import com.ecommerce.inventoryservice.dto.StockChange;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One client connection to the stock stream.
+ * <p>
+ * Changes are held per product until the next send, so a product that changes several times
+ * between sends is delivered once with its latest stock. The number of products held is
+ * bounded; when a client falls so far behind that the bound is exceeded, its pending changes
+ * are discarded and it is told to resync instead.
+ */
+final class StockSubscription {
+
+    static final String STOCK_EVENT = "stock";
+    static final String RESYNC_EVENT = "resync";
+
+    private final SseEmitter emitter;
+    private final Set<String> productIds;
+    private final Set<String> categories;
+    private final int maxPending;
+
+    private final Map<String, StockChange> pending = new LinkedHashMap<>();
+    private boolean overflowed;
+
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private volatile long lastSentNanos = System.nanoTime();
+
+    StockSubscription(SseEmitter emitter, Set<String> productIds, Set<String> categories, int maxPending) {
+        this.emitter = emitter;
+        this.productIds = productIds;
+        this.categories = categories;
+        this.maxPending = maxPending;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    Set<String> getProductIds() {
+        return productIds;
+    }
+
+    Set<String> getCategories() {
+        return categories;
+    }
+
+    boolean isUnfiltered() {
+        return productIds.isEmpty() && categories.isEmpty();
+    }
+
+    long getLastSentNanos() {
+        return lastSentNanos;
+    }
+
+    synchronized void offer(StockChange change) {
+        if (overflowed) {
+            return;
+        }
+        // Re-inserting moves the product to the end, so a batch is ordered by last change
+        pending.remove(change.getProductId());
+        pending.put(change.getProductId(), change);
+        if (pending.size() > maxPending) {
+            pending.clear();
+            overflowed = true;
+        }
+    }
+
+    synchronized boolean hasPending() {
+        return overflowed || !pending.isEmpty();
+    }
+
+    /**
+     * Claim this subscription for a send, so that at most one send per client is in flight
+     * and changes keep coalescing while a slow client is being written to
+     */
+    boolean tryStartSending() {
+        return sending.compareAndSet(false, true);
+    }
+
+    void finishSending() {
+        lastSentNanos = System.nanoTime();
+        sending.set(false);
+    }
+
+    /**
+     * Take everything pending as one event: a resync after an overflow, a batch of changes,
+     * or a keep-alive comment when nothing is pending
+     */
+    synchronized SseEmitter.SseEventBuilder drain() {
+        if (overflowed) {
+            overflowed = false;
+            return SseEmitter.event().name(RESYNC_EVENT).data("");
+        }
+        if (pending.isEmpty()) {
+            return SseEmitter.event().comment("keep-alive");
+        }
+        SseEmitter.SseEventBuilder event = SseEmitter.event()
+                .name(STOCK_EVENT)
+                .data(new ArrayList<>(pending.values()), MediaType.APPLICATION_JSON);
+        pending.clear();
+        return event;
+    }
+}
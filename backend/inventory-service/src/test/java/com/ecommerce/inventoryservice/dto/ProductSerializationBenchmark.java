@@ -0,0 +1,91 @@
+package com.ecommerce.inventoryservice.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares payload size (raw and gzipped) and single-threaded serialisation time of the
+ * product list across JSON, Smile and CBOR.
+ * <p>
+ * Not part of the test suite; run the main method directly from the IDE or with
+ * {@code mvn -pl inventory-service test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.ecommerce.inventoryservice.dto.ProductSerializationBenchmark}.
+ */
+public class ProductSerializationBenchmark {
+
+    private static final int PRODUCT_COUNT = 500;
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int MEASURED_ITERATIONS = 10_000;
+
+    private static volatile int sink;
+
+    public static void main(String[] args) throws IOException {
+        List<ProductResponse> products = sampleProducts();
+
+        System.out.printf("%-16s %10s %10s %14s%n", "format", "bytes", "gzip", "us/list");
+        run("json", mapper(new ObjectMapper()), products);
+        run("smile", mapper(new ObjectMapper(new SmileFactory())), products);
+        run("cbor", mapper(new ObjectMapper(new CBORFactory())), products);
+    }
+
+    // Same settings as the services' spring.jackson.* properties
+    private static ObjectMapper mapper(ObjectMapper mapper) {
+        return mapper.registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static void run(String label, ObjectMapper mapper, List<ProductResponse> products) throws IOException {
+        byte[] payload = mapper.writeValueAsBytes(products);
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += mapper.writeValueAsBytes(products).length;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += mapper.writeValueAsBytes(products).length;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%-16s %,10d %,10d %,14.1f%n",
+                label, payload.length, gzip(payload).length, elapsed / 1e3 / MEASURED_ITERATIONS);
+    }
+
+    private static byte[] gzip(byte[] payload) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(payload);
+        }
+        return out.toByteArray();
+    }
+
+    private static List<ProductResponse> sampleProducts() {
+        String[] categories = {"Electronics", "Clothing", "Home & Kitchen", "Books", "Sports"};
+        LocalDateTime now = LocalDateTime.now();
+        List<ProductResponse> products = new ArrayList<>(PRODUCT_COUNT);
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            products.add(ProductResponse.builder()
+                    .id(String.format("%08x-4d2c-4b1e-9f3a-%012x", i * 7919, i))
+                    .name("Product " + i)
+                    .description("Description of product " + i + " with enough text to resemble a catalogue entry")
+                    .price(new BigDecimal(i % 200 + ".99"))
+                    .stockQuantity(i % 50)
+                    .category(categories[i % categories.length])
+                    .createdAt(now.minusDays(i))
+                    .updatedAt(now.minusHours(i))
+                    .inStock(i % 50 > 0)
+                    .build());
+        }
+        return products;
+    }
+}
@@ -0,0 +1,198 @@
+package com.ecommerce.inventoryservice.engine;
+
+import com.ecommerce.inventoryservice.catalog.IndexedProduct;
+import com.ecommerce.inventoryservice.exception.InsufficientStockException;
+import com.ecommerce.inventoryservice.exception.ProductNotFoundException;
+import com.ecommerce.inventoryservice.repository.ProductRepository;
+import com.ecommerce.inventoryservice.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class InventoryEngineTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ObjectProvider<ProductService> productServiceProvider;
+
+    @Mock
+    private ProductService productService;
+
+    @TempDir
+    Path journalDir;
+
+    private final List<InventoryEngine> engines = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(productServiceProvider.getObject()).thenReturn(productService);
+        givenTable(Map.of("product-1", 10, "product-2", 1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        engines.forEach(InventoryEngine::stop);
+    }
+
+    @Test
+    void reserve_WhenOneProductShort_ShouldReserveNothing() throws IOException {
+        // Arrange
+        InventoryEngine engine = startEngine();
+
+        // Act
+        boolean reserved = engine.reserve("order-1", Map.of("product-1", 5, "product-2", 2));
+
+        // Assert
+        assertFalse(reserved);
+        assertEquals(10, engine.getStock("product-1"));
+        assertEquals(1, engine.getStock("product-2"));
+    }
+
+    @Test
+    void reserve_WhenProductUnknown_ShouldReserveNothing() throws IOException {
+        // Arrange
+        InventoryEngine engine = startEngine();
+
+        // Act
+        boolean reserved = engine.reserve("order-1", Map.of("product-1", 5, "missing", 1));
+
+        // Assert
+        assertFalse(reserved);
+        assertEquals(10, engine.getStock("product-1"));
+    }
+
+    @Test
+    void reserve_WhenAllInStock_ShouldReserveEveryProduct() throws IOException {
+        // Arrange
+        InventoryEngine engine = startEngine();
+
+        // Act
+        boolean reserved = engine.reserve("order-1", Map.of("product-1", 5, "product-2", 1));
+
+        // Assert
+        assertTrue(reserved);
+        assertEquals(5, engine.getStock("product-1"));
+        assertEquals(0, engine.getStock("product-2"));
+    }
+
+    @Test
+    void adjust_WhenStockWouldGoBelowZero_ShouldThrowException() throws IOException {
+        // Arrange
+        InventoryEngine engine = startEngine();
+
+        // Act & Assert
+        assertThrows(InsufficientStockException.class, () -> engine.adjust("product-1", -11, null));
+        assertEquals(10, engine.getStock("product-1"));
+        assertEquals(9, engine.adjust("product-1", -1, null));
+    }
+
+    @Test
+    void adjust_WhenProductUnknown_ShouldThrowException() throws IOException {
+        // Arrange
+        InventoryEngine engine = startEngine();
+
+        // Act & Assert
+        assertThrows(ProductNotFoundException.class, () -> engine.adjust("missing", 1, null));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void start_ShouldReplayJournalOverLastSnapshot() throws IOException {
+        // Arrange - the first change reaches the table, the second only the journal
+        InventoryEngine first = startEngine();
+        first.reserve("order-1", Map.of("product-1", 3));
+        first.snapshot();
+
+        ArgumentCaptor<Map<String, Integer>> snapshot = ArgumentCaptor.forClass(Map.class);
+        verify(productService).applyStockSnapshot(snapshot.capture());
+        assertEquals(Map.of("product-1", 7), snapshot.getValue());
+        givenTable(Map.of("product-1", 7, "product-2", 1));
+
+        doThrow(new IllegalStateException("Database unavailable")).when(productService).applyStockSnapshot(anyMap());
+        first.adjust("product-2", 4, "order-2");
+        first.stop();
+
+        // Act
+        InventoryEngine restarted = startEngine();
+
+        // Assert
+        assertEquals(7, restarted.getStock("product-1"));
+        assertEquals(5, restarted.getStock("product-2"));
+    }
+
+    @Test
+    void snapshot_WhenTableWriteFails_ShouldKeepProductsDirty() throws IOException {
+        // Arrange
+        InventoryEngine engine = startEngine();
+        engine.reserve("order-1", Map.of("product-1", 2));
+        doThrow(new IllegalStateException("Database unavailable")).when(productService).applyStockSnapshot(anyMap());
+
+        // Act
+        engine.snapshot();
+
+        // Assert
+        assertEquals(Set.of("product-1"), ReflectionTestUtils.getField(engine, "dirty"));
+    }
+
+    @Test
+    void snapshot_WhenTableWriteSucceeds_ShouldClearDirtyProducts() throws IOException {
+        // Arrange
+        InventoryEngine engine = startEngine();
+        engine.reserve("order-1", Map.of("product-1", 2));
+
+        // Act
+        engine.snapshot();
+
+        // Assert
+        assertEquals(Set.of(), ReflectionTestUtils.getField(engine, "dirty"));
+        verify(productService).applyStockSnapshot(Map.of("product-1", 8));
+    }
+
+    private InventoryEngine startEngine() throws IOException {
+        InventoryEngine engine = new InventoryEngine(productRepository, transactionManager, productServiceProvider);
+        ReflectionTestUtils.setField(engine, "enabled", true);
+        ReflectionTestUtils.setField(engine, "journalDir", journalDir.toString());
+        ReflectionTestUtils.setField(engine, "fsync", false);
+        ReflectionTestUtils.setField(engine, "ringSize", 1024);
+        ReflectionTestUtils.setField(engine, "maxBatchSize", 64);
+        // Snapshots are taken by the tests
+        ReflectionTestUtils.setField(engine, "snapshotIntervalMillis", 3_600_000L);
+        engine.start();
+        engines.add(engine);
+        return engine;
+    }
+
+    private void givenTable(Map<String, Integer> stock) {
+        List<IndexedProduct> products = new ArrayList<>();
+        stock.forEach((id, quantity) -> products.add(new IndexedProduct(id, "Electronics", null, quantity, 1L)));
+        when(productRepository.findIndexedProducts()).thenReturn(products);
+    }
+}
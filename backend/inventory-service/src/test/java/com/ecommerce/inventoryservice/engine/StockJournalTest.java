@@ -0,0 +1,169 @@
+package com.ecommerce.inventoryservice.engine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replay_ShouldReturnCommittedRecordsInOrder() throws IOException {
+        // Arrange
+        try (StockJournal journal = new StockJournal(directory, false)) {
+            journal.roll();
+            journal.append("order-1", Map.of("product-1", 7));
+            journal.append(null, Map.of("product-2", StockJournal.REMOVED));
+            journal.commit();
+            journal.roll();
+            journal.append("order-2", Map.of("product-1", 4));
+            journal.commit();
+        }
+
+        // Act
+        Map<String, Integer> replayed = new LinkedHashMap<>();
+        long records = new StockJournal(directory, false).replay(replayed::put);
+
+        // Assert
+        assertEquals(3, records);
+        assertEquals(Map.of("product-1", 4, "product-2", StockJournal.REMOVED), replayed);
+    }
+
+    @Test
+    void replay_ShouldContinueSequenceAndSegmentsAfterLastRecord() throws IOException {
+        // Arrange
+        try (StockJournal journal = new StockJournal(directory, false)) {
+            journal.roll();
+            journal.append("order-1", Map.of("product-1", 7));
+            journal.commit();
+        }
+
+        // Act
+        StockJournal reopened = new StockJournal(directory, false);
+        reopened.replay((productId, quantity) -> { });
+        Path segment = reopened.roll();
+        long sequence = reopened.append("order-2", Map.of("product-1", 6));
+        reopened.close();
+
+        // Assert
+        assertEquals(2, sequence);
+        assertEquals(List.of("journal-000000000001.log", "journal-000000000002.log"), segmentNames());
+        assertEquals("journal-000000000002.log", segment.getFileName().toString());
+    }
+
+    @Test
+    void replay_WhenLastRecordTorn_ShouldStopBeforeIt() throws IOException {
+        // Arrange
+        Path segment;
+        try (StockJournal journal = new StockJournal(directory, false)) {
+            segment = journal.roll();
+            journal.append("order-1", Map.of("product-1", 7));
+            journal.append("order-2", Map.of("product-1", 5));
+            journal.commit();
+        }
+        byte[] bytes = Files.readAllBytes(segment);
+        Files.write(segment, Arrays.copyOf(bytes, bytes.length - 3));
+
+        // Act
+        Map<String, Integer> replayed = new LinkedHashMap<>();
+        long records = new StockJournal(directory, false).replay(replayed::put);
+
+        // Assert
+        assertEquals(1, records);
+        assertEquals(Map.of("product-1", 7), replayed);
+    }
+
+    @Test
+    void replay_WhenChecksumMismatch_ShouldStopAtRecord() throws IOException {
+        // Arrange
+        Path segment;
+        try (StockJournal journal = new StockJournal(directory, false)) {
+            segment = journal.roll();
+            journal.append("order-1", Map.of("product-1", 7));
+            journal.append("order-2", Map.of("product-1", 5));
+            journal.commit();
+        }
+        byte[] bytes = Files.readAllBytes(segment);
+        // Flip a bit of the last record's quantity
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(segment, bytes);
+
+        // Act
+        Map<String, Integer> replayed = new LinkedHashMap<>();
+        long records = new StockJournal(directory, false).replay(replayed::put);
+
+        // Assert
+        assertEquals(1, records);
+        assertEquals(Map.of("product-1", 7), replayed);
+    }
+
+    @Test
+    void append_WithoutCommit_ShouldNotBeReplayed() throws IOException {
+        // Arrange
+        StockJournal journal = new StockJournal(directory, false);
+        journal.roll();
+        journal.append("order-1", Map.of("product-1", 7));
+
+        // Act
+        Map<String, Integer> replayed = new LinkedHashMap<>();
+        long records = new StockJournal(directory, false).replay(replayed::put);
+        journal.close();
+
+        // Assert
+        assertEquals(0, records);
+        assertTrue(replayed.isEmpty());
+    }
+
+    @Test
+    void roll_WhenSegmentEmpty_ShouldKeepSegment() throws IOException {
+        // Arrange
+        try (StockJournal journal = new StockJournal(directory, false)) {
+            Path first = journal.roll();
+
+            // Act
+            Path second = journal.roll();
+
+            // Assert
+            assertEquals(first, second);
+            assertEquals(List.of("journal-000000000001.log"), segmentNames());
+        }
+    }
+
+    @Test
+    void deleteSegmentsBefore_ShouldKeepGivenAndLaterSegments() throws IOException {
+        // Arrange
+        try (StockJournal journal = new StockJournal(directory, false)) {
+            journal.roll();
+            journal.append("order-1", Map.of("product-1", 7));
+            Path second = journal.roll();
+            journal.append("order-2", Map.of("product-1", 6));
+            journal.roll();
+
+            // Act
+            int deleted = journal.deleteSegmentsBefore(second);
+
+            // Assert
+            assertEquals(1, deleted);
+            assertEquals(List.of("journal-000000000002.log", "journal-000000000003.log"), segmentNames());
+        }
+    }
+
+    private List<String> segmentNames() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString()).sorted().collect(Collectors.toList());
+        }
+    }
+}
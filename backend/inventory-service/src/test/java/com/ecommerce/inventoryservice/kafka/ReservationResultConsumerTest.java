@@ -0,0 +1,95 @@
+package com.ecommerce.inventoryservice.kafka;
+
+import com.ecommerce.common.event.StockReservationCommand;
+import com.ecommerce.common.event.StockReservationResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationResultConsumerTest {
+
+    @Mock
+    private ReservationCommandPublisher reservationCommandPublisher;
+
+    private ReservationResultConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new ReservationResultConsumer(reservationCommandPublisher);
+        ReflectionTestUtils.setField(consumer, "assemblyTimeoutMillis", 60000L);
+    }
+
+    @Test
+    void consumeReservationResult_WhenOneProductFails_ShouldReleaseReservedProducts() {
+        // Act
+        consumer.consumeReservationResult(result("product-1", 2, true, null, 3));
+        consumer.consumeReservationResult(result("product-2", 1, false, "Insufficient stock", 3));
+        consumer.consumeReservationResult(result("product-3", 5, true, null, 3));
+
+        // Assert
+        verify(reservationCommandPublisher).publish("order-1", Map.of("product-1", 2, "product-3", 5),
+                StockReservationCommand.Action.RELEASE);
+        assertEquals(0, consumer.getPendingOrderCount());
+    }
+
+    @Test
+    void consumeReservationResult_WhenAllProductsReserved_ShouldReleaseNothing() {
+        // Act
+        consumer.consumeReservationResult(result("product-1", 2, true, null, 2));
+        consumer.consumeReservationResult(result("product-2", 1, true, null, 2));
+
+        // Assert
+        verify(reservationCommandPublisher, never()).publish(anyString(), anyMap(), any());
+        assertEquals(0, consumer.getPendingOrderCount());
+    }
+
+    @Test
+    void consumeReservationResult_WhenResultRedelivered_ShouldNotCountItTwice() {
+        // Act
+        consumer.consumeReservationResult(result("product-1", 2, true, null, 2));
+        consumer.consumeReservationResult(result("product-1", 2, true, null, 2));
+
+        // Assert
+        assertEquals(1, consumer.getPendingOrderCount());
+        verifyNoInteractions(reservationCommandPublisher);
+    }
+
+    @Test
+    void consumeReservationResult_WhenReleaseResult_ShouldNotStartOrder() {
+        // Act
+        StockReservationResult release = result("product-1", 2, true, null, 1);
+        release.setAction(StockReservationCommand.Action.RELEASE);
+        consumer.consumeReservationResult(release);
+
+        // Assert
+        assertEquals(0, consumer.getPendingOrderCount());
+        verifyNoInteractions(reservationCommandPublisher);
+    }
+
+    private StockReservationResult result(String productId, int quantity, boolean success, String reason,
+                                          int productCount) {
+        return StockReservationResult.builder()
+                .orderId("order-1")
+                .productId(productId)
+                .quantity(quantity)
+                .action(StockReservationCommand.Action.RESERVE)
+                .success(success)
+                .reason(reason)
+                .productCount(productCount)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+}
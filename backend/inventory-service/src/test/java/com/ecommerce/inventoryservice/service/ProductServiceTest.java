@@ -1,11 +1,26 @@
 package com.ecommerce.inventoryservice.service;
 
+import com.ecommerce.common.config.KafkaTopics;
+import com.ecommerce.common.event.LowStockEvent;
+import com.ecommerce.common.event.LowStockEvent.StockLevel;
+import com.ecommerce.common.event.StockReservationCommand;
+import com.ecommerce.common.event.StockReservationResult;
+import com.ecommerce.common.web.ResourceVersion;
+import com.ecommerce.inventoryservice.alert.LowStockPolicy;
+import com.ecommerce.inventoryservice.alert.LowStockRegistry;
+import com.ecommerce.inventoryservice.cache.ProductCache;
+import com.ecommerce.inventoryservice.catalog.CategoryIndex;
+import com.ecommerce.inventoryservice.dto.ProductBatchResponse;
 import com.ecommerce.inventoryservice.dto.ProductRequest;
 import com.ecommerce.inventoryservice.dto.ProductResponse;
+import com.ecommerce.inventoryservice.dto.StockAvailabilityResponse;
 import com.ecommerce.inventoryservice.dto.StockUpdateRequest;
+import com.ecommerce.inventoryservice.engine.InventoryEngine;
 import com.ecommerce.inventoryservice.exception.InsufficientStockException;
 import com.ecommerce.inventoryservice.exception.ProductNotFoundException;
+import com.ecommerce.inventoryservice.model.AppliedReservation;
 import com.ecommerce.inventoryservice.model.Product;
+import com.ecommerce.inventoryservice.repository.AppliedReservationRepository;
 import com.ecommerce.inventoryservice.repository.ProductRepository;
 import com.ecommerce.inventoryservice.service.impl.ProductServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,15 +32,19 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.core.KafkaTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,11 +56,19 @@ class ProductServiceTest {
     @Mock
     private KafkaTemplate<String, Object> kafkaTemplate;
 
+    @Mock
+    private InventoryEngine inventoryEngine;
+
+    @Mock
+    private AppliedReservationRepository appliedReservationRepository;
+
     private ProductService productService;
 
     @BeforeEach
     void setUp() {
-        productService = new ProductServiceImpl(productRepository, kafkaTemplate);
+        productService = new ProductServiceImpl(productRepository, kafkaTemplate,
+                new ProductCache(100, Duration.ofMinutes(1), null), new CategoryIndex(),
+                new LowStockPolicy(5, 2), new LowStockRegistry(), inventoryEngine, appliedReservationRepository);
     }
 
     @Test
@@ -103,6 +130,74 @@ class ProductServiceTest {
         verify(productRepository).findById(productId);
     }
 
+    @Test
+    void getProductById_WhenEngineEnabled_ShouldReturnEngineStockOverCachedStock() {
+        // Arrange
+        Product product = createProduct();
+        when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
+        productService.getProductById(product.getId());
+        when(inventoryEngine.isEnabled()).thenReturn(true);
+        when(inventoryEngine.getStock(product.getId())).thenReturn(0);
+        
+        // Act
+        ProductResponse response = productService.getProductById(product.getId());
+        
+        // Assert
+        assertEquals(0, response.getStockQuantity());
+        assertFalse(response.isInStock());
+        // The cached response is left with the table's stock
+        verify(productRepository, times(1)).findById(product.getId());
+    }
+
+    @Test
+    void getProductVersion_WhenEngineStockChanges_ShouldChangeETag() {
+        // Arrange
+        Product product = createProduct();
+        when(productRepository.findVersionById(product.getId()))
+                .thenReturn(Optional.of(new ResourceVersion(3L, product.getUpdatedAt())));
+        when(inventoryEngine.isEnabled()).thenReturn(true);
+        when(inventoryEngine.getStock(product.getId())).thenReturn(10, 9);
+        
+        // Act
+        ResourceVersion before = productService.getProductVersion(product.getId());
+        ResourceVersion after = productService.getProductVersion(product.getId());
+        
+        // Assert
+        assertNotEquals(before.getETag(), after.getETag());
+        assertEquals(before.getLastModified(), after.getLastModified());
+    }
+
+    @Test
+    void getCatalogVersion_WhenEngineEnabled_ShouldIncludeStockRevision() {
+        // Arrange
+        when(productRepository.findCatalogVersion()).thenReturn(new ResourceVersion(2L, 5L, LocalDateTime.now()));
+        when(inventoryEngine.isEnabled()).thenReturn(true);
+        when(inventoryEngine.getStockRevision()).thenReturn("abc.1", "abc.2");
+        
+        // Act & Assert
+        assertNotEquals(productService.getCatalogVersion().getETag(), productService.getCatalogVersion().getETag());
+    }
+
+    @Test
+    void getProductsByIds_ShouldReturnFoundProductsAndListMissingIds() {
+        // Arrange
+        Product product = createProduct();
+        String missingId = "nonexistent";
+        
+        when(productRepository.findAllById(any())).thenReturn(List.of(product));
+        
+        // Act
+        ProductBatchResponse response = productService.getProductsByIds(
+                Arrays.asList(product.getId(), missingId, product.getId()));
+        
+        // Assert
+        assertEquals(1, response.getProducts().size());
+        assertEquals(product.getName(), response.getProducts().get(product.getId()).getName());
+        assertEquals(List.of(missingId), response.getNotFound());
+        verify(productRepository, times(1)).findAllById(any());
+        verify(productRepository, never()).findById(anyString());
+    }
+
     @Test
     void increaseStock_ShouldUpdateStock() {
         // Arrange
@@ -167,6 +262,54 @@ class ProductServiceTest {
         verify(productRepository, never()).save(any(Product.class));
     }
     
+    @Test
+    void decreaseStock_WhenStockFallsBelowThreshold_ShouldPublishLowStockAlert() {
+        // Arrange
+        String productId = UUID.randomUUID().toString();
+        StockUpdateRequest request = new StockUpdateRequest(productId, 8);
+        
+        Product product = createProduct();
+        product.setId(productId);
+        product.setStockQuantity(10);
+        
+        when(productRepository.findById(productId)).thenReturn(Optional.of(product));
+        when(productRepository.save(any(Product.class))).thenReturn(product);
+        
+        // Act
+        productService.decreaseStock(request);
+        
+        // Assert
+        ArgumentCaptor<Object> eventCaptor = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate).send(eq(KafkaTopics.LOW_STOCK_ALERTS_TOPIC), eq(productId), eventCaptor.capture());
+        LowStockEvent event = (LowStockEvent) eventCaptor.getValue();
+        assertEquals(StockLevel.OK, event.getPreviousLevel());
+        assertEquals(StockLevel.LOW, event.getLevel());
+        assertEquals(2, event.getStockQuantity());
+        assertEquals(StockLevel.LOW, product.getStockLevel());
+    }
+
+    @Test
+    void increaseStock_WhenStillWithinRecoveryMargin_ShouldNotPublishLowStockAlert() {
+        // Arrange
+        String productId = UUID.randomUUID().toString();
+        StockUpdateRequest request = new StockUpdateRequest(productId, 2);
+        
+        Product product = createProduct();
+        product.setId(productId);
+        product.setStockQuantity(4);
+        product.setStockLevel(StockLevel.LOW);
+        
+        when(productRepository.findById(productId)).thenReturn(Optional.of(product));
+        when(productRepository.save(any(Product.class))).thenReturn(product);
+        
+        // Act
+        productService.increaseStock(request);
+        
+        // Assert: 6 is above the threshold of 5 but below threshold + margin
+        verify(kafkaTemplate, never()).send(eq(KafkaTopics.LOW_STOCK_ALERTS_TOPIC), anyString(), any());
+        assertEquals(StockLevel.LOW, product.getStockLevel());
+    }
+    
     @Test
     void isInStock_WhenSufficientStock_ShouldReturnTrue() {
         // Arrange
@@ -207,6 +350,145 @@ class ProductServiceTest {
         verify(productRepository).findById(productId);
     }
 
+    @Test
+    void checkStock_ShouldAddUpRepeatedProductsAndReportMissingOnes() {
+        // Arrange
+        Product product = createProduct();
+        product.setStockQuantity(10);
+        
+        when(productRepository.findAllById(any())).thenReturn(List.of(product));
+        
+        // Act
+        StockAvailabilityResponse response = productService.checkStock(Arrays.asList(
+                new StockUpdateRequest(product.getId(), 6),
+                new StockUpdateRequest(product.getId(), 5),
+                new StockUpdateRequest("nonexistent", 1)));
+        
+        // Assert
+        assertFalse(response.isAllInStock());
+        assertFalse(response.getInStock().get(product.getId())); // 11 requested, 10 available
+        assertEquals(List.of("nonexistent"), response.getNotFound());
+        verify(productRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void applyReservation_WhenSufficientStock_ShouldReserveWithoutLocking() {
+        // Arrange
+        Product product = createProduct();
+        product.setStockQuantity(10);
+        
+        when(productRepository.findUnlockedById(product.getId())).thenReturn(Optional.of(product));
+        
+        // Act
+        StockReservationResult result = productService.applyReservation(
+                reservation(product.getId(), 4, StockReservationCommand.Action.RESERVE));
+        
+        // Assert
+        assertTrue(result.isSuccess());
+        assertEquals("order-1", result.getOrderId());
+        assertEquals(6, product.getStockQuantity());
+        verify(productRepository, never()).findById(anyString());
+        verify(productRepository).save(product);
+        verify(kafkaTemplate).send(eq(KafkaTopics.INVENTORY_UPDATES_TOPIC), eq(product.getId()), any());
+        
+        ArgumentCaptor<AppliedReservation> applied = ArgumentCaptor.forClass(AppliedReservation.class);
+        verify(appliedReservationRepository).save(applied.capture());
+        assertEquals("order-1:" + product.getId() + ":RESERVE", applied.getValue().getId());
+        assertTrue(applied.getValue().isSuccess());
+    }
+    
+    @Test
+    void applyReservation_WhenRedelivered_ShouldAnswerWithRecordedOutcome() {
+        // Arrange
+        StockReservationCommand command = reservation("product-1", 4, StockReservationCommand.Action.RESERVE);
+        when(appliedReservationRepository.findById("order-1:product-1:RESERVE")).thenReturn(Optional.of(
+                AppliedReservation.builder()
+                        .id("order-1:product-1:RESERVE")
+                        .success(true)
+                        .appliedAt(LocalDateTime.now())
+                        .build()));
+        
+        // Act
+        StockReservationResult result = productService.applyReservation(command);
+        
+        // Assert
+        assertTrue(result.isSuccess());
+        assertEquals(4, result.getQuantity());
+        verify(productRepository, never()).findUnlockedById(anyString());
+        verify(productRepository, never()).save(any(Product.class));
+        verify(appliedReservationRepository, never()).save(any(AppliedReservation.class));
+        verifyNoInteractions(kafkaTemplate);
+    }
+    
+    @Test
+    void applyReservation_WhenInsufficientStock_ShouldRejectWithoutSaving() {
+        // Arrange
+        Product product = createProduct();
+        product.setStockQuantity(3);
+        
+        when(productRepository.findUnlockedById(product.getId())).thenReturn(Optional.of(product));
+        
+        // Act
+        StockReservationResult result = productService.applyReservation(
+                reservation(product.getId(), 4, StockReservationCommand.Action.RESERVE));
+        
+        // Assert
+        assertFalse(result.isSuccess());
+        assertEquals("Insufficient stock", result.getReason());
+        assertEquals(3, product.getStockQuantity());
+        verify(productRepository, never()).save(any(Product.class));
+    }
+    
+    @Test
+    void applyReservation_WhenPartlyFailedOrderIsCancelled_ShouldOnlyGiveBackReservedStock() {
+        // Arrange
+        Product reserved = createProduct();
+        reserved.setStockQuantity(10);
+        Product rejected = createProduct();
+        rejected.setStockQuantity(1);
+        when(productRepository.findUnlockedById(reserved.getId())).thenReturn(Optional.of(reserved));
+        when(productRepository.findUnlockedById(rejected.getId())).thenReturn(Optional.of(rejected));
+        
+        Map<String, AppliedReservation> appliedRecords = new HashMap<>();
+        when(appliedReservationRepository.findById(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(appliedRecords.get(invocation.<String>getArgument(0))));
+        when(appliedReservationRepository.save(any(AppliedReservation.class))).thenAnswer(invocation -> {
+            AppliedReservation record = invocation.getArgument(0);
+            appliedRecords.put(record.getId(), record);
+            return record;
+        });
+        
+        // Reservation of the second product fails, so the first is released again
+        productService.applyReservation(reservation(reserved.getId(), 2, StockReservationCommand.Action.RESERVE));
+        productService.applyReservation(reservation(rejected.getId(), 5, StockReservationCommand.Action.RESERVE));
+        productService.applyReservation(reservation(reserved.getId(), 2, StockReservationCommand.Action.RELEASE));
+        
+        // Act - the order is then cancelled, releasing every item
+        StockReservationResult releasedAgain = productService.applyReservation(
+                reservation(reserved.getId(), 2, StockReservationCommand.Action.RELEASE));
+        StockReservationResult neverReserved = productService.applyReservation(
+                reservation(rejected.getId(), 5, StockReservationCommand.Action.RELEASE));
+        
+        // Assert
+        assertTrue(releasedAgain.isSuccess());
+        assertTrue(neverReserved.isSuccess());
+        assertEquals(10, reserved.getStockQuantity());
+        assertEquals(1, rejected.getStockQuantity());
+        verify(productRepository, times(2)).save(reserved);
+        verify(productRepository, never()).save(rejected);
+    }
+    
+    private StockReservationCommand reservation(String productId, int quantity, StockReservationCommand.Action action) {
+        return StockReservationCommand.builder()
+                .orderId("order-1")
+                .productId(productId)
+                .quantity(quantity)
+                .action(action)
+                .productCount(1)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
     private Product createProduct() {
         return Product.builder()
                 .id(UUID.randomUUID().toString())
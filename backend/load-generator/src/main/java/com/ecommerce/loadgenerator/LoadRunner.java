@@ -0,0 +1,106 @@
+package com.ecommerce.loadgenerator;
+
+import com.ecommerce.loadgenerator.config.LoadProperties;
+import com.ecommerce.loadgenerator.infra.EmbeddedInfrastructure;
+import com.ecommerce.loadgenerator.infra.ServiceLauncher;
+import com.ecommerce.loadgenerator.report.LatencyReport;
+import com.ecommerce.loadgenerator.tracking.KafkaStageObserver;
+import com.ecommerce.loadgenerator.tracking.NotificationObserver;
+import com.ecommerce.loadgenerator.tracking.OrderTracker;
+import com.ecommerce.loadgenerator.workload.BasketGenerator;
+import com.ecommerce.loadgenerator.workload.Catalogue;
+import com.ecommerce.loadgenerator.workload.CatalogueProduct;
+import com.ecommerce.loadgenerator.workload.OpenModelDriver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Runs one load test: brings up the infrastructure and services, primes the catalogue, drives
+ * orders, waits for the event chain to drain and writes the report.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LoadRunner implements CommandLineRunner {
+
+    private static final Duration OBSERVER_STARTUP_TIMEOUT = Duration.ofSeconds(60);
+    private static final long NOTIFICATION_POLL_MILLIS = 50;
+
+    private final LoadProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void run(String... args) throws Exception {
+        LoadProperties.Infrastructure infrastructure = properties.getInfrastructure();
+        LoadProperties.Services services = properties.getServices();
+        if (infrastructure.isEmbedded() && !services.isLaunch()) {
+            throw new IllegalStateException("load.infrastructure.embedded=true requires load.services.launch=true");
+        }
+
+        try (EmbeddedInfrastructure embedded = new EmbeddedInfrastructure();
+             ServiceLauncher launcher = new ServiceLauncher(services.getJarDirectory(), services.getJvmArgs(), properties.getReportDir())) {
+
+            String bootstrapServers = infrastructure.getBootstrapServers();
+            String jdbcUrl = infrastructure.getJdbcUrl();
+            String jdbcUsername = infrastructure.getJdbcUsername();
+            String jdbcPassword = infrastructure.getJdbcPassword();
+            if (infrastructure.isEmbedded()) {
+                embedded.start();
+                bootstrapServers = embedded.getBootstrapServers();
+                jdbcUrl = embedded.getJdbcUrl();
+                jdbcUsername = embedded.getJdbcUsername();
+                jdbcPassword = embedded.getJdbcPassword();
+            }
+            if (services.isLaunch()) {
+                launcher.start(bootstrapServers, jdbcUrl, jdbcUsername, jdbcPassword, services.getStartupTimeout());
+            }
+
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            Catalogue catalogue = new Catalogue(httpClient, objectMapper, services.getInventoryUrl());
+            List<CatalogueProduct> products = catalogue.load();
+            catalogue.restock(products, properties.getRestockTo());
+
+            OrderTracker tracker = new OrderTracker();
+            try (KafkaStageObserver kafkaObserver = new KafkaStageObserver(bootstrapServers, tracker, objectMapper);
+                 NotificationObserver notificationObserver = new NotificationObserver(
+                         jdbcUrl, jdbcUsername, jdbcPassword, tracker, NOTIFICATION_POLL_MILLIS)) {
+                kafkaObserver.start(OBSERVER_STARTUP_TIMEOUT);
+                notificationObserver.start();
+
+                BasketGenerator baskets = new BasketGenerator(products, properties.getBasket(), properties.getSeed());
+                new OpenModelDriver(httpClient, objectMapper, services.getOrderUrl(), tracker)
+                        .run(properties.getRate(), properties.getWarmup(), properties.getDuration(), baskets, properties.getSeed());
+
+                awaitCompletion(tracker);
+            }
+
+            new LatencyReport(tracker, properties.getRate(), properties.getDuration())
+                    .write(Path.of(properties.getReportDir()));
+        }
+    }
+
+    private void awaitCompletion(OrderTracker tracker) throws InterruptedException {
+        long deadline = System.nanoTime() + properties.getCompletionTimeout().toNanos();
+        long outstanding = tracker.countOutstanding();
+        while (outstanding > 0 && System.nanoTime() < deadline) {
+            log.info("Waiting for {} orders to complete", outstanding);
+            Thread.sleep(1_000);
+            outstanding = tracker.countOutstanding();
+        }
+        if (outstanding > 0) {
+            log.warn("{} orders did not complete within {}", outstanding, properties.getCompletionTimeout());
+        }
+    }
+}
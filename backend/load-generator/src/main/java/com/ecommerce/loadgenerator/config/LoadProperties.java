@@ -0,0 +1,111 @@
+package com.ecommerce.loadgenerator.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Load profile, basket distribution and target environment, bound from {@code load.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "load")
+public class LoadProperties {
+
+    /**
+     * Mean order arrival rate in orders per second. Arrivals follow a Poisson process and do not
+     * wait for earlier requests to complete (open model)
+     */
+    private double rate = 20;
+
+    /**
+     * Initial period whose orders are driven but excluded from the report
+     */
+    private Duration warmup = Duration.ofSeconds(10);
+
+    /**
+     * Measured period
+     */
+    private Duration duration = Duration.ofSeconds(60);
+
+    /**
+     * How long to wait after the last arrival for outstanding orders to finish every stage
+     */
+    private Duration completionTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Random seed, so that two builds can be compared under the same arrivals and baskets
+     */
+    private long seed = 42;
+
+    /**
+     * Stock level every catalogue product is raised to before the run, so that orders do not
+     * start failing on insufficient stock part way through
+     */
+    private int restockTo = 1_000_000;
+
+    private String reportDir = "target/load-report";
+
+    private Basket basket = new Basket();
+
+    private Infrastructure infrastructure = new Infrastructure();
+
+    private Services services = new Services();
+
+    @Data
+    public static class Basket {
+        /**
+         * Mean number of distinct products per order (geometrically distributed, at least one)
+         */
+        private double meanItems = 2.5;
+
+        private int maxItems = 8;
+
+        /**
+         * Quantities are uniform between 1 and this value
+         */
+        private int maxQuantity = 3;
+
+        /**
+         * Skew of product popularity; 0 is uniform, higher values concentrate on a few products
+         */
+        private double zipfExponent = 1.1;
+    }
+
+    @Data
+    public static class Infrastructure {
+        /**
+         * Start an embedded Kafka broker and PostgreSQL instead of using the settings below
+         */
+        private boolean embedded = true;
+
+        private String bootstrapServers = "localhost:29092";
+
+        private String jdbcUrl = "jdbc:postgresql://localhost:5432/ecommerce";
+
+        private String jdbcUsername = "postgres";
+
+        private String jdbcPassword = "postgres";
+    }
+
+    @Data
+    public static class Services {
+        /**
+         * Launch the four services from their jars, pointed at the infrastructure in use
+         */
+        private boolean launch = true;
+
+        /**
+         * Directory containing the service modules, i.e. {@code <dir>/order-service/target/*.jar}
+         */
+        private String jarDirectory = "..";
+
+        private String jvmArgs = "-Xmx512m";
+
+        private Duration startupTimeout = Duration.ofSeconds(180);
+
+        private String orderUrl = "http://localhost:8081";
+
+        private String inventoryUrl = "http://localhost:8082";
+    }
+}
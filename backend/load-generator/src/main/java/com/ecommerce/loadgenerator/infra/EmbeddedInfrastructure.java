@@ -0,0 +1,69 @@
+package com.ecommerce.loadgenerator.infra;
+
+import com.ecommerce.common.config.KafkaTopics;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.io.IOException;
+
+/**
+ * Single-node Kafka (KRaft) and PostgreSQL running inside the harness JVM, so a run needs no
+ * docker-compose stack. The broker is created with the same topics and partition counts the
+ * services declare.
+ */
+@Slf4j
+public class EmbeddedInfrastructure implements AutoCloseable {
+
+    private static final int PARTITIONS = 3;
+    private static final String DATABASE = "postgres";
+    private static final String USERNAME = "postgres";
+
+    private EmbeddedKafkaKraftBroker kafka;
+    private EmbeddedPostgres postgres;
+
+    public void start() throws IOException {
+        kafka = new EmbeddedKafkaKraftBroker(1, PARTITIONS,
+                KafkaTopics.ORDERS_TOPIC,
+                KafkaTopics.INVENTORY_UPDATES_TOPIC,
+                KafkaTopics.PAYMENT_EVENTS_TOPIC,
+                KafkaTopics.NOTIFICATIONS_TOPIC,
+                KafkaTopics.LOW_STOCK_ALERTS_TOPIC);
+        kafka.afterPropertiesSet();
+        log.info("Embedded Kafka started at {}", kafka.getBrokersAsString());
+
+        postgres = EmbeddedPostgres.builder().start();
+        log.info("Embedded PostgreSQL started at {}", getJdbcUrl());
+    }
+
+    public String getBootstrapServers() {
+        return kafka.getBrokersAsString();
+    }
+
+    public String getJdbcUrl() {
+        return "jdbc:postgresql://localhost:" + postgres.getPort() + "/" + DATABASE;
+    }
+
+    public String getJdbcUsername() {
+        return USERNAME;
+    }
+
+    // The embedded cluster uses trust authentication, any password is accepted
+    public String getJdbcPassword() {
+        return "postgres";
+    }
+
+    @Override
+    public void close() {
+        if (kafka != null) {
+            kafka.destroy();
+        }
+        if (postgres != null) {
+            try {
+                postgres.close();
+            } catch (IOException e) {
+                log.warn("Failed to stop embedded PostgreSQL: {}", e.getMessage());
+            }
+        }
+    }
+}
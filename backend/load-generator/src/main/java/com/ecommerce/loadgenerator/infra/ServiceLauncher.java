@@ -0,0 +1,122 @@
+package com.ecommerce.loadgenerator.infra;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the services under test as child JVMs from their packaged jars, pointed at the given
+ * Kafka and PostgreSQL, and stops them again on close. Each service's output goes to
+ * {@code <reportDir>/<service>.log}.
+ */
+@Slf4j
+public class ServiceLauncher implements AutoCloseable {
+
+    /**
+     * Services in start order: consumers first, so no order event is published before every
+     * downstream listener has joined its group
+     */
+    private static final List<ManagedService> SERVICES = List.of(
+            new ManagedService("inventory-service", 8082),
+            new ManagedService("payment-service", 8083),
+            new ManagedService("notification-service", 8084),
+            new ManagedService("order-service", 8081));
+
+    private final Path jarDirectory;
+    private final List<String> jvmArgs;
+    private final Path logDirectory;
+    private final List<Process> processes = new ArrayList<>();
+
+    public ServiceLauncher(String jarDirectory, String jvmArgs, String logDirectory) {
+        this.jarDirectory = Path.of(jarDirectory);
+        this.jvmArgs = jvmArgs == null || jvmArgs.isBlank() ? List.of() : Arrays.asList(jvmArgs.trim().split("\\s+"));
+        this.logDirectory = Path.of(logDirectory);
+    }
+
+    public void start(String bootstrapServers, String jdbcUrl, String jdbcUsername, String jdbcPassword,
+                      Duration startupTimeout) throws IOException, InterruptedException {
+        Files.createDirectories(logDirectory);
+        long deadline = System.nanoTime() + startupTimeout.toNanos();
+
+        for (ManagedService service : SERVICES) {
+            List<String> command = new ArrayList<>();
+            command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+            command.addAll(jvmArgs);
+            command.add("-jar");
+            command.add(findJar(service.name()).toString());
+            command.add("--spring.kafka.bootstrap-servers=" + bootstrapServers);
+            command.add("--spring.datasource.url=" + jdbcUrl);
+            command.add("--spring.datasource.username=" + jdbcUsername);
+            command.add("--spring.datasource.password=" + jdbcPassword);
+
+            File logFile = logDirectory.resolve(service.name() + ".log").toFile();
+            Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(logFile)
+                    .start();
+            processes.add(process);
+            log.info("Starting {} (pid {}), output in {}", service.name(), process.pid(), logFile);
+
+            awaitPort(service, process, deadline);
+            log.info("{} is listening on port {}", service.name(), service.port());
+        }
+    }
+
+    @Override
+    public void close() {
+        // Stop in reverse order so the producers go first
+        for (int i = processes.size() - 1; i >= 0; i--) {
+            Process process = processes.get(i);
+            process.destroy();
+            try {
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private Path findJar(String service) throws IOException {
+        Path target = jarDirectory.resolve(service).resolve("target");
+        if (Files.isDirectory(target)) {
+            try (DirectoryStream<Path> jars = Files.newDirectoryStream(target, service + "-*.jar")) {
+                for (Path jar : jars) {
+                    return jar;
+                }
+            }
+        }
+        throw new IllegalStateException("No jar found for " + service + " in " + target + "; build it first with mvn package");
+    }
+
+    private static void awaitPort(ManagedService service, Process process, long deadline) throws InterruptedException {
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(service.name() + " exited during startup with code " + process.exitValue());
+            }
+            try (Socket socket = new Socket()) {
+                socket.connect(new InetSocketAddress("localhost", service.port()), 500);
+                return;
+            } catch (IOException e) {
+                Thread.sleep(500);
+            }
+        }
+        throw new IllegalStateException(service.name() + " did not start listening on port " + service.port() + " in time");
+    }
+
+    private record ManagedService(String name, int port) {
+    }
+}
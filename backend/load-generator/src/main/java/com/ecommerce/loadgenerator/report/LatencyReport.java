@@ -0,0 +1,152 @@
+package com.ecommerce.loadgenerator.report;
+
+import com.ecommerce.loadgenerator.tracking.OrderTrace;
+import com.ecommerce.loadgenerator.tracking.OrderTracker;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * Per-stage latency histograms of the measured orders, each measured from the order's scheduled
+ * arrival time. Writes one {@code .hgrm} percentile distribution per stage (values in
+ * milliseconds, loadable in the HdrHistogram plotter) plus {@code summary.txt} and
+ * {@code summary.json} for comparing builds.
+ */
+@Slf4j
+public class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private static final Map<String, ToLongFunction<OrderTrace>> STAGES = new LinkedHashMap<>();
+
+    static {
+        STAGES.put("accepted", OrderTrace::getAcceptedAt);
+        STAGES.put("stock", OrderTrace::stockAt);
+        STAGES.put("payment", OrderTrace::getPaymentAt);
+        STAGES.put("notification", OrderTrace::getNotifiedAt);
+        STAGES.put("end-to-end", trace -> trace.isComplete()
+                ? Math.max(trace.stockAt(), Math.max(trace.getPaymentAt(), trace.getNotifiedAt()))
+                : -1);
+    }
+
+    private final Map<String, Histogram> histograms = new LinkedHashMap<>();
+    private final Map<String, Object> summary = new LinkedHashMap<>();
+
+    public LatencyReport(OrderTracker tracker, double targetRate, Duration measuredDuration) {
+        STAGES.keySet().forEach(stage -> histograms.put(stage, new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS)));
+
+        long measured = 0;
+        long completed = 0;
+        long paymentsFailed = 0;
+        for (OrderTrace trace : tracker.getTraces()) {
+            if (!trace.isAccepted() || !trace.isMeasured()) {
+                continue;
+            }
+            measured++;
+            if (trace.isComplete()) {
+                completed++;
+            }
+            if (trace.getPaymentStatus() != null && !"COMPLETED".equals(trace.getPaymentStatus())) {
+                paymentsFailed++;
+            }
+            for (Map.Entry<String, ToLongFunction<OrderTrace>> stage : STAGES.entrySet()) {
+                long at = stage.getValue().applyAsLong(trace);
+                if (at >= 0) {
+                    long micros = TimeUnit.NANOSECONDS.toMicros(at - trace.getScheduledAt());
+                    histograms.get(stage.getKey()).recordValue(Math.min(Math.max(micros, 0), HIGHEST_TRACKABLE_MICROS));
+                }
+            }
+        }
+
+        double seconds = measuredDuration.toMillis() / 1000.0;
+        summary.put("targetRate", targetRate);
+        summary.put("acceptedRate", measured / seconds);
+        summary.put("completedRate", completed / seconds);
+        summary.put("sent", tracker.getSent());
+        summary.put("rejected", tracker.getRejected());
+        summary.put("failed", tracker.getFailed());
+        summary.put("measuredOrders", measured);
+        summary.put("completedOrders", completed);
+        summary.put("incompleteOrders", measured - completed);
+        summary.put("paymentsFailed", paymentsFailed);
+
+        Map<String, Object> stages = new LinkedHashMap<>();
+        histograms.forEach((stage, histogram) -> {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", histogram.getTotalCount());
+            for (double percentile : PERCENTILES) {
+                stats.put("p" + formatPercentile(percentile) + "Ms", histogram.getValueAtPercentile(percentile) / 1000.0);
+            }
+            stats.put("maxMs", histogram.getMaxValue() / 1000.0);
+            stats.put("meanMs", histogram.getMean() / 1000.0);
+            stages.put(stage, stats);
+        });
+        summary.put("stages", stages);
+    }
+
+    /**
+     * Write the histograms and summaries to the given directory and log the summary
+     *
+     * @param directory the report directory
+     */
+    public void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            try (PrintStream out = new PrintStream(
+                    Files.newOutputStream(directory.resolve(entry.getKey() + ".hgrm")), false, StandardCharsets.UTF_8)) {
+                entry.getValue().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+
+        String text = formatText();
+        Files.writeString(directory.resolve("summary.txt"), text);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve("summary.json").toFile(), summary);
+
+        log.info("Load test summary (full report in {}):\n{}", directory.toAbsolutePath(), text);
+    }
+
+    private String formatText() {
+        StringWriter text = new StringWriter();
+        text.append(String.format("target rate      %10.1f orders/s%n", (Double) summary.get("targetRate")));
+        text.append(String.format("accepted rate    %10.1f orders/s%n", (Double) summary.get("acceptedRate")));
+        text.append(String.format("completed rate   %10.1f orders/s%n", (Double) summary.get("completedRate")));
+        text.append(String.format("sent %d, rejected %d, failed %d, incomplete %d, payments failed %d%n%n",
+                summary.get("sent"), summary.get("rejected"), summary.get("failed"),
+                summary.get("incompleteOrders"), summary.get("paymentsFailed")));
+
+        text.append(String.format("%-14s %8s", "stage (ms)", "count"));
+        for (double percentile : PERCENTILES) {
+            text.append(String.format(" %9s", "p" + formatPercentile(percentile)));
+        }
+        text.append(String.format(" %9s%n", "max"));
+
+        histograms.forEach((stage, histogram) -> {
+            text.append(String.format("%-14s %8d", stage, histogram.getTotalCount()));
+            for (double percentile : PERCENTILES) {
+                text.append(String.format(" %9.1f", histogram.getValueAtPercentile(percentile) / 1000.0));
+            }
+            text.append(String.format(" %9.1f%n", histogram.getMaxValue() / 1000.0));
+        });
+        return text.toString();
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? Long.toString((long) percentile) : Double.toString(percentile);
+    }
+}
@@ -0,0 +1,108 @@
+package com.ecommerce.loadgenerator.tracking;
+
+import com.ecommerce.common.config.KafkaTopics;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.StringDeserializer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Marks the stock and payment stages by tailing {@code inventory-updates} and
+ * {@code payment-events} in a private consumer group, so the services' own groups are not
+ * affected.
+ */
+@Slf4j
+public class KafkaStageObserver implements AutoCloseable {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(100);
+
+    private final KafkaConsumer<String, String> consumer;
+    private final OrderTracker tracker;
+    private final ObjectMapper objectMapper;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    public KafkaStageObserver(String bootstrapServers, OrderTracker tracker, ObjectMapper objectMapper) {
+        this.tracker = tracker;
+        this.objectMapper = objectMapper;
+        this.consumer = new KafkaConsumer<>(Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                ConsumerConfig.GROUP_ID_CONFIG, "load-generator-" + UUID.randomUUID(),
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest",
+                ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false,
+                ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class,
+                ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class));
+        this.thread = new Thread(this::run, "load-kafka-observer");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Subscribe and wait until partitions are assigned, so no event of the run is missed
+     *
+     * @param timeout how long to wait for the assignment
+     */
+    public void start(Duration timeout) {
+        consumer.subscribe(List.of(KafkaTopics.INVENTORY_UPDATES_TOPIC, KafkaTopics.PAYMENT_EVENTS_TOPIC));
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (consumer.assignment().isEmpty()) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Kafka observer was not assigned any partitions in time");
+            }
+            consumer.poll(POLL_TIMEOUT);
+        }
+        // Position at the end now rather than lazily, otherwise early events could be skipped
+        consumer.seekToEnd(consumer.assignment());
+        consumer.assignment().forEach(consumer::position);
+        thread.start();
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                ConsumerRecords<String, String> records = consumer.poll(POLL_TIMEOUT);
+                long now = System.nanoTime();
+                for (ConsumerRecord<String, String> record : records) {
+                    handle(record, now);
+                }
+            }
+        } catch (WakeupException e) {
+            // Closing
+        } finally {
+            consumer.close();
+        }
+    }
+
+    private void handle(ConsumerRecord<String, String> record, long now) {
+        try {
+            JsonNode event = objectMapper.readTree(record.value());
+            String orderId = event.path("orderId").asText(null);
+            if (orderId == null) {
+                return;
+            }
+            if (KafkaTopics.INVENTORY_UPDATES_TOPIC.equals(record.topic())) {
+                tracker.trace(orderId).stockUpdated(event.path("productId").asText(), now);
+            } else {
+                tracker.trace(orderId).paymentCompleted(event.path("status").asText(), now);
+            }
+        } catch (Exception e) {
+            log.debug("Ignoring unreadable record on {}: {}", record.topic(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        consumer.wakeup();
+        thread.join(5_000);
+    }
+}
@@ -0,0 +1,94 @@
+package com.ecommerce.loadgenerator.tracking;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Marks the notification stage by polling the notification service's table. The notification
+ * service publishes nothing when it is done, so this is the only place the end of the chain is
+ * visible. Payment notifications (or digests) are the last hop; an order's confirmation email
+ * alone does not count.
+ * <p>
+ * Observed times are quantised by the poll interval.
+ */
+@Slf4j
+public class NotificationObserver implements AutoCloseable {
+
+    private static final String QUERY = "SELECT order_id, created_at FROM notifications "
+            + "WHERE status = 'SENT' AND created_at >= ? "
+            + "AND type IN ('PAYMENT_CONFIRMATION', 'PAYMENT_FAILURE', 'ORDER_DIGEST') "
+            + "ORDER BY created_at";
+
+    // Rows may commit out of created_at order, so each poll re-reads a short overlap
+    private static final long OVERLAP_SECONDS = 5;
+
+    private final String jdbcUrl;
+    private final String username;
+    private final String password;
+    private final OrderTracker tracker;
+    private final long intervalMillis;
+    private final ScheduledExecutorService scheduler;
+
+    private Connection connection;
+    private LocalDateTime highWater;
+
+    public NotificationObserver(String jdbcUrl, String username, String password, OrderTracker tracker, long intervalMillis) {
+        this.jdbcUrl = jdbcUrl;
+        this.username = username;
+        this.password = password;
+        this.tracker = tracker;
+        this.intervalMillis = intervalMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "load-notification-observer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start() throws SQLException {
+        connection = DriverManager.getConnection(jdbcUrl, username, password);
+        highWater = LocalDateTime.now();
+        scheduler.scheduleWithFixedDelay(this::poll, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void poll() {
+        long now = System.nanoTime();
+        try (PreparedStatement statement = connection.prepareStatement(QUERY)) {
+            statement.setTimestamp(1, Timestamp.valueOf(highWater.minusSeconds(OVERLAP_SECONDS)));
+            LocalDateTime latest = highWater;
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    String orderId = rows.getString(1);
+                    if (orderId != null) {
+                        tracker.trace(orderId).notified(now);
+                    }
+                    LocalDateTime createdAt = rows.getTimestamp(2).toLocalDateTime();
+                    if (createdAt.isAfter(latest)) {
+                        latest = createdAt;
+                    }
+                }
+            }
+            highWater = latest;
+        } catch (SQLException e) {
+            log.warn("Failed to poll notifications: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        scheduler.shutdownNow();
+        if (connection != null) {
+            connection.close();
+        }
+    }
+}
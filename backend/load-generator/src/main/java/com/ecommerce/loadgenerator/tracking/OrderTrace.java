@@ -0,0 +1,107 @@
+package com.ecommerce.loadgenerator.tracking;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Timestamps ({@link System#nanoTime()}) of one order passing through the event chain.
+ * <p>
+ * Observers may see an event before the HTTP response carrying the order ID has arrived, so
+ * every stage can be recorded in any order.
+ */
+public class OrderTrace {
+
+    private static final long UNSET = -1;
+
+    private long scheduledAt = UNSET;
+    private long acceptedAt = UNSET;
+    private long paymentAt = UNSET;
+    private long notifiedAt = UNSET;
+    private boolean measured;
+    private List<String> expectedProducts = List.of();
+    private final Map<String, Long> stockUpdates = new HashMap<>();
+    private String paymentStatus;
+
+    /**
+     * Record the HTTP response for this order
+     *
+     * @param scheduledAt the intended send time, so queueing delay in the harness is not hidden
+     * @param acceptedAt the time the response arrived
+     * @param productIds the distinct products in the order
+     * @param measured false for orders sent during the warm-up
+     */
+    public synchronized void accepted(long scheduledAt, long acceptedAt, List<String> productIds, boolean measured) {
+        this.scheduledAt = scheduledAt;
+        this.acceptedAt = acceptedAt;
+        this.expectedProducts = productIds;
+        this.measured = measured;
+    }
+
+    public synchronized void stockUpdated(String productId, long at) {
+        stockUpdates.putIfAbsent(productId, at);
+    }
+
+    public synchronized void paymentCompleted(String status, long at) {
+        if (paymentAt == UNSET) {
+            paymentAt = at;
+            paymentStatus = status;
+        }
+    }
+
+    public synchronized void notified(long at) {
+        if (notifiedAt == UNSET) {
+            notifiedAt = at;
+        }
+    }
+
+    public synchronized boolean isMeasured() {
+        return measured;
+    }
+
+    public synchronized boolean isAccepted() {
+        return acceptedAt != UNSET;
+    }
+
+    public synchronized boolean isComplete() {
+        return stockAt() != UNSET && paymentAt != UNSET && notifiedAt != UNSET;
+    }
+
+    public synchronized long getScheduledAt() {
+        return scheduledAt;
+    }
+
+    public synchronized long getAcceptedAt() {
+        return acceptedAt;
+    }
+
+    /**
+     * Get the time the last of the order's products had its stock decremented
+     */
+    public synchronized long stockAt() {
+        if (expectedProducts.isEmpty() || acceptedAt == UNSET) {
+            return UNSET;
+        }
+        long latest = UNSET;
+        for (String productId : expectedProducts) {
+            Long at = stockUpdates.get(productId);
+            if (at == null) {
+                return UNSET;
+            }
+            latest = Math.max(latest, at);
+        }
+        return latest;
+    }
+
+    public synchronized long getPaymentAt() {
+        return paymentAt;
+    }
+
+    public synchronized String getPaymentStatus() {
+        return paymentStatus;
+    }
+
+    public synchronized long getNotifiedAt() {
+        return notifiedAt;
+    }
+}
@@ -0,0 +1,58 @@
+package com.ecommerce.loadgenerator.tracking;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * All orders of a run, keyed by order ID, plus counters for requests that never got one.
+ */
+public class OrderTracker {
+
+    private final Map<String, OrderTrace> traces = new ConcurrentHashMap<>();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public OrderTrace trace(String orderId) {
+        return traces.computeIfAbsent(orderId, id -> new OrderTrace());
+    }
+
+    public Collection<OrderTrace> getTraces() {
+        return traces.values();
+    }
+
+    public void onSent() {
+        sent.incrementAndGet();
+    }
+
+    public void onRejected() {
+        rejected.incrementAndGet();
+    }
+
+    public void onFailed() {
+        failed.incrementAndGet();
+    }
+
+    public long getSent() {
+        return sent.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    /**
+     * Count accepted orders that have not yet finished every stage
+     */
+    public long countOutstanding() {
+        return traces.values().stream()
+                .filter(trace -> trace.isAccepted() && !trace.isComplete())
+                .count();
+    }
+}
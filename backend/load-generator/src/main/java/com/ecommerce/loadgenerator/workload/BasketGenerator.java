@@ -0,0 +1,106 @@
+package com.ecommerce.loadgenerator.workload;
+
+import com.ecommerce.loadgenerator.config.LoadProperties;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Builds order request bodies with a realistic shape: the number of distinct products is
+ * geometric, products are picked by Zipf-distributed popularity, and quantities are uniform.
+ * Deterministic for a given seed and catalogue.
+ */
+public class BasketGenerator {
+
+    private static final String[] PAYMENT_METHODS = {"Credit Card", "CREDIT_CARD", "PAYPAL"};
+
+    private final List<CatalogueProduct> products;
+    private final LoadProperties.Basket settings;
+    private final double[] cumulativePopularity;
+    private final Random random;
+
+    public BasketGenerator(List<CatalogueProduct> products, LoadProperties.Basket settings, long seed) {
+        this.products = products;
+        this.settings = settings;
+        this.cumulativePopularity = zipfCumulative(products.size(), settings.getZipfExponent());
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Generate the next basket. Not thread-safe; called from the arrival thread only.
+     *
+     * @param userId the user placing the order
+     * @return the order request body
+     */
+    public Basket next(String userId) {
+        int itemCount = Math.min(Math.min(sampleItemCount(), settings.getMaxItems()), products.size());
+
+        Set<Integer> picked = new HashSet<>();
+        List<Map<String, Object>> items = new ArrayList<>(itemCount);
+        List<String> productIds = new ArrayList<>(itemCount);
+        BigDecimal total = BigDecimal.ZERO;
+
+        while (picked.size() < itemCount) {
+            int index = samplePopularity();
+            if (!picked.add(index)) {
+                continue;
+            }
+            CatalogueProduct product = products.get(index);
+            int quantity = 1 + random.nextInt(Math.max(1, settings.getMaxQuantity()));
+            items.add(Map.of(
+                    "productId", product.getId(),
+                    "name", product.getName(),
+                    "price", product.getPrice(),
+                    "quantity", quantity));
+            productIds.add(product.getId());
+            total = total.add(product.getPrice().multiply(BigDecimal.valueOf(quantity)));
+        }
+
+        Map<String, Object> request = Map.of(
+                "userId", userId,
+                "items", items,
+                "totalAmount", total,
+                "paymentMethod", PAYMENT_METHODS[random.nextInt(PAYMENT_METHODS.length)]);
+        return new Basket(request, productIds);
+    }
+
+    // Geometric on {1, 2, ...} with the configured mean
+    private int sampleItemCount() {
+        double mean = Math.max(1.0, settings.getMeanItems());
+        if (mean == 1.0) {
+            return 1;
+        }
+        double p = 1.0 / mean;
+        return 1 + (int) Math.floor(Math.log(1.0 - random.nextDouble()) / Math.log(1.0 - p));
+    }
+
+    private int samplePopularity() {
+        int index = Arrays.binarySearch(cumulativePopularity, random.nextDouble());
+        return index >= 0 ? index : Math.min(-index - 1, cumulativePopularity.length - 1);
+    }
+
+    private static double[] zipfCumulative(int size, double exponent) {
+        double[] cumulative = new double[size];
+        double sum = 0;
+        for (int rank = 1; rank <= size; rank++) {
+            sum += 1.0 / Math.pow(rank, exponent);
+            cumulative[rank - 1] = sum;
+        }
+        for (int i = 0; i < size; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+
+    /**
+     * An order request body and the distinct products it touches
+     */
+    public record Basket(Map<String, Object> request, List<String> productIds) {
+    }
+}
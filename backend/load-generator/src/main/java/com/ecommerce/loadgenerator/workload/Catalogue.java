@@ -0,0 +1,88 @@
+package com.ecommerce.loadgenerator.workload;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the product catalogue seeded by the inventory {@code DataInitializer} and tops up stock
+ * before a run.
+ */
+@Slf4j
+public class Catalogue {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String inventoryUrl;
+
+    public Catalogue(HttpClient httpClient, ObjectMapper objectMapper, String inventoryUrl) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper.copy().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.inventoryUrl = inventoryUrl;
+    }
+
+    /**
+     * Load all products, sorted by ID so that popularity ranks are stable across runs
+     *
+     * @return the catalogue
+     */
+    public List<CatalogueProduct> load() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(inventoryUrl + "/api/products"))
+                .timeout(TIMEOUT)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Failed to load catalogue: HTTP " + response.statusCode());
+        }
+
+        CatalogueProduct[] products = objectMapper.readValue(response.body(), CatalogueProduct[].class);
+        if (products.length == 0) {
+            throw new IllegalStateException("Catalogue is empty");
+        }
+        Arrays.sort(products, Comparator.comparing(CatalogueProduct::getId));
+        log.info("Loaded catalogue of {} products", products.length);
+        return List.of(products);
+    }
+
+    /**
+     * Raise the stock of every product to at least the given level
+     *
+     * @param products the catalogue
+     * @param level the minimum stock level
+     */
+    public void restock(List<CatalogueProduct> products, int level) throws IOException, InterruptedException {
+        for (CatalogueProduct product : products) {
+            int missing = level - (product.getStockQuantity() != null ? product.getStockQuantity() : 0);
+            if (missing <= 0) {
+                continue;
+            }
+            byte[] body = objectMapper.writeValueAsBytes(Map.of("productId", product.getId(), "quantity", missing));
+            HttpRequest request = HttpRequest.newBuilder(
+                            URI.create(inventoryUrl + "/api/products/" + product.getId() + "/increase-stock"))
+                    .timeout(TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Failed to restock " + product.getId() + ": HTTP " + response.statusCode());
+            }
+        }
+        log.info("Restocked catalogue to {} units per product", level);
+    }
+}
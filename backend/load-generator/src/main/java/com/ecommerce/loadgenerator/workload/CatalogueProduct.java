@@ -0,0 +1,20 @@
+package com.ecommerce.loadgenerator.workload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * The fields of an inventory {@code ProductResponse} needed to build orders.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogueProduct {
+    private String id;
+    private String name;
+    private BigDecimal price;
+    private Integer stockQuantity;
+}
@@ -0,0 +1,110 @@
+package com.ecommerce.loadgenerator.workload;
+
+import com.ecommerce.loadgenerator.tracking.OrderTracker;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends {@code POST /api/orders} at Poisson-distributed arrival times. Requests are sent
+ * asynchronously, so a slow system under test does not slow the arrival rate down (open model),
+ * and latency is measured from the scheduled arrival time rather than the actual send time, so
+ * any delay in the harness itself is charged to the request (no coordinated omission).
+ */
+@Slf4j
+public class OpenModelDriver {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int USER_POOL_SIZE = 1000;
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final URI ordersUri;
+    private final OrderTracker tracker;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public OpenModelDriver(HttpClient httpClient, ObjectMapper objectMapper, String orderUrl, OrderTracker tracker) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.ordersUri = URI.create(orderUrl + "/api/orders");
+        this.tracker = tracker;
+    }
+
+    /**
+     * Drive load for the warm-up and measured periods, then wait for outstanding HTTP responses
+     *
+     * @param rate mean arrivals per second
+     * @param warmup period whose orders are marked as not measured
+     * @param duration measured period
+     * @param baskets the basket source
+     * @param seed seed for the arrival process
+     */
+    public void run(double rate, Duration warmup, Duration duration, BasketGenerator baskets, long seed)
+            throws IOException, InterruptedException {
+        Random arrivals = new Random(seed);
+        double meanGapNanos = 1_000_000_000.0 / rate;
+        long start = System.nanoTime();
+        long measuredFrom = start + warmup.toNanos();
+        long end = measuredFrom + duration.toNanos();
+        long next = start;
+        int sequence = 0;
+
+        log.info("Driving {} orders/s for {} warm-up + {} measured", rate, warmup, duration);
+        while (true) {
+            next += (long) (-Math.log(1.0 - arrivals.nextDouble()) * meanGapNanos);
+            if (next >= end) {
+                break;
+            }
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            BasketGenerator.Basket basket = baskets.next("load-user-" + (sequence++ % USER_POOL_SIZE));
+            send(basket, next, next >= measuredFrom);
+        }
+
+        long deadline = System.nanoTime() + REQUEST_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        log.info("Sent {} orders, {} rejected, {} failed", tracker.getSent(), tracker.getRejected(), tracker.getFailed());
+    }
+
+    private void send(BasketGenerator.Basket basket, long scheduledAt, boolean measured) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(ordersUri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(basket.request())))
+                .build();
+
+        tracker.onSent();
+        inFlight.incrementAndGet();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, error) -> {
+                    long now = System.nanoTime();
+                    try {
+                        if (error != null) {
+                            tracker.onFailed();
+                        } else if (response.statusCode() != 201) {
+                            tracker.onRejected();
+                        } else {
+                            String orderId = objectMapper.readTree(response.body()).path("orderId").asText();
+                            tracker.trace(orderId).accepted(scheduledAt, now, basket.productIds(), measured);
+                        }
+                    } catch (IOException e) {
+                        tracker.onFailed();
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+    }
+}
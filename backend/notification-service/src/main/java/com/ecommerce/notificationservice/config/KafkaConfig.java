@@ -1,13 +1,19 @@
 package com.ecommerce.notificationservice.config;
 
 import com.ecommerce.common.config.KafkaTopics;
+import com.ecommerce.common.datasource.ReadReplicaConfig;
 import com.ecommerce.common.event.OrderEvent;
+import com.ecommerce.common.kafka.monitoring.KafkaMonitoringConfig;
+import com.ecommerce.common.tracing.TracingConfig;
+import com.ecommerce.common.kafka.monitoring.SaturationSignal;
+import com.ecommerce.notificationservice.digest.NotificationCoalescer;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.ConsumerFactory;
@@ -18,6 +24,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 @Configuration
+@Import({KafkaMonitoringConfig.class, TracingConfig.class, ReadReplicaConfig.class})
 public class KafkaConfig {
 
     @Value("${spring.kafka.bootstrap-servers}")
@@ -26,6 +33,16 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
+    @Value("${notification.digest.max-open-windows:10000}")
+    private int maxOpenDigestWindows;
+
+    // Throttle consumption while the digest buffer is close to its limit
+    @Bean
+    public SaturationSignal digestBacklogSignal(NotificationCoalescer notificationCoalescer) {
+        return SaturationSignal.of("notification-digest",
+                () -> (double) notificationCoalescer.getOpenWindowCount() / maxOpenDigestWindows);
+    }
+
     @Bean
     public NewTopic notificationsTopic() {
         return TopicBuilder.name(KafkaTopics.NOTIFICATIONS_TOPIC)
@@ -50,6 +67,7 @@ public class KafkaConfig {
     public ConcurrentKafkaListenerContainerFactory<String, OrderEvent> orderEventListenerContainerFactory() {
         ConcurrentKafkaListenerContainerFactory<String, OrderEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(orderEventConsumerFactory());
+        factory.getContainerProperties().setObservationEnabled(true);
         return factory;
     }
     
@@ -69,6 +87,7 @@ public class KafkaConfig {
     public ConcurrentKafkaListenerContainerFactory<String, Map<String, Object>> paymentEventListenerContainerFactory() {
         ConcurrentKafkaListenerContainerFactory<String, Map<String, Object>> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(paymentEventConsumerFactory());
+        factory.getContainerProperties().setObservationEnabled(true);
         return factory;
     }
     
@@ -88,6 +107,7 @@ public class KafkaConfig {
     public ConcurrentKafkaListenerContainerFactory<String, Map<String, Object>> inventoryEventListenerContainerFactory() {
         ConcurrentKafkaListenerContainerFactory<String, Map<String, Object>> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(inventoryEventConsumerFactory());
+        factory.getContainerProperties().setObservationEnabled(true);
         return factory;
     }
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.ecommerce.notificationservice.controller;
+
+import com.ecommerce.notificationservice.dto.NotificationResponse;
+import com.ecommerce.notificationservice.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/notifications")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "http://localhost:3000")
+public class NotificationController {
+
+    private final NotificationService notificationService;
+
+    @GetMapping("/order/{orderId}")
+    public ResponseEntity<List<NotificationResponse>> getNotificationsByOrderId(@PathVariable String orderId) {
+        log.debug("REST request to get notifications by order ID: {}", orderId);
+        List<NotificationResponse> responses = notificationService.getNotificationsByOrderId(orderId).stream()
+                .map(NotificationResponse::from)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(responses);
+    }
+
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<List<NotificationResponse>> getNotificationsByUserId(@PathVariable String userId) {
+        log.debug("REST request to get notifications by user ID: {}", userId);
+        List<NotificationResponse> responses = notificationService.getNotificationsByUserId(userId).stream()
+                .map(NotificationResponse::from)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(responses);
+    }
+}
@@ -0,0 +1,236 @@
+package com.ecommerce.notificationservice.digest;
+
+import com.ecommerce.common.id.TimeOrderedId;
+import com.ecommerce.notificationservice.model.Notification;
+import com.ecommerce.notificationservice.queue.NotificationQueueWorker;
+import com.ecommerce.notificationservice.queue.NotificationWorkQueue;
+import com.ecommerce.notificationservice.template.EmailTemplateEngine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Buffers notifications per order for a short window and sends them as a single
+ * combined notification, so the order and payment confirmations produced seconds apart
+ * for the same order result in one row and one email.
+ * <p>
+ * Windows are tracked by a {@link TimingWheel}; expired windows are flushed on a small
+ * dedicated executor so SMTP and database latency never stall the wheel.
+ * <p>
+ * A buffered notification is saved as PENDING under a lease owned by this instance, so the
+ * Kafka offset can be committed while it waits. A flush deletes the held rows and saves what
+ * replaces them, claimed by this instance, in one short transaction; if the instance dies or
+ * that transaction fails, the lease expires and the {@link NotificationWorkQueue} workers send
+ * the notifications individually. The email is only sent once the transaction has committed,
+ * and its outcome is recorded the way the workers record theirs.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationCoalescer {
+
+    private final EmailTemplateEngine templateEngine;
+    private final NotificationWorkQueue workQueue;
+    private final NotificationQueueWorker queueWorker;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${notification.digest.enabled:false}")
+    private boolean enabled;
+
+    @Value("${notification.digest.window-ms:5000}")
+    private long windowMillis;
+
+    @Value("${notification.digest.tick-ms:100}")
+    private long tickMillis;
+
+    @Value("${notification.digest.flush-threads:2}")
+    private int flushThreads;
+
+    // When set, flushed notifications are only saved and the work queue workers send them
+    @Value("${notification.work-queue.deferred-send:false}")
+    private boolean deferredSend;
+
+    @Value("${notification.digest.types:ORDER_CONFIRMATION,PAYMENT_CONFIRMATION}")
+    private Set<Notification.NotificationType> coalescedTypes;
+
+    private final Map<String, List<Notification>> pending = new ConcurrentHashMap<>();
+    private final String leaseToken = "digest-" + UUID.randomUUID();
+
+    private TimingWheel<String> timingWheel;
+    private ExecutorService flushExecutor;
+    private TransactionTemplate transactionTemplate;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        int wheelSize = (int) Math.max(1, windowMillis / tickMillis * 2);
+        timingWheel = new TimingWheel<>("notification-digest-wheel", tickMillis, wheelSize, this::onWindowClosed);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        flushExecutor = Executors.newFixedThreadPool(flushThreads, runnable -> {
+            Thread thread = new Thread(runnable, "notification-digest-flush-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        running = true;
+        log.info("Notification digest enabled with a {} ms window for types: {}", windowMillis, coalescedTypes);
+    }
+
+    /**
+     * Offer a notification for coalescing
+     *
+     * @param notification the notification to buffer
+     * @return true if the notification was buffered and will be sent when its window closes,
+     *         false if the caller should send it immediately
+     */
+    public boolean offer(Notification notification) {
+        if (!running || !coalescedTypes.contains(notification.getType())) {
+            return false;
+        }
+        String key = notification.getOrderId() != null ? notification.getOrderId() : notification.getUserId();
+        if (key == null) {
+            return false;
+        }
+
+        workQueue.hold(notification, leaseToken, Duration.ofMillis(windowMillis));
+        boolean[] windowOpened = new boolean[1];
+        pending.compute(key, (k, batch) -> {
+            if (batch == null) {
+                batch = new ArrayList<>(2);
+                windowOpened[0] = true;
+            }
+            batch.add(notification);
+            return batch;
+        });
+
+        if (windowOpened[0]) {
+            try {
+                timingWheel.schedule(key, windowMillis);
+            } catch (IllegalStateException e) {
+                // Stopped meanwhile, after the final flush may have run
+                flush(key);
+            }
+        }
+        log.debug("Buffered {} notification for key: {}", notification.getType(), key);
+        return true;
+    }
+
+    /**
+     * Number of keys with an open coalescing window
+     */
+    public int getOpenWindowCount() {
+        return pending.size();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        timingWheel.close();
+        // Send everything still buffered rather than losing it on shutdown
+        for (String key : new ArrayList<>(pending.keySet())) {
+            flush(key);
+        }
+        flushExecutor.shutdown();
+        try {
+            flushExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void onWindowClosed(String key) {
+        flushExecutor.execute(() -> flush(key));
+    }
+
+    private void flush(String key) {
+        List<Notification> batch = pending.remove(key);
+        if (batch == null || batch.isEmpty()) {
+            return;
+        }
+
+        Notification notification;
+        try {
+            notification = transactionTemplate.execute(status -> {
+                List<Notification> taken = workQueue.takeBack(batch);
+                if (taken.isEmpty()) {
+                    return null;
+                }
+                Notification replacement = taken.size() == 1 ? taken.get(0) : combine(key, taken);
+                workQueue.enqueue(replacement, !deferredSend);
+                log.info("Flushed {} buffered notification(s) for key: {}", taken.size(), key);
+                return replacement;
+            });
+        } catch (Exception e) {
+            // The held rows are left to the work queue once their lease expires
+            log.error("Failed to flush buffered notifications for key: {}", key, e);
+            return;
+        }
+
+        if (notification != null && !deferredSend) {
+            queueWorker.send(notification);
+        }
+    }
+
+    private Notification combine(String key, List<Notification> batch) {
+        Notification first = batch.get(0);
+
+        Set<String> titles = new LinkedHashSet<>();
+        List<Map<String, Object>> sections = new ArrayList<>(batch.size());
+        for (Notification notification : batch) {
+            String subject = notification.getSubject();
+            int separator = subject != null ? subject.indexOf(" - ") : -1;
+            titles.add(separator > 0 ? subject.substring(0, separator) : String.valueOf(subject));
+            sections.add(Map.of("content", extractBody(notification.getContent())));
+        }
+
+        String orderId = first.getOrderId() != null ? first.getOrderId() : key;
+        return Notification.builder()
+                .id(TimeOrderedId.newId())
+                .userId(first.getUserId())
+                .recipientEmail(first.getRecipientEmail())
+                .subject("Order Update - " + String.join(" | ", titles))
+                .content(templateEngine.render(Notification.NotificationType.ORDER_DIGEST,
+                        Map.of("orderId", orderId, "sections", sections)))
+                .type(Notification.NotificationType.ORDER_DIGEST)
+                .status(Notification.NotificationStatus.PENDING)
+                .orderId(first.getOrderId())
+                .build();
+    }
+
+    private static String extractBody(String html) {
+        if (html == null) {
+            return "";
+        }
+        int start = html.indexOf("<body>");
+        int end = html.lastIndexOf("</body>");
+        if (start < 0 || end < start) {
+            return html;
+        }
+        return html.substring(start + "<body>".length(), end);
+    }
+}
@@ -0,0 +1,159 @@
+package com.ecommerce.notificationservice.digest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel that fires a callback for a key once its delay has elapsed.
+ * <p>
+ * Scheduling is O(1) and lock-free: new timeouts go through a concurrent queue and are
+ * placed into buckets by the single worker thread at the start of each tick, so the bucket
+ * arrays are never shared. Delays are rounded up to whole ticks; a timeout never fires early
+ * and fires at most one tick late.
+ *
+ * @param <K> the key type handed back to the expiry callback
+ */
+@Slf4j
+public class TimingWheel<K> implements AutoCloseable {
+
+    private final long tickNanos;
+    private final ArrayDeque<Timeout<K>>[] buckets;
+    private final int mask;
+    private final Queue<Timeout<K>> incoming = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Consumer<K> onExpire;
+    private final Thread worker;
+    private final long startNanos;
+
+    private volatile boolean running = true;
+    private long currentTick;
+
+    /**
+     * Create and start a timing wheel
+     *
+     * @param name the worker thread name
+     * @param tickMillis the duration of one tick
+     * @param wheelSize the number of buckets, rounded up to a power of two
+     * @param onExpire called on the worker thread for every expired key; must not block
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(String name, long tickMillis, int wheelSize, Consumer<K> onExpire) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickMillis and wheelSize must be positive");
+        }
+        int size = Integer.highestOneBit(wheelSize - 1 == 0 ? 1 : (wheelSize - 1) << 1);
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.buckets = new ArrayDeque[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        this.mask = size - 1;
+        this.onExpire = onExpire;
+        this.startNanos = System.nanoTime();
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Schedule the callback for a key after the given delay
+     *
+     * @param key the key to pass to the callback
+     * @param delayMillis the delay in milliseconds
+     */
+    public void schedule(K key, long delayMillis) {
+        if (!running) {
+            throw new IllegalStateException("Timing wheel has been stopped");
+        }
+        long deadline = System.nanoTime() - startNanos + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+        pending.incrementAndGet();
+        incoming.add(new Timeout<>(key, deadline));
+    }
+
+    /**
+     * Number of timeouts that have been scheduled but not yet fired
+     */
+    public int pendingCount() {
+        // Counted separately because the buckets belong to the worker thread
+        return pending.get();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.NANOSECONDS.toMillis(tickNanos) * 2 + 100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            long tickDeadline = (currentTick + 1) * tickNanos;
+            long sleepNanos = tickDeadline - (System.nanoTime() - startNanos);
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    if (!running) {
+                        return;
+                    }
+                    continue;
+                }
+            }
+            currentTick++;
+            transferIncoming();
+            expireBucket(buckets[(int) (currentTick & mask)]);
+        }
+    }
+
+    private void transferIncoming() {
+        Timeout<K> timeout;
+        while ((timeout = incoming.poll()) != null) {
+            long deadlineTick = (timeout.deadlineNanos + tickNanos - 1) / tickNanos;
+            if (deadlineTick <= currentTick) {
+                deadlineTick = currentTick;
+            }
+            timeout.rounds = (deadlineTick - currentTick) / buckets.length;
+            buckets[(int) (deadlineTick & mask)].add(timeout);
+        }
+    }
+
+    private void expireBucket(ArrayDeque<Timeout<K>> bucket) {
+        Iterator<Timeout<K>> it = bucket.iterator();
+        while (it.hasNext()) {
+            Timeout<K> timeout = it.next();
+            if (timeout.rounds > 0) {
+                timeout.rounds--;
+                continue;
+            }
+            it.remove();
+            pending.decrementAndGet();
+            try {
+                onExpire.accept(timeout.key);
+            } catch (RuntimeException e) {
+                log.error("Timing wheel callback failed for key: {}", timeout.key, e);
+            }
+        }
+    }
+
+    private static final class Timeout<K> {
+        private final K key;
+        private final long deadlineNanos;
+        private long rounds;
+
+        Timeout(K key, long deadlineNanos) {
+            this.key = key;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.ecommerce.notificationservice.dto;
+
+import com.ecommerce.notificationservice.model.Notification;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationResponse {
+
+    private String id;
+
+    private String orderId;
+
+    private String userId;
+
+    private String subject;
+
+    private Notification.NotificationType type;
+
+    private Notification.NotificationStatus status;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;
+
+    // The email body and address are not returned
+    public static NotificationResponse from(Notification notification) {
+        return NotificationResponse.builder()
+                .id(notification.getId())
+                .orderId(notification.getOrderId())
+                .userId(notification.getUserId())
+                .subject(notification.getSubject())
+                .type(notification.getType())
+                .status(notification.getStatus())
+                .createdAt(notification.getCreatedAt())
+                .sentAt(notification.getSentAt())
+                .build();
+    }
+}
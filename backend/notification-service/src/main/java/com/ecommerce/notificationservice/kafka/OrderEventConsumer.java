@@ -3,14 +3,18 @@ package com.ecommerce.notificationservice.kafka;
 import com.ecommerce.common.config.KafkaTopics;
 import com.ecommerce.common.event.OrderEvent;
 import com.ecommerce.common.model.OrderItem;
+import com.ecommerce.common.money.Money;
 import com.ecommerce.notificationservice.service.NotificationService;
+import com.ecommerce.notificationservice.template.EmailTemplateEngine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
-import java.util.stream.Collectors;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
@@ -18,6 +22,7 @@ import java.util.stream.Collectors;
 public class OrderEventConsumer {
 
     private final NotificationService notificationService;
+    private final EmailTemplateEngine templateEngine;
 
     @KafkaListener(
             topics = KafkaTopics.ORDERS_TOPIC,
@@ -44,12 +49,12 @@ public class OrderEventConsumer {
                 sendOrderCancelledNotification(orderEvent);
                 break;
             default:
-                log.info("No notification needed for order status: {}", orderEvent.getStatus());
+                log.debug("No notification needed for order status: {}", orderEvent.getStatus());
         }
     }
     
     private void sendOrderCreatedNotification(OrderEvent orderEvent) {
-        log.info("Sending order created notification for order: {}", orderEvent.getOrderId());
+        log.debug("Sending order created notification for order: {}", orderEvent.getOrderId());
         
         // For demo purposes, we're using a dummy email
         String recipientEmail = "customer@example.com";
@@ -66,7 +71,7 @@ public class OrderEventConsumer {
     }
     
     private void sendOrderShippedNotification(OrderEvent orderEvent) {
-        log.info("Sending order shipped notification for order: {}", orderEvent.getOrderId());
+        log.debug("Sending order shipped notification for order: {}", orderEvent.getOrderId());
         
         // For demo purposes, we're using a dummy email
         String recipientEmail = "customer@example.com";
@@ -82,7 +87,7 @@ public class OrderEventConsumer {
     }
     
     private void sendOrderDeliveredNotification(OrderEvent orderEvent) {
-        log.info("Sending order delivered notification for order: {}", orderEvent.getOrderId());
+        log.debug("Sending order delivered notification for order: {}", orderEvent.getOrderId());
         
         // For demo purposes, we're using a dummy email
         String recipientEmail = "customer@example.com";
@@ -98,7 +103,7 @@ public class OrderEventConsumer {
     }
     
     private void sendOrderCancelledNotification(OrderEvent orderEvent) {
-        log.info("Sending order cancelled notification for order: {}", orderEvent.getOrderId());
+        log.debug("Sending order cancelled notification for order: {}", orderEvent.getOrderId());
         
         // For demo purposes, we're using a dummy email
         String recipientEmail = "customer@example.com";
@@ -114,28 +119,23 @@ public class OrderEventConsumer {
     }
     
     private String buildOrderDetailsHtml(OrderEvent orderEvent) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("<table border='1' cellpadding='5' cellspacing='0' style='border-collapse: collapse;'>");
-        sb.append("<tr><th>Product</th><th>Quantity</th><th>Price</th><th>Subtotal</th></tr>");
-        
-        BigDecimal total = BigDecimal.ZERO;
+        List<Map<String, Object>> rows = new ArrayList<>(orderEvent.getItems().size());
+        Money total = Money.zero();
         
         for (OrderItem item : orderEvent.getItems()) {
-            BigDecimal subtotal = item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity()));
-            total = total.add(subtotal);
+            Money subtotal = item.getPrice().times(item.getQuantity());
+            total = total.plus(subtotal);
             
-            sb.append("<tr>");
-            sb.append("<td>").append(item.getName()).append("</td>");
-            sb.append("<td>").append(item.getQuantity()).append("</td>");
-            sb.append("<td>$").append(item.getPrice()).append("</td>");
-            sb.append("<td>$").append(subtotal).append("</td>");
-            sb.append("</tr>");
+            // A HashMap, as Map.of rejects null values such as an item without a name
+            Map<String, Object> row = new HashMap<>();
+            row.put("name", item.getName());
+            row.put("quantity", item.getQuantity());
+            row.put("price", item.getPrice());
+            row.put("subtotal", subtotal);
+            rows.add(row);
         }
         
-        sb.append("<tr><td colspan='3' align='right'><strong>Total:</strong></td><td>$")
-                .append(total).append("</td></tr>");
-        sb.append("</table>");
-        
-        return sb.toString();
+        return templateEngine.render(EmailTemplateEngine.ORDER_DETAILS_FRAGMENT, null,
+                Map.of("items", rows, "total", total));
     }
 }
\ No newline at end of file
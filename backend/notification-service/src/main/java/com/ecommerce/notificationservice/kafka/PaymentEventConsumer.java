@@ -1,13 +1,17 @@
 package com.ecommerce.notificationservice.kafka;
 
 import com.ecommerce.common.config.KafkaTopics;
+import com.ecommerce.common.money.Money;
 import com.ecommerce.notificationservice.service.NotificationService;
+import com.ecommerce.notificationservice.template.EmailTemplateEngine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.Map;
 
 @Component
@@ -15,7 +19,10 @@ import java.util.Map;
 @Slf4j
 public class PaymentEventConsumer {
 
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
     private final NotificationService notificationService;
+    private final EmailTemplateEngine templateEngine;
 
     @KafkaListener(
             topics = KafkaTopics.PAYMENT_EVENTS_TOPIC,
@@ -40,19 +47,19 @@ public class PaymentEventConsumer {
                 sendRefundIssuedNotification(paymentEvent);
                 break;
             default:
-                log.info("No notification needed for payment status: {}", status);
+                log.debug("No notification needed for payment status: {}", status);
         }
     }
     
     private void sendPaymentCompletedNotification(Map<String, Object> paymentEvent) {
-        log.info("Sending payment completed notification for order: {}", paymentEvent.get("orderId"));
+        log.debug("Sending payment completed notification for order: {}", paymentEvent.get("orderId"));
         
         String orderId = (String) paymentEvent.get("orderId");
         String userId = "user123"; // This would typically come from the event or be looked up
         String recipientEmail = "customer@example.com"; // This would typically come from user info
         
         // Format payment details
-        BigDecimal amount = new BigDecimal(paymentEvent.get("amount").toString());
+        Money amount = Money.parse(paymentEvent.get("amount").toString());
         String paymentDetails = buildPaymentDetailsHtml(paymentEvent, amount);
         
         notificationService.sendPaymentConfirmation(
@@ -64,7 +71,7 @@ public class PaymentEventConsumer {
     }
     
     private void sendPaymentFailedNotification(Map<String, Object> paymentEvent) {
-        log.info("Sending payment failed notification for order: {}", paymentEvent.get("orderId"));
+        log.debug("Sending payment failed notification for order: {}", paymentEvent.get("orderId"));
         
         String orderId = (String) paymentEvent.get("orderId");
         String userId = "user123"; // This would typically come from the event or be looked up
@@ -82,13 +89,13 @@ public class PaymentEventConsumer {
     }
     
     private void sendRefundIssuedNotification(Map<String, Object> paymentEvent) {
-        log.info("Sending refund notification for order: {}", paymentEvent.get("orderId"));
+        log.debug("Sending refund notification for order: {}", paymentEvent.get("orderId"));
         
         String orderId = (String) paymentEvent.get("orderId");
         String userId = "user123"; // This would typically come from the event or be looked up
         String recipientEmail = "customer@example.com"; // This would typically come from user info
         
-        BigDecimal amount = new BigDecimal(paymentEvent.get("amount").toString());
+        Money amount = Money.parse(paymentEvent.get("amount").toString());
         String refundDetails = "A refund of $" + amount + " has been issued to your original payment method.";
         
         notificationService.processEventNotification(
@@ -100,19 +107,13 @@ public class PaymentEventConsumer {
         );
     }
     
-    private String buildPaymentDetailsHtml(Map<String, Object> paymentEvent, BigDecimal amount) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("<table border='1' cellpadding='5' cellspacing='0' style='border-collapse: collapse;'>");
-        sb.append("<tr><th>Payment Information</th><th>Details</th></tr>");
-        
-        sb.append("<tr><td>Order ID</td><td>").append(paymentEvent.get("orderId")).append("</td></tr>");
-        sb.append("<tr><td>Transaction ID</td><td>").append(paymentEvent.get("paymentId")).append("</td></tr>");
-        sb.append("<tr><td>Amount</td><td>$").append(amount).append("</td></tr>");
-        sb.append("<tr><td>Payment Method</td><td>Credit Card (ending in XXXX)</td></tr>");
-        sb.append("<tr><td>Status</td><td>Completed</td></tr>");
-        sb.append("<tr><td>Date</td><td>").append(java.time.LocalDateTime.now().format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))).append("</td></tr>");
+    private String buildPaymentDetailsHtml(Map<String, Object> paymentEvent, Money amount) {
+        Map<String, Object> model = new HashMap<>();
+        model.put("orderId", paymentEvent.get("orderId"));
+        model.put("paymentId", paymentEvent.get("paymentId"));
+        model.put("amount", amount);
+        model.put("date", LocalDateTime.now().format(DATE_FORMAT));
         
-        sb.append("</table>");
-        return sb.toString();
+        return templateEngine.render(EmailTemplateEngine.PAYMENT_DETAILS_FRAGMENT, null, model);
     }
 }
\ No newline at end of file
@@ -9,7 +9,9 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_status_next_attempt", columnList = "status, next_attempt_at")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -39,6 +41,15 @@ public class Notification {
     
     private LocalDateTime sentAt;
     
+    // Work queue state (see NotificationWorkQueue); null on rows written before it existed
+    private Integer attempts;
+    
+    private LocalDateTime nextAttemptAt;
+    
+    private String leaseToken;
+    
+    private LocalDateTime leaseExpiresAt;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -50,7 +61,8 @@ public class Notification {
         ORDER_DELIVERED,
         PAYMENT_CONFIRMATION,
         PAYMENT_FAILURE,
-        REFUND_ISSUED
+        REFUND_ISSUED,
+        ORDER_DIGEST
     }
     
     public enum NotificationStatus {
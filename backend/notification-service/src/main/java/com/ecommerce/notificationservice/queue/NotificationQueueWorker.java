@@ -0,0 +1,145 @@
+package com.ecommerce.notificationservice.queue;
+
+import com.ecommerce.notificationservice.model.Notification;
+import com.ecommerce.notificationservice.service.EmailService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends notifications claimed from the {@link NotificationWorkQueue}: failed sends due for a
+ * retry, and new notifications when sending is deferred to the queue. Every instance runs its
+ * own workers; claims never overlap, so adding instances adds sending capacity.
+ * <p>
+ * A worker claims a batch, sends it and claims again straight away, and only sleeps for
+ * {@code poll-interval-ms} once nothing is due. It stops starting new sends once half of the
+ * batch's lease has passed, leaving the rest to be claimed again when the lease expires, so that
+ * a send is never still running when another instance may take the same notification over.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationQueueWorker {
+
+    private final NotificationWorkQueue workQueue;
+    private final EmailService emailService;
+
+    @Value("${notification.work-queue.enabled:true}")
+    private boolean enabled;
+
+    @Value("${notification.work-queue.workers:2}")
+    private int workers;
+
+    @Value("${notification.work-queue.batch-size:20}")
+    private int batchSize;
+
+    @Value("${notification.work-queue.poll-interval-ms:1000}")
+    private long pollIntervalMillis;
+
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "notification-queue-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workers; i++) {
+            executor.execute(this::runWorker);
+        }
+        log.info("Notification work queue started with {} worker(s), batches of {}", workers, batchSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!enabled) {
+            return;
+        }
+        // Claimed but unsent notifications are picked up again when their lease expires
+        running = false;
+        executor.shutdown();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runWorker() {
+        while (running) {
+            try {
+                if (drainBatch() == 0) {
+                    Thread.sleep(pollIntervalMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // e.g. the database is unavailable; back off and try again
+                log.error("Notification work queue poll failed", e);
+                try {
+                    Thread.sleep(pollIntervalMillis);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private int drainBatch() {
+        List<Notification> batch = workQueue.claim(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        long sendDeadline = System.nanoTime() + workQueue.getLease().toNanos() / 2;
+        int sent = 0;
+        for (Notification notification : batch) {
+            if (!running || System.nanoTime() > sendDeadline) {
+                log.warn("Leaving {} claimed notification(s) to be claimed again", batch.size() - sent);
+                break;
+            }
+            send(notification);
+            sent++;
+        }
+        return sent;
+    }
+
+    /**
+     * Send a claimed notification and record the outcome under its lease
+     *
+     * @param notification a notification claimed by the caller
+     */
+    public void send(Notification notification) {
+        try {
+            emailService.sendEmail(notification.getRecipientEmail(), notification.getSubject(),
+                    notification.getContent());
+        } catch (Exception e) {
+            log.warn("Attempt {} to send notification {} failed: {}",
+                    notification.getAttempts(), notification.getId(), e.getMessage());
+            workQueue.markFailed(notification);
+            return;
+        }
+        if (workQueue.markSent(notification)) {
+            log.info("Notification sent from the work queue: {}", notification.getId());
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.ecommerce.notificationservice.queue;
+
+import com.ecommerce.notificationservice.model.Notification;
+import com.ecommerce.notificationservice.repository.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The notifications table used as a work queue shared by every notification-service instance.
+ * <p>
+ * A claim locks due rows with {@code FOR UPDATE SKIP LOCKED}, stamps them with a lease token and
+ * an expiry, and commits. The row locks are only held for that short transaction; from then on
+ * the lease keeps other instances away until it expires, so a notification claimed by an
+ * instance that dies is picked up again once its lease runs out. The outcome is only written if
+ * the lease token still matches. Instances' clocks are assumed to agree to well within the lease.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationWorkQueue {
+
+    private final NotificationRepository notificationRepository;
+
+    @Value("${notification.work-queue.lease:60s}")
+    private Duration lease;
+
+    @Value("${notification.work-queue.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${notification.work-queue.backoff-initial:30s}")
+    private Duration backoffInitial;
+
+    @Value("${notification.work-queue.backoff-max:30m}")
+    private Duration backoffMax;
+
+    /**
+     * Lease up to batchSize pending or failed notifications that are due to be sent
+     *
+     * @param batchSize the maximum number of notifications to claim
+     * @return the claimed notifications, sharing one lease token and expiry
+     */
+    @Transactional
+    public List<Notification> claim(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> claimed = notificationRepository.lockDueForSending(now, maxAttempts, batchSize);
+        if (claimed.isEmpty()) {
+            return claimed;
+        }
+
+        String leaseToken = UUID.randomUUID().toString();
+        LocalDateTime leaseExpiresAt = now.plus(lease);
+        for (Notification notification : claimed) {
+            notification.setLeaseToken(leaseToken);
+            notification.setLeaseExpiresAt(leaseExpiresAt);
+            notification.setAttempts(attemptsOf(notification) + 1);
+        }
+        log.debug("Claimed {} notification(s) until {}", claimed.size(), leaseExpiresAt);
+        return claimed;
+    }
+
+    /**
+     * Mark a claimed notification as sent
+     *
+     * @param notification the claimed notification
+     * @return false if the lease had already been lost
+     */
+    @Transactional
+    public boolean markSent(Notification notification) {
+        return release(notification, Notification.NotificationStatus.SENT, LocalDateTime.now(), null);
+    }
+
+    /**
+     * Mark a claimed notification as failed, to be retried after a backoff unless it has run out of attempts
+     *
+     * @param notification the claimed notification
+     * @return false if the lease had already been lost
+     */
+    @Transactional
+    public boolean markFailed(Notification notification) {
+        int attempts = attemptsOf(notification);
+        if (attempts >= maxAttempts) {
+            log.error("Giving up on notification {} after {} attempts", notification.getId(), attempts);
+            return release(notification, Notification.NotificationStatus.FAILED, null, null);
+        }
+        return release(notification, Notification.NotificationStatus.FAILED, null, nextAttemptAt(attempts));
+    }
+
+    /**
+     * Get when a notification that has failed the given number of attempts is due to be retried
+     *
+     * @param attempts the number of attempts made so far
+     * @return the time of the next attempt
+     */
+    public LocalDateTime nextAttemptAt(int attempts) {
+        return LocalDateTime.now().plus(backoff(attempts));
+    }
+
+    /**
+     * Save a new notification as pending but leased to the caller, e.g. while it is buffered for a
+     * digest. If the caller never takes it back, the lease expires and the workers send it like any
+     * other pending notification.
+     *
+     * @param notification the notification to save
+     * @param leaseToken the caller's lease token
+     * @param holdFor how long the caller needs it, before the lease itself
+     * @return the saved notification
+     */
+    @Transactional
+    public Notification hold(Notification notification, String leaseToken, Duration holdFor) {
+        LocalDateTime now = LocalDateTime.now();
+        notification.setStatus(Notification.NotificationStatus.PENDING);
+        notification.setNextAttemptAt(now);
+        notification.setLeaseToken(leaseToken);
+        notification.setLeaseExpiresAt(now.plus(holdFor).plus(lease));
+        return notificationRepository.save(notification);
+    }
+
+    /**
+     * Delete held notifications whose lease the caller still has, so the caller can send them in
+     * another form. Joins the caller's transaction, so the deletion commits with what replaces them.
+     *
+     * @param held notifications returned by {@link #hold}
+     * @return the notifications deleted; the others have been claimed by the workers
+     */
+    @Transactional
+    public List<Notification> takeBack(List<Notification> held) {
+        List<Notification> taken = new ArrayList<>(held.size());
+        for (Notification notification : held) {
+            if (notificationRepository.deleteLeased(notification.getId(), notification.getLeaseToken()) == 1) {
+                taken.add(notification);
+            } else {
+                log.warn("Lease on held notification {} expired; it is sent by the work queue", notification.getId());
+            }
+        }
+        return taken;
+    }
+
+    /**
+     * Save a new notification to be sent, e.g. one replacing notifications taken back with
+     * {@link #takeBack}. When claimed, it is leased to the caller, who sends it and records the
+     * outcome with {@link #markSent} or {@link #markFailed}; the workers only send it if the lease
+     * expires first.
+     *
+     * @param notification the notification to save
+     * @param claim whether to lease it to the caller, otherwise it is left to the workers
+     * @return the saved notification
+     */
+    @Transactional
+    public Notification enqueue(Notification notification, boolean claim) {
+        LocalDateTime now = LocalDateTime.now();
+        notification.setStatus(Notification.NotificationStatus.PENDING);
+        notification.setNextAttemptAt(now);
+        if (claim) {
+            notification.setLeaseToken(UUID.randomUUID().toString());
+            notification.setLeaseExpiresAt(now.plus(lease));
+            notification.setAttempts(attemptsOf(notification) + 1);
+        } else {
+            notification.setLeaseToken(null);
+            notification.setLeaseExpiresAt(null);
+        }
+        return notificationRepository.save(notification);
+    }
+
+    /**
+     * Get how long a claim is leased for
+     */
+    public Duration getLease() {
+        return lease;
+    }
+
+    private boolean release(Notification notification, Notification.NotificationStatus status,
+                            LocalDateTime sentAt, LocalDateTime nextAttemptAt) {
+        int updated = notificationRepository.releaseLease(notification.getId(), notification.getLeaseToken(),
+                status, sentAt, nextAttemptAt);
+        if (updated == 0) {
+            log.warn("Lease on notification {} expired before it was released; outcome {} not recorded",
+                    notification.getId(), status);
+            return false;
+        }
+        return true;
+    }
+
+    // Doubles from backoff-initial after each failed attempt, up to backoff-max
+    private Duration backoff(int attempts) {
+        Duration delay = backoffInitial.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(backoffMax) > 0 ? backoffMax : delay;
+    }
+
+    private static int attemptsOf(Notification notification) {
+        return notification.getAttempts() != null ? notification.getAttempts() : 0;
+    }
+}
@@ -2,8 +2,12 @@ package com.ecommerce.notificationservice.repository;
 
 import com.ecommerce.notificationservice.model.Notification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -16,4 +20,46 @@ public interface NotificationRepository extends JpaRepository<Notification, Stri
     List<Notification> findByStatus(Notification.NotificationStatus status);
     
     List<Notification> findByType(Notification.NotificationType type);
-}
\ No newline at end of file
+    
+    /**
+     * Lock up to limit notifications that are due to be sent and not leased by anyone. Rows already
+     * locked by another transaction are skipped rather than waited for, so concurrent callers get
+     * different rows.
+     */
+    @Query(value = "SELECT * FROM notifications"
+            + " WHERE status IN ('PENDING', 'FAILED')"
+            + " AND COALESCE(attempts, 0) < :maxAttempts"
+            + " AND (next_attempt_at IS NULL OR next_attempt_at <= :now)"
+            + " AND (lease_expires_at IS NULL OR lease_expires_at <= :now)"
+            + " ORDER BY COALESCE(next_attempt_at, created_at)"
+            + " LIMIT :limit"
+            + " FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Notification> lockDueForSending(@Param("now") LocalDateTime now,
+                                         @Param("maxAttempts") int maxAttempts,
+                                         @Param("limit") int limit);
+    
+    /**
+     * Record the outcome of a leased send and release the lease, unless the lease has since been
+     * taken over by another claim
+     *
+     * @return 1 if the lease was still held, otherwise 0
+     */
+    @Modifying
+    @Query("UPDATE Notification n SET n.status = :status, n.sentAt = :sentAt, n.nextAttemptAt = :nextAttemptAt,"
+            + " n.leaseToken = null, n.leaseExpiresAt = null"
+            + " WHERE n.id = :id AND n.leaseToken = :leaseToken")
+    int releaseLease(@Param("id") String id,
+                     @Param("leaseToken") String leaseToken,
+                     @Param("status") Notification.NotificationStatus status,
+                     @Param("sentAt") LocalDateTime sentAt,
+                     @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+    
+    /**
+     * Delete a notification, unless its lease has since been taken over by another claim
+     *
+     * @return 1 if the lease was still held, otherwise 0
+     */
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id = :id AND n.leaseToken = :leaseToken")
+    int deleteLeased(@Param("id") String id, @Param("leaseToken") String leaseToken);
+}
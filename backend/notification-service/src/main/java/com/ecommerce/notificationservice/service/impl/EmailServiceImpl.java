@@ -22,7 +22,7 @@ public class EmailServiceImpl implements EmailService {
 
     @Override
     public void sendEmail(String to, String subject, String content) {
-        log.info("Sending email to: {}", to);
+        log.debug("Sending email to: {}", to);
         
         try {
             MimeMessage message = mailSender.createMimeMessage();
@@ -34,7 +34,7 @@ public class EmailServiceImpl implements EmailService {
             helper.setText(content, true); // true means content is HTML
             
             mailSender.send(message);
-            log.info("Email sent successfully to: {}", to);
+            log.debug("Email sent successfully to: {}", to);
         } catch (MessagingException e) {
             log.error("Failed to send email to: {}", to, e);
             throw new RuntimeException("Failed to send email", e);
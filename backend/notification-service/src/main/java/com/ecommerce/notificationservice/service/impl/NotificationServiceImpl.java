@@ -1,17 +1,23 @@
 package com.ecommerce.notificationservice.service.impl;
 
+import com.ecommerce.common.id.TimeOrderedId;
+import com.ecommerce.notificationservice.digest.NotificationCoalescer;
 import com.ecommerce.notificationservice.model.Notification;
+import com.ecommerce.notificationservice.queue.NotificationWorkQueue;
 import com.ecommerce.notificationservice.repository.NotificationRepository;
 import com.ecommerce.notificationservice.service.EmailService;
 import com.ecommerce.notificationservice.service.NotificationService;
+import com.ecommerce.notificationservice.template.EmailTemplateEngine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -20,15 +26,22 @@ public class NotificationServiceImpl implements NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final EmailService emailService;
+    private final EmailTemplateEngine templateEngine;
+    private final NotificationCoalescer notificationCoalescer;
+    private final NotificationWorkQueue workQueue;
+
+    // When set, notifications are only saved here and the work queue workers send them
+    @Value("${notification.work-queue.deferred-send:false}")
+    private boolean deferredSend;
 
     @Override
     @Transactional
     public Notification sendNotification(Notification notification) {
-        log.info("Sending notification: {}", notification.getType());
+        log.debug("Sending notification: {}", notification.getType());
         
         // Set generated ID if not provided
         if (notification.getId() == null) {
-            notification.setId(UUID.randomUUID().toString());
+            notification.setId(TimeOrderedId.newId());
         }
         
         // Set status to PENDING if not set
@@ -36,6 +49,12 @@ public class NotificationServiceImpl implements NotificationService {
             notification.setStatus(Notification.NotificationStatus.PENDING);
         }
         
+        if (deferredSend && notification.getStatus() == Notification.NotificationStatus.PENDING) {
+            notification.setNextAttemptAt(LocalDateTime.now());
+            log.debug("Queued notification: {}", notification.getId());
+            return notificationRepository.save(notification);
+        }
+        
         // Save notification before sending
         Notification savedNotification = notificationRepository.save(notification);
         
@@ -54,7 +73,10 @@ public class NotificationServiceImpl implements NotificationService {
             log.info("Notification sent successfully: {}", savedNotification.getId());
         } catch (Exception e) {
             log.error("Failed to send notification: {}", savedNotification.getId(), e);
+            // Retried by the work queue
             savedNotification.setStatus(Notification.NotificationStatus.FAILED);
+            savedNotification.setAttempts(1);
+            savedNotification.setNextAttemptAt(workQueue.nextAttemptAt(1));
         }
         
         // Save the updated notification
@@ -63,13 +85,13 @@ public class NotificationServiceImpl implements NotificationService {
 
     @Override
     public Notification sendOrderConfirmation(String orderId, String userId, String recipientEmail, String orderDetails) {
-        log.info("Creating order confirmation notification for order: {}", orderId);
+        log.debug("Creating order confirmation notification for order: {}", orderId);
         
         String subject = "Order Confirmation - Your order has been placed";
         String content = buildOrderConfirmationEmail(orderId, orderDetails);
         
         Notification notification = Notification.builder()
-                .id(UUID.randomUUID().toString())
+                .id(TimeOrderedId.newId())
                 .userId(userId)
                 .recipientEmail(recipientEmail)
                 .subject(subject)
@@ -79,18 +101,18 @@ public class NotificationServiceImpl implements NotificationService {
                 .orderId(orderId)
                 .build();
         
-        return sendNotification(notification);
+        return dispatch(notification);
     }
 
     @Override
     public Notification sendPaymentConfirmation(String orderId, String userId, String recipientEmail, String paymentDetails) {
-        log.info("Creating payment confirmation notification for order: {}", orderId);
+        log.debug("Creating payment confirmation notification for order: {}", orderId);
         
         String subject = "Payment Confirmation - Your payment has been processed";
         String content = buildPaymentConfirmationEmail(orderId, paymentDetails);
         
         Notification notification = Notification.builder()
-                .id(UUID.randomUUID().toString())
+                .id(TimeOrderedId.newId())
                 .userId(userId)
                 .recipientEmail(recipientEmail)
                 .subject(subject)
@@ -100,18 +122,18 @@ public class NotificationServiceImpl implements NotificationService {
                 .orderId(orderId)
                 .build();
         
-        return sendNotification(notification);
+        return dispatch(notification);
     }
 
     @Override
     public Notification sendPaymentFailure(String orderId, String userId, String recipientEmail, String failureReason) {
-        log.info("Creating payment failure notification for order: {}", orderId);
+        log.debug("Creating payment failure notification for order: {}", orderId);
         
         String subject = "Payment Failed - Action Required";
         String content = buildPaymentFailureEmail(orderId, failureReason);
         
         Notification notification = Notification.builder()
-                .id(UUID.randomUUID().toString())
+                .id(TimeOrderedId.newId())
                 .userId(userId)
                 .recipientEmail(recipientEmail)
                 .subject(subject)
@@ -121,24 +143,26 @@ public class NotificationServiceImpl implements NotificationService {
                 .orderId(orderId)
                 .build();
         
-        return sendNotification(notification);
+        return dispatch(notification);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Notification> getNotificationsByUserId(String userId) {
-        log.info("Getting notifications for user: {}", userId);
+        log.debug("Getting notifications for user: {}", userId);
         return notificationRepository.findByUserId(userId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Notification> getNotificationsByOrderId(String orderId) {
-        log.info("Getting notifications for order: {}", orderId);
+        log.debug("Getting notifications for order: {}", orderId);
         return notificationRepository.findByOrderId(orderId);
     }
 
     @Override
     public Notification processEventNotification(String eventType, String orderId, String userId, String recipientEmail, String details) {
-        log.info("Processing event notification type: {} for order: {}", eventType, orderId);
+        log.debug("Processing event notification type: {} for order: {}", eventType, orderId);
         
         switch (eventType) {
             case "ORDER_CREATED":
@@ -153,45 +177,38 @@ public class NotificationServiceImpl implements NotificationService {
         }
     }
     
+    /**
+     * Send now, or hand over to the coalescer when digest mode buffers this type.
+     * A buffered notification is returned saved as PENDING under the coalescer's lease.
+     */
+    private Notification dispatch(Notification notification) {
+        if (notificationCoalescer.offer(notification)) {
+            return notification;
+        }
+        return sendNotification(notification);
+    }
+    
     // Helper methods to build email content
     private String buildOrderConfirmationEmail(String orderId, String orderDetails) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("<html><body>");
-        sb.append("<h1>Order Confirmation</h1>");
-        sb.append("<p>Thank you for your order!</p>");
-        sb.append("<p>Order ID: ").append(orderId).append("</p>");
-        sb.append("<h2>Order Details:</h2>");
-        sb.append("<div>").append(orderDetails).append("</div>");
-        sb.append("<p>If you have any questions, please contact our customer support.</p>");
-        sb.append("<p>Best regards,<br>The ReactShop Team</p>");
-        sb.append("</body></html>");
-        return sb.toString();
+        return templateEngine.render(Notification.NotificationType.ORDER_CONFIRMATION,
+                model(orderId, "orderDetails", orderDetails));
     }
     
     private String buildPaymentConfirmationEmail(String orderId, String paymentDetails) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("<html><body>");
-        sb.append("<h1>Payment Confirmation</h1>");
-        sb.append("<p>Your payment for order ").append(orderId).append(" has been successfully processed.</p>");
-        sb.append("<h2>Payment Details:</h2>");
-        sb.append("<div>").append(paymentDetails).append("</div>");
-        sb.append("<p>Thank you for your purchase!</p>");
-        sb.append("<p>Best regards,<br>The ReactShop Team</p>");
-        sb.append("</body></html>");
-        return sb.toString();
+        return templateEngine.render(Notification.NotificationType.PAYMENT_CONFIRMATION,
+                model(orderId, "paymentDetails", paymentDetails));
     }
     
     private String buildPaymentFailureEmail(String orderId, String failureReason) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("<html><body>");
-        sb.append("<h1>Payment Failed</h1>");
-        sb.append("<p>We were unable to process your payment for order ").append(orderId).append(".</p>");
-        sb.append("<h2>Reason:</h2>");
-        sb.append("<p>").append(failureReason).append("</p>");
-        sb.append("<p>Please review your payment information and try again.</p>");
-        sb.append("<p>If you continue to experience issues, please contact our customer support.</p>");
-        sb.append("<p>Best regards,<br>The ReactShop Team</p>");
-        sb.append("</body></html>");
-        return sb.toString();
+        return templateEngine.render(Notification.NotificationType.PAYMENT_FAILURE,
+                model(orderId, "failureReason", failureReason));
+    }
+    
+    // Map.of rejects null values, and the details or reason of an event may be missing
+    private static Map<String, Object> model(String orderId, String name, String value) {
+        Map<String, Object> model = new HashMap<>();
+        model.put("orderId", orderId);
+        model.put(name, value);
+        return model;
     }
 }
\ No newline at end of file
@@ -0,0 +1,223 @@
+package com.ecommerce.notificationservice.template;
+
+import com.ecommerce.common.money.Money;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An email template parsed once into an array of literal and placeholder segments.
+ * <p>
+ * Supported syntax:
+ * <ul>
+ *     <li>{@code {{name}}} - value is HTML-escaped</li>
+ *     <li>{@code {{{name}}}} - value is written as-is (for pre-rendered fragments)</li>
+ *     <li>{@code {{#name}}...{{/name}}} - section rendered once per element when the value is an
+ *     {@link Iterable} of models, once with the nested model when it is a {@link Map}, or once with
+ *     the current model when it is {@code Boolean.TRUE}</li>
+ * </ul>
+ * Instances are immutable and safe to share between threads.
+ */
+public final class CompiledTemplate {
+
+    private final String name;
+    private final int version;
+    private final Segment[] segments;
+
+    private CompiledTemplate(String name, int version, Segment[] segments) {
+        this.name = name;
+        this.version = version;
+        this.segments = segments;
+    }
+
+    /**
+     * Parse template source into a compiled template
+     *
+     * @param name the template name, used in error messages
+     * @param version the template version
+     * @param source the template source
+     * @return the compiled template
+     */
+    public static CompiledTemplate compile(String name, int version, String source) {
+        List<Segment> segments = new ArrayList<>();
+        int end = parse(name, source, 0, null, segments);
+        if (end != source.length()) {
+            throw new IllegalArgumentException("Unexpected content at offset " + end + " in template " + name);
+        }
+        return new CompiledTemplate(name, version, segments.toArray(new Segment[0]));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Render this template into the given buffer
+     *
+     * @param out the buffer to append to
+     * @param model the values referenced by the template
+     */
+    public void renderTo(StringBuilder out, Map<String, ?> model) {
+        renderSegments(segments, out, model);
+    }
+
+    private static void renderSegments(Segment[] segments, StringBuilder out, Map<String, ?> model) {
+        for (Segment segment : segments) {
+            segment.render(out, model);
+        }
+    }
+
+    private static int parse(String name, String source, int pos, String closingTag, List<Segment> out) {
+        int length = source.length();
+        while (pos < length) {
+            int open = source.indexOf("{{", pos);
+            if (open < 0) {
+                break;
+            }
+            if (open > pos) {
+                out.add(new Literal(source.substring(pos, open)));
+            }
+
+            if (source.startsWith("{{{", open)) {
+                int close = requireClose(name, source, open + 3, "}}}");
+                out.add(new RawValue(source.substring(open + 3, close).trim()));
+                pos = close + 3;
+                continue;
+            }
+
+            int close = requireClose(name, source, open + 2, "}}");
+            String tag = source.substring(open + 2, close).trim();
+            pos = close + 2;
+
+            if (tag.startsWith("#")) {
+                String sectionName = tag.substring(1).trim();
+                List<Segment> children = new ArrayList<>();
+                pos = parse(name, source, pos, sectionName, children);
+                out.add(new Section(sectionName, children.toArray(new Segment[0])));
+            } else if (tag.startsWith("/")) {
+                String endName = tag.substring(1).trim();
+                if (!endName.equals(closingTag)) {
+                    throw new IllegalArgumentException("Unexpected closing tag {{/" + endName + "}} in template " + name);
+                }
+                return pos;
+            } else {
+                out.add(new EscapedValue(tag));
+            }
+        }
+
+        if (closingTag != null) {
+            throw new IllegalArgumentException("Unclosed section {{#" + closingTag + "}} in template " + name);
+        }
+        if (pos < length) {
+            out.add(new Literal(source.substring(pos)));
+        }
+        return length;
+    }
+
+    private static int requireClose(String name, String source, int from, String delimiter) {
+        int close = source.indexOf(delimiter, from);
+        if (close < 0) {
+            throw new IllegalArgumentException("Unterminated tag at offset " + from + " in template " + name);
+        }
+        return close;
+    }
+
+    private static void appendDecimal(StringBuilder out, BigDecimal value) {
+        // BigDecimal caches its toString(), which is already plain for money-like scales
+        int scale = value.scale();
+        out.append(scale >= 0 && scale <= 6 ? value.toString() : value.toPlainString());
+    }
+
+    private interface Segment {
+        void render(StringBuilder out, Map<String, ?> model);
+    }
+
+    private static final class Literal implements Segment {
+        private final String text;
+
+        Literal(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public void render(StringBuilder out, Map<String, ?> model) {
+            out.append(text);
+        }
+    }
+
+    private static final class EscapedValue implements Segment {
+        private final String key;
+
+        EscapedValue(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public void render(StringBuilder out, Map<String, ?> model) {
+            Object value = model.get(key);
+            if (value == null) {
+                return;
+            }
+            if (value instanceof Integer || value instanceof Long) {
+                out.append(((Number) value).longValue());
+            } else if (value instanceof Money) {
+                ((Money) value).appendTo(out);
+            } else if (value instanceof BigDecimal) {
+                appendDecimal(out, (BigDecimal) value);
+            } else if (value instanceof CharSequence) {
+                HtmlEscaper.escape((CharSequence) value, out);
+            } else {
+                HtmlEscaper.escape(value.toString(), out);
+            }
+        }
+    }
+
+    private static final class RawValue implements Segment {
+        private final String key;
+
+        RawValue(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public void render(StringBuilder out, Map<String, ?> model) {
+            Object value = model.get(key);
+            if (value instanceof CharSequence) {
+                out.append((CharSequence) value);
+            } else if (value != null) {
+                out.append(value);
+            }
+        }
+    }
+
+    private static final class Section implements Segment {
+        private final String key;
+        private final Segment[] children;
+
+        Section(String key, Segment[] children) {
+            this.key = key;
+            this.children = children;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void render(StringBuilder out, Map<String, ?> model) {
+            Object value = model.get(key);
+            if (value instanceof Iterable) {
+                for (Object element : (Iterable<?>) value) {
+                    renderSegments(children, out, (Map<String, ?>) element);
+                }
+            } else if (value instanceof Map) {
+                renderSegments(children, out, (Map<String, ?>) value);
+            } else if (Boolean.TRUE.equals(value)) {
+                renderSegments(children, out, model);
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.ecommerce.notificationservice.template;
+
+import com.ecommerce.notificationservice.model.Notification;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Loads and compiles all email templates once at startup and renders them into
+ * per-thread reusable buffers.
+ * <p>
+ * Templates live under {@code templates/email/v<version>/<name>[_<language>].html}. Each
+ * {@link Notification.NotificationType} maps to the template named after the lower-cased type,
+ * and its version is selected with {@code notification.templates.version.<name>} (default 1).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmailTemplateEngine {
+
+    public static final String ORDER_DETAILS_FRAGMENT = "order_details";
+    public static final String PAYMENT_DETAILS_FRAGMENT = "payment_details";
+
+    private static final String TEMPLATE_ROOT = "templates/email/v";
+    private static final int INITIAL_BUFFER_CAPACITY = 4096;
+    private static final int MAX_RETAINED_BUFFER_CAPACITY = 64 * 1024;
+
+    private final Environment environment;
+
+    @Value("${notification.templates.locales:en}")
+    private List<String> supportedLanguages;
+
+    @Value("${notification.templates.default-locale:en}")
+    private String defaultLanguage;
+
+    private final ThreadLocal<StringBuilder> buffers =
+            ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_BUFFER_CAPACITY));
+
+    private volatile Map<String, CompiledTemplate> templates = Map.of();
+
+    @PostConstruct
+    public void loadTemplates() {
+        List<String> names = new ArrayList<>();
+        for (Notification.NotificationType type : Notification.NotificationType.values()) {
+            names.add(templateName(type));
+        }
+        names.add(ORDER_DETAILS_FRAGMENT);
+        names.add(PAYMENT_DETAILS_FRAGMENT);
+
+        Map<String, CompiledTemplate> compiled = new HashMap<>();
+        for (String name : names) {
+            int version = environment.getProperty("notification.templates.version." + name, Integer.class, 1);
+            String directory = TEMPLATE_ROOT + version + "/";
+
+            load(directory + name + ".html", name, version).ifPresent(t -> compiled.put(name, t));
+            for (String language : supportedLanguages) {
+                String key = name + "_" + language;
+                load(directory + key + ".html", name, version).ifPresent(t -> compiled.put(key, t));
+            }
+        }
+
+        templates = Map.copyOf(compiled);
+        log.info("Compiled {} email templates", compiled.size());
+    }
+
+    /**
+     * Render the template for a notification type in the default locale
+     *
+     * @param type the notification type
+     * @param model the template values
+     * @return the rendered HTML
+     */
+    public String render(Notification.NotificationType type, Map<String, ?> model) {
+        return render(templateName(type), null, model);
+    }
+
+    /**
+     * Render a named template, falling back to the default locale and then to the
+     * unlocalised template when no translation exists
+     *
+     * @param name the template name
+     * @param locale the preferred locale, or null for the default
+     * @param model the template values
+     * @return the rendered HTML
+     */
+    public String render(String name, Locale locale, Map<String, ?> model) {
+        CompiledTemplate template = resolve(name, locale);
+
+        StringBuilder buffer = buffers.get();
+        buffer.setLength(0);
+        template.renderTo(buffer, model);
+        String result = buffer.toString();
+
+        if (buffer.capacity() > MAX_RETAINED_BUFFER_CAPACITY) {
+            buffers.remove();
+        }
+        return result;
+    }
+
+    /**
+     * Get the compiled version of a template, for diagnostics
+     *
+     * @param name the template name
+     * @return the version that was loaded
+     */
+    public int getVersion(String name) {
+        return resolve(name, null).getVersion();
+    }
+
+    private CompiledTemplate resolve(String name, Locale locale) {
+        Map<String, CompiledTemplate> current = templates;
+        CompiledTemplate template = null;
+        if (locale != null) {
+            template = current.get(name + "_" + locale.getLanguage());
+        }
+        if (template == null) {
+            template = current.get(name + "_" + defaultLanguage);
+        }
+        if (template == null) {
+            template = current.get(name);
+        }
+        if (template == null) {
+            throw new IllegalArgumentException("No email template found: " + name);
+        }
+        return template;
+    }
+
+    private Optional<CompiledTemplate> load(String path, String name, int version) {
+        ClassPathResource resource = new ClassPathResource(path);
+        if (!resource.exists()) {
+            return Optional.empty();
+        }
+        try (InputStream in = resource.getInputStream()) {
+            String source = StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+            log.debug("Compiling email template: {}", path);
+            return Optional.of(CompiledTemplate.compile(name, version, source));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load email template: " + path, e);
+        }
+    }
+
+    private static String templateName(Notification.NotificationType type) {
+        return type.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,59 @@
+package com.ecommerce.notificationservice.template;
+
+/**
+ * Minimal HTML escaper that writes straight into the caller's buffer.
+ * Runs of characters that need no escaping are copied in a single append.
+ */
+public final class HtmlEscaper {
+
+    private HtmlEscaper() {
+    }
+
+    /**
+     * Append the HTML-escaped form of the given text to the buffer
+     *
+     * @param text the text to escape
+     * @param out the buffer to append to
+     */
+    public static void escape(CharSequence text, StringBuilder out) {
+        int length = text.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            String replacement;
+            switch (text.charAt(i)) {
+                case '<':
+                    replacement = "&lt;";
+                    break;
+                case '>':
+                    replacement = "&gt;";
+                    break;
+                case '&':
+                    replacement = "&amp;";
+                    break;
+                case '"':
+                    replacement = "&quot;";
+                    break;
+                case '\'':
+                    replacement = "&#39;";
+                    break;
+                default:
+                    continue;
+            }
+            out.append(text, start, i).append(replacement);
+            start = i + 1;
+        }
+        out.append(text, start, length);
+    }
+
+    /**
+     * Return the HTML-escaped form of the given text
+     *
+     * @param text the text to escape
+     * @return the escaped text
+     */
+    public static String escape(CharSequence text) {
+        StringBuilder out = new StringBuilder(text.length() + 16);
+        escape(text, out);
+        return out.toString();
+    }
+}
@@ -0,0 +1,211 @@
+package com.ecommerce.notificationservice.digest;
+
+import com.ecommerce.notificationservice.model.Notification;
+import com.ecommerce.notificationservice.queue.NotificationQueueWorker;
+import com.ecommerce.notificationservice.queue.NotificationWorkQueue;
+import com.ecommerce.notificationservice.template.EmailTemplateEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class NotificationCoalescerTest {
+
+    @Mock
+    private EmailTemplateEngine templateEngine;
+
+    @Mock
+    private NotificationWorkQueue workQueue;
+
+    @Mock
+    private NotificationQueueWorker queueWorker;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private NotificationCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        when(templateEngine.render(any(Notification.NotificationType.class), anyMap())).thenReturn("<html>digest</html>");
+        when(workQueue.takeBack(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        coalescer = new NotificationCoalescer(templateEngine, workQueue, queueWorker, transactionManager);
+        ReflectionTestUtils.setField(coalescer, "enabled", true);
+        // Windows are closed by stop() unless a test shortens them
+        ReflectionTestUtils.setField(coalescer, "windowMillis", 3_600_000L);
+        ReflectionTestUtils.setField(coalescer, "tickMillis", 10L);
+        ReflectionTestUtils.setField(coalescer, "flushThreads", 1);
+        ReflectionTestUtils.setField(coalescer, "coalescedTypes",
+                Set.of(Notification.NotificationType.ORDER_CONFIRMATION, Notification.NotificationType.PAYMENT_CONFIRMATION));
+    }
+
+    @AfterEach
+    void tearDown() {
+        coalescer.stop();
+    }
+
+    @Test
+    void offer_ShouldHoldNotificationBeforeBuffering() {
+        // Arrange
+        coalescer.start();
+        Notification notification = notification(Notification.NotificationType.ORDER_CONFIRMATION);
+
+        // Act
+        boolean buffered = coalescer.offer(notification);
+
+        // Assert
+        assertTrue(buffered);
+        assertEquals(1, coalescer.getOpenWindowCount());
+        verify(workQueue).hold(eq(notification), anyString(), eq(Duration.ofHours(1)));
+        verifyNoInteractions(queueWorker);
+    }
+
+    @Test
+    void offer_WhenTypeNotCoalesced_ShouldReturnFalse() {
+        // Arrange
+        coalescer.start();
+
+        // Act
+        boolean buffered = coalescer.offer(notification(Notification.NotificationType.PAYMENT_FAILURE));
+
+        // Assert
+        assertFalse(buffered);
+        verifyNoInteractions(workQueue);
+    }
+
+    @Test
+    void offer_WhenStopped_ShouldReturnFalse() {
+        // Arrange
+        coalescer.start();
+        coalescer.stop();
+
+        // Act
+        boolean buffered = coalescer.offer(notification(Notification.NotificationType.ORDER_CONFIRMATION));
+
+        // Assert
+        assertFalse(buffered);
+        verifyNoInteractions(workQueue);
+    }
+
+    @Test
+    void windowClosed_ShouldSendOneDigestForBufferedNotifications() {
+        // Arrange
+        ReflectionTestUtils.setField(coalescer, "windowMillis", 20L);
+        coalescer.start();
+        Notification order = notification(Notification.NotificationType.ORDER_CONFIRMATION);
+        Notification payment = notification(Notification.NotificationType.PAYMENT_CONFIRMATION);
+
+        // Act
+        coalescer.offer(order);
+        coalescer.offer(payment);
+
+        // Assert
+        ArgumentCaptor<Notification> sent = ArgumentCaptor.forClass(Notification.class);
+        verify(queueWorker, timeout(2000)).send(sent.capture());
+        verify(workQueue).takeBack(List.of(order, payment));
+        verify(workQueue).enqueue(sent.getValue(), true);
+        assertEquals(Notification.NotificationType.ORDER_DIGEST, sent.getValue().getType());
+        assertEquals("order-1", sent.getValue().getOrderId());
+        assertEquals(0, coalescer.getOpenWindowCount());
+    }
+
+    @Test
+    void stop_WhenSingleNotificationBuffered_ShouldSendItAfterCommit() {
+        // Arrange
+        coalescer.start();
+        Notification notification = notification(Notification.NotificationType.ORDER_CONFIRMATION);
+        coalescer.offer(notification);
+
+        // Act
+        coalescer.stop();
+
+        // Assert
+        InOrder inOrder = inOrder(workQueue, transactionManager, queueWorker);
+        inOrder.verify(workQueue).takeBack(List.of(notification));
+        inOrder.verify(workQueue).enqueue(notification, true);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(queueWorker).send(notification);
+    }
+
+    @Test
+    void stop_WhenSendingDeferred_ShouldLeaveNotificationToWorkers() {
+        // Arrange
+        ReflectionTestUtils.setField(coalescer, "deferredSend", true);
+        coalescer.start();
+        Notification notification = notification(Notification.NotificationType.ORDER_CONFIRMATION);
+        coalescer.offer(notification);
+
+        // Act
+        coalescer.stop();
+
+        // Assert
+        verify(workQueue).enqueue(notification, false);
+        verifyNoInteractions(queueWorker);
+    }
+
+    @Test
+    void stop_WhenLeaseLost_ShouldLeaveNotificationsToWorkQueue() {
+        // Arrange
+        when(workQueue.takeBack(anyList())).thenReturn(List.of());
+        coalescer.start();
+        coalescer.offer(notification(Notification.NotificationType.ORDER_CONFIRMATION));
+
+        // Act
+        coalescer.stop();
+
+        // Assert
+        verify(workQueue).takeBack(anyList());
+        verify(workQueue, never()).enqueue(any(), anyBoolean());
+        verifyNoInteractions(queueWorker);
+    }
+
+    @Test
+    void stop_WhenCommitFails_ShouldNotSend() {
+        // Arrange - e.g. the connection drops or the digest is too long for its column
+        doThrow(new IllegalStateException("Connection closed")).when(transactionManager).commit(any());
+        coalescer.start();
+        coalescer.offer(notification(Notification.NotificationType.ORDER_CONFIRMATION));
+        coalescer.offer(notification(Notification.NotificationType.PAYMENT_CONFIRMATION));
+
+        // Act & Assert
+        assertDoesNotThrow(coalescer::stop);
+        verifyNoInteractions(queueWorker);
+    }
+
+    private Notification notification(Notification.NotificationType type) {
+        return Notification.builder()
+                .id(type.name())
+                .userId("user-1")
+                .recipientEmail("user-1@example.com")
+                .subject(type.name() + " - details")
+                .content("<html><body>" + type.name() + "</body></html>")
+                .type(type)
+                .status(Notification.NotificationStatus.PENDING)
+                .orderId("order-1")
+                .build();
+    }
+}
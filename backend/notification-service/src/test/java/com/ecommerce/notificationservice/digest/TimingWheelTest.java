@@ -0,0 +1,66 @@
+package com.ecommerce.notificationservice.digest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private final List<String> expired = new CopyOnWriteArrayList<>();
+    private TimingWheel<String> timingWheel;
+
+    @AfterEach
+    void tearDown() {
+        if (timingWheel != null) {
+            timingWheel.close();
+        }
+    }
+
+    @Test
+    void schedule_ShouldFireKeysInDeadlineOrder() throws InterruptedException {
+        // Arrange
+        CountDownLatch latch = new CountDownLatch(3);
+        timingWheel = new TimingWheel<>("test-wheel", 5, 4, key -> {
+            expired.add(key);
+            latch.countDown();
+        });
+
+        // Act - delays exceed the wheel span (4 x 5 ms) to exercise multiple rounds
+        timingWheel.schedule("late", 120);
+        timingWheel.schedule("early", 10);
+        timingWheel.schedule("middle", 60);
+
+        // Assert
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(List.of("early", "middle", "late"), expired);
+        assertEquals(0, timingWheel.pendingCount());
+    }
+
+    @Test
+    void schedule_ShouldNotFireBeforeDelay() throws InterruptedException {
+        // Arrange
+        timingWheel = new TimingWheel<>("test-wheel", 5, 8, expired::add);
+
+        // Act
+        timingWheel.schedule("key", 300);
+        Thread.sleep(100);
+
+        // Assert
+        assertTrue(expired.isEmpty());
+        assertEquals(1, timingWheel.pendingCount());
+    }
+
+    @Test
+    void schedule_AfterClose_ShouldThrowException() {
+        timingWheel = new TimingWheel<>("test-wheel", 5, 8, expired::add);
+        timingWheel.close();
+
+        assertThrows(IllegalStateException.class, () -> timingWheel.schedule("key", 10));
+    }
+}
@@ -0,0 +1,66 @@
+package com.ecommerce.notificationservice.kafka;
+
+import com.ecommerce.common.event.OrderEvent;
+import com.ecommerce.common.model.OrderItem;
+import com.ecommerce.common.money.Money;
+import com.ecommerce.notificationservice.service.NotificationService;
+import com.ecommerce.notificationservice.template.EmailTemplateEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderEventConsumerTest {
+
+    @Mock
+    private NotificationService notificationService;
+
+    private OrderEventConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        EmailTemplateEngine templateEngine = new EmailTemplateEngine(new MockEnvironment());
+        ReflectionTestUtils.setField(templateEngine, "supportedLanguages", List.of("en"));
+        ReflectionTestUtils.setField(templateEngine, "defaultLanguage", "en");
+        templateEngine.loadTemplates();
+        consumer = new OrderEventConsumer(notificationService, templateEngine);
+    }
+
+    @Test
+    void consumeOrderEvent_WhenItemHasNoName_ShouldStillSendConfirmation() {
+        // Arrange
+        OrderItem unnamed = OrderItem.builder()
+                .productId("product-1")
+                .price(Money.parse("5.50"))
+                .quantity(2)
+                .build();
+        OrderEvent orderEvent = OrderEvent.builder()
+                .orderId("order-1")
+                .userId("user-1")
+                .items(List.of(unnamed))
+                .totalAmount(Money.parse("11.00"))
+                .timestamp(LocalDateTime.now())
+                .status(OrderEvent.OrderStatus.CREATED)
+                .build();
+
+        // Act
+        consumer.consumeOrderEvent(orderEvent);
+
+        // Assert
+        ArgumentCaptor<String> orderDetails = ArgumentCaptor.forClass(String.class);
+        verify(notificationService).sendOrderConfirmation(eq("order-1"), eq("user-1"), anyString(), orderDetails.capture());
+        assertTrue(orderDetails.getValue().contains("<td></td><td>2</td><td>$5.50</td><td>$11.00</td>"));
+    }
+}
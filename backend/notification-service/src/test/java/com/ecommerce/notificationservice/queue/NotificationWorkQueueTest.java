@@ -0,0 +1,213 @@
+package com.ecommerce.notificationservice.queue;
+
+import com.ecommerce.notificationservice.model.Notification;
+import com.ecommerce.notificationservice.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationWorkQueueTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    private NotificationWorkQueue workQueue;
+
+    @BeforeEach
+    void setUp() {
+        workQueue = new NotificationWorkQueue(notificationRepository);
+        ReflectionTestUtils.setField(workQueue, "lease", Duration.ofSeconds(60));
+        ReflectionTestUtils.setField(workQueue, "maxAttempts", 5);
+        ReflectionTestUtils.setField(workQueue, "backoffInitial", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(workQueue, "backoffMax", Duration.ofMinutes(30));
+    }
+
+    @Test
+    void claim_ShouldLeaseBatchUnderOneTokenAndCountAttempt() {
+        // Arrange
+        Notification first = notification(null);
+        Notification retried = notification(2);
+        when(notificationRepository.lockDueForSending(any(LocalDateTime.class), eq(5), eq(20)))
+                .thenReturn(List.of(first, retried));
+        LocalDateTime before = LocalDateTime.now();
+
+        // Act
+        List<Notification> claimed = workQueue.claim(20);
+
+        // Assert
+        assertEquals(2, claimed.size());
+        assertNotNull(first.getLeaseToken());
+        assertEquals(first.getLeaseToken(), retried.getLeaseToken());
+        assertFalse(first.getLeaseExpiresAt().isBefore(before.plusSeconds(60)));
+        assertEquals(1, first.getAttempts());
+        assertEquals(3, retried.getAttempts());
+    }
+
+    @Test
+    void claim_WhenNothingDue_ShouldReturnEmptyList() {
+        // Arrange
+        when(notificationRepository.lockDueForSending(any(LocalDateTime.class), anyInt(), anyInt()))
+                .thenReturn(List.of());
+
+        // Act
+        List<Notification> claimed = workQueue.claim(20);
+
+        // Assert
+        assertTrue(claimed.isEmpty());
+    }
+
+    @Test
+    void markSent_WhenLeaseLost_ShouldReturnFalse() {
+        // Arrange
+        Notification notification = notification(1);
+        when(notificationRepository.releaseLease(eq("notification-1"), eq("lease-1"),
+                eq(Notification.NotificationStatus.SENT), any(LocalDateTime.class), isNull())).thenReturn(0);
+
+        // Act & Assert
+        assertFalse(workQueue.markSent(notification));
+    }
+
+    @Test
+    void markFailed_ShouldDoubleBackoffPerAttempt() {
+        // Arrange
+        Notification notification = notification(3);
+        when(notificationRepository.releaseLease(eq("notification-1"), eq("lease-1"),
+                eq(Notification.NotificationStatus.FAILED), isNull(), any(LocalDateTime.class))).thenReturn(1);
+        LocalDateTime before = LocalDateTime.now();
+
+        // Act
+        boolean released = workQueue.markFailed(notification);
+
+        // Assert
+        assertTrue(released);
+        assertBetween(before.plusSeconds(120), LocalDateTime.now().plusSeconds(120), capturedNextAttemptAt());
+    }
+
+    @Test
+    void markFailed_WhenBackoffExceedsMax_ShouldCapIt() {
+        // Arrange
+        ReflectionTestUtils.setField(workQueue, "maxAttempts", 20);
+        Notification notification = notification(10);
+        when(notificationRepository.releaseLease(any(), any(), any(), any(), any())).thenReturn(1);
+        LocalDateTime before = LocalDateTime.now();
+
+        // Act
+        workQueue.markFailed(notification);
+
+        // Assert
+        assertBetween(before.plusMinutes(30), LocalDateTime.now().plusMinutes(30), capturedNextAttemptAt());
+    }
+
+    @Test
+    void markFailed_WhenOutOfAttempts_ShouldNotRetry() {
+        // Arrange
+        Notification notification = notification(5);
+        when(notificationRepository.releaseLease(any(), any(), any(), any(), any())).thenReturn(1);
+
+        // Act
+        workQueue.markFailed(notification);
+
+        // Assert
+        verify(notificationRepository).releaseLease("notification-1", "lease-1",
+                Notification.NotificationStatus.FAILED, null, null);
+    }
+
+    @Test
+    void nextAttemptAt_AfterFirstAttempt_ShouldUseInitialBackoff() {
+        // Arrange
+        LocalDateTime before = LocalDateTime.now();
+
+        // Act
+        LocalDateTime nextAttemptAt = workQueue.nextAttemptAt(1);
+
+        // Assert
+        assertBetween(before.plusSeconds(30), LocalDateTime.now().plusSeconds(30), nextAttemptAt);
+    }
+
+    @Test
+    void takeBack_ShouldOnlyReturnNotificationsStillLeased() {
+        // Arrange
+        Notification held = notification(null);
+        Notification claimed = notification(null);
+        claimed.setId("notification-2");
+        when(notificationRepository.deleteLeased("notification-1", "lease-1")).thenReturn(1);
+        when(notificationRepository.deleteLeased("notification-2", "lease-1")).thenReturn(0);
+
+        // Act
+        List<Notification> taken = workQueue.takeBack(List.of(held, claimed));
+
+        // Assert
+        assertEquals(List.of(held), taken);
+    }
+
+    @Test
+    void enqueue_WhenClaimed_ShouldLeaseNotificationToCaller() {
+        // Arrange
+        Notification notification = notification(null);
+        LocalDateTime before = LocalDateTime.now();
+
+        // Act
+        workQueue.enqueue(notification, true);
+
+        // Assert
+        verify(notificationRepository).save(notification);
+        assertEquals(Notification.NotificationStatus.PENDING, notification.getStatus());
+        assertNotEquals("lease-1", notification.getLeaseToken());
+        assertFalse(notification.getLeaseExpiresAt().isBefore(before.plusSeconds(60)));
+        assertEquals(1, notification.getAttempts());
+    }
+
+    @Test
+    void enqueue_WhenNotClaimed_ShouldLeaveNotificationToWorkers() {
+        // Arrange
+        Notification notification = notification(null);
+
+        // Act
+        workQueue.enqueue(notification, false);
+
+        // Assert
+        verify(notificationRepository).save(notification);
+        assertNull(notification.getLeaseToken());
+        assertNull(notification.getLeaseExpiresAt());
+        assertNotNull(notification.getNextAttemptAt());
+    }
+
+    private LocalDateTime capturedNextAttemptAt() {
+        ArgumentCaptor<LocalDateTime> nextAttemptAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(notificationRepository).releaseLease(any(), any(), any(), any(), nextAttemptAt.capture());
+        return nextAttemptAt.getValue();
+    }
+
+    private static void assertBetween(LocalDateTime from, LocalDateTime to, LocalDateTime actual) {
+        assertFalse(actual.isBefore(from), actual + " is before " + from);
+        assertFalse(actual.isAfter(to), actual + " is after " + to);
+    }
+
+    private Notification notification(Integer attempts) {
+        return Notification.builder()
+                .id("notification-1")
+                .userId("user-1")
+                .recipientEmail("user-1@example.com")
+                .type(Notification.NotificationType.ORDER_CONFIRMATION)
+                .status(Notification.NotificationStatus.PENDING)
+                .attempts(attempts)
+                .leaseToken("lease-1")
+                .build();
+    }
+}
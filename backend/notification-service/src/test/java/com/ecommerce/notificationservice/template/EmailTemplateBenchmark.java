@@ -0,0 +1,83 @@
+package com.ecommerce.notificationservice.template;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single-threaded throughput comparison between the previous ad-hoc StringBuilder
+ * concatenation (with escaping added) and the precompiled templates.
+ * <p>
+ * Not part of the test suite; run the main method directly from the IDE or with
+ * {@code mvn -pl notification-service test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.ecommerce.notificationservice.template.EmailTemplateBenchmark}.
+ */
+public class EmailTemplateBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int MEASURED_ITERATIONS = 1_000_000;
+
+    private static final String DETAILS_SOURCE =
+            "<table border='1' cellpadding='5' cellspacing='0' style='border-collapse: collapse;'>"
+            + "<tr><th>Product</th><th>Quantity</th><th>Price</th><th>Subtotal</th></tr>"
+            + "{{#items}}<tr><td>{{name}}</td><td>{{quantity}}</td><td>${{price}}</td><td>${{subtotal}}</td></tr>{{/items}}"
+            + "<tr><td colspan='3' align='right'><strong>Total:</strong></td><td>${{total}}</td></tr></table>";
+
+    private static volatile int sink;
+
+    public static void main(String[] args) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            rows.add(Map.of("name", "Product <" + i + ">", "quantity", i + 1,
+                    "price", new BigDecimal("19.99"), "subtotal", new BigDecimal("19.99").multiply(BigDecimal.valueOf(i + 1))));
+        }
+        Map<String, Object> model = Map.of("items", rows, "total", new BigDecimal("299.85"));
+
+        CompiledTemplate template = CompiledTemplate.compile("order_details", 1, DETAILS_SOURCE);
+        StringBuilder buffer = new StringBuilder(4096);
+
+        run("concatenation", () -> sink += legacyRender(rows, model.get("total")).length());
+        run("compiled", () -> {
+            buffer.setLength(0);
+            template.renderTo(buffer, model);
+            sink += buffer.length();
+        });
+    }
+
+    private static void run(String label, Runnable task) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            task.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            task.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-14s %,12.0f renders/s  %,8.1f ns/render%n",
+                label, MEASURED_ITERATIONS / (elapsed / 1e9), (double) elapsed / MEASURED_ITERATIONS);
+    }
+
+    private static String legacyRender(List<Map<String, Object>> rows, Object total) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("<table border='1' cellpadding='5' cellspacing='0' style='border-collapse: collapse;'>");
+        sb.append("<tr><th>Product</th><th>Quantity</th><th>Price</th><th>Subtotal</th></tr>");
+        for (Map<String, Object> row : rows) {
+            sb.append("<tr>");
+            sb.append("<td>").append(legacyEscape(String.valueOf(row.get("name")))).append("</td>");
+            sb.append("<td>").append(row.get("quantity")).append("</td>");
+            sb.append("<td>$").append(row.get("price")).append("</td>");
+            sb.append("<td>$").append(row.get("subtotal")).append("</td>");
+            sb.append("</tr>");
+        }
+        sb.append("<tr><td colspan='3' align='right'><strong>Total:</strong></td><td>$")
+                .append(total).append("</td></tr>");
+        sb.append("</table>");
+        return sb.toString();
+    }
+
+    private static String legacyEscape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;")
+                .replace("\"", "&quot;").replace("'", "&#39;");
+    }
+}
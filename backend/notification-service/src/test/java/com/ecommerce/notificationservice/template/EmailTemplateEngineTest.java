@@ -0,0 +1,68 @@
+package com.ecommerce.notificationservice.template;
+
+import com.ecommerce.notificationservice.model.Notification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailTemplateEngineTest {
+
+    private EmailTemplateEngine templateEngine;
+
+    @BeforeEach
+    void setUp() {
+        templateEngine = new EmailTemplateEngine(new MockEnvironment());
+        ReflectionTestUtils.setField(templateEngine, "supportedLanguages", List.of("en"));
+        ReflectionTestUtils.setField(templateEngine, "defaultLanguage", "en");
+        templateEngine.loadTemplates();
+    }
+
+    @Test
+    void render_ShouldEscapeValuesAndKeepRawFragments() {
+        // Act
+        String html = templateEngine.render(Notification.NotificationType.ORDER_CONFIRMATION,
+                Map.of("orderId", "<script>", "orderDetails", "<table></table>"));
+
+        // Assert
+        assertTrue(html.contains("Order ID: &lt;script&gt;"));
+        assertTrue(html.contains("<div><table></table></div>"));
+    }
+
+    @Test
+    void render_ShouldRepeatSectionForEachItem() {
+        // Arrange
+        List<Map<String, Object>> rows = List.of(
+                Map.of("name", "Laptop & Bag", "quantity", 2, "price", new BigDecimal("10.00"), "subtotal", new BigDecimal("20.00")),
+                Map.of("name", "Mouse", "quantity", 1, "price", new BigDecimal("5.50"), "subtotal", new BigDecimal("5.50"))
+        );
+
+        // Act
+        String html = templateEngine.render(EmailTemplateEngine.ORDER_DETAILS_FRAGMENT, Locale.FRENCH,
+                Map.of("items", rows, "total", new BigDecimal("25.50")));
+
+        // Assert
+        assertTrue(html.contains("<td>Laptop &amp; Bag</td><td>2</td><td>$10.00</td><td>$20.00</td>"));
+        assertTrue(html.contains("<td>Mouse</td><td>1</td><td>$5.50</td><td>$5.50</td>"));
+        assertTrue(html.contains("<td>$25.50</td>"));
+    }
+
+    @Test
+    void render_WhenTemplateMissing_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> templateEngine.render("does_not_exist", null, Map.of()));
+    }
+
+    @Test
+    void compile_WhenSectionUnclosed_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CompiledTemplate.compile("broken", 1, "<p>{{#items}}{{name}}</p>"));
+    }
+}
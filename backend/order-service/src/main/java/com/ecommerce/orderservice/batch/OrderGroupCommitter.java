@@ -0,0 +1,217 @@
+package com.ecommerce.orderservice.batch;
+
+import com.ecommerce.orderservice.dto.OrderRequest;
+import com.ecommerce.orderservice.dto.OrderResponse;
+import com.ecommerce.orderservice.service.OrderService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates concurrently submitted orders together, so that a burst of orders pays for one
+ * commit instead of one each.
+ * <p>
+ * Callers queue their request and wait. A writer thread takes the first queued request, collects
+ * more for up to {@code max-delay-ms} or until it has {@code max-batch-size}, and creates them
+ * all with {@link OrderService#createOrders} in one transaction. If that transaction fails, the
+ * requests are created one at a time, so only the orders that fail on their own are failed back
+ * to their callers. When group commit is disabled, the queue is full or the service is stopping,
+ * the order is created directly on the caller's thread.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderGroupCommitter {
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final OrderService orderService;
+
+    @Value("${order.group-commit.enabled:false}")
+    private boolean enabled;
+
+    @Value("${order.group-commit.max-batch-size:64}")
+    private int maxBatchSize;
+
+    @Value("${order.group-commit.max-delay-ms:2}")
+    private long maxDelayMillis;
+
+    @Value("${order.group-commit.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${order.group-commit.writer-threads:2}")
+    private int writerThreads;
+
+    private BlockingQueue<PendingOrder> queue;
+    private ExecutorService writers;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        writers = Executors.newFixedThreadPool(writerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "order-group-commit-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < writerThreads; i++) {
+            writers.execute(this::runWriter);
+        }
+        log.info("Order group commit enabled: up to {} orders or {} ms per batch, {} writer(s)",
+                maxBatchSize, maxDelayMillis, writerThreads);
+    }
+
+    /**
+     * Create an order, batched with other orders submitted at the same time
+     *
+     * @param orderRequest the order details
+     * @return the created order
+     */
+    public OrderResponse createOrder(OrderRequest orderRequest) {
+        if (!enabled) {
+            return orderService.createOrder(orderRequest);
+        }
+        PendingOrder pending = new PendingOrder(orderRequest);
+        if (!running || !queue.offer(pending)) {
+            log.debug("Order group commit queue unavailable, creating order on the request thread");
+            return orderService.createOrder(orderRequest);
+        }
+        try {
+            return pending.result.join();
+        } catch (CompletionException e) {
+            // Rethrow the order's own failure, e.g. a data access exception, to the handlers
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Number of orders waiting to be written
+     */
+    public int getQueuedCount() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!enabled) {
+            return;
+        }
+        running = false;
+        writers.shutdown();
+        try {
+            writers.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Requests queued just as the writers stopped are still owed an answer
+        List<PendingOrder> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            commit(remaining);
+        }
+    }
+
+    private void runWriter() {
+        List<PendingOrder> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingOrder first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                // Also answers a batch cut short by an interrupt
+                if (!batch.isEmpty()) {
+                    commit(batch);
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+    private void collect(List<PendingOrder> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remainingNanos = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remainingNanos <= 0) {
+                return;
+            }
+            PendingOrder next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void commit(List<PendingOrder> batch) {
+        List<OrderRequest> requests = new ArrayList<>(batch.size());
+        for (PendingOrder pending : batch) {
+            requests.add(pending.request);
+        }
+
+        try {
+            List<OrderResponse> responses = orderService.createOrders(requests);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(responses.get(i));
+            }
+            log.debug("Group committed {} orders", batch.size());
+            return;
+        } catch (RuntimeException | Error e) {
+            if (batch.size() == 1) {
+                batch.get(0).result.completeExceptionally(e);
+                return;
+            }
+            log.warn("Group commit of {} orders failed, creating them one at a time: {}", batch.size(), e.getMessage());
+        }
+
+        for (PendingOrder pending : batch) {
+            try {
+                pending.result.complete(orderService.createOrder(pending.request));
+            } catch (RuntimeException | Error e) {
+                pending.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static final class PendingOrder {
+        private final OrderRequest request;
+        private final CompletableFuture<OrderResponse> result = new CompletableFuture<>();
+
+        PendingOrder(OrderRequest request) {
+            this.request = request;
+        }
+    }
+}
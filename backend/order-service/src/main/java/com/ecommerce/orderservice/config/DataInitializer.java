@@ -1,6 +1,8 @@
 package com.ecommerce.orderservice.config;
 
 import com.ecommerce.common.event.OrderEvent.OrderStatus;
+import com.ecommerce.common.id.TimeOrderedId;
+import com.ecommerce.common.money.Money;
 import com.ecommerce.orderservice.model.Order;
 import com.ecommerce.orderservice.model.OrderLineItem;
 import com.ecommerce.orderservice.repository.OrderRepository;
@@ -10,7 +12,6 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -33,10 +34,10 @@ public class DataInitializer {
                 
                 // Create a completed order
                 Order completedOrder = Order.builder()
-                    .id(UUID.randomUUID().toString())
+                    .id(TimeOrderedId.newId())
                     .userId("user1")
                     .status(OrderStatus.DELIVERED) // Using the correct status from OrderEvent
-                    .totalAmount(new BigDecimal("999.98"))
+                    .totalAmount(Money.parse("999.98"))
                     .paymentMethod("CREDIT_CARD")
                     .createdAt(LocalDateTime.now().minusDays(5))
                     .updatedAt(LocalDateTime.now().minusDays(4))
@@ -46,7 +47,7 @@ public class DataInitializer {
                     .productId(UUID.randomUUID().toString()) // This would need to match a real product ID in a real app
                     .name("Smartphone X")
                     .quantity(1)
-                    .price(new BigDecimal("899.99"))
+                    .price(Money.parse("899.99"))
                     .order(completedOrder)
                     .build();
                 
@@ -54,7 +55,7 @@ public class DataInitializer {
                     .productId(UUID.randomUUID().toString()) // This would need to match a real product ID in a real app
                     .name("Bluetooth Speaker")
                     .quantity(1)
-                    .price(new BigDecimal("99.99"))
+                    .price(Money.parse("99.99"))
                     .order(completedOrder)
                     .build();
                 
@@ -64,10 +65,10 @@ public class DataInitializer {
 
                 // Create a pending order
                 Order pendingOrder = Order.builder()
-                    .id(UUID.randomUUID().toString())
+                    .id(TimeOrderedId.newId())
                     .userId("user1")
                     .status(OrderStatus.PAYMENT_PENDING) // Using the correct status from OrderEvent
-                    .totalAmount(new BigDecimal("1299.99"))
+                    .totalAmount(Money.parse("1299.99"))
                     .paymentMethod("PAYPAL")
                     .createdAt(LocalDateTime.now().minusDays(1))
                     .updatedAt(LocalDateTime.now().minusDays(1))
@@ -77,7 +78,7 @@ public class DataInitializer {
                     .productId(UUID.randomUUID().toString()) // This would need to match a real product ID in a real app
                     .name("Laptop Pro")
                     .quantity(1)
-                    .price(new BigDecimal("1299.99"))
+                    .price(Money.parse("1299.99"))
                     .order(pendingOrder)
                     .build();
                 
@@ -6,6 +6,7 @@ import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -13,12 +14,15 @@ import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import com.ecommerce.common.config.KafkaTopics;
+import com.ecommerce.common.datasource.ReadReplicaConfig;
 import com.ecommerce.common.event.OrderEvent;
+import com.ecommerce.common.tracing.TracingConfig;
 
 import java.util.HashMap;
 import java.util.Map;
 
 @Configuration
+@Import({TracingConfig.class, ReadReplicaConfig.class})
 public class KafkaConfig {
 
     @Value("${spring.kafka.bootstrap-servers}")
@@ -43,6 +47,9 @@ public class KafkaConfig {
 
     @Bean
     public KafkaTemplate<String, OrderEvent> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+        KafkaTemplate<String, OrderEvent> template = new KafkaTemplate<>(producerFactory());
+        // Propagates the trace context to consumers through record headers
+        template.setObservationEnabled(true);
+        return template;
     }
 }
\ No newline at end of file
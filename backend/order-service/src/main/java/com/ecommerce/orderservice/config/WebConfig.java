@@ -1,11 +1,15 @@
 package com.ecommerce.orderservice.config;
 
+import com.ecommerce.common.idempotency.IdempotencyConfig;
+import com.ecommerce.common.web.JsonCodecConfig;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 
 @Configuration
+@Import({JsonCodecConfig.class, IdempotencyConfig.class})
 public class WebConfig implements WebMvcConfigurer {
     // CORS configuration moved to CorsFilter
 }
@@ -1,14 +1,19 @@
 package com.ecommerce.orderservice.controller;
 
+import com.ecommerce.common.idempotency.IdempotencyService;
+import com.ecommerce.common.web.ResourceVersion;
+import com.ecommerce.orderservice.batch.OrderGroupCommitter;
 import com.ecommerce.orderservice.dto.OrderRequest;
 import com.ecommerce.orderservice.dto.OrderResponse;
 import com.ecommerce.orderservice.service.OrderService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -20,32 +25,60 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final IdempotencyService idempotencyService;
+    private final OrderGroupCommitter orderGroupCommitter;
 
     @PostMapping
-    public ResponseEntity<OrderResponse> createOrder(@Valid @RequestBody OrderRequest orderRequest) {
-        log.info("REST request to create an order: {}", orderRequest);
-        OrderResponse response = orderService.createOrder(orderRequest);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    public ResponseEntity<OrderResponse> createOrder(
+            @Valid @RequestBody OrderRequest orderRequest,
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        log.debug("REST request to create an order for user: {} with {} items",
+                orderRequest.getUserId(), orderRequest.getItems().size());
+        return idempotencyService.execute("orders", idempotencyKey, orderRequest, OrderResponse.class,
+                HttpStatus.CREATED, () -> orderGroupCommitter.createOrder(orderRequest));
     }
 
     @GetMapping("/{orderId}")
-    public ResponseEntity<OrderResponse> getOrderById(@PathVariable String orderId) {
-        log.info("REST request to get order by ID: {}", orderId);
+    public ResponseEntity<OrderResponse> getOrderById(@PathVariable String orderId, WebRequest request) {
+        log.debug("REST request to get order by ID: {}", orderId);
+        if (isNotModified(request, orderService.getOrderVersion(orderId))) {
+            return null;
+        }
         OrderResponse response = orderService.getOrderById(orderId);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().cacheControl(orderCacheControl()).body(response);
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<OrderResponse>> getOrdersByUserId(@PathVariable String userId) {
-        log.info("REST request to get orders by user ID: {}", userId);
+    public ResponseEntity<List<OrderResponse>> getOrdersByUserId(@PathVariable String userId, WebRequest request) {
+        log.debug("REST request to get orders by user ID: {}", userId);
+        if (isNotModified(request, orderService.getUserOrdersVersion(userId))) {
+            return null;
+        }
         List<OrderResponse> responses = orderService.getOrdersByUserId(userId);
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok().cacheControl(orderCacheControl()).body(responses);
     }
 
     @GetMapping
-    public ResponseEntity<List<OrderResponse>> getAllOrders() {
-        log.info("REST request to get all orders");
+    public ResponseEntity<List<OrderResponse>> getAllOrders(WebRequest request) {
+        log.debug("REST request to get all orders");
+        if (isNotModified(request, orderService.getAllOrdersVersion())) {
+            return null;
+        }
         List<OrderResponse> responses = orderService.getAllOrders();
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok().cacheControl(orderCacheControl()).body(responses);
+    }
+
+    // Sets ETag/Last-Modified on the response, and a 304 status when the client copy is current
+    private boolean isNotModified(WebRequest request, ResourceVersion version) {
+        if (request.checkNotModified(version.getETag(), version.getLastModified())) {
+            log.debug("Order resource not modified: {}", version);
+            return true;
+        }
+        return false;
+    }
+
+    // Orders are per-user data: never stored by shared caches, always revalidated by the browser
+    private CacheControl orderCacheControl() {
+        return CacheControl.noCache().cachePrivate();
     }
 }
\ No newline at end of file
@@ -1,12 +1,11 @@
 package com.ecommerce.orderservice.dto;
 
+import com.ecommerce.common.money.Money;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
-
 @Data
 @Builder
 @NoArgsConstructor
@@ -14,7 +13,7 @@ import java.math.BigDecimal;
 public class OrderItemResponse {
     private String productId;
     private String name;
-    private BigDecimal price;
+    private Money price;
     private Integer quantity;
-    private BigDecimal subtotal;
+    private Money subtotal;
 }
\ No newline at end of file
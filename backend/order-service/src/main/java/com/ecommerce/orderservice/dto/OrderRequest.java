@@ -1,5 +1,6 @@
 package com.ecommerce.orderservice.dto;
 
+import com.ecommerce.common.money.Money;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
@@ -10,7 +11,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 @Data
@@ -27,7 +27,7 @@ public class OrderRequest {
     
     @NotNull(message = "Total amount is required")
     @Positive(message = "Total amount must be positive")
-    private BigDecimal totalAmount;
+    private Money totalAmount;
     
     @NotBlank(message = "Payment method is required")
     private String paymentMethod;
@@ -1,12 +1,12 @@
 package com.ecommerce.orderservice.dto;
 
 import com.ecommerce.common.event.OrderEvent.OrderStatus;
+import com.ecommerce.common.money.Money;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -18,7 +18,7 @@ public class OrderResponse {
     private String orderId;
     private String userId;
     private List<OrderItemResponse> items;
-    private BigDecimal totalAmount;
+    private Money totalAmount;
     private String paymentMethod;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
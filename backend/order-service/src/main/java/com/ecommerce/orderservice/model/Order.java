@@ -1,12 +1,13 @@
 package com.ecommerce.orderservice.model;
 import com.ecommerce.common.event.OrderEvent.OrderStatus;
+import com.ecommerce.common.money.Money;
+import com.ecommerce.common.money.MoneyConverter;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -28,7 +29,7 @@ public class Order {
     // Other fields...
 
     @Builder
-    public Order(String id, String userId, BigDecimal totalAmount, String paymentMethod,
+    public Order(String id, String userId, Money totalAmount, String paymentMethod,
                  OrderStatus status, LocalDateTime createdAt, LocalDateTime updatedAt) {
         this.id = id;
         this.userId = userId;
@@ -42,7 +43,8 @@ public class Order {
 
 
 
-    private BigDecimal totalAmount;
+    @Convert(converter = MoneyConverter.class)
+    private Money totalAmount;
     
     private String paymentMethod;
     
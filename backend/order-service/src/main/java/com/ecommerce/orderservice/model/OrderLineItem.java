@@ -1,13 +1,13 @@
 package com.ecommerce.orderservice.model;
 
+import com.ecommerce.common.money.Money;
+import com.ecommerce.common.money.MoneyConverter;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
-
 @Entity
 @Table(name = "order_line_items")
 @Data
@@ -23,7 +23,8 @@ public class OrderLineItem {
     
     private String name;
     
-    private BigDecimal price;
+    @Convert(converter = MoneyConverter.class)
+    private Money price;
     
     private Integer quantity;
     
@@ -0,0 +1,58 @@
+package com.ecommerce.orderservice.repository;
+
+import com.ecommerce.orderservice.model.Order;
+import com.ecommerce.orderservice.model.OrderLineItem;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts new orders with JDBC batches. Hibernate cannot batch the line item inserts because
+ * their IDs are database generated, so a batch of orders would otherwise cost one round trip
+ * per line item.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderBatchRepository {
+
+    private static final String INSERT_ORDER = "INSERT INTO orders "
+            + "(id, user_id, total_amount, payment_method, status, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_LINE_ITEM = "INSERT INTO order_line_items "
+            + "(order_id, product_id, name, price, quantity) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert orders and their line items in the current transaction. Entity callbacks do not
+     * run, so the orders' timestamps must already be set; the line items' IDs are not read back.
+     *
+     * @param orders new orders
+     */
+    public void insertAll(List<Order> orders) {
+        jdbcTemplate.batchUpdate(INSERT_ORDER, orders, orders.size(), (ps, order) -> {
+            ps.setString(1, order.getId());
+            ps.setString(2, order.getUserId());
+            ps.setBigDecimal(3, order.getTotalAmount().toBigDecimal());
+            ps.setString(4, order.getPaymentMethod());
+            ps.setString(5, order.getStatus().name());
+            ps.setObject(6, order.getCreatedAt());
+            ps.setObject(7, order.getUpdatedAt());
+        });
+
+        List<OrderLineItem> lineItems = new ArrayList<>();
+        for (Order order : orders) {
+            lineItems.addAll(order.getItems());
+        }
+        jdbcTemplate.batchUpdate(INSERT_LINE_ITEM, lineItems, lineItems.size(), (ps, item) -> {
+            ps.setString(1, item.getOrder().getId());
+            ps.setString(2, item.getProductId());
+            ps.setString(3, item.getName());
+            ps.setBigDecimal(4, item.getPrice().toBigDecimal());
+            ps.setInt(5, item.getQuantity());
+        });
+    }
+}
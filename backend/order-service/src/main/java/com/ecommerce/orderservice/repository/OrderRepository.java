@@ -1,12 +1,35 @@
 package com.ecommerce.orderservice.repository;
 
+import com.ecommerce.common.web.ResourceVersion;
 import com.ecommerce.orderservice.model.Order;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, String> {
     List<Order> findByUserId(String userId);
+
+    /**
+     * Read only the last update time of an order. Orders are not versioned, so the
+     * update timestamp is the revision
+     */
+    @Query("SELECT o.updatedAt FROM Order o WHERE o.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(String id);
+
+    /**
+     * Aggregate version of all orders of a user
+     */
+    @Query("SELECT new com.ecommerce.common.web.ResourceVersion(COUNT(o), MAX(o.updatedAt)) FROM Order o WHERE o.userId = :userId")
+    ResourceVersion findUserOrdersVersion(String userId);
+
+    /**
+     * Aggregate version of all orders
+     */
+    @Query("SELECT new com.ecommerce.common.web.ResourceVersion(COUNT(o), MAX(o.updatedAt)) FROM Order o")
+    ResourceVersion findAllOrdersVersion();
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.ecommerce.orderservice.service;
 
+import com.ecommerce.common.web.ResourceVersion;
 import com.ecommerce.orderservice.dto.OrderRequest;
 import com.ecommerce.orderservice.dto.OrderResponse;
 
@@ -14,6 +15,14 @@ public interface OrderService {
      */
     OrderResponse createOrder(OrderRequest orderRequest);
     
+    /**
+     * Creates several orders in one transaction, publishing their events once it commits
+     *
+     * @param orderRequests the order details
+     * @return the created orders, in request order
+     */
+    List<OrderResponse> createOrders(List<OrderRequest> orderRequests);
+    
     /**
      * Retrieves an order by its ID
      *
@@ -36,4 +45,27 @@ public interface OrderService {
      * @return list of orders
      */
     List<OrderResponse> getAllOrders();
+    
+    /**
+     * Retrieves the conditional-request validators of an order without loading it
+     *
+     * @param orderId the order ID
+     * @return the order version
+     */
+    ResourceVersion getOrderVersion(String orderId);
+    
+    /**
+     * Retrieves the conditional-request validators of a user's order list
+     *
+     * @param userId the user ID
+     * @return the version of the user's orders
+     */
+    ResourceVersion getUserOrdersVersion(String userId);
+    
+    /**
+     * Retrieves the conditional-request validators of the full order list
+     *
+     * @return the version of all orders
+     */
+    ResourceVersion getAllOrdersVersion();
 }
\ No newline at end of file
@@ -2,7 +2,9 @@ package com.ecommerce.orderservice.service.impl;
 
 import com.ecommerce.common.config.KafkaTopics;
 import com.ecommerce.common.event.OrderEvent;
+import com.ecommerce.common.id.TimeOrderedId;
 import com.ecommerce.common.model.OrderItem;
+import com.ecommerce.common.web.ResourceVersion;
 import com.ecommerce.orderservice.dto.OrderItemRequest;
 import com.ecommerce.orderservice.dto.OrderItemResponse;
 import com.ecommerce.orderservice.dto.OrderRequest;
@@ -10,6 +12,7 @@ import com.ecommerce.orderservice.dto.OrderResponse;
 import com.ecommerce.orderservice.exception.OrderNotFoundException;
 import com.ecommerce.orderservice.model.Order;
 import com.ecommerce.orderservice.model.OrderLineItem;
+import com.ecommerce.orderservice.repository.OrderBatchRepository;
 import com.ecommerce.orderservice.repository.OrderRepository;
 import com.ecommerce.orderservice.service.OrderService;
 import lombok.RequiredArgsConstructor;
@@ -17,10 +20,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,31 +35,14 @@ public class OrderServiceImpl implements OrderService {
 
     private final OrderRepository orderRepository;
     private final KafkaTemplate<String, OrderEvent> kafkaTemplate;
+    private final OrderBatchRepository orderBatchRepository;
 
     @Override
     @Transactional
     public OrderResponse createOrder(OrderRequest orderRequest) {
-        log.info("Creating order for user: {}", orderRequest.getUserId());
+        log.debug("Creating order for user: {}", orderRequest.getUserId());
         
-        // Create order entity
-        Order order = Order.builder()
-                .id(UUID.randomUUID().toString())
-                .userId(orderRequest.getUserId())
-                .totalAmount(orderRequest.getTotalAmount())
-                .paymentMethod(orderRequest.getPaymentMethod())
-                .status(OrderEvent.OrderStatus.CREATED)
-                .build();
-        
-        // Add order items
-        for (OrderItemRequest itemRequest : orderRequest.getItems()) {
-            OrderLineItem lineItem = OrderLineItem.builder()
-                    .productId(itemRequest.getProductId())
-                    .name(itemRequest.getName())
-                    .price(itemRequest.getPrice())
-                    .quantity(itemRequest.getQuantity())
-                    .build();
-            order.addItem(lineItem);
-        }
+        Order order = buildOrder(orderRequest);
         
         // Save order to database
         Order savedOrder = orderRepository.save(order);
@@ -67,9 +55,42 @@ public class OrderServiceImpl implements OrderService {
         return mapToOrderResponse(savedOrder);
     }
 
+    @Override
+    @Transactional
+    public List<OrderResponse> createOrders(List<OrderRequest> orderRequests) {
+        log.debug("Creating {} orders in one batch", orderRequests.size());
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<Order> orders = new ArrayList<>(orderRequests.size());
+        for (OrderRequest orderRequest : orderRequests) {
+            Order order = buildOrder(orderRequest);
+            // The batch insert bypasses the entity's @PrePersist callback
+            order.setCreatedAt(now);
+            order.setUpdatedAt(now);
+            orders.add(order);
+        }
+        
+        orderBatchRepository.insertAll(orders);
+        log.info("Saved batch of {} orders", orders.size());
+        
+        // Publish only once the batch is committed: a batch that rolls back is retried order by
+        // order, which must not repeat events for orders that were never stored
+        runAfterCommit(() -> orders.forEach(order -> {
+            try {
+                publishOrderEvent(order);
+            } catch (RuntimeException e) {
+                log.error("Failed to publish order event for committed order: {}", order.getId(), e);
+            }
+        }));
+        
+        return orders.stream()
+                .map(this::mapToOrderResponse)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public OrderResponse getOrderById(String orderId) {
-        log.info("Getting order with ID: {}", orderId);
+        log.debug("Getting order with ID: {}", orderId);
         
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new OrderNotFoundException("Order not found with ID: " + orderId));
@@ -78,8 +99,9 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<OrderResponse> getOrdersByUserId(String userId) {
-        log.info("Getting orders for user: {}", userId);
+        log.debug("Getting orders for user: {}", userId);
         
         List<Order> orders = orderRepository.findByUserId(userId);
         
@@ -89,8 +111,9 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<OrderResponse> getAllOrders() {
-        log.info("Getting all orders");
+        log.debug("Getting all orders");
         
         List<Order> orders = orderRepository.findAll();
         
@@ -98,6 +121,61 @@ public class OrderServiceImpl implements OrderService {
                 .map(this::mapToOrderResponse)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public ResourceVersion getOrderVersion(String orderId) {
+        LocalDateTime updatedAt = orderRepository.findUpdatedAtById(orderId)
+                .orElseThrow(() -> new OrderNotFoundException("Order not found with ID: " + orderId));
+        return new ResourceVersion(null, updatedAt);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getUserOrdersVersion(String userId) {
+        return orderRepository.findUserOrdersVersion(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getAllOrdersVersion() {
+        return orderRepository.findAllOrdersVersion();
+    }
+    
+    private Order buildOrder(OrderRequest orderRequest) {
+        // Create order entity
+        Order order = Order.builder()
+                .id(TimeOrderedId.newId())
+                .userId(orderRequest.getUserId())
+                .totalAmount(orderRequest.getTotalAmount())
+                .paymentMethod(orderRequest.getPaymentMethod())
+                .status(OrderEvent.OrderStatus.CREATED)
+                .build();
+        
+        // Add order items
+        for (OrderItemRequest itemRequest : orderRequest.getItems()) {
+            OrderLineItem lineItem = OrderLineItem.builder()
+                    .productId(itemRequest.getProductId())
+                    .name(itemRequest.getName())
+                    .price(itemRequest.getPrice())
+                    .quantity(itemRequest.getQuantity())
+                    .build();
+            order.addItem(lineItem);
+        }
+        return order;
+    }
+    
+    private static void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
     
     private void publishOrderEvent(Order order) {
         OrderEvent orderEvent = OrderEvent.builder()
@@ -110,7 +188,7 @@ public class OrderServiceImpl implements OrderService {
                 .items(mapToOrderItems(order.getItems()))
                 .build();
         
-        log.info("Publishing order event to Kafka: {}", orderEvent);
+        log.debug("Publishing order event to Kafka: {}, status: {}", orderEvent.getOrderId(), orderEvent.getStatus());
         kafkaTemplate.send(KafkaTopics.ORDERS_TOPIC, order.getId(), orderEvent);
     }
     
@@ -132,7 +210,7 @@ public class OrderServiceImpl implements OrderService {
                         .name(item.getName())
                         .price(item.getPrice())
                         .quantity(item.getQuantity())
-                        .subtotal(item.getPrice().multiply(java.math.BigDecimal.valueOf(item.getQuantity())))
+                        .subtotal(item.getPrice().times(item.getQuantity()))
                         .build())
                 .collect(Collectors.toList());
         
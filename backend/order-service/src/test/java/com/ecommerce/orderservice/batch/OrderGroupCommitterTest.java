@@ -0,0 +1,121 @@
+package com.ecommerce.orderservice.batch;
+
+import com.ecommerce.orderservice.dto.OrderRequest;
+import com.ecommerce.orderservice.dto.OrderResponse;
+import com.ecommerce.orderservice.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderGroupCommitterTest {
+
+    @Mock
+    private OrderService orderService;
+
+    private OrderGroupCommitter groupCommitter;
+    // One thread per caller, so all three wait on the group committer at the same time
+    private final ExecutorService callers = Executors.newFixedThreadPool(3);
+
+    @BeforeEach
+    void setUp() {
+        groupCommitter = new OrderGroupCommitter(orderService);
+        ReflectionTestUtils.setField(groupCommitter, "enabled", true);
+        // A batch is written as soon as the three orders of a test have arrived
+        ReflectionTestUtils.setField(groupCommitter, "maxBatchSize", 3);
+        ReflectionTestUtils.setField(groupCommitter, "maxDelayMillis", 5000L);
+        ReflectionTestUtils.setField(groupCommitter, "queueCapacity", 10);
+        ReflectionTestUtils.setField(groupCommitter, "writerThreads", 1);
+        groupCommitter.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        groupCommitter.stop();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void createOrder_ShouldCreateConcurrentOrdersInOneBatch() {
+        // Arrange
+        when(orderService.createOrders(anyList())).thenAnswer(invocation -> {
+            List<OrderRequest> requests = invocation.getArgument(0);
+            List<OrderResponse> responses = new ArrayList<>();
+            for (OrderRequest request : requests) {
+                responses.add(response(request));
+            }
+            return responses;
+        });
+
+        // Act
+        List<CompletableFuture<OrderResponse>> results = submit("user-1", "user-2", "user-3");
+
+        // Assert
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals("order-user-" + (i + 1), results.get(i).join().getOrderId());
+        }
+        verify(orderService).createOrders(anyList());
+        verify(orderService, never()).createOrder(any());
+    }
+
+    @Test
+    void createOrder_WhenBatchFails_ShouldCreateOrdersOneAtATime() {
+        // Arrange
+        when(orderService.createOrders(anyList())).thenThrow(new IllegalStateException("Constraint violation"));
+        when(orderService.createOrder(any())).thenAnswer(invocation -> {
+            OrderRequest request = invocation.getArgument(0);
+            if (request.getUserId().equals("user-2")) {
+                throw new IllegalArgumentException("Invalid order of user-2");
+            }
+            return response(request);
+        });
+
+        // Act
+        List<CompletableFuture<OrderResponse>> results = submit("user-1", "user-2", "user-3");
+
+        // Assert - only the order that fails on its own is failed back
+        assertEquals("order-user-1", results.get(0).join().getOrderId());
+        CompletionException failure = assertThrows(CompletionException.class, () -> results.get(1).join());
+        assertEquals("Invalid order of user-2", failure.getCause().getMessage());
+        assertEquals("order-user-3", results.get(2).join().getOrderId());
+        verify(orderService).createOrders(anyList());
+        verify(orderService, times(3)).createOrder(any());
+    }
+
+    private List<CompletableFuture<OrderResponse>> submit(String... userIds) {
+        List<CompletableFuture<OrderResponse>> results = new ArrayList<>();
+        for (String userId : userIds) {
+            OrderRequest request = OrderRequest.builder().userId(userId).build();
+            results.add(CompletableFuture.supplyAsync(() -> groupCommitter.createOrder(request), callers));
+        }
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0]))
+                .exceptionally(e -> null)
+                .orTimeout(10, TimeUnit.SECONDS)
+                .join();
+        return results;
+    }
+
+    private static OrderResponse response(OrderRequest request) {
+        return OrderResponse.builder()
+                .orderId("order-" + request.getUserId())
+                .userId(request.getUserId())
+                .build();
+    }
+}
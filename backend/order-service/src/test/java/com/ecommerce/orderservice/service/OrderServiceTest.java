@@ -1,12 +1,14 @@
 package com.ecommerce.orderservice.service;
 
 import com.ecommerce.common.event.OrderEvent;
+import com.ecommerce.common.money.Money;
 import com.ecommerce.orderservice.dto.OrderItemRequest;
 import com.ecommerce.orderservice.dto.OrderRequest;
 import com.ecommerce.orderservice.dto.OrderResponse;
 import com.ecommerce.orderservice.exception.OrderNotFoundException;
 import com.ecommerce.orderservice.model.Order;
 import com.ecommerce.orderservice.model.OrderLineItem;
+import com.ecommerce.orderservice.repository.OrderBatchRepository;
 import com.ecommerce.orderservice.repository.OrderRepository;
 import com.ecommerce.orderservice.service.impl.OrderServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,7 +19,6 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.core.KafkaTemplate;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -27,6 +28,7 @@ import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,11 +40,14 @@ class OrderServiceTest {
     @Mock
     private KafkaTemplate<String, OrderEvent> kafkaTemplate;
 
+    @Mock
+    private OrderBatchRepository orderBatchRepository;
+
     private OrderService orderService;
 
     @BeforeEach
     void setUp() {
-        orderService = new OrderServiceImpl(orderRepository, kafkaTemplate);
+        orderService = new OrderServiceImpl(orderRepository, kafkaTemplate, orderBatchRepository);
     }
 
 
@@ -96,25 +101,51 @@ class OrderServiceTest {
         assertEquals(userId, responses.get(1).getUserId());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void createOrders_ShouldInsertAllOrdersInOneBatchAndPublishEach() {
+        // Arrange
+        List<OrderRequest> requests = List.of(createOrderRequest("user-1"), createOrderRequest("user-2"));
+        ArgumentCaptor<List<Order>> ordersCaptor = ArgumentCaptor.forClass(List.class);
+        
+        // Act
+        List<OrderResponse> responses = orderService.createOrders(requests);
+        
+        // Assert
+        verify(orderBatchRepository).insertAll(ordersCaptor.capture());
+        verify(orderRepository, never()).save(any());
+        List<Order> orders = ordersCaptor.getValue();
+        assertEquals(2, orders.size());
+        assertNotNull(orders.get(0).getCreatedAt());
+        assertEquals(2, orders.get(0).getItems().size());
+        
+        assertEquals(2, responses.size());
+        assertEquals("user-1", responses.get(0).getUserId());
+        assertEquals("user-2", responses.get(1).getUserId());
+        assertEquals(orders.get(1).getId(), responses.get(1).getOrderId());
+        verify(kafkaTemplate).send(anyString(), eq(orders.get(0).getId()), any(OrderEvent.class));
+        verify(kafkaTemplate).send(anyString(), eq(orders.get(1).getId()), any(OrderEvent.class));
+    }
+
     private OrderRequest createOrderRequest(String userId) {
         OrderItemRequest item1 = OrderItemRequest.builder()
                 .productId("p1")
                 .name("Product 1")
-                .price(new BigDecimal("10.99"))
+                .price(Money.parse("10.99"))
                 .quantity(2)
                 .build();
         
         OrderItemRequest item2 = OrderItemRequest.builder()
                 .productId("p2")
                 .name("Product 2")
-                .price(new BigDecimal("20.49"))
+                .price(Money.parse("20.49"))
                 .quantity(1)
                 .build();
         
         return OrderRequest.builder()
                 .userId(userId)
                 .items(List.of(item1, item2))
-                .totalAmount(new BigDecimal("42.47"))
+                .totalAmount(Money.parse("42.47"))
                 .paymentMethod("Credit Card")
                 .build();
     }
@@ -123,7 +154,7 @@ class OrderServiceTest {
         Order order = Order.builder()
                 .id(UUID.randomUUID().toString())
                 .userId(userId)
-                .totalAmount(new BigDecimal("42.47"))
+                .totalAmount(Money.parse("42.47"))
                 .paymentMethod("Credit Card")
                 .status(OrderEvent.OrderStatus.CREATED)
                 .createdAt(LocalDateTime.now())
@@ -133,7 +164,7 @@ class OrderServiceTest {
         OrderLineItem item1 = OrderLineItem.builder()
                 .productId("p1")
                 .name("Product 1")
-                .price(new BigDecimal("10.99"))
+                .price(Money.parse("10.99"))
                 .quantity(2)
                 .order(order)
                 .build();
@@ -141,7 +172,7 @@ class OrderServiceTest {
         OrderLineItem item2 = OrderLineItem.builder()
                 .productId("p2")
                 .name("Product 2")
-                .price(new BigDecimal("20.49"))
+                .price(Money.parse("20.49"))
                 .quantity(1)
                 .order(order)
                 .build();
@@ -1,5 +1,7 @@
 package com.ecommerce.paymentservice.config;
 
+import com.ecommerce.common.id.TimeOrderedId;
+import com.ecommerce.common.money.Money;
 import com.ecommerce.paymentservice.model.Payment;
 import com.ecommerce.paymentservice.model.Payment.PaymentStatus;
 import com.ecommerce.paymentservice.repository.PaymentRepository;
@@ -9,7 +11,6 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -31,10 +32,10 @@ public class DataInitializer {
                 
                 // Create a completed payment
                 Payment completedPayment = Payment.builder()
-                    .id(UUID.randomUUID().toString())
+                    .id(TimeOrderedId.newId())
                     .orderId(UUID.randomUUID().toString()) // This would need to match a real order ID in a real app
                     .userId("user1") // Added userId to match with order service
-                    .amount(new BigDecimal("999.98"))
+                    .amount(Money.parse("999.98"))
                     .status(PaymentStatus.COMPLETED) // Changed from SUCCESSFUL to COMPLETED to match enum
                     .paymentMethod("CREDIT_CARD")
                     .transactionId(UUID.randomUUID().toString())
@@ -44,10 +45,10 @@ public class DataInitializer {
                 
                 // Create a pending payment
                 Payment pendingPayment = Payment.builder()
-                    .id(UUID.randomUUID().toString())
+                    .id(TimeOrderedId.newId())
                     .orderId(UUID.randomUUID().toString()) // This would need to match a real order ID in a real app
                     .userId("user1") // Added userId to match with order service
-                    .amount(new BigDecimal("1299.99"))
+                    .amount(Money.parse("1299.99"))
                         .status(PaymentStatus.PENDING)
                         .paymentMethod("PAYPAL")
                     .transactionId(UUID.randomUUID().toString())
@@ -57,10 +58,10 @@ public class DataInitializer {
                 
                 // Create a failed payment
                 Payment failedPayment = Payment.builder()
-                    .id(UUID.randomUUID().toString())
+                    .id(TimeOrderedId.newId())
                     .orderId(UUID.randomUUID().toString()) // This would need to match a real order ID in a real app
                     .userId("user1") // Added userId to match with order service
-                    .amount(new BigDecimal("2499.99"))
+                    .amount(Money.parse("2499.99"))
                     .status(Payment.PaymentStatus.FAILED)
                     .paymentMethod("CREDIT_CARD")
                     .transactionId(UUID.randomUUID().toString())
@@ -1,7 +1,10 @@
 package com.ecommerce.paymentservice.config;
 
 import com.ecommerce.common.config.KafkaTopics;
+import com.ecommerce.common.datasource.ReadReplicaConfig;
 import com.ecommerce.common.event.OrderEvent;
+import com.ecommerce.common.kafka.monitoring.KafkaMonitoringConfig;
+import com.ecommerce.common.tracing.TracingConfig;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
@@ -10,6 +13,7 @@ import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
@@ -20,6 +24,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 @Configuration
+@Import({KafkaMonitoringConfig.class, TracingConfig.class, ReadReplicaConfig.class})
 public class KafkaConfig {
 
     @Value("${spring.kafka.bootstrap-servers}")
@@ -48,7 +53,10 @@ public class KafkaConfig {
 
     @Bean
     public KafkaTemplate<String, Object> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+        KafkaTemplate<String, Object> template = new KafkaTemplate<>(producerFactory());
+        // Propagates the trace context to consumers through record headers
+        template.setObservationEnabled(true);
+        return template;
     }
 
     // Consumer configuration
@@ -67,6 +75,7 @@ public class KafkaConfig {
     public ConcurrentKafkaListenerContainerFactory<String, OrderEvent> orderEventListenerContainerFactory() {
         ConcurrentKafkaListenerContainerFactory<String, OrderEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(orderEventConsumerFactory());
+        factory.getContainerProperties().setObservationEnabled(true);
         return factory;
     }
 }
\ No newline at end of file
@@ -1,10 +1,14 @@
 package com.ecommerce.paymentservice.config;
 
+import com.ecommerce.common.idempotency.IdempotencyConfig;
+import com.ecommerce.common.web.JsonCodecConfig;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
+@Import({JsonCodecConfig.class, IdempotencyConfig.class})
 public class WebConfig implements WebMvcConfigurer {
 
     @Override
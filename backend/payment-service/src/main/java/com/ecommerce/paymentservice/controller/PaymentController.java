@@ -1,5 +1,6 @@
 package com.ecommerce.paymentservice.controller;
 
+import com.ecommerce.common.idempotency.IdempotencyService;
 import com.ecommerce.paymentservice.dto.PaymentRequest;
 import com.ecommerce.paymentservice.dto.PaymentResponse;
 import com.ecommerce.paymentservice.service.PaymentService;
@@ -20,45 +21,48 @@ import java.util.List;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
-    public ResponseEntity<PaymentResponse> processPayment(@Valid @RequestBody PaymentRequest paymentRequest) {
-        log.info("REST request to process payment for order: {}", paymentRequest.getOrderId());
-        PaymentResponse response = paymentService.processPayment(paymentRequest);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    public ResponseEntity<PaymentResponse> processPayment(
+            @Valid @RequestBody PaymentRequest paymentRequest,
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        log.debug("REST request to process payment for order: {}", paymentRequest.getOrderId());
+        return idempotencyService.execute("payments", idempotencyKey, paymentRequest, PaymentResponse.class,
+                HttpStatus.CREATED, () -> paymentService.processPayment(paymentRequest));
     }
 
     @GetMapping
     public ResponseEntity<List<PaymentResponse>> getAllPayments() {
-        log.info("REST request to get all payments");
+        log.debug("REST request to get all payments");
         List<PaymentResponse> responses = paymentService.getAllPayments();
         return ResponseEntity.ok(responses);
     }
 
     @GetMapping("/{paymentId}")
     public ResponseEntity<PaymentResponse> getPaymentById(@PathVariable String paymentId) {
-        log.info("REST request to get payment by ID: {}", paymentId);
+        log.debug("REST request to get payment by ID: {}", paymentId);
         PaymentResponse response = paymentService.getPaymentById(paymentId);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/order/{orderId}")
     public ResponseEntity<List<PaymentResponse>> getPaymentsByOrderId(@PathVariable String orderId) {
-        log.info("REST request to get payments by order ID: {}", orderId);
+        log.debug("REST request to get payments by order ID: {}", orderId);
         List<PaymentResponse> responses = paymentService.getPaymentsByOrderId(orderId);
         return ResponseEntity.ok(responses);
     }
 
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<PaymentResponse>> getPaymentsByUserId(@PathVariable String userId) {
-        log.info("REST request to get payments by user ID: {}", userId);
+        log.debug("REST request to get payments by user ID: {}", userId);
         List<PaymentResponse> responses = paymentService.getPaymentsByUserId(userId);
         return ResponseEntity.ok(responses);
     }
 
     @PostMapping("/{paymentId}/refund")
     public ResponseEntity<PaymentResponse> refundPayment(@PathVariable String paymentId) {
-        log.info("REST request to refund payment: {}", paymentId);
+        log.debug("REST request to refund payment: {}", paymentId);
         PaymentResponse response = paymentService.refundPayment(paymentId);
         return ResponseEntity.ok(response);
     }
@@ -1,5 +1,6 @@
 package com.ecommerce.paymentservice.dto;
 
+import com.ecommerce.common.money.Money;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -8,8 +9,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
-
 @Data
 @Builder
 @NoArgsConstructor
@@ -24,7 +23,7 @@ public class PaymentRequest {
     
     @NotNull(message = "Amount is required")
     @Positive(message = "Amount must be positive")
-    private BigDecimal amount;
+    private Money amount;
     
     @NotBlank(message = "Payment method is required")
     private String paymentMethod;
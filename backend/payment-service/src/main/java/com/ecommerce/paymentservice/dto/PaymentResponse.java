@@ -1,12 +1,12 @@
 package com.ecommerce.paymentservice.dto;
 
+import com.ecommerce.common.money.Money;
 import com.ecommerce.paymentservice.model.Payment;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
@@ -21,7 +21,7 @@ public class PaymentResponse {
     
     private String userId;
     
-    private BigDecimal amount;
+    private Money amount;
     
     private Payment.PaymentStatus status;
     
@@ -34,12 +34,12 @@ public class OrderEventConsumer {
                 handleOrderCancelled(orderEvent);
                 break;
             default:
-                log.info("No payment action needed for order status: {}", orderEvent.getStatus());
+                log.debug("No payment action needed for order status: {}", orderEvent.getStatus());
         }
     }
     
     private void handleOrderCreated(OrderEvent orderEvent) {
-        log.info("Processing payment for new order: {}", orderEvent.getOrderId());
+        log.debug("Processing payment for new order: {}", orderEvent.getOrderId());
         
         // Create PaymentRequest from OrderEvent
         PaymentRequest paymentRequest = PaymentRequest.builder()
@@ -52,7 +52,7 @@ public class OrderEventConsumer {
         try {
             // Process payment
             paymentService.processPayment(paymentRequest);
-            log.info("Payment processed successfully for order: {}", orderEvent.getOrderId());
+            log.debug("Payment processed successfully for order: {}", orderEvent.getOrderId());
         } catch (Exception e) {
             log.error("Failed to process payment for order: {}", orderEvent.getOrderId(), e);
             // In a real system, we might publish a payment failure event to trigger compensation
@@ -60,7 +60,7 @@ public class OrderEventConsumer {
     }
     
     private void handleOrderCancelled(OrderEvent orderEvent) {
-        log.info("Checking for refund needs for cancelled order: {}", orderEvent.getOrderId());
+        log.debug("Checking for refund needs for cancelled order: {}", orderEvent.getOrderId());
         
         // In a real system, we would have a more sophisticated refund flow
         // For now, we'll just log that the order was cancelled
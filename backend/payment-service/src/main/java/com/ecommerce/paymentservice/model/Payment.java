@@ -1,12 +1,13 @@
 package com.ecommerce.paymentservice.model;
 
+import com.ecommerce.common.money.Money;
+import com.ecommerce.common.money.MoneyConverter;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
@@ -23,7 +24,8 @@ public class Payment {
     
     private String userId;
     
-    private BigDecimal amount;
+    @Convert(converter = MoneyConverter.class)
+    private Money amount;
     
     @Enumerated(EnumType.STRING)
     private PaymentStatus status;
@@ -2,6 +2,7 @@ package com.ecommerce.paymentservice.service.impl;
 
 import com.ecommerce.common.config.KafkaTopics;
 import com.ecommerce.common.event.OrderEvent;
+import com.ecommerce.common.id.TimeOrderedId;
 import com.ecommerce.paymentservice.dto.PaymentRequest;
 import com.ecommerce.paymentservice.dto.PaymentResponse;
 import com.ecommerce.paymentservice.exception.PaymentNotFoundException;
@@ -30,8 +31,9 @@ public class PaymentServiceImpl implements PaymentService {
     private final KafkaTemplate<String, Object> kafkaTemplate;
     
     @Override
+    @Transactional(readOnly = true)
     public List<PaymentResponse> getAllPayments() {
-        log.info("Getting all payments");
+        log.debug("Getting all payments");
         List<Payment> payments = paymentRepository.findAll();
         return payments.stream()
                 .map(this::mapToPaymentResponse)
@@ -41,7 +43,7 @@ public class PaymentServiceImpl implements PaymentService {
     @Override
     @Transactional
     public PaymentResponse processPayment(PaymentRequest paymentRequest) {
-        log.info("Processing payment for order: {}", paymentRequest.getOrderId());
+        log.debug("Processing payment for order: {}", paymentRequest.getOrderId());
         
         // In a real implementation, this would connect to a payment gateway
         // Here we'll simulate payment processing
@@ -50,7 +52,7 @@ public class PaymentServiceImpl implements PaymentService {
             validatePaymentInformation(paymentRequest);
             
             // Create payment entity
-            String paymentId = UUID.randomUUID().toString();
+            String paymentId = TimeOrderedId.newId();
             Payment payment = Payment.builder()
                     .id(paymentId)
                     .orderId(paymentRequest.getOrderId())
@@ -83,7 +85,7 @@ public class PaymentServiceImpl implements PaymentService {
             
             // Create a failed payment record if there was an error
             Payment failedPayment = Payment.builder()
-                    .id(UUID.randomUUID().toString())
+                    .id(TimeOrderedId.newId())
                     .orderId(paymentRequest.getOrderId())
                     .userId(paymentRequest.getUserId())
                     .amount(paymentRequest.getAmount())
@@ -102,7 +104,7 @@ public class PaymentServiceImpl implements PaymentService {
 
     @Override
     public PaymentResponse getPaymentById(String paymentId) {
-        log.info("Getting payment with ID: {}", paymentId);
+        log.debug("Getting payment with ID: {}", paymentId);
         
         Payment payment = paymentRepository.findById(paymentId)
                 .orElseThrow(() -> new PaymentNotFoundException("Payment not found with ID: " + paymentId));
@@ -111,8 +113,9 @@ public class PaymentServiceImpl implements PaymentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<PaymentResponse> getPaymentsByOrderId(String orderId) {
-        log.info("Getting payments for order: {}", orderId);
+        log.debug("Getting payments for order: {}", orderId);
         
         List<Payment> payments = paymentRepository.findByOrderId(orderId);
         
@@ -122,8 +125,9 @@ public class PaymentServiceImpl implements PaymentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<PaymentResponse> getPaymentsByUserId(String userId) {
-        log.info("Getting payments for user: {}", userId);
+        log.debug("Getting payments for user: {}", userId);
         
         List<Payment> payments = paymentRepository.findByUserId(userId);
         
@@ -135,7 +139,7 @@ public class PaymentServiceImpl implements PaymentService {
     @Override
     @Transactional
     public PaymentResponse refundPayment(String paymentId) {
-        log.info("Refunding payment with ID: {}", paymentId);
+        log.debug("Refunding payment with ID: {}", paymentId);
         
         Payment payment = paymentRepository.findById(paymentId)
                 .orElseThrow(() -> new PaymentNotFoundException("Payment not found with ID: " + paymentId));
@@ -221,7 +225,7 @@ public class PaymentServiceImpl implements PaymentService {
         event.put("timestamp", System.currentTimeMillis());
         
         kafkaTemplate.send(KafkaTopics.PAYMENT_EVENTS_TOPIC, payment.getOrderId(), event);
-        log.info("Published payment event for order: {}, status: {}", payment.getOrderId(), payment.getStatus());
+        log.debug("Published payment event for order: {}, status: {}", payment.getOrderId(), payment.getStatus());
     }
     
     private PaymentResponse mapToPaymentResponse(Payment payment) {
@@ -0,0 +1,30 @@
+-- Optional, run by hand: stores entity IDs in native 16-byte uuid columns instead of varchar(255).
+-- Both the older random IDs and the time-ordered ones are canonical UUID strings, so every
+-- existing value converts. Afterwards, add ?stringtype=unspecified to spring.datasource.url in
+-- each service so that the String IDs bind to the uuid columns.
+--
+--   docker-compose exec -T database psql -U postgres -d ecommerce < docker/postgres/convert-ids-to-uuid.sql
+
+BEGIN;
+
+-- Hibernate names the foreign key itself, so look it up before changing the types on both ends
+DO $$
+DECLARE
+    fk text;
+BEGIN
+    FOR fk IN SELECT conname FROM pg_constraint
+              WHERE conrelid = 'order_line_items'::regclass AND confrelid = 'orders'::regclass
+    LOOP
+        EXECUTE format('ALTER TABLE order_line_items DROP CONSTRAINT %I', fk);
+    END LOOP;
+END $$;
+ALTER TABLE orders ALTER COLUMN id TYPE uuid USING id::uuid;
+ALTER TABLE order_line_items ALTER COLUMN order_id TYPE uuid USING order_id::uuid;
+ALTER TABLE order_line_items
+    ADD CONSTRAINT order_line_items_order_id_fkey FOREIGN KEY (order_id) REFERENCES orders (id);
+
+ALTER TABLE products ALTER COLUMN id TYPE uuid USING id::uuid;
+ALTER TABLE payments ALTER COLUMN id TYPE uuid USING id::uuid;
+ALTER TABLE notifications ALTER COLUMN id TYPE uuid USING id::uuid;
+
+COMMIT;
@@ -0,0 +1,4 @@
+#!/bin/sh
+# Runs once, when the database volume is first initialised: lets the database-replica
+# service (docker-compose --profile replica) stream WAL from this server.
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
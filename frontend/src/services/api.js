@@ -1,8 +1,9 @@
 import axios from 'axios';
 
-// Base URLs for different services
+// All services are reached through the API gateway (backend/api-gateway)
 const API_BASE_URL = 'http://localhost:8080/api';
-const PAYMENT_API_URL = 'http://localhost:8083/api';
+const PAYMENT_API_URL = API_BASE_URL;
+const INVENTORY_API_URL = API_BASE_URL;
 
 // Create API clients for each service
 const api = axios.create({
@@ -30,10 +31,51 @@ export const fetchProducts = async () => {
   }
 };
 
+// Fetch several products in one request (at most 100 IDs).
+// Resolves to { products: { [id]: product }, notFound: [id] }
+export const fetchProductsByIds = async (productIds) => {
+  try {
+    const response = await api.post('/products/batch', { productIds });
+    return response.data;
+  } catch (error) {
+    console.error('Error fetching products by ID:', error);
+    throw error;
+  }
+};
+
+// Check a whole cart at once; items are [{ productId, quantity }].
+// Resolves to { allInStock, inStock: { [id]: boolean }, notFound: [id] }
+export const checkStock = async (items) => {
+  try {
+    const response = await api.post('/products/batch/in-stock', { items });
+    return response.data;
+  } catch (error) {
+    console.error('Error checking stock:', error);
+    throw error;
+  }
+};
+
+// Stream stock changes instead of polling; open it before fetching products so no change is missed.
+// onChange receives an array of { productId, category, stockQuantity, inStock, deleted, updatedAt };
+// onResync is called when changes were dropped and the products should be fetched again.
+// Returns a function that closes the stream.
+export const subscribeToStock = ({ productIds = [], categories = [] }, onChange, onResync) => {
+  const params = new URLSearchParams();
+  if (productIds.length) params.append('productIds', productIds.join(','));
+  if (categories.length) params.append('categories', categories.join(','));
+  const source = new EventSource(`${INVENTORY_API_URL}/products/stock/stream?${params}`);
+  source.addEventListener('stock', (event) => onChange(JSON.parse(event.data)));
+  source.addEventListener('resync', () => onResync && onResync());
+  return () => source.close();
+};
+
 // Order service APIs
-export const placeOrder = async (orderData) => {
+// Retries of the same checkout should pass the same idempotencyKey so the order is only created once
+export const placeOrder = async (orderData, idempotencyKey = crypto.randomUUID()) => {
   try {
-    const response = await api.post('/orders', orderData);
+    const response = await api.post('/orders', orderData, {
+      headers: { 'Idempotency-Key': idempotencyKey }
+    });
     return response.data;
   } catch (error) {
     console.error('Error placing order:', error);
@@ -61,10 +103,25 @@ export const getOrdersByUser = async (userId) => {
   }
 };
 
+// The order with its payments and notifications, in one request to the gateway.
+// Resolves to { order, payments, notifications, unavailable }; payments or notifications are null,
+// and named in unavailable, when their service did not answer in time
+export const getOrderDetails = async (orderId) => {
+  try {
+    const response = await api.get(`/orders/${orderId}/details`);
+    return response.data;
+  } catch (error) {
+    console.error(`Error fetching details for order ${orderId}:`, error);
+    throw error;
+  }
+};
+
 // Payment service APIs
-export const processPayment = async (paymentData) => {
+export const processPayment = async (paymentData, idempotencyKey = crypto.randomUUID()) => {
   try {
-    const response = await paymentApi.post('/payments', paymentData);
+    const response = await paymentApi.post('/payments', paymentData, {
+      headers: { 'Idempotency-Key': idempotencyKey }
+    });
     return response.data;
   } catch (error) {
     console.error('Error processing payment:', error);